@@ -11,13 +11,14 @@ USE payment_db;
 CREATE TABLE IF NOT EXISTS payment_logs (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     payment_id VARCHAR(255) NOT NULL,
-    order_id VARCHAR(255) NOT NULL,
+    order_id VARCHAR(255) NULL,
     status VARCHAR(50) NOT NULL,
-    amount DECIMAL(10,2) NOT NULL,
+    amount DECIMAL(10,2) NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     INDEX idx_payment_id (payment_id),
-    INDEX idx_order_id (order_id)
+    INDEX idx_order_id (order_id),
+    INDEX idx_status_created_at (status, created_at)
 );
 
 -- Inserir dados de exemplo (opcional)
@@ -0,0 +1,126 @@
+package com.lanchonete.payment.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.web.client.RestTemplate;
+
+import com.lanchonete.payment.adapter.driven.clients.ProductionServiceClient;
+import com.lanchonete.payment.core.application.config.ApacheHttpRequestFactoryProvider;
+import com.lanchonete.payment.core.application.config.DownstreamRetry;
+import com.lanchonete.payment.core.application.config.DownstreamRetryProperties;
+import com.lanchonete.payment.core.application.config.HttpClientProperties.DestinationProperties;
+import com.lanchonete.payment.core.application.config.PaymentMetrics;
+import com.lanchonete.payment.core.application.config.RetryBudget;
+import com.lanchonete.payment.core.application.services.ConsultPaymentStatusService;
+import com.lanchonete.payment.core.application.services.PaymentStatusRegistry;
+import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
+import com.lanchonete.payment.core.domain.model.PaymentData;
+import com.lanchonete.payment.core.domain.model.PaymentStatus;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository.Order;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// a pending status poll that re-reads the order after updating it, against one that uses the order returned by the
+// update, both over HTTP to an in-process fake Production Service answering after productionLatencyMs
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = { "-Dlog4j2.configurationFile=log4j2-benchmarks.xml", "-Dsun.net.httpserver.nodelay=true" })
+public class ConsultPaymentStatusLatencyBenchmark {
+
+    private static final long ORDER_ID = 1L;
+    private static final String PENDING_ORDER = "{\"id\":1,\"customerCpf\":\"12345678900\",\"paymentId\":\"mp-payment-123\",\"paymentStatus\":\"PENDING\"}";
+    private static final String APPROVED_ORDER = "{\"id\":1,\"customerCpf\":\"12345678900\",\"paymentId\":\"mp-payment-123\",\"paymentStatus\":\"APPROVED\"}";
+
+    @Param("5")
+    public long productionLatencyMs;
+
+    private HttpServer productionService;
+    private ExecutorService serverExecutor;
+    private ApacheHttpRequestFactoryProvider requestFactoryProvider;
+    private ProductionServiceClient productionServiceClient;
+    private ConsultPaymentStatusService consultPaymentStatusService;
+
+    @Setup
+    public void setUp() throws IOException {
+        serverExecutor = Executors.newFixedThreadPool(4);
+        productionService = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        productionService.createContext("/production/orders/", this::handleOrders);
+        productionService.setExecutor(serverExecutor);
+        productionService.start();
+
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final PaymentMetrics paymentMetrics = new PaymentMetrics(meterRegistry);
+        requestFactoryProvider = new ApacheHttpRequestFactoryProvider(null);
+        final RestTemplate restTemplate = new RestTemplate(requestFactoryProvider.create("production-service", new DestinationProperties()));
+        productionServiceClient = new ProductionServiceClient(restTemplate,
+            "http://127.0.0.1:" + productionService.getAddress().getPort(), paymentMetrics,
+            new DownstreamRetry(new DownstreamRetryProperties(), new RetryBudget(0.1, 5, 20), paymentMetrics),
+            1, Duration.ZERO, Duration.ofMinutes(5), 8);
+
+        final InMemoryPaymentRepository paymentRepository = new InMemoryPaymentRepository(PaymentConfirmation.builder()
+            .id("mp-payment-123")
+            .status("processed")
+            .totalAmount(57.90)
+            .build(), PaymentData.builder().build());
+        consultPaymentStatusService = new ConsultPaymentStatusService(productionServiceClient, paymentRepository,
+            new PaymentStatusRegistry(false, 5, 600, 1, meterRegistry));
+    }
+
+    @TearDown
+    public void tearDown() {
+        requestFactoryProvider.destroy();
+        productionService.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public PaymentStatus pollUsingUpdatedOrder() {
+        return consultPaymentStatusService.getPaymentStatus(ORDER_ID);
+    }
+
+    @Benchmark
+    public Order pollWithReRead() {
+        consultPaymentStatusService.getPaymentStatus(ORDER_ID);
+        return productionServiceClient.getOrderById(ORDER_ID);
+    }
+
+    private void handleOrders(final HttpExchange exchange) throws IOException {
+        try (InputStream requestBody = exchange.getRequestBody()) {
+            requestBody.readAllBytes();
+        }
+        try {
+            Thread.sleep(productionLatencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        final byte[] body = ("PUT".equals(exchange.getRequestMethod()) ? APPROVED_ORDER : PENDING_ORDER)
+            .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(body);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.lanchonete.payment.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.ThreadContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import com.lanchonete.payment.core.application.config.ContextLogger;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmarks.xml")
+public class ContextLoggerBenchmark {
+
+    private final String requestTraceId = "6f1c2a4e-1b7d-4c1e-9a57-3f0c8e2d9b11";
+
+    @Benchmark
+    public String checkTraceIdWithHeader() {
+        ContextLogger.checkTraceId(requestTraceId);
+        return ThreadContext.get(ContextLogger.REQUEST_TRACE_ID);
+    }
+
+    @Benchmark
+    public String checkTraceIdWithoutHeader() {
+        ContextLogger.checkTraceId(null);
+        return ThreadContext.get(ContextLogger.REQUEST_TRACE_ID);
+    }
+}
@@ -0,0 +1,47 @@
+package com.lanchonete.payment.benchmark;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository;
+
+class InMemoryOrderRepository implements OrderRepository {
+
+    private final Map<Long, Order> ordersById = new HashMap<>();
+    private final Map<String, Order> ordersByPaymentId = new HashMap<>();
+
+    void save(final Order order) {
+        ordersById.put(order.getId(), order);
+        if (order.getPaymentId() != null) {
+            ordersByPaymentId.put(order.getPaymentId(), order);
+        }
+    }
+
+    @Override
+    public Order getOrderById(final Long orderId) {
+        return ordersById.get(orderId);
+    }
+
+    @Override
+    public Order getOrderByPaymentId(final String paymentId) {
+        return ordersByPaymentId.get(paymentId);
+    }
+
+    @Override
+    public List<Order> getOrdersByIds(final Collection<Long> orderIds) {
+        return orderIds.stream().map(ordersById::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public Order updateOrderPaymentStatus(final Long orderId, final PaymentConfirmation paymentConfirmation) {
+        final Order order = ordersById.get(orderId);
+        // Stored orders are left untouched so every invocation takes the same path.
+        return new Order(order.getId(), order.getCustomerCpf(), order.getPaymentId(),
+            PaymentStatusEnum.fromMercadoPagoStatus(paymentConfirmation.getStatus()));
+    }
+}
@@ -0,0 +1,33 @@
+package com.lanchonete.payment.benchmark;
+
+import java.math.BigDecimal;
+
+import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
+import com.lanchonete.payment.core.domain.model.PaymentData;
+import com.lanchonete.payment.core.domain.repositories.PaymentRepository;
+
+class InMemoryPaymentRepository implements PaymentRepository {
+
+    private final PaymentConfirmation paymentConfirmation;
+    private final PaymentData paymentData;
+
+    InMemoryPaymentRepository(final PaymentConfirmation paymentConfirmation, final PaymentData paymentData) {
+        this.paymentConfirmation = paymentConfirmation;
+        this.paymentData = paymentData;
+    }
+
+    @Override
+    public PaymentConfirmation getPaymentStatus(final String paymentId) {
+        return paymentConfirmation;
+    }
+
+    @Override
+    public PaymentData getPaymentData(final Long orderId, final BigDecimal totalPrice, final String previousPaymentId) {
+        return paymentData;
+    }
+
+    @Override
+    public PaymentData getOpenPaymentData(final String paymentId) {
+        return paymentData;
+    }
+}
@@ -0,0 +1,128 @@
+package com.lanchonete.payment.benchmark;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.lanchonete.payment.adapter.driven.rest.response.MPPaymentConfirmationResponse;
+import com.lanchonete.payment.adapter.driven.rest.response.MPQrCodePaymentResponse;
+import com.lanchonete.payment.adapter.driver.rest.requests.PaymentConfirmationRequest;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmarks.xml")
+public class JsonSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ObjectReader paymentConfirmationRequestReader;
+    private ObjectWriter paymentConfirmationRequestWriter;
+
+    private PaymentConfirmationRequest paymentConfirmationRequest;
+    private MPQrCodePaymentResponse qrCodePaymentResponse;
+    private MPPaymentConfirmationResponse paymentConfirmationResponse;
+
+    private String paymentConfirmationRequestJson;
+    private String qrCodePaymentResponseJson;
+    private String paymentConfirmationResponseJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .modulesToInstall(new ParameterNamesModule())
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        // same setup as JacksonConfig: Blackbird plus readers/writers resolved once per type
+        final ObjectMapper tunedMapper = Jackson2ObjectMapperBuilder.json()
+            .modulesToInstall(new ParameterNamesModule(), new BlackbirdModule())
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        paymentConfirmationRequestReader = tunedMapper.readerFor(PaymentConfirmationRequest.class);
+        paymentConfirmationRequestWriter = tunedMapper.writerFor(PaymentConfirmationRequest.class);
+
+        paymentConfirmationRequest = PaymentConfirmationRequest.builder()
+            .id(12345L)
+            .liveMode(true)
+            .type("payment")
+            .dateCreated(Instant.parse("2025-05-10T12:00:00Z"))
+            .userId(123456L)
+            .apiVersion("v1")
+            .action("payment.updated")
+            .data(PaymentConfirmationRequest.PaymentConfirmationDataRequest.builder().id("mp-payment-123").build())
+            .build();
+
+        qrCodePaymentResponse = MPQrCodePaymentResponse.builder()
+            .id("ORD01JQ4S4KY8HWQ6NA5PXB65B3D3")
+            .status("created")
+            .externalReference("12345")
+            .typeResponse(MPQrCodePaymentResponse.TypeResponse.builder()
+                .qrData("00020101021243650016COM.MERCADOLIBRE02013063638f1192a-5fd1-4180-a180-8bcae3556bc35204000053039865802BR5925IZABEL AAAA DE MELO6007BARUERI62070503***63040B6D")
+                .build())
+            .build();
+
+        paymentConfirmationResponse = new MPPaymentConfirmationResponse();
+        paymentConfirmationResponse.setId("ORD01JQ4S4KY8HWQ6NA5PXB65B3D3");
+        paymentConfirmationResponse.setStatus("processed");
+        paymentConfirmationResponse.setTotalAmount(57.90);
+
+        paymentConfirmationRequestJson = objectMapper.writeValueAsString(paymentConfirmationRequest);
+        qrCodePaymentResponseJson = objectMapper.writeValueAsString(qrCodePaymentResponse);
+        paymentConfirmationResponseJson = objectMapper.writeValueAsString(paymentConfirmationResponse);
+    }
+
+    @Benchmark
+    public String serializePaymentConfirmationRequest() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(paymentConfirmationRequest);
+    }
+
+    @Benchmark
+    public PaymentConfirmationRequest deserializePaymentConfirmationRequest() throws JsonProcessingException {
+        return objectMapper.readValue(paymentConfirmationRequestJson, PaymentConfirmationRequest.class);
+    }
+
+    @Benchmark
+    public String serializePaymentConfirmationRequestPrebuilt() throws JsonProcessingException {
+        return paymentConfirmationRequestWriter.writeValueAsString(paymentConfirmationRequest);
+    }
+
+    @Benchmark
+    public PaymentConfirmationRequest deserializePaymentConfirmationRequestPrebuilt() throws JsonProcessingException {
+        return paymentConfirmationRequestReader.readValue(paymentConfirmationRequestJson);
+    }
+
+    @Benchmark
+    public String serializeQrCodePaymentResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(qrCodePaymentResponse);
+    }
+
+    @Benchmark
+    public MPQrCodePaymentResponse deserializeQrCodePaymentResponse() throws JsonProcessingException {
+        return objectMapper.readValue(qrCodePaymentResponseJson, MPQrCodePaymentResponse.class);
+    }
+
+    @Benchmark
+    public String serializePaymentConfirmationResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(paymentConfirmationResponse);
+    }
+
+    @Benchmark
+    public MPPaymentConfirmationResponse deserializePaymentConfirmationResponse() throws JsonProcessingException {
+        return objectMapper.readValue(paymentConfirmationResponseJson, MPPaymentConfirmationResponse.class);
+    }
+}
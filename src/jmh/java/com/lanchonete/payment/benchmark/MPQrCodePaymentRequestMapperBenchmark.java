@@ -0,0 +1,33 @@
+package com.lanchonete.payment.benchmark;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import com.lanchonete.payment.adapter.driven.rest.mappers.MPQrCodePaymentRequestMapper;
+import com.lanchonete.payment.adapter.driven.rest.request.MPQrCodePaymentRequest;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmarks.xml")
+public class MPQrCodePaymentRequestMapperBenchmark {
+
+    private final Long orderId = 12345L;
+    private final BigDecimal totalPrice = new BigDecimal("57.90");
+    private final String externalPosId = "nacomanda2025";
+    private final Duration expiration = Duration.ofMinutes(30);
+
+    @Benchmark
+    public MPQrCodePaymentRequest createMPQrCodePaymentRequest() {
+        return MPQrCodePaymentRequestMapper.createMPQrCodePaymentRequest(orderId, totalPrice, externalPosId, expiration);
+    }
+}
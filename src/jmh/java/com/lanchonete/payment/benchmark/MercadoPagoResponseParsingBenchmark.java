@@ -0,0 +1,71 @@
+package com.lanchonete.payment.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lanchonete.payment.adapter.driven.rest.mercadopago.MercadoPagoResponseReader;
+import com.lanchonete.payment.adapter.driven.rest.response.MPPaymentConfirmationResponse;
+import com.lanchonete.payment.adapter.driven.rest.response.MPQrCodePaymentResponse;
+
+// full databinding (the default RestTemplate/WebClient converters) against the streaming reader, on full order payloads;
+// run with -Djmh.args="-prof gc" to compare allocation per operation as well
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmarks.xml")
+public class MercadoPagoResponseParsingBenchmark {
+
+    private ObjectMapper objectMapper;
+    private MercadoPagoResponseReader responseReader;
+
+    private byte[] createdOrder;
+    private byte[] processedOrder;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        responseReader = new MercadoPagoResponseReader(objectMapper);
+
+        createdOrder = load("/mercadopago/order-created.json");
+        processedOrder = load("/mercadopago/order-processed.json");
+    }
+
+    @Benchmark
+    public MPQrCodePaymentResponse databindQrCodePaymentResponse() throws IOException {
+        return objectMapper.readValue(new ByteArrayInputStream(createdOrder), MPQrCodePaymentResponse.class);
+    }
+
+    @Benchmark
+    public Object streamQrCodePaymentResponse() throws IOException {
+        return responseReader.read(MPQrCodePaymentResponse.class, new ByteArrayInputStream(createdOrder));
+    }
+
+    @Benchmark
+    public MPPaymentConfirmationResponse databindPaymentConfirmationResponse() throws IOException {
+        return objectMapper.readValue(new ByteArrayInputStream(processedOrder), MPPaymentConfirmationResponse.class);
+    }
+
+    @Benchmark
+    public Object streamPaymentConfirmationResponse() throws IOException {
+        return responseReader.read(MPPaymentConfirmationResponse.class, new ByteArrayInputStream(processedOrder));
+    }
+
+    private static byte[] load(final String resource) throws IOException {
+        try (InputStream in = MercadoPagoResponseParsingBenchmark.class.getResourceAsStream(resource)) {
+            return in.readAllBytes();
+        }
+    }
+}
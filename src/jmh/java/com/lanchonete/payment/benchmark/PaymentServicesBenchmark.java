@@ -0,0 +1,131 @@
+package com.lanchonete.payment.benchmark;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.lanchonete.payment.core.application.config.PaymentMetrics;
+import com.lanchonete.payment.core.application.config.ReconciliationProperties;
+import com.lanchonete.payment.core.application.dto.PaymentConfirmationDTO;
+import com.lanchonete.payment.core.application.dto.PaymentDataDTO;
+import com.lanchonete.payment.core.application.services.ConsultPaymentStatusService;
+import com.lanchonete.payment.core.application.services.GeneratePaymentQrCodeService;
+import com.lanchonete.payment.core.application.services.PaymentQrCodeCache;
+import com.lanchonete.payment.core.application.services.PaymentStatusNotifier;
+import com.lanchonete.payment.core.application.services.PaymentStatusRegistry;
+import com.lanchonete.payment.core.application.services.PaymentWebhookCoalescer;
+import com.lanchonete.payment.core.application.services.PendingPaymentTracker;
+import com.lanchonete.payment.core.application.services.ProcessPaymentWebhookService;
+import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
+import com.lanchonete.payment.core.domain.model.PaymentData;
+import com.lanchonete.payment.core.domain.model.PaymentStatus;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository.Order;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmarks.xml")
+public class PaymentServicesBenchmark {
+
+    private static final long PENDING_ORDER_ID = 1L;
+    private static final long APPROVED_ORDER_ID = 2L;
+    private static final long NEW_ORDER_ID = 3L;
+    private static final String PENDING_PAYMENT_ID = "mp-payment-pending";
+    private static final String APPROVED_PAYMENT_ID = "mp-payment-approved";
+
+    private ConsultPaymentStatusService consultPaymentStatusService;
+    private ConsultPaymentStatusService registryConsultPaymentStatusService;
+    private GeneratePaymentQrCodeService generatePaymentQrCodeService;
+    private ProcessPaymentWebhookService processPaymentWebhookService;
+    private ProcessPaymentWebhookService dedupProcessPaymentWebhookService;
+
+    private PaymentDataDTO paymentDataDTO;
+    private PaymentConfirmationDTO paymentConfirmationDTO;
+
+    @Setup
+    public void setUp() {
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        final InMemoryOrderRepository orderRepository = new InMemoryOrderRepository();
+        orderRepository.save(new Order(PENDING_ORDER_ID, "12345678900", PENDING_PAYMENT_ID, PaymentStatusEnum.PENDING));
+        orderRepository.save(new Order(APPROVED_ORDER_ID, "12345678900", APPROVED_PAYMENT_ID, PaymentStatusEnum.APPROVED));
+        orderRepository.save(new Order(NEW_ORDER_ID, "12345678900", null, PaymentStatusEnum.PENDING));
+
+        final PaymentConfirmation paymentConfirmation = PaymentConfirmation.builder()
+            .id(PENDING_PAYMENT_ID)
+            .status("processed")
+            .totalAmount(57.90)
+            .build();
+        final InMemoryPaymentRepository paymentRepository = new InMemoryPaymentRepository(paymentConfirmation,
+            PaymentData.builder().paymentId(PENDING_PAYMENT_ID).qrCode("00020101021243650016COM.MERCADOLIBRE").build());
+
+        final PaymentStatusRegistry disabledRegistry = new PaymentStatusRegistry(false, 5, 600, 1, meterRegistry);
+        final PaymentStatusRegistry registry = new PaymentStatusRegistry(true, 3600, 3600, 10_000, new SimpleMeterRegistry());
+        registry.record(PENDING_ORDER_ID, PENDING_PAYMENT_ID, paymentConfirmation);
+        final PaymentStatusNotifier notifier = new PaymentStatusNotifier(meterRegistry);
+        final PaymentMetrics paymentMetrics = new PaymentMetrics(meterRegistry);
+
+        consultPaymentStatusService = new ConsultPaymentStatusService(orderRepository, paymentRepository, disabledRegistry);
+        registryConsultPaymentStatusService = new ConsultPaymentStatusService(orderRepository, paymentRepository, registry);
+        final ReconciliationProperties reconciliation = new ReconciliationProperties();
+        reconciliation.setEnabled(false);
+        final PaymentQrCodeCache qrCodeCache = new PaymentQrCodeCache(false, Duration.ofMinutes(30), 10_000, meterRegistry);
+        generatePaymentQrCodeService = new GeneratePaymentQrCodeService(orderRepository, paymentRepository,
+            new PendingPaymentTracker(reconciliation, meterRegistry), entry -> {
+            }, qrCodeCache);
+        processPaymentWebhookService = new ProcessPaymentWebhookService(orderRepository, paymentRepository,
+            new PaymentWebhookCoalescer(false, 30, 10_000, meterRegistry), notifier, disabledRegistry, paymentMetrics, entry -> {
+            }, qrCodeCache);
+        dedupProcessPaymentWebhookService = new ProcessPaymentWebhookService(orderRepository, paymentRepository,
+            new PaymentWebhookCoalescer(true, 3600, 10_000, meterRegistry), notifier, disabledRegistry, paymentMetrics, entry -> {
+            }, qrCodeCache);
+
+        paymentDataDTO = PaymentDataDTO.builder().orderId(NEW_ORDER_ID).totalPrice(new BigDecimal("57.90")).build();
+        paymentConfirmationDTO = PaymentConfirmationDTO.builder()
+            .data(PaymentConfirmationDTO.PaymentConfirmationDataDTO.builder().id(PENDING_PAYMENT_ID).build())
+            .build();
+        dedupProcessPaymentWebhookService.processPaymentConfirmation(paymentConfirmationDTO);
+    }
+
+    @Benchmark
+    public PaymentStatus consultFinalOrder() {
+        return consultPaymentStatusService.getPaymentStatus(APPROVED_ORDER_ID);
+    }
+
+    @Benchmark
+    public PaymentStatus consultPendingOrder() {
+        return consultPaymentStatusService.getPaymentStatus(PENDING_ORDER_ID);
+    }
+
+    @Benchmark
+    public PaymentStatus consultPendingOrderFromRegistry() {
+        return registryConsultPaymentStatusService.getPaymentStatus(PENDING_ORDER_ID);
+    }
+
+    @Benchmark
+    public PaymentData generatePaymentQrCode() {
+        return generatePaymentQrCodeService.generatePaymentQrCode(paymentDataDTO);
+    }
+
+    @Benchmark
+    public void processWebhook() {
+        processPaymentWebhookService.processPaymentConfirmation(paymentConfirmationDTO);
+    }
+
+    @Benchmark
+    public void processDuplicateWebhook() {
+        dedupProcessPaymentWebhookService.processPaymentConfirmation(paymentConfirmationDTO);
+    }
+}
@@ -0,0 +1,37 @@
+package com.lanchonete.payment.adapter.driven.clients;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+// remembers that a Production Service bulk endpoint answered 404/405/501, and probes it again after reprobeInterval
+// so a redeployed Production Service gets its bulk endpoint used without restarting this service
+final class BulkEndpointSupport {
+
+    private final long reprobeIntervalNanos;
+    private final LongSupplier nanoClock;
+
+    private volatile boolean unsupported;
+    private volatile long reprobeAtNanos;
+
+    BulkEndpointSupport(final Duration reprobeInterval) {
+        this(reprobeInterval, System::nanoTime);
+    }
+
+    BulkEndpointSupport(final Duration reprobeInterval, final LongSupplier nanoClock) {
+        this.reprobeIntervalNanos = reprobeInterval.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    boolean isSupported() {
+        return !unsupported || nanoClock.getAsLong() - reprobeAtNanos >= 0;
+    }
+
+    void markUnsupported() {
+        reprobeAtNanos = nanoClock.getAsLong() + reprobeIntervalNanos;
+        unsupported = true;
+    }
+
+    void markSupported() {
+        unsupported = false;
+    }
+}
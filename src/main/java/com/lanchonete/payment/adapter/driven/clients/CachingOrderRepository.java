@@ -0,0 +1,81 @@
+package com.lanchonete.payment.adapter.driven.clients;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(name = "production.service.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CachingOrderRepository implements OrderRepository {
+
+    private final OrderRepository delegate;
+    private final OrderCache orderCache;
+
+    public CachingOrderRepository(ProductionServiceClient productionServiceClient, OrderCache orderCache) {
+        this.delegate = productionServiceClient;
+        this.orderCache = orderCache;
+    }
+
+    @Override
+    public Order getOrderById(final Long orderId) {
+        return orderCache.get(orderId, delegate::getOrderById);
+    }
+
+    @Override
+    public Order getOrderByPaymentId(final String paymentId) {
+        final Order cached = orderCache.getByPaymentIdIfPresent(paymentId);
+        if (cached != null) {
+            return cached;
+        }
+
+        final Order order = delegate.getOrderByPaymentId(paymentId);
+        if (order != null) {
+            orderCache.put(order);
+        }
+        return order;
+    }
+
+    @Override
+    public List<Order> getOrdersByIds(final Collection<Long> orderIds) {
+        final Map<Long, Order> orders = orderCache.getAll(orderIds, missing -> {
+            final Map<Long, Order> loaded = new HashMap<>();
+            for (Order order : delegate.getOrdersByIds(List.copyOf(missing))) {
+                loaded.put(order.getId(), order);
+            }
+            return loaded;
+        });
+
+        return orderIds.stream().map(orders::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public Order updateOrderPaymentStatus(final Long orderId, final PaymentConfirmation paymentConfirmation) {
+        final Order updatedOrder;
+        try {
+            updatedOrder = delegate.updateOrderPaymentStatus(orderId, paymentConfirmation);
+        } catch (RuntimeException e) {
+            orderCache.invalidate(orderId);
+            throw e;
+        }
+
+        if (updatedOrder != null && orderId.equals(updatedOrder.getId())) {
+            orderCache.put(updatedOrder);
+        } else {
+            orderCache.invalidate(orderId);
+        }
+        return updatedOrder;
+    }
+}
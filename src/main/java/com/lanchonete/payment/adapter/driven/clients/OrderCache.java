@@ -0,0 +1,108 @@
+package com.lanchonete.payment.adapter.driven.clients;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository.Order;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// shared by the blocking and reactive order repositories, so both io modes see the same write-through updates
+@Component
+@ConditionalOnProperty(name = "production.service.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderCache {
+
+    private final Cache<Long, Order> ordersById;
+    private final Cache<String, Long> orderIdsByPaymentId;
+
+    public OrderCache(@Value("${production.service.cache.max-entries:10000}") long maxEntries,
+            @Value("${production.service.cache.pending-ttl-seconds:5}") long pendingTtlSeconds,
+            @Value("${production.service.cache.final-ttl-seconds:3600}") long finalTtlSeconds,
+            MeterRegistry meterRegistry) {
+        this.ordersById = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfter(new OrderExpiry(Duration.ofSeconds(pendingTtlSeconds), Duration.ofSeconds(finalTtlSeconds)))
+            .recordStats()
+            .build();
+        this.orderIdsByPaymentId = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterWrite(Duration.ofSeconds(finalTtlSeconds))
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, ordersById, "production.orders");
+    }
+
+    public Order get(final Long orderId, final Function<Long, Order> loader) {
+        final Order order = ordersById.get(orderId, loader);
+        indexByPaymentId(order);
+        return order;
+    }
+
+    public Map<Long, Order> getAll(final Collection<Long> orderIds,
+            final Function<Set<? extends Long>, Map<Long, Order>> loader) {
+        final Map<Long, Order> orders = ordersById.getAll(orderIds, loader);
+        orders.values().forEach(this::indexByPaymentId);
+        return orders;
+    }
+
+    public Order getIfPresent(final Long orderId) {
+        return ordersById.getIfPresent(orderId);
+    }
+
+    public Order getByPaymentIdIfPresent(final String paymentId) {
+        final Long orderId = orderIdsByPaymentId.getIfPresent(paymentId);
+        return orderId != null ? ordersById.getIfPresent(orderId) : null;
+    }
+
+    public void put(final Order order) {
+        ordersById.put(order.getId(), order);
+        indexByPaymentId(order);
+    }
+
+    public void invalidate(final Long orderId) {
+        ordersById.invalidate(orderId);
+    }
+
+    private void indexByPaymentId(final Order order) {
+        if (order != null && order.getPaymentId() != null) {
+            orderIdsByPaymentId.put(order.getPaymentId(), order.getId());
+        }
+    }
+
+    private static final class OrderExpiry implements Expiry<Long, Order> {
+
+        private final long pendingTtlNanos;
+        private final long finalTtlNanos;
+
+        private OrderExpiry(final Duration pendingTtl, final Duration finalTtl) {
+            this.pendingTtlNanos = pendingTtl.toNanos();
+            this.finalTtlNanos = finalTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(final Long orderId, final Order order, final long currentTime) {
+            return order.getPaymentStatus() != null && order.getPaymentStatus().isFinal() ? finalTtlNanos : pendingTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(final Long orderId, final Order order, final long currentTime, final long currentDuration) {
+            return expireAfterCreate(orderId, order, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(final Long orderId, final Order order, final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.lanchonete.payment.adapter.driven.clients;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository.Order;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+class OrderStatusUpdateBatcher implements AutoCloseable {
+
+    record Update(Long orderId, PaymentConfirmation paymentConfirmation, CompletableFuture<Result> result) {
+    }
+
+    record Result(boolean applied, Order order) {
+
+        static final Result NOT_APPLIED = new Result(false, null);
+
+        static Result applied(final Order order) {
+            return new Result(true, order);
+        }
+    }
+
+    private final BlockingQueue<Update> queue = new LinkedBlockingQueue<>();
+    private final int maxSize;
+    private final long lingerNanos;
+    private final Consumer<List<Update>> flush;
+    private final Thread collector;
+
+    private volatile boolean closed;
+
+    OrderStatusUpdateBatcher(final int maxSize, final Duration linger, final Consumer<List<Update>> flush) {
+        this.maxSize = maxSize;
+        this.lingerNanos = linger.toNanos();
+        this.flush = flush;
+        this.collector = Thread.ofPlatform().name("order-status-batcher").daemon().start(this::collect);
+    }
+
+    // blocks until the batch holding this update is flushed; NOT_APPLIED means the caller sends the update itself
+    Result submit(final Long orderId, final PaymentConfirmation paymentConfirmation) {
+        if (closed) {
+            return Result.NOT_APPLIED;
+        }
+        final Update update = new Update(orderId, paymentConfirmation, new CompletableFuture<>());
+        queue.add(update);
+        if (closed && queue.remove(update)) {
+            return Result.NOT_APPLIED;
+        }
+
+        try {
+            return update.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        collector.interrupt();
+    }
+
+    private void collect() {
+        final List<Update> batch = new ArrayList<>(maxSize);
+        try {
+            while (!closed) {
+                batch.add(queue.take());
+                final long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < maxSize) {
+                    final Update next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                final List<Update> ready = List.copyOf(batch);
+                batch.clear();
+                if (ready.size() == 1) {
+                    ready.get(0).result().complete(Result.NOT_APPLIED);
+                } else {
+                    Thread.ofVirtual().name("order-status-flush").start(() -> flush(ready));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        queue.drainTo(batch);
+        batch.forEach(update -> update.result().complete(Result.NOT_APPLIED));
+    }
+
+    private void flush(final List<Update> batch) {
+        try {
+            flush.accept(batch);
+        } catch (RuntimeException e) {
+            log.warn("Bulk payment status update of {} order(s) failed, falling back to single updates: {}",
+                batch.size(), e.getMessage());
+        } finally {
+            // anything the flush did not settle goes back to its caller as a single update
+            batch.forEach(update -> update.result().complete(Result.NOT_APPLIED));
+        }
+    }
+}
@@ -1,57 +1,273 @@
 package com.lanchonete.payment.adapter.driven.clients;
 
+import static com.lanchonete.payment.core.application.config.Constants.PRODUCTION_SERVICE;
+import static com.lanchonete.payment.core.application.config.Constants.PRODUCTION_SERVICE_REST_TEMPLATE;
+import static com.lanchonete.payment.core.application.config.Constants.X_IDEMPOTENCY_KEY;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import com.lanchonete.payment.core.application.config.DownstreamRetry;
+import com.lanchonete.payment.core.application.config.PaymentMetrics;
 import com.lanchonete.payment.core.application.dto.OrderDTO;
+import com.lanchonete.payment.core.application.dto.PaymentStatusUpdateDTO;
+import com.lanchonete.payment.core.application.dto.PaymentStatusUpdateResultDTO;
 import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
 import com.lanchonete.payment.core.domain.repositories.OrderRepository;
 import com.lanchonete.payment.core.domain.repositories.OrderRepository.Order;
+import org.apache.logging.log4j.ThreadContext;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Component
 public class ProductionServiceClient implements OrderRepository {
 
     private final RestTemplate restTemplate;
     private final String productionServiceUrl;
+    private final PaymentMetrics paymentMetrics;
+    private final DownstreamRetry downstreamRetry;
+    private final OrderStatusUpdateBatcher statusUpdateBatcher;
+    private final ContextSnapshotFactory contextSnapshotFactory = ContextSnapshotFactory.builder().build();
+    private final int lookupConcurrency;
 
-    public ProductionServiceClient(RestTemplate restTemplate, @Value("${production.service.url}") String productionServiceUrl) {
+    private final BulkEndpointSupport bulkLookup;
+    private final BulkEndpointSupport bulkUpdate;
+
+    public ProductionServiceClient(@Qualifier(PRODUCTION_SERVICE_REST_TEMPLATE) RestTemplate restTemplate, @Value("${production.service.url}") String productionServiceUrl,
+            PaymentMetrics paymentMetrics, DownstreamRetry downstreamRetry,
+            @Value("${production.service.status-batch.max-size:1}") int statusBatchMaxSize,
+            @Value("${production.service.status-batch.linger:5ms}") Duration statusBatchLinger,
+            @Value("${production.service.bulk-reprobe-interval:5m}") Duration bulkReprobeInterval,
+            @Value("${production.service.lookup-concurrency:8}") int lookupConcurrency) {
         this.restTemplate = restTemplate;
         this.productionServiceUrl = productionServiceUrl;
+        this.paymentMetrics = paymentMetrics;
+        this.downstreamRetry = downstreamRetry;
+        this.bulkLookup = new BulkEndpointSupport(bulkReprobeInterval);
+        this.bulkUpdate = new BulkEndpointSupport(bulkReprobeInterval);
+        this.lookupConcurrency = Math.max(1, lookupConcurrency);
+        this.statusUpdateBatcher = statusBatchMaxSize > 1
+            ? new OrderStatusUpdateBatcher(statusBatchMaxSize, statusBatchLinger, this::sendBulkUpdate)
+            : null;
     }
 
     @Override
     public Order getOrderById(Long orderId) {
-        OrderDTO orderDTO = restTemplate.getForObject(productionServiceUrl + "/production/orders/" + orderId, OrderDTO.class);
+        OrderDTO orderDTO = downstreamRetry.execute(PRODUCTION_SERVICE, "getOrderById", true,
+            () -> paymentMetrics.recordDownstream(PRODUCTION_SERVICE, "getOrderById",
+                () -> restTemplate.getForObject(productionServiceUrl + "/production/orders/{orderId}", OrderDTO.class, orderId)));
         return toOrder(orderDTO);
     }
 
     @Override
     public Order getOrderByPaymentId(String paymentId) {
-        OrderDTO orderDTO = restTemplate.getForObject(productionServiceUrl + "/production/orders/payment/" + paymentId, OrderDTO.class);
+        OrderDTO orderDTO = downstreamRetry.execute(PRODUCTION_SERVICE, "getOrderByPaymentId", true,
+            () -> paymentMetrics.recordDownstream(PRODUCTION_SERVICE, "getOrderByPaymentId",
+                () -> restTemplate.getForObject(productionServiceUrl + "/production/orders/payment/{paymentId}", OrderDTO.class, paymentId)));
         return toOrder(orderDTO);
     }
 
     @Override
-    public void updateOrderPaymentStatus(Long orderId, PaymentConfirmation paymentConfirmation) {
-        restTemplate.exchange(
-            productionServiceUrl + "/production/orders/" + orderId + "/payment-status",
-            HttpMethod.PUT,
-            new HttpEntity<>(paymentConfirmation),
-            Void.class
-        );
+    public List<Order> getOrdersByIds(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        if (bulkLookup.isSupported()) {
+            try {
+                OrderDTO[] orderDTOs = downstreamRetry.execute(PRODUCTION_SERVICE, "getOrdersByIds", true,
+                    () -> paymentMetrics.recordDownstream(PRODUCTION_SERVICE, "getOrdersByIds",
+                        () -> restTemplate.getForObject(productionServiceUrl + "/production/orders?ids={ids}", OrderDTO[].class,
+                            orderIds.stream().map(String::valueOf).collect(Collectors.joining(",")))));
+                bulkLookup.markSupported();
+                return orderDTOs == null ? List.of() : Arrays.stream(orderDTOs).filter(Objects::nonNull).map(OrderDTO::toOrder).toList();
+            } catch (HttpStatusCodeException e) {
+                if (!isBulkEndpointUnsupported(e)) {
+                    throw e;
+                }
+                log.warn("Production Service has no bulk order lookup ({}), falling back to one request per order", e.getStatusCode());
+                bulkLookup.markUnsupported();
+            }
+        }
+
+        return getOrdersOneByOne(new ArrayList<>(orderIds));
+    }
+
+    @Override
+    public Order updateOrderPaymentStatus(Long orderId, PaymentConfirmation paymentConfirmation) {
+        if (statusUpdateBatcher != null && bulkUpdate.isSupported()) {
+            OrderStatusUpdateBatcher.Result result = statusUpdateBatcher.submit(orderId, paymentConfirmation);
+            if (result.applied()) {
+                return result.order();
+            }
+        }
+        return putOrderPaymentStatus(orderId, paymentConfirmation);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (statusUpdateBatcher != null) {
+            statusUpdateBatcher.close();
+        }
+    }
+
+    private Order putOrderPaymentStatus(Long orderId, PaymentConfirmation paymentConfirmation) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(X_IDEMPOTENCY_KEY, paymentStatusUpdateKey(orderId, paymentConfirmation));
+        HttpEntity<PaymentConfirmation> entity = new HttpEntity<>(paymentConfirmation, headers);
+
+        ResponseEntity<OrderDTO> response = downstreamRetry.execute(PRODUCTION_SERVICE, "updateOrderPaymentStatus", true,
+            () -> paymentMetrics.recordDownstream(PRODUCTION_SERVICE, "updateOrderPaymentStatus",
+                () -> restTemplate.exchange(
+                    productionServiceUrl + "/production/orders/{orderId}/payment-status",
+                    HttpMethod.PUT,
+                    entity,
+                    OrderDTO.class,
+                    orderId
+                )));
+        return response != null ? toOrder(response.getBody()) : null;
+    }
+
+    // up to lookup-concurrency lookups in flight on virtual threads, answered in the order of the ids
+    private List<Order> getOrdersOneByOne(List<Long> orderIds) {
+        if (orderIds.size() == 1) {
+            Order order = getExistingOrderById(orderIds.get(0));
+            return order != null ? List.of(order) : List.of();
+        }
+
+        Order[] orders = new Order[orderIds.size()];
+        AtomicInteger next = new AtomicInteger();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        ContextSnapshot snapshot = contextSnapshotFactory.captureAll();
+        Map<String, String> logContext = ThreadContext.getImmutableContext();
+        Runnable worker = snapshot.wrap(() -> {
+            ThreadContext.putAll(logContext);
+            try {
+                for (int i = next.getAndIncrement(); i < orders.length && failure.get() == null; i = next.getAndIncrement()) {
+                    orders[i] = getExistingOrderById(orderIds.get(i));
+                }
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                ThreadContext.clearMap();
+            }
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = Math.min(lookupConcurrency, orders.length); i > 0; i--) {
+                executor.execute(worker);
+            }
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        return Arrays.stream(orders).filter(Objects::nonNull).toList();
+    }
+
+    private Order getExistingOrderById(Long orderId) {
+        try {
+            return getOrderById(orderId);
+        } catch (HttpStatusCodeException e) {
+            if (e.getStatusCode().value() != 404) {
+                throw e;
+            }
+            return null;
+        }
+    }
+
+    // settles every update the Production Service answered; the batcher hands the rest back to their callers
+    private void sendBulkUpdate(List<OrderStatusUpdateBatcher.Update> batch) {
+        if (!bulkUpdate.isSupported()) {
+            return;
+        }
+
+        Map<String, List<OrderStatusUpdateBatcher.Update>> updatesByKey = new HashMap<>();
+        List<PaymentStatusUpdateDTO> body = new ArrayList<>(batch.size());
+        for (OrderStatusUpdateBatcher.Update update : batch) {
+            String key = paymentStatusUpdateKey(update.orderId(), update.paymentConfirmation());
+            List<OrderStatusUpdateBatcher.Update> sameUpdate = updatesByKey.computeIfAbsent(key, k -> new ArrayList<>());
+            if (sameUpdate.isEmpty()) {
+                body.add(new PaymentStatusUpdateDTO(update.orderId(), key, update.paymentConfirmation()));
+            }
+            sameUpdate.add(update);
+        }
+
+        PaymentStatusUpdateResultDTO[] results;
+        try {
+            results = downstreamRetry.execute(PRODUCTION_SERVICE, "updateOrderPaymentStatuses", true,
+                () -> paymentMetrics.recordDownstream(PRODUCTION_SERVICE, "updateOrderPaymentStatuses",
+                    () -> restTemplate.exchange(
+                        productionServiceUrl + "/production/orders/payment-status",
+                        HttpMethod.PUT,
+                        new HttpEntity<>(body),
+                        PaymentStatusUpdateResultDTO[].class
+                    ).getBody()));
+        } catch (HttpStatusCodeException e) {
+            if (!isBulkEndpointUnsupported(e)) {
+                throw e;
+            }
+            log.warn("Production Service has no bulk payment status update ({}), falling back to one request per order", e.getStatusCode());
+            bulkUpdate.markUnsupported();
+            return;
+        }
+        bulkUpdate.markSupported();
+        if (results == null) {
+            return;
+        }
+
+        for (PaymentStatusUpdateResultDTO result : results) {
+            List<OrderStatusUpdateBatcher.Update> updates = updatesByKey.getOrDefault(result.getIdempotencyKey(), List.of());
+            HttpStatusCode status = HttpStatusCode.valueOf(result.getStatus());
+            if (status.is2xxSuccessful()) {
+                OrderStatusUpdateBatcher.Result applied = OrderStatusUpdateBatcher.Result.applied(toOrder(result.getOrder()));
+                updates.forEach(update -> update.result().complete(applied));
+            } else if (status.is4xxClientError()) {
+                HttpClientErrorException error = HttpClientErrorException.create(status, "Bulk payment status update rejected for order " + result.getOrderId(),
+                    HttpHeaders.EMPTY, null, null);
+                updates.forEach(update -> update.result().completeExceptionally(error));
+            }
+        }
+    }
+
+    static boolean isBulkEndpointUnsupported(HttpStatusCodeException e) {
+        int status = e.getStatusCode().value();
+        return status == 404 || status == 405 || status == 501;
+    }
+
+    // same order, payment and status always map to the same key, so retries and webhook redeliveries share it
+    static String paymentStatusUpdateKey(Long orderId, PaymentConfirmation paymentConfirmation) {
+        return "payment-status-" + orderId + "-" + paymentConfirmation.getId() + "-" + paymentConfirmation.getStatus();
     }
 
     private Order toOrder(OrderDTO orderDTO) {
         if (orderDTO == null) {
             return null;
         }
-        return new Order(
-            orderDTO.getId(),
-            orderDTO.getCustomerCpf(),
-            orderDTO.getPaymentId(),
-            orderDTO.getPaymentStatus()
-        );
+        return orderDTO.toOrder();
     }
 }
@@ -0,0 +1,82 @@
+package com.lanchonete.payment.adapter.driven.clients;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository.Order;
+import com.lanchonete.payment.core.domain.repositories.ReactiveOrderRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Primary
+@Component
+@ConditionalOnExpression("'${payment.io-mode:blocking}' == 'reactive' and ${production.service.cache.enabled:true}")
+public class ReactiveCachingOrderRepository implements ReactiveOrderRepository {
+
+    private final ReactiveOrderRepository delegate;
+    private final OrderCache orderCache;
+
+    public ReactiveCachingOrderRepository(ReactiveProductionServiceClient reactiveProductionServiceClient, OrderCache orderCache) {
+        this.delegate = reactiveProductionServiceClient;
+        this.orderCache = orderCache;
+    }
+
+    @Override
+    public Mono<Order> getOrderById(final Long orderId) {
+        return Mono.defer(() -> {
+            final Order cached = orderCache.getIfPresent(orderId);
+            return cached != null ? Mono.just(cached) : delegate.getOrderById(orderId).doOnNext(orderCache::put);
+        });
+    }
+
+    @Override
+    public Mono<Order> getOrderByPaymentId(final String paymentId) {
+        return Mono.defer(() -> {
+            final Order cached = orderCache.getByPaymentIdIfPresent(paymentId);
+            return cached != null ? Mono.just(cached) : delegate.getOrderByPaymentId(paymentId).doOnNext(orderCache::put);
+        });
+    }
+
+    @Override
+    public Flux<Order> getOrdersByIds(final Collection<Long> orderIds) {
+        return Flux.defer(() -> {
+            final Map<Long, Order> orders = new HashMap<>();
+            for (Long orderId : orderIds) {
+                final Order cached = orderCache.getIfPresent(orderId);
+                if (cached != null) {
+                    orders.put(orderId, cached);
+                }
+            }
+            final List<Long> missing = orderIds.stream().filter(orderId -> !orders.containsKey(orderId)).distinct().toList();
+            final Flux<Order> loaded = missing.isEmpty() ? Flux.empty() : delegate.getOrdersByIds(missing);
+
+            return loaded
+                .doOnNext(order -> {
+                    orderCache.put(order);
+                    orders.put(order.getId(), order);
+                })
+                .thenMany(Flux.defer(() -> Flux.fromIterable(orderIds).mapNotNull(orders::get)));
+        });
+    }
+
+    @Override
+    public Mono<Order> updateOrderPaymentStatus(final Long orderId, final PaymentConfirmation paymentConfirmation) {
+        return delegate.updateOrderPaymentStatus(orderId, paymentConfirmation)
+            .doOnError(e -> orderCache.invalidate(orderId))
+            .doOnSuccess(updatedOrder -> {
+                if (updatedOrder != null && orderId.equals(updatedOrder.getId())) {
+                    orderCache.put(updatedOrder);
+                } else {
+                    orderCache.invalidate(orderId);
+                }
+            });
+    }
+}
@@ -0,0 +1,121 @@
+package com.lanchonete.payment.adapter.driven.clients;
+
+import static com.lanchonete.payment.core.application.config.Constants.PRODUCTION_SERVICE;
+import static com.lanchonete.payment.core.application.config.Constants.PRODUCTION_SERVICE_WEB_CLIENT;
+import static com.lanchonete.payment.core.application.config.Constants.X_IDEMPOTENCY_KEY;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+import com.lanchonete.payment.core.application.config.DownstreamRetry;
+import com.lanchonete.payment.core.application.config.PaymentMetrics;
+import com.lanchonete.payment.core.application.dto.OrderDTO;
+import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository.Order;
+import com.lanchonete.payment.core.domain.repositories.ReactiveOrderRepository;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "payment.io-mode", havingValue = "reactive")
+public class ReactiveProductionServiceClient implements ReactiveOrderRepository {
+
+    private final WebClient webClient;
+    private final String productionServiceUrl;
+    private final PaymentMetrics paymentMetrics;
+    private final DownstreamRetry downstreamRetry;
+    private final BulkEndpointSupport bulkLookup;
+    private final int lookupConcurrency;
+
+    public ReactiveProductionServiceClient(@Qualifier(PRODUCTION_SERVICE_WEB_CLIENT) WebClient webClient,
+            @Value("${production.service.url}") String productionServiceUrl, PaymentMetrics paymentMetrics,
+            DownstreamRetry downstreamRetry,
+            @Value("${production.service.bulk-reprobe-interval:5m}") Duration bulkReprobeInterval,
+            @Value("${production.service.lookup-concurrency:8}") int lookupConcurrency) {
+        this.webClient = webClient;
+        this.productionServiceUrl = productionServiceUrl;
+        this.paymentMetrics = paymentMetrics;
+        this.downstreamRetry = downstreamRetry;
+        this.bulkLookup = new BulkEndpointSupport(bulkReprobeInterval);
+        this.lookupConcurrency = Math.max(1, lookupConcurrency);
+    }
+
+    @Override
+    public Mono<Order> getOrderById(Long orderId) {
+        return downstreamRetry.execute(PRODUCTION_SERVICE, "getOrderById", true,
+                paymentMetrics.recordDownstream(PRODUCTION_SERVICE, "getOrderById", webClient.get()
+                    .uri(productionServiceUrl + "/production/orders/{orderId}", orderId)
+                    .retrieve()
+                    .bodyToMono(OrderDTO.class)))
+            .map(OrderDTO::toOrder);
+    }
+
+    @Override
+    public Mono<Order> getOrderByPaymentId(String paymentId) {
+        return downstreamRetry.execute(PRODUCTION_SERVICE, "getOrderByPaymentId", true,
+                paymentMetrics.recordDownstream(PRODUCTION_SERVICE, "getOrderByPaymentId", webClient.get()
+                    .uri(productionServiceUrl + "/production/orders/payment/{paymentId}", paymentId)
+                    .retrieve()
+                    .bodyToMono(OrderDTO.class)))
+            .map(OrderDTO::toOrder);
+    }
+
+    @Override
+    public Flux<Order> getOrdersByIds(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return Flux.empty();
+        }
+        if (!bulkLookup.isSupported()) {
+            return getOrdersOneByOne(orderIds);
+        }
+
+        return downstreamRetry.execute(PRODUCTION_SERVICE, "getOrdersByIds", true,
+                paymentMetrics.recordDownstream(PRODUCTION_SERVICE, "getOrdersByIds", webClient.get()
+                    .uri(productionServiceUrl + "/production/orders?ids={ids}",
+                        orderIds.stream().map(String::valueOf).collect(Collectors.joining(",")))
+                    .retrieve()
+                    .bodyToMono(OrderDTO[].class)))
+            .doOnNext(orderDTOs -> bulkLookup.markSupported())
+            .flatMapMany(Flux::fromArray)
+            .map(OrderDTO::toOrder)
+            .onErrorResume(WebClientResponseException.class, e -> {
+                final int status = e.getStatusCode().value();
+                if (status != 404 && status != 405 && status != 501) {
+                    return Flux.error(e);
+                }
+                log.warn("Production Service has no bulk order lookup ({}), falling back to one request per order", e.getStatusCode());
+                bulkLookup.markUnsupported();
+                return getOrdersOneByOne(orderIds);
+            });
+    }
+
+    @Override
+    public Mono<Order> updateOrderPaymentStatus(Long orderId, PaymentConfirmation paymentConfirmation) {
+        return downstreamRetry.execute(PRODUCTION_SERVICE, "updateOrderPaymentStatus", true,
+                paymentMetrics.recordDownstream(PRODUCTION_SERVICE, "updateOrderPaymentStatus", webClient.put()
+                    .uri(productionServiceUrl + "/production/orders/{orderId}/payment-status", orderId)
+                    .header(X_IDEMPOTENCY_KEY, ProductionServiceClient.paymentStatusUpdateKey(orderId, paymentConfirmation))
+                    .bodyValue(paymentConfirmation)
+                    .retrieve()
+                    .bodyToMono(OrderDTO.class)))
+            .map(OrderDTO::toOrder);
+    }
+
+    // up to lookup-concurrency lookups in flight, answered in the order of the ids
+    private Flux<Order> getOrdersOneByOne(Collection<Long> orderIds) {
+        return Flux.fromIterable(orderIds)
+            .flatMapSequential(orderId -> getOrderById(orderId)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty()), lookupConcurrency);
+    }
+}
@@ -0,0 +1,52 @@
+package com.lanchonete.payment.adapter.driven.jdbc;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.lanchonete.payment.core.application.paymentlog.PaymentLogReader;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class JdbcPaymentLogReader implements PaymentLogReader {
+
+    // a payment is resolved once any non-PENDING status was logged for it (webhook or reconciliation)
+    private static final String FIND_UNRESOLVED = """
+        SELECT p.payment_id, p.order_id, MIN(p.created_at) AS first_logged_at
+        FROM payment_logs p
+        WHERE p.status = 'PENDING' AND p.order_id IS NOT NULL AND p.created_at >= ?
+          AND NOT EXISTS (SELECT 1 FROM payment_logs f WHERE f.payment_id = p.payment_id AND f.status <> 'PENDING')
+        GROUP BY p.payment_id, p.order_id
+        ORDER BY first_logged_at
+        LIMIT ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcPaymentLogReader(final DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public List<PendingEntry> findUnresolved(final Instant since, final int limit) {
+        return jdbcTemplate.query(FIND_UNRESOLVED, rs -> {
+            final List<PendingEntry> entries = new ArrayList<>();
+            while (rs.next()) {
+                final String paymentId = rs.getString("payment_id");
+                final String orderId = rs.getString("order_id");
+                try {
+                    entries.add(new PendingEntry(paymentId, Long.parseLong(orderId),
+                        rs.getTimestamp("first_logged_at").toInstant()));
+                } catch (NumberFormatException e) {
+                    log.warn("Ignoring payment log of payment {} with invalid order id {}", paymentId, orderId);
+                }
+            }
+            return entries;
+        }, Timestamp.from(since), limit);
+    }
+}
@@ -0,0 +1,143 @@
+package com.lanchonete.payment.adapter.driven.jdbc;
+
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+
+import com.lanchonete.payment.core.application.paymentlog.PaymentLogWriter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class JdbcPaymentLogWriter implements PaymentLogWriter, DisposableBean {
+
+    private static final String METRIC_PREFIX = "payment.logs";
+    private static final String INSERT = "INSERT INTO payment_logs (payment_id, order_id, status, amount) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?)";
+    private static final int COLUMNS = 4;
+    private static final long IDLE_POLL_MILLIS = 200;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<Entry> queue;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final String fullBatchInsert;
+    private final Thread writer;
+
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+    private final DistributionSummary batchSizeSummary;
+
+    private volatile boolean closed;
+
+    public JdbcPaymentLogWriter(final DataSource dataSource, final int queueCapacity, final int batchSize,
+            final Duration linger, final MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.lingerNanos = linger.toNanos();
+        this.fullBatchInsert = insertFor(batchSize);
+
+        Gauge.builder(METRIC_PREFIX + ".queued", queue, Collection::size).register(meterRegistry);
+        this.writtenCounter = entryCounter(meterRegistry, "written");
+        this.droppedCounter = entryCounter(meterRegistry, "dropped");
+        this.failedCounter = entryCounter(meterRegistry, "failed");
+        this.batchSizeSummary = DistributionSummary.builder(METRIC_PREFIX + ".batch.size").register(meterRegistry);
+
+        this.writer = Thread.ofPlatform().name("payment-log-writer").daemon().start(this::drain);
+    }
+
+    @Override
+    public void record(final Entry entry) {
+        if (closed || !queue.offer(entry)) {
+            droppedCounter.increment();
+            log.debug("Payment log queue unavailable, dropping {} entry for payment {}", entry.status(), entry.paymentId());
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        closed = true;
+        writer.join(TimeUnit.SECONDS.toMillis(SHUTDOWN_TIMEOUT_SECONDS));
+    }
+
+    private void drain() {
+        final List<Entry> batch = new ArrayList<>(batchSize);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                final Entry first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // on shutdown stop lingering and write whatever is left in full batches
+                final long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    final Entry next = closed ? queue.poll() : queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                closed = true;
+            }
+
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(final List<Entry> batch) {
+        final Object[] args = new Object[batch.size() * COLUMNS];
+        int i = 0;
+        for (final Entry entry : batch) {
+            args[i++] = entry.paymentId();
+            args[i++] = new SqlParameterValue(Types.VARCHAR, entry.orderId() != null ? entry.orderId().toString() : null);
+            args[i++] = entry.status();
+            args[i++] = new SqlParameterValue(Types.DECIMAL, entry.amount());
+        }
+
+        try {
+            jdbcTemplate.update(batch.size() == batchSize ? fullBatchInsert : insertFor(batch.size()), args);
+            writtenCounter.increment(batch.size());
+            batchSizeSummary.record(batch.size());
+        } catch (RuntimeException e) {
+            failedCounter.increment(batch.size());
+            log.error("Error writing {} payment log entries: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private static String insertFor(final int rows) {
+        final StringBuilder sql = new StringBuilder(INSERT.length() + rows * (ROW.length() + 2)).append(INSERT);
+        for (int row = 0; row < rows; row++) {
+            sql.append(row == 0 ? "" : ", ").append(ROW);
+        }
+        return sql.toString();
+    }
+
+    private static Counter entryCounter(final MeterRegistry meterRegistry, final String outcome) {
+        return Counter.builder(METRIC_PREFIX + ".entries").tag("outcome", outcome).register(meterRegistry);
+    }
+}
@@ -0,0 +1,142 @@
+package com.lanchonete.payment.adapter.driven.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32C;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Record layout: [int length][int crc32c][byte state][payload]. The state byte is
+ * written last, so a record torn by a crash still reads as the end of the segment.
+ */
+@Slf4j
+class JournalSegment {
+
+    static final int HEADER_SIZE = 9;
+    static final byte STATE_EMPTY = 0;
+    static final byte STATE_PENDING = 1;
+    static final byte STATE_DONE = 2;
+    static final byte STATE_FAILED = 3;
+
+    private static final int CRC_OFFSET = 4;
+    private static final int STATE_OFFSET = 8;
+
+    @Getter
+    private final long id;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicBoolean deleted = new AtomicBoolean();
+    private volatile boolean sealed;
+    private int writePosition;
+
+    private JournalSegment(final long id, final Path path, final FileChannel channel, final MappedByteBuffer buffer) {
+        this.id = id;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static JournalSegment create(final long id, final Path path, final int size) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new JournalSegment(id, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+    }
+
+    static JournalSegment open(final long id, final Path path) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        final JournalSegment segment = new JournalSegment(id, path, channel,
+            channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+        segment.sealed = true;
+        return segment;
+    }
+
+    int append(final byte[] payload, final boolean force) {
+        final int offset = writePosition;
+        if (offset + HEADER_SIZE + payload.length > buffer.capacity()) {
+            return -1;
+        }
+
+        final CRC32C crc = new CRC32C();
+        crc.update(payload);
+        buffer.put(offset + HEADER_SIZE, payload);
+        buffer.putInt(offset + CRC_OFFSET, (int) crc.getValue());
+        buffer.putInt(offset, payload.length);
+        buffer.put(offset + STATE_OFFSET, STATE_PENDING);
+        if (force) {
+            buffer.force(offset, HEADER_SIZE + payload.length);
+        }
+
+        writePosition = offset + HEADER_SIZE + payload.length;
+        outstanding.incrementAndGet();
+        return offset;
+    }
+
+    void scanPending(final BiConsumer<Integer, byte[]> consumer) {
+        int offset = 0;
+        while (offset + HEADER_SIZE <= buffer.capacity()) {
+            final byte state = buffer.get(offset + STATE_OFFSET);
+            final int length = buffer.getInt(offset);
+            if (state == STATE_EMPTY || length <= 0 || offset + HEADER_SIZE + length > buffer.capacity()) {
+                break;
+            }
+
+            final byte[] payload = new byte[length];
+            buffer.get(offset + HEADER_SIZE, payload);
+            final CRC32C crc = new CRC32C();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(offset + CRC_OFFSET)) {
+                log.error("Corrupted record at offset {} of journal segment {}, ignoring the rest of the segment", offset, path);
+                break;
+            }
+
+            if (state == STATE_PENDING) {
+                outstanding.incrementAndGet();
+                consumer.accept(offset, payload);
+            }
+            offset += HEADER_SIZE + length;
+        }
+        writePosition = offset;
+    }
+
+    boolean resolve(final int offset, final byte state) {
+        buffer.put(offset + STATE_OFFSET, state);
+        return outstanding.decrementAndGet() == 0 && sealed;
+    }
+
+    boolean seal() {
+        sealed = true;
+        return outstanding.get() == 0;
+    }
+
+    void delete() {
+        if (!deleted.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            channel.close();
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.error("Error deleting journal segment {}: {}", path, e.getMessage());
+        }
+    }
+
+    void close() {
+        try {
+            buffer.force();
+            channel.close();
+        } catch (IOException e) {
+            log.error("Error closing journal segment {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.lanchonete.payment.adapter.driven.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.DisposableBean;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.lanchonete.payment.core.application.dto.PaymentConfirmationDTO;
+import com.lanchonete.payment.core.application.journal.WebhookJournal;
+import com.lanchonete.payment.core.domain.exceptions.InvalidPaymentException;
+import com.lanchonete.payment.core.domain.exceptions.PaymentException;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class MappedFileWebhookJournal implements WebhookJournal, DisposableBean {
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean forceOnAppend;
+    private final ObjectReader eventReader;
+    private final ObjectWriter eventWriter;
+
+    private final Map<Long, JournalSegment> segments = new ConcurrentHashMap<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final AtomicLong pending = new AtomicLong();
+    private final List<Entry> recovered = new ArrayList<>();
+    private JournalSegment active;
+
+    public MappedFileWebhookJournal(final Path directory, final int segmentSize, final boolean forceOnAppend,
+            final ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.forceOnAppend = forceOnAppend;
+        this.eventReader = objectMapper.readerFor(PaymentConfirmationDTO.class);
+        this.eventWriter = objectMapper.writerFor(PaymentConfirmationDTO.class);
+
+        try {
+            Files.createDirectories(directory);
+            final long lastSegmentId = recoverSegments();
+            this.active = newSegment(lastSegmentId + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error opening webhook journal at " + directory, e);
+        }
+    }
+
+    @Override
+    public Entry append(final PaymentConfirmationDTO event) {
+        final byte[] payload = serialize(event);
+        if (payload.length + JournalSegment.HEADER_SIZE > segmentSize) {
+            throw new InvalidPaymentException("Webhook payload of " + payload.length + " bytes exceeds the journal segment size");
+        }
+
+        appendLock.lock();
+        try {
+            int offset = active.append(payload, forceOnAppend);
+            if (offset < 0) {
+                rollSegment();
+                offset = active.append(payload, forceOnAppend);
+            }
+            pending.incrementAndGet();
+            return new Entry(active.getId(), offset, event, 0);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Entry> recover() {
+        final List<Entry> entries = List.copyOf(recovered);
+        recovered.clear();
+        return entries;
+    }
+
+    @Override
+    public void complete(final Entry entry) {
+        resolve(entry, JournalSegment.STATE_DONE);
+    }
+
+    @Override
+    public void fail(final Entry entry) {
+        resolve(entry, JournalSegment.STATE_FAILED);
+    }
+
+    @Override
+    public long pendingCount() {
+        return pending.get();
+    }
+
+    @Override
+    public void destroy() {
+        segments.values().forEach(JournalSegment::close);
+    }
+
+    private void resolve(final Entry entry, final byte state) {
+        final JournalSegment segment = segments.get(entry.segmentId());
+        if (segment == null) {
+            return;
+        }
+        pending.decrementAndGet();
+        if (segment.resolve(entry.offset(), state)) {
+            removeSegment(segment);
+        }
+    }
+
+    private void rollSegment() {
+        final JournalSegment sealed = active;
+        try {
+            active = newSegment(sealed.getId() + 1);
+        } catch (IOException e) {
+            throw new PaymentException("Error creating webhook journal segment", e);
+        }
+        if (sealed.seal()) {
+            removeSegment(sealed);
+        }
+    }
+
+    private long recoverSegments() throws IOException {
+        final List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+        }
+
+        long lastSegmentId = 0;
+        for (final Path file : files) {
+            final String fileName = file.getFileName().toString();
+            final long segmentId = Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+            final JournalSegment segment = JournalSegment.open(segmentId, file);
+            segments.put(segmentId, segment);
+            segment.scanPending((offset, payload) -> recoverEntry(segment, offset, payload));
+            lastSegmentId = Math.max(lastSegmentId, segmentId);
+        }
+
+        segments.values().stream()
+            .filter(JournalSegment::seal)
+            .toList()
+            .forEach(this::removeSegment);
+        pending.addAndGet(recovered.size());
+
+        if (!recovered.isEmpty()) {
+            log.info("Recovered {} pending webhook events from journal at {}", recovered.size(), directory);
+        }
+        return lastSegmentId;
+    }
+
+    private void recoverEntry(final JournalSegment segment, final int offset, final byte[] payload) {
+        try {
+            recovered.add(new Entry(segment.getId(), offset, eventReader.readValue(payload), 0));
+        } catch (IOException e) {
+            log.error("Discarding unreadable webhook journal record at offset {} of segment {}: {}", offset, segment.getId(), e.getMessage());
+            segment.resolve(offset, JournalSegment.STATE_FAILED);
+        }
+    }
+
+    private JournalSegment newSegment(final long segmentId) throws IOException {
+        final JournalSegment segment = JournalSegment.create(segmentId,
+            directory.resolve(String.format("%020d%s", segmentId, SEGMENT_SUFFIX)), segmentSize);
+        segments.put(segmentId, segment);
+        return segment;
+    }
+
+    private void removeSegment(final JournalSegment segment) {
+        segments.remove(segment.getId());
+        segment.delete();
+    }
+
+    private byte[] serialize(final PaymentConfirmationDTO event) {
+        try {
+            return eventWriter.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            throw new InvalidPaymentException("Webhook payload could not be serialized: " + e.getOriginalMessage());
+        }
+    }
+}
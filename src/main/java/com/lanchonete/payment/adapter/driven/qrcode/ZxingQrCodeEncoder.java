@@ -0,0 +1,121 @@
+package com.lanchonete.payment.adapter.driven.qrcode;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.lanchonete.payment.core.application.qrcode.QrCodeEncoder;
+import com.lanchonete.payment.core.domain.exceptions.PaymentException;
+import com.lanchonete.payment.core.domain.model.enums.QrCodeImageFormat;
+
+@Component
+public class ZxingQrCodeEncoder implements QrCodeEncoder {
+
+    private static final int BLACK = 0;
+    private static final int WHITE = 1;
+
+    private final int moduleSize;
+    private final Map<EncodeHintType, Object> hints;
+    private final int[] blackModule;
+    private final int[] whiteModule;
+
+    public ZxingQrCodeEncoder(@Value("${payment.qr.image.module-size:8}") int moduleSize,
+            @Value("${payment.qr.image.margin:4}") int margin) {
+        this.moduleSize = moduleSize;
+        this.hints = Map.of(
+            EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.M,
+            EncodeHintType.CHARACTER_SET, StandardCharsets.UTF_8.name(),
+            EncodeHintType.MARGIN, margin);
+        this.blackModule = new int[moduleSize * moduleSize];
+        this.whiteModule = new int[moduleSize * moduleSize];
+        Arrays.fill(whiteModule, WHITE);
+    }
+
+    @Override
+    public byte[] encode(final String qrData, final QrCodeImageFormat format) {
+        final BitMatrix modules;
+        try {
+            // width and height 0 give one pixel per module, scaling happens below
+            modules = new QRCodeWriter().encode(qrData, BarcodeFormat.QR_CODE, 0, 0, hints);
+        } catch (WriterException | IllegalArgumentException e) {
+            throw new PaymentException("Failed to encode QR code: " + e.getMessage(), e);
+        }
+
+        return switch (format) {
+            case PNG -> toPng(modules);
+            case SVG -> toSvg(modules);
+        };
+    }
+
+    private byte[] toPng(final BitMatrix modules) {
+        final int size = modules.getWidth();
+        final BufferedImage image = new BufferedImage(size * moduleSize, size * moduleSize, BufferedImage.TYPE_BYTE_BINARY);
+        final WritableRaster raster = image.getRaster();
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                raster.setSamples(x * moduleSize, y * moduleSize, moduleSize, moduleSize, 0,
+                    modules.get(x, y) ? blackModule : whiteModule);
+            }
+        }
+
+        // 1-bit PNGs of payment QR codes stay around 1-2 KB
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(2048);
+        final ImageWriter writer = ImageIO.getImageWritersByFormatName("png").next();
+        try (ImageOutputStream imageOut = new MemoryCacheImageOutputStream(out)) {
+            writer.setOutput(imageOut);
+            writer.write(image);
+        } catch (IOException e) {
+            throw new PaymentException("Failed to write QR code PNG: " + e.getMessage(), e);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] toSvg(final BitMatrix modules) {
+        final int size = modules.getWidth();
+        final StringBuilder svg = new StringBuilder(size * size)
+            .append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(size * moduleSize)
+            .append("\" height=\"").append(size * moduleSize)
+            .append("\" viewBox=\"0 0 ").append(size).append(' ').append(size)
+            .append("\" shape-rendering=\"crispEdges\"><rect width=\"").append(size)
+            .append("\" height=\"").append(size).append("\" fill=\"#fff\"/><path fill=\"#000\" d=\"");
+
+        // one rectangle per horizontal run of dark modules keeps the path short
+        for (int y = 0; y < size; y++) {
+            int x = 0;
+            while (x < size) {
+                if (!modules.get(x, y)) {
+                    x++;
+                    continue;
+                }
+                final int start = x;
+                while (x < size && modules.get(x, y)) {
+                    x++;
+                }
+                svg.append('M').append(start).append(' ').append(y)
+                    .append('h').append(x - start).append("v1h-").append(x - start).append('z');
+            }
+        }
+
+        return svg.append("\"/></svg>").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
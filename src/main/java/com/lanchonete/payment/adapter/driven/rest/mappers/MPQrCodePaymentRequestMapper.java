@@ -3,8 +3,10 @@ package com.lanchonete.payment.adapter.driven.rest.mappers;
 import static com.lanchonete.payment.core.application.config.Constants.DYNAMIC;
 import static com.lanchonete.payment.core.application.config.Constants.ORDER_DESCRIPTION;
 import static com.lanchonete.payment.core.application.config.Constants.QR;
+import static com.lanchonete.payment.core.application.config.Constants.QR_IDEMPOTENCY_KEY_PREFIX;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
 
 import com.lanchonete.payment.adapter.driven.rest.request.MPQrCodePaymentRequest;
@@ -15,19 +17,30 @@ import com.lanchonete.payment.adapter.driven.rest.request.MPQrCodePaymentRequest
 
 public class MPQrCodePaymentRequestMapper {
 
-    public static MPQrCodePaymentRequest createMPQrCodePaymentRequest(final Long orderId, final BigDecimal totalPrice, final String externalPosId){
+    // the Mercado Pago order expires with the local QR code (ISO-8601 duration, e.g. PT30M), so an expired QR can't be paid
+    public static MPQrCodePaymentRequest createMPQrCodePaymentRequest(final Long orderId, final BigDecimal totalPrice,
+            final String externalPosId, final Duration expiration){
          
         return MPQrCodePaymentRequest.builder()
             .type(QR)
             .totalAmount(totalPrice.toString())
             .description(ORDER_DESCRIPTION + orderId)
             .externalReference(orderId.toString())
+            .expirationTime(expiration != null ? expiration.toString() : null)
             .config(getQrConfig(externalPosId))
             .transactions(getQrTransactions(totalPrice))
             .build();
         
     }
 
+    // the key names the Mercado Pago order the new one replaces: retries, replicas and restarts see the same previous
+    // payment and replay the order they already created, while a QR code generated after that payment was resolved
+    // always gets a fresh Mercado Pago order
+    public static String createIdempotencyKey(final Long orderId, final BigDecimal totalPrice, final String previousPaymentId){
+        final String key = QR_IDEMPOTENCY_KEY_PREFIX + orderId + "-" + totalPrice.stripTrailingZeros().toPlainString();
+        return previousPaymentId != null ? key + "-after-" + previousPaymentId : key;
+    }
+
     private static Config getQrConfig(final String externalPosId){
         final Qr qr = Qr.builder()
             .externalPosId(externalPosId)
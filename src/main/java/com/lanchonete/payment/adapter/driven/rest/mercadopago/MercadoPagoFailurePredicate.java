@@ -0,0 +1,23 @@
+package com.lanchonete.payment.adapter.driven.rest.mercadopago;
+
+import java.util.function.Predicate;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+
+import com.lanchonete.payment.core.application.config.HttpErrors;
+
+public class MercadoPagoFailurePredicate implements Predicate<Throwable> {
+
+    @Override
+    public boolean test(final Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            final HttpStatusCode status = HttpErrors.statusOf(cause);
+            if (status != null) {
+                // 4xx are caller errors (unknown payment, bad payload) and say nothing about Mercado Pago health
+                return !status.is4xxClientError() || status.value() == HttpStatus.TOO_MANY_REQUESTS.value();
+            }
+        }
+        return true;
+    }
+}
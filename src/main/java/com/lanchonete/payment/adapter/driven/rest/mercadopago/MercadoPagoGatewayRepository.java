@@ -1,17 +1,18 @@
 package com.lanchonete.payment.adapter.driven.rest.mercadopago;
 
-import static com.lanchonete.payment.core.application.config.Constants.CLIENT_CREDENTIALS;
-import static com.lanchonete.payment.core.application.config.Constants.REQUEST_TRACE_ID;
+import static com.lanchonete.payment.core.application.config.Constants.MERCADO_PAGO;
+import static com.lanchonete.payment.core.application.config.Constants.MERCADO_PAGO_CREATE_QR;
+import static com.lanchonete.payment.core.application.config.Constants.MERCADO_PAGO_GET_CONFIRMATION;
+import static com.lanchonete.payment.core.application.config.Constants.MERCADO_PAGO_REST_TEMPLATE;
 import static com.lanchonete.payment.core.application.config.Constants.SLASH;
 import static com.lanchonete.payment.core.application.config.Constants.X_IDEMPOTENCY_KEY;
+import static com.lanchonete.payment.adapter.driven.rest.mappers.MPQrCodePaymentRequestMapper.createIdempotencyKey;
 import static com.lanchonete.payment.adapter.driven.rest.mappers.MPQrCodePaymentRequestMapper.createMPQrCodePaymentRequest;
 
 import java.math.BigDecimal;
 import java.time.Duration;
-import java.time.LocalDateTime;
 
-import org.apache.logging.log4j.ThreadContext;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -21,11 +22,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
-import com.lanchonete.payment.adapter.driven.rest.request.MPAuthRequest;
 import com.lanchonete.payment.adapter.driven.rest.request.MPQrCodePaymentRequest;
-import com.lanchonete.payment.adapter.driven.rest.response.MPAuthResponse;
 import com.lanchonete.payment.adapter.driven.rest.response.MPPaymentConfirmationResponse;
 import com.lanchonete.payment.adapter.driven.rest.response.MPQrCodePaymentResponse;
+import com.lanchonete.payment.core.application.config.DownstreamRetry;
+import com.lanchonete.payment.core.application.config.PaymentMetrics;
 import com.lanchonete.payment.core.domain.exceptions.MercadoPagoIntegrationException;
 
 import lombok.extern.slf4j.Slf4j;
@@ -34,44 +35,65 @@ import lombok.extern.slf4j.Slf4j;
 @Component
 public class MercadoPagoGatewayRepository {
 
-    @Value("${mercadopago.access.client}")
-    private String clientId;
-
-    @Value("${mercadopago.access.secret}")
-    private String secretId;
-
     @Value("${mercadopago.baseUrl}")
     private String mpUrl;
 
-    @Value("${mercadopago.path.auth}")
-    private String authPath;
-
     @Value("${mercadopago.path.orders}")
     private String ordersPath;
 
     @Value("${mercadopago.externalPosId}")
     private String externalPosId;
 
-    private String accessToken;
-    private LocalDateTime tokenExpiryTime;
+    @Value("${payment.reconciliation.qr-expiry:30m}")
+    private Duration qrExpiry;
 
-    @Autowired
     private final RestTemplate restTemplate;
-
-    public MercadoPagoGatewayRepository(RestTemplate restTemplate) {
+    private final MercadoPagoTokenManager tokenManager;
+    private final PaymentMetrics paymentMetrics;
+    private final MercadoPagoResilience resilience;
+    private final DownstreamRetry downstreamRetry;
+
+    public MercadoPagoGatewayRepository(@Qualifier(MERCADO_PAGO_REST_TEMPLATE) RestTemplate restTemplate,
+            MercadoPagoTokenManager tokenManager, PaymentMetrics paymentMetrics, MercadoPagoResilience resilience,
+            DownstreamRetry downstreamRetry) {
         this.restTemplate = restTemplate;
+        this.tokenManager = tokenManager;
+        this.paymentMetrics = paymentMetrics;
+        this.resilience = resilience;
+        this.downstreamRetry = downstreamRetry;
     }
 
     public MPPaymentConfirmationResponse getPaymentConfirmation(final String paymentId){
-        final String url = mpUrl + ordersPath + SLASH + paymentId;
+        return downstreamRetry.execute(MERCADO_PAGO, "getConfirmation", true,
+            () -> resilience.execute(MERCADO_PAGO_GET_CONFIRMATION, () -> fetchPaymentConfirmation(paymentId)));
+    }
+
+    // the Mercado Pago order as created, with its current status and the QR data it was created with
+    public MPQrCodePaymentResponse getQrCodePayment(final String paymentId){
+        return downstreamRetry.execute(MERCADO_PAGO, "getQr", true,
+            () -> resilience.execute(MERCADO_PAGO_GET_CONFIRMATION, () -> fetchQrCodePayment(paymentId)));
+    }
+
+    public MPQrCodePaymentResponse createQrCodeForPayment(final Long orderId, final BigDecimal totalPrice, final String previousPaymentId){
+        // the key is fixed before the retries, so a retried POST never creates a second order on Mercado Pago;
+        // duplicate requests for the same order never get here, PaymentQrCodeCache coalesces them
+        final String idempotencyKey = createIdempotencyKey(orderId, totalPrice, previousPaymentId);
+        return downstreamRetry.execute(MERCADO_PAGO, "createQr", true,
+            () -> resilience.execute(MERCADO_PAGO_CREATE_QR, () -> createQrCode(orderId, totalPrice, idempotencyKey)));
+    }
+
+    private MPPaymentConfirmationResponse fetchPaymentConfirmation(final String paymentId){
+        final String url = mpUrl + ordersPath + SLASH + "{paymentId}";
 
         HttpEntity<String> entity = new HttpEntity<>(getHeaders());
 
         try {
-            final ResponseEntity<MPPaymentConfirmationResponse> response = restTemplate.exchange(url,
-                HttpMethod.GET,
-                entity, 
-                MPPaymentConfirmationResponse.class); 
+            final ResponseEntity<MPPaymentConfirmationResponse> response = paymentMetrics.recordDownstream(MERCADO_PAGO, "getConfirmation",
+                () -> restTemplate.exchange(url,
+                    HttpMethod.GET,
+                    entity,
+                    MPPaymentConfirmationResponse.class,
+                    paymentId));
 
             return response.getBody();
         } catch (Exception e) {
@@ -79,52 +101,41 @@ public class MercadoPagoGatewayRepository {
         }  
     }
 
-    public MPQrCodePaymentResponse createQrCodeForPayment(final Long orderId, final BigDecimal totalPrice){
-        final MPQrCodePaymentRequest payload = createMPQrCodePaymentRequest(orderId, totalPrice, externalPosId);
-        final HttpEntity<MPQrCodePaymentRequest> request = new HttpEntity<>(payload, getHeaders(ThreadContext.get(REQUEST_TRACE_ID)));
-        final String url = mpUrl + ordersPath;
+    private MPQrCodePaymentResponse fetchQrCodePayment(final String paymentId){
+        final String url = mpUrl + ordersPath + SLASH + "{paymentId}";
 
         try {
-            final ResponseEntity<MPQrCodePaymentResponse> response = restTemplate.postForEntity(url, request, MPQrCodePaymentResponse.class);
+            final ResponseEntity<MPQrCodePaymentResponse> response = paymentMetrics.recordDownstream(MERCADO_PAGO, "getQr",
+                () -> restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(getHeaders()), MPQrCodePaymentResponse.class, paymentId));
+
             return response.getBody();
-        }  catch (Exception e) {
-            System.out.println("Error creating order: " + e.getMessage());
-            throw new MercadoPagoIntegrationException("Error trying to create new payment QR Corde for order'" + orderId +  "' on Mercado Pago.", e);
+        } catch (Exception e) {
+            throw new MercadoPagoIntegrationException("Error trying to get QR code for payment id '" + paymentId +  "' from Mercado Pago.", e);
         }
-
     }
 
-    private void refreshToken(){
-        final String url = mpUrl + authPath;
-        final MPAuthRequest authRequest = MPAuthRequest.builder()
-            .clientId(clientId)
-            .clientSecret(secretId)
-            .granType(CLIENT_CREDENTIALS)
-            .build();
+    private MPQrCodePaymentResponse createQrCode(final Long orderId, final BigDecimal totalPrice, final String idempotencyKey){
+        final MPQrCodePaymentRequest payload = createMPQrCodePaymentRequest(orderId, totalPrice, externalPosId, qrExpiry);
+        final HttpEntity<MPQrCodePaymentRequest> request = new HttpEntity<>(payload, getHeaders(idempotencyKey));
+        final String url = mpUrl + ordersPath;
 
         try {
-            final ResponseEntity<MPAuthResponse> response = restTemplate.postForEntity(url, authRequest, MPAuthResponse.class); 
-
-            final MPAuthResponse authResponse = response.getBody();
+            final ResponseEntity<MPQrCodePaymentResponse> response = paymentMetrics.recordDownstream(MERCADO_PAGO, "createQr",
+                () -> restTemplate.postForEntity(url, request, MPQrCodePaymentResponse.class));
+            return response.getBody();
+        }  catch (Exception e) {
+            log.error("Error creating order: {}", e.getMessage());
+            throw new MercadoPagoIntegrationException("Error trying to create new payment QR Corde for order'" + orderId +  "' on Mercado Pago.", e);
+        }
 
-            if (authResponse != null && authResponse.getAccessToken() != null) {
-                this.accessToken = authResponse.getAccessToken();
-                this.tokenExpiryTime = LocalDateTime.now().plusSeconds(authResponse.getExpiresIn());
-                log.info("Token successfuly renewed!");
-            } else {
-                throw new MercadoPagoIntegrationException("Failed to obtain the auth token.");
-            }
-        } catch (Exception e) {
-            throw new MercadoPagoIntegrationException("Error trying to get auth token from Mercado Pago.", e);
-        }  
     }
 
-    private HttpHeaders getHeaders(final String requestTraceId) {
+    private HttpHeaders getHeaders(final String idempotencyKey) {
         HttpHeaders headers = new HttpHeaders();
-        headers.setBearerAuth(getAuthToken());
+        headers.setBearerAuth(tokenManager.getAccessToken());
         headers.setContentType(MediaType.APPLICATION_JSON);
-        if (requestTraceId != null) {
-            headers.set(X_IDEMPOTENCY_KEY, requestTraceId);
+        if (idempotencyKey != null) {
+            headers.set(X_IDEMPOTENCY_KEY, idempotencyKey);
         }
         
         return headers;
@@ -133,18 +144,5 @@ public class MercadoPagoGatewayRepository {
     private HttpHeaders getHeaders() {
         return getHeaders(null);
     }
-
-    private String getAuthToken() {
-        if (accessToken == null || isTokenExpired()) {
-            refreshToken();
-        }
-        return accessToken;
-    }
-
-     private boolean isTokenExpired() {
-        return tokenExpiryTime == null || LocalDateTime.now().isAfter(tokenExpiryTime.minus(Duration.ofMinutes(5)));
-    }
-   
     
 }
-
@@ -0,0 +1,54 @@
+package com.lanchonete.payment.adapter.driven.rest.mercadopago;
+
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.lanchonete.payment.core.domain.exceptions.MercadoPagoUnavailableException;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Component
+public class MercadoPagoResilience {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    public MercadoPagoResilience(CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+    }
+
+    public <T> T execute(final String operation, final Supplier<T> call) {
+        final Supplier<T> guarded = Bulkhead.decorateSupplier(bulkheadRegistry.bulkhead(operation),
+            CircuitBreaker.decorateSupplier(circuitBreakerRegistry.circuitBreaker(operation), call));
+        try {
+            return guarded.get();
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            throw unavailable(operation, e);
+        }
+    }
+
+    public <T> Mono<T> execute(final String operation, final Mono<T> call) {
+        return call
+            .transformDeferred(CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker(operation)))
+            .transformDeferred(BulkheadOperator.of(bulkheadRegistry.bulkhead(operation)))
+            .onErrorMap(e -> e instanceof CallNotPermittedException || e instanceof BulkheadFullException,
+                e -> unavailable(operation, e));
+    }
+
+    private static MercadoPagoUnavailableException unavailable(final String operation, final Throwable cause) {
+        log.warn("Mercado Pago call {} rejected: {}", operation, cause.getMessage());
+        return new MercadoPagoUnavailableException("Mercado Pago is unavailable for " + operation + ", try again later.", cause);
+    }
+}
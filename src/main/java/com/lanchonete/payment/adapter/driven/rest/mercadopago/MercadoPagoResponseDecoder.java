@@ -0,0 +1,51 @@
+package com.lanchonete.payment.adapter.driven.rest.mercadopago;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractDataBufferDecoder;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeType;
+
+import reactor.core.publisher.Mono;
+
+public class MercadoPagoResponseDecoder extends AbstractDataBufferDecoder<Object> {
+
+    private final MercadoPagoResponseReader responseReader;
+
+    public MercadoPagoResponseDecoder(final MercadoPagoResponseReader responseReader) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.responseReader = responseReader;
+    }
+
+    @Override
+    public boolean canDecode(final ResolvableType elementType, final MimeType mimeType) {
+        return responseReader.supports(elementType.toClass()) && super.canDecode(elementType, mimeType);
+    }
+
+    @Override
+    public Mono<Object> decodeToMono(final Publisher<DataBuffer> input, final ResolvableType elementType,
+            final MimeType mimeType, final Map<String, Object> hints) {
+        // a literal null body completes empty, as it does with the Jackson decoder
+        return DataBufferUtils.join(input, getMaxInMemorySize())
+            .mapNotNull(buffer -> decode(buffer, elementType, mimeType, hints));
+    }
+
+    @Override
+    public Object decode(final DataBuffer buffer, final ResolvableType targetType, final MimeType mimeType,
+            final Map<String, Object> hints) {
+        try (InputStream body = buffer.asInputStream()) {
+            return responseReader.read(targetType.toClass(), body);
+        } catch (IOException | NumberFormatException e) {
+            throw new DecodingException("Could not decode Mercado Pago response: " + e.getMessage(), e);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.lanchonete.payment.adapter.driven.rest.mercadopago;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+public class MercadoPagoResponseHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private final MercadoPagoResponseReader responseReader;
+
+    public MercadoPagoResponseHttpMessageConverter(final MercadoPagoResponseReader responseReader) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.responseReader = responseReader;
+    }
+
+    @Override
+    protected boolean supports(final Class<?> clazz) {
+        return responseReader.supports(clazz);
+    }
+
+    @Override
+    protected boolean canWrite(final MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(final Class<?> clazz, final HttpInputMessage inputMessage) throws IOException {
+        try {
+            return responseReader.read(clazz, inputMessage.getBody());
+        } catch (IOException | NumberFormatException e) {
+            throw new HttpMessageNotReadableException("Could not read Mercado Pago response: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(final Object object, final HttpOutputMessage outputMessage) {
+        throw new HttpMessageNotWritableException("Mercado Pago responses are read only");
+    }
+}
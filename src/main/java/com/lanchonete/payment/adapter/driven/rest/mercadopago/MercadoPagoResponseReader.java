@@ -0,0 +1,110 @@
+package com.lanchonete.payment.adapter.driven.rest.mercadopago;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lanchonete.payment.adapter.driven.rest.response.MPPaymentConfirmationResponse;
+import com.lanchonete.payment.adapter.driven.rest.response.MPQrCodePaymentResponse;
+
+// Mercado Pago orders carry transactions, items and config we never use: only the fields the DTOs hold are read,
+// every other value is skipped token by token without being materialized
+@Component
+public class MercadoPagoResponseReader {
+
+    private final JsonFactory jsonFactory;
+
+    public MercadoPagoResponseReader(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public boolean supports(final Class<?> type) {
+        return type == MPQrCodePaymentResponse.class || type == MPPaymentConfirmationResponse.class;
+    }
+
+    public Object read(final Class<?> type, final InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            final JsonToken first = parser.nextToken();
+            if (first == null || first == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (first != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a JSON object for " + type.getSimpleName() + " but found " + first);
+            }
+
+            if (type == MPQrCodePaymentResponse.class) {
+                return readQrCodePayment(parser);
+            }
+            if (type == MPPaymentConfirmationResponse.class) {
+                return readPaymentConfirmation(parser);
+            }
+            throw new IllegalArgumentException("Unsupported Mercado Pago response type: " + type.getName());
+        }
+    }
+
+    private MPQrCodePaymentResponse readQrCodePayment(final JsonParser parser) throws IOException {
+        final MPQrCodePaymentResponse.MPQrCodePaymentResponseBuilder response = MPQrCodePaymentResponse.builder();
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            switch (field) {
+                case "id" -> response.id(parser.getValueAsString());
+                case "status" -> response.status(parser.getValueAsString());
+                case "external_reference" -> response.externalReference(parser.getValueAsString());
+                case "type_response" -> response.typeResponse(readTypeResponse(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return response.build();
+    }
+
+    private MPQrCodePaymentResponse.TypeResponse readTypeResponse(final JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+
+        final MPQrCodePaymentResponse.TypeResponse.TypeResponseBuilder typeResponse = MPQrCodePaymentResponse.TypeResponse.builder();
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            if ("qr_data".equals(field)) {
+                typeResponse.qrData(parser.getValueAsString());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return typeResponse.build();
+    }
+
+    private MPPaymentConfirmationResponse readPaymentConfirmation(final JsonParser parser) throws IOException {
+        final MPPaymentConfirmationResponse response = new MPPaymentConfirmationResponse();
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            switch (field) {
+                case "id" -> response.setId(parser.getValueAsString());
+                case "status" -> response.setStatus(parser.getValueAsString());
+                case "total_amount" -> response.setTotalAmount(readAmount(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return response;
+    }
+
+    // the orders API sends amounts as strings ("57.90"), older payloads as numbers
+    private static Double readAmount(final JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getDoubleValue();
+            case VALUE_STRING -> parser.getText().isBlank() ? null : Double.valueOf(parser.getText());
+            case VALUE_NULL -> null;
+            default -> throw new JsonParseException(parser, "Expected a number for total_amount but found " + parser.currentToken());
+        };
+    }
+}
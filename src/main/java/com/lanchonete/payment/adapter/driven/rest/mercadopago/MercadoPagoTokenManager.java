@@ -0,0 +1,195 @@
+package com.lanchonete.payment.adapter.driven.rest.mercadopago;
+
+import static com.lanchonete.payment.core.application.config.Constants.CLIENT_CREDENTIALS;
+import static com.lanchonete.payment.core.application.config.Constants.MERCADO_PAGO;
+import static com.lanchonete.payment.core.application.config.Constants.MERCADO_PAGO_REST_TEMPLATE;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.lanchonete.payment.adapter.driven.rest.request.MPAuthRequest;
+import com.lanchonete.payment.adapter.driven.rest.response.MPAuthResponse;
+import com.lanchonete.payment.core.application.config.PaymentMetrics;
+import com.lanchonete.payment.core.domain.exceptions.MercadoPagoIntegrationException;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class MercadoPagoTokenManager {
+
+    private static final Duration EXPIRY_SKEW = Duration.ofMinutes(5);
+    private static final String ON_DEMAND = "on-demand";
+    private static final String BACKGROUND = "background";
+
+    @Value("${mercadopago.access.client}")
+    private String clientId;
+
+    @Value("${mercadopago.access.secret}")
+    private String secretId;
+
+    @Value("${mercadopago.baseUrl}")
+    private String mpUrl;
+
+    @Value("${mercadopago.path.auth}")
+    private String authPath;
+
+    @Value("${mercadopago.token.refreshAheadSeconds:60}")
+    private long refreshAheadSeconds;
+
+    @Value("${mercadopago.token.retryDelaySeconds:10}")
+    private long retryDelaySeconds;
+
+    private final RestTemplate restTemplate;
+    private final PaymentMetrics paymentMetrics;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicReference<CompletableFuture<TokenSnapshot>> inFlightRefresh = new AtomicReference<>();
+
+    private volatile TokenSnapshot snapshot;
+    private volatile ScheduledFuture<?> scheduledRefresh;
+
+    public MercadoPagoTokenManager(@Qualifier(MERCADO_PAGO_REST_TEMPLATE) RestTemplate restTemplate,
+            PaymentMetrics paymentMetrics) {
+        this.restTemplate = restTemplate;
+        this.paymentMetrics = paymentMetrics;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "mp-token-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public String getAccessToken() {
+        return currentAccessToken().orElseGet(() -> refresh(false).accessToken());
+    }
+
+    public Optional<String> currentAccessToken() {
+        final TokenSnapshot current = snapshot;
+        if (current != null && current.isUsableAt(Instant.now())) {
+            return Optional.of(current.accessToken());
+        }
+        return Optional.empty();
+    }
+
+    TokenSnapshot refresh(final boolean force) {
+        final CompletableFuture<TokenSnapshot> refresh = new CompletableFuture<>();
+        final CompletableFuture<TokenSnapshot> inFlight = inFlightRefresh.compareAndExchange(null, refresh);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+
+        try {
+            final TokenSnapshot current = snapshot;
+            if (!force && current != null && current.isUsableAt(Instant.now())) {
+                refresh.complete(current);
+                return current;
+            }
+
+            final TokenSnapshot renewed = fetchToken(force ? BACKGROUND : ON_DEMAND);
+            snapshot = renewed;
+            refresh.complete(renewed);
+            scheduleBackgroundRefresh(renewed);
+            return renewed;
+        } catch (RuntimeException e) {
+            refresh.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightRefresh.set(null);
+        }
+    }
+
+    private TokenSnapshot fetchToken(final String trigger) {
+        final String url = mpUrl + authPath;
+        final MPAuthRequest authRequest = MPAuthRequest.builder()
+            .clientId(clientId)
+            .clientSecret(secretId)
+            .granType(CLIENT_CREDENTIALS)
+            .build();
+
+        try {
+            final ResponseEntity<MPAuthResponse> response = paymentMetrics.recordDownstream(MERCADO_PAGO, "token",
+                () -> restTemplate.postForEntity(url, authRequest, MPAuthResponse.class));
+
+            final MPAuthResponse authResponse = response.getBody();
+
+            if (authResponse != null && authResponse.getAccessToken() != null) {
+                final TokenSnapshot token = new TokenSnapshot(authResponse.getAccessToken(), Instant.now().plusSeconds(authResponse.getExpiresIn()));
+                log.info("Token successfuly renewed!");
+                paymentMetrics.recordTokenRefresh(trigger, true);
+                return token;
+            } else {
+                throw new MercadoPagoIntegrationException("Failed to obtain the auth token.");
+            }
+        } catch (Exception e) {
+            paymentMetrics.recordTokenRefresh(trigger, false);
+            throw new MercadoPagoIntegrationException("Error trying to get auth token from Mercado Pago.", e);
+        }
+    }
+
+    private void scheduleBackgroundRefresh(final TokenSnapshot token) {
+        final Instant refreshAt = token.expiresAt().minus(EXPIRY_SKEW).minusSeconds(refreshAheadSeconds);
+        final long delayMillis = Duration.between(Instant.now(), refreshAt).toMillis();
+        if (delayMillis <= 0) {
+            log.warn("Auth token lifetime is shorter than the refresh window, background refresh disabled");
+            return;
+        }
+        schedule(delayMillis);
+    }
+
+    private void schedule(final long delayMillis) {
+        final ScheduledFuture<?> previous = scheduledRefresh;
+        if (previous != null) {
+            previous.cancel(false);
+        }
+        if (!scheduler.isShutdown()) {
+            scheduledRefresh = scheduler.schedule(this::backgroundRefresh, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void backgroundRefresh() {
+        try {
+            refresh(true);
+        } catch (RuntimeException e) {
+            log.error("Background auth token refresh failed, retrying in {}s: {}", retryDelaySeconds, e.getMessage());
+            schedule(TimeUnit.SECONDS.toMillis(retryDelaySeconds));
+        }
+    }
+
+    private TokenSnapshot await(final CompletableFuture<TokenSnapshot> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof MercadoPagoIntegrationException integrationException) {
+                throw integrationException;
+            }
+            throw new MercadoPagoIntegrationException("Error trying to get auth token from Mercado Pago.", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    record TokenSnapshot(String accessToken, Instant expiresAt) {
+
+        boolean isUsableAt(final Instant instant) {
+            return instant.isBefore(expiresAt.minus(EXPIRY_SKEW));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.lanchonete.payment.adapter.driven.rest.mercadopago;
+
+import static com.lanchonete.payment.core.application.config.Constants.MERCADO_PAGO;
+import static com.lanchonete.payment.core.application.config.Constants.MERCADO_PAGO_CREATE_QR;
+import static com.lanchonete.payment.core.application.config.Constants.MERCADO_PAGO_GET_CONFIRMATION;
+import static com.lanchonete.payment.core.application.config.Constants.MERCADO_PAGO_WEB_CLIENT;
+import static com.lanchonete.payment.core.application.config.Constants.SLASH;
+import static com.lanchonete.payment.core.application.config.Constants.X_IDEMPOTENCY_KEY;
+import static com.lanchonete.payment.adapter.driven.rest.mappers.MPQrCodePaymentRequestMapper.createIdempotencyKey;
+import static com.lanchonete.payment.adapter.driven.rest.mappers.MPQrCodePaymentRequestMapper.createMPQrCodePaymentRequest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.lanchonete.payment.adapter.driven.rest.request.MPQrCodePaymentRequest;
+import com.lanchonete.payment.adapter.driven.rest.response.MPPaymentConfirmationResponse;
+import com.lanchonete.payment.adapter.driven.rest.response.MPQrCodePaymentResponse;
+import com.lanchonete.payment.core.application.config.DownstreamRetry;
+import com.lanchonete.payment.core.application.config.PaymentMetrics;
+import com.lanchonete.payment.core.domain.exceptions.MercadoPagoIntegrationException;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "payment.io-mode", havingValue = "reactive")
+public class ReactiveMercadoPagoGatewayRepository {
+
+    @Value("${mercadopago.baseUrl}")
+    private String mpUrl;
+
+    @Value("${mercadopago.path.orders}")
+    private String ordersPath;
+
+    @Value("${mercadopago.externalPosId}")
+    private String externalPosId;
+
+    @Value("${payment.reconciliation.qr-expiry:30m}")
+    private Duration qrExpiry;
+
+    private final WebClient webClient;
+    private final MercadoPagoTokenManager tokenManager;
+    private final PaymentMetrics paymentMetrics;
+    private final MercadoPagoResilience resilience;
+    private final DownstreamRetry downstreamRetry;
+
+    public ReactiveMercadoPagoGatewayRepository(@Qualifier(MERCADO_PAGO_WEB_CLIENT) WebClient webClient,
+            MercadoPagoTokenManager tokenManager, PaymentMetrics paymentMetrics, MercadoPagoResilience resilience,
+            DownstreamRetry downstreamRetry) {
+        this.webClient = webClient;
+        this.tokenManager = tokenManager;
+        this.paymentMetrics = paymentMetrics;
+        this.resilience = resilience;
+        this.downstreamRetry = downstreamRetry;
+    }
+
+    public Mono<MPPaymentConfirmationResponse> getPaymentConfirmation(final String paymentId) {
+        final String url = mpUrl + ordersPath + SLASH + "{paymentId}";
+
+        return downstreamRetry.execute(MERCADO_PAGO, "getConfirmation", true,
+            resilience.execute(MERCADO_PAGO_GET_CONFIRMATION, getAccessToken()
+                .flatMap(accessToken -> paymentMetrics.recordDownstream(MERCADO_PAGO, "getConfirmation", webClient.get()
+                        .uri(url, paymentId)
+                        .headers(headers -> headers.setBearerAuth(accessToken))
+                        .retrieve()
+                        .bodyToMono(MPPaymentConfirmationResponse.class))
+                    .onErrorMap(e -> new MercadoPagoIntegrationException("Error trying to get payment confirmation for payment id '" + paymentId +  "' from Mercado Pago.", e)))));
+    }
+
+    // the Mercado Pago order as created, with its current status and the QR data it was created with
+    public Mono<MPQrCodePaymentResponse> getQrCodePayment(final String paymentId) {
+        final String url = mpUrl + ordersPath + SLASH + "{paymentId}";
+
+        return downstreamRetry.execute(MERCADO_PAGO, "getQr", true,
+            resilience.execute(MERCADO_PAGO_GET_CONFIRMATION, getAccessToken()
+                .flatMap(accessToken -> paymentMetrics.recordDownstream(MERCADO_PAGO, "getQr", webClient.get()
+                        .uri(url, paymentId)
+                        .headers(headers -> headers.setBearerAuth(accessToken))
+                        .retrieve()
+                        .bodyToMono(MPQrCodePaymentResponse.class))
+                    .onErrorMap(e -> new MercadoPagoIntegrationException("Error trying to get QR code for payment id '" + paymentId +  "' from Mercado Pago.", e)))));
+    }
+
+    public Mono<MPQrCodePaymentResponse> createQrCodeForPayment(final Long orderId, final BigDecimal totalPrice,
+            final String previousPaymentId) {
+        final MPQrCodePaymentRequest payload = createMPQrCodePaymentRequest(orderId, totalPrice, externalPosId, qrExpiry);
+        final String idempotencyKey = createIdempotencyKey(orderId, totalPrice, previousPaymentId);
+        final String url = mpUrl + ordersPath;
+
+        return downstreamRetry.execute(MERCADO_PAGO, "createQr", true,
+            resilience.execute(MERCADO_PAGO_CREATE_QR, getAccessToken()
+                .flatMap(accessToken -> paymentMetrics.recordDownstream(MERCADO_PAGO, "createQr", webClient.post()
+                        .uri(url)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .headers(headers -> {
+                            headers.setBearerAuth(accessToken);
+                            headers.set(X_IDEMPOTENCY_KEY, idempotencyKey);
+                        })
+                        .bodyValue(payload)
+                        .retrieve()
+                        .bodyToMono(MPQrCodePaymentResponse.class))
+                    .onErrorMap(e -> {
+                        log.error("Error creating order: {}", e.getMessage());
+                        return new MercadoPagoIntegrationException("Error trying to create new payment QR Corde for order'" + orderId +  "' on Mercado Pago.", e);
+                    }))));
+    }
+
+    private Mono<String> getAccessToken() {
+        return Mono.justOrEmpty(tokenManager.currentAccessToken())
+            .switchIfEmpty(Mono.fromCallable(tokenManager::getAccessToken).subscribeOn(Schedulers.boundedElastic()));
+    }
+}
@@ -9,6 +9,7 @@ import com.lanchonete.payment.adapter.driven.rest.response.MPPaymentConfirmation
 import com.lanchonete.payment.adapter.driven.rest.response.MPQrCodePaymentResponse;
 import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
 import com.lanchonete.payment.core.domain.model.PaymentData;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
 import com.lanchonete.payment.core.domain.repositories.PaymentRepository;
 
 import lombok.AllArgsConstructor;
@@ -32,8 +33,8 @@ public class PaymentRepositoryImpl implements PaymentRepository {
     }
 
     @Override
-    public PaymentData getPaymentData(final Long orderId, final BigDecimal totalPrice) {
-        final MPQrCodePaymentResponse response = mercadoPagoGateway.createQrCodeForPayment(orderId, totalPrice);
+    public PaymentData getPaymentData(final Long orderId, final BigDecimal totalPrice, final String previousPaymentId) {
+        final MPQrCodePaymentResponse response = mercadoPagoGateway.createQrCodeForPayment(orderId, totalPrice, previousPaymentId);
 
         PaymentData paymentData = null;
         if (response != null) {
@@ -42,6 +43,17 @@ public class PaymentRepositoryImpl implements PaymentRepository {
 
         return paymentData;
     }
+
+    @Override
+    public PaymentData getOpenPaymentData(final String paymentId) {
+        final MPQrCodePaymentResponse response = mercadoPagoGateway.getQrCodePayment(paymentId);
+
+        if (response == null || PaymentStatusEnum.fromMercadoPagoStatus(response.getStatus()).isFinal()) {
+            return null;
+        }
+        final PaymentData paymentData = response.toPaymentData();
+        return paymentData.getQrCode() != null ? paymentData : null;
+    }
     
 }
 
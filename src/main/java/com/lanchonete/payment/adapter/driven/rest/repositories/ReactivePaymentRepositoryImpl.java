@@ -0,0 +1,46 @@
+package com.lanchonete.payment.adapter.driven.rest.repositories;
+
+import java.math.BigDecimal;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.lanchonete.payment.adapter.driven.rest.mercadopago.ReactiveMercadoPagoGatewayRepository;
+import com.lanchonete.payment.adapter.driven.rest.response.MPPaymentConfirmationResponse;
+import com.lanchonete.payment.adapter.driven.rest.response.MPQrCodePaymentResponse;
+import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
+import com.lanchonete.payment.core.domain.model.PaymentData;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+import com.lanchonete.payment.core.domain.repositories.ReactivePaymentRepository;
+
+import lombok.AllArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(name = "payment.io-mode", havingValue = "reactive")
+public class ReactivePaymentRepositoryImpl implements ReactivePaymentRepository {
+
+    private final ReactiveMercadoPagoGatewayRepository mercadoPagoGateway;
+
+    @Override
+    public Mono<PaymentConfirmation> getPaymentStatus(final String paymentId) {
+        return mercadoPagoGateway.getPaymentConfirmation(paymentId)
+            .map(MPPaymentConfirmationResponse::toPaymentConfirmation);
+    }
+
+    @Override
+    public Mono<PaymentData> getPaymentData(final Long orderId, final BigDecimal totalPrice, final String previousPaymentId) {
+        return mercadoPagoGateway.createQrCodeForPayment(orderId, totalPrice, previousPaymentId)
+            .map(MPQrCodePaymentResponse::toPaymentData);
+    }
+
+    @Override
+    public Mono<PaymentData> getOpenPaymentData(final String paymentId) {
+        return mercadoPagoGateway.getQrCodePayment(paymentId)
+            .filter(response -> !PaymentStatusEnum.fromMercadoPagoStatus(response.getStatus()).isFinal())
+            .map(MPQrCodePaymentResponse::toPaymentData)
+            .filter(paymentData -> paymentData.getQrCode() != null);
+    }
+    
+}
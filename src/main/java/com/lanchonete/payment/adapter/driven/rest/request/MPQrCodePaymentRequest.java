@@ -2,6 +2,7 @@ package com.lanchonete.payment.adapter.driven.rest.request;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import lombok.Builder;
@@ -23,6 +24,10 @@ public class MPQrCodePaymentRequest {
     @JsonProperty("external_reference")
     private String externalReference;    
 
+    @JsonProperty("expiration_time")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String expirationTime;
+
     @JsonProperty
     private Config config;
 
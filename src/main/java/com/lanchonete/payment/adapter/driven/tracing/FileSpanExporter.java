@@ -0,0 +1,106 @@
+package com.lanchonete.payment.adapter.driven.tracing;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class FileSpanExporter implements SpanExporter {
+
+    private final ObjectWriter recordWriter;
+    private final Path file;
+    private final BufferedWriter writer;
+
+    private boolean shutdown;
+
+    public FileSpanExporter(final ObjectMapper objectMapper, final Path file) {
+        this.recordWriter = objectMapper.writerFor(Map.class);
+        this.file = file;
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open span file " + file, e);
+        }
+        log.info("Exporting spans to {}", file.toAbsolutePath());
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(final Collection<SpanData> spans) {
+        if (shutdown) {
+            return CompletableResultCode.ofFailure();
+        }
+        try {
+            for (SpanData span : spans) {
+                writer.write(recordWriter.writeValueAsString(toRecord(span)));
+                writer.newLine();
+            }
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            log.warn("Failed to write {} span(s) to {}: {}", spans.size(), file, e.getMessage());
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode flush() {
+        try {
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        if (shutdown) {
+            return CompletableResultCode.ofSuccess();
+        }
+        shutdown = true;
+        try {
+            writer.close();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    private static Map<String, Object> toRecord(final SpanData span) {
+        final Map<String, Object> record = new LinkedHashMap<>();
+        record.put("traceId", span.getTraceId());
+        record.put("spanId", span.getSpanId());
+        if (span.getParentSpanContext().isValid()) {
+            record.put("parentSpanId", span.getParentSpanId());
+        }
+        record.put("name", span.getName());
+        record.put("kind", span.getKind().name());
+        record.put("startEpochNanos", span.getStartEpochNanos());
+        record.put("durationMicros", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000);
+        record.put("status", span.getStatus().getStatusCode().name());
+
+        final Map<String, Object> attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), value));
+        record.put("attributes", attributes);
+        return record;
+    }
+}
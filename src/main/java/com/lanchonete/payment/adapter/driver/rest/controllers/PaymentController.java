@@ -2,7 +2,14 @@ package com.lanchonete.payment.adapter.driver.rest.controllers;
 
 import static com.lanchonete.payment.core.application.config.ContextLogger.checkTraceId;
 import static com.lanchonete.payment.core.application.config.Constants.REQUEST_TRACE_ID;
+import static com.lanchonete.payment.core.application.config.Constants.X_INTERNAL_TOKEN;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,19 +18,30 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.lanchonete.payment.adapter.driver.rest.mappers.PaymentDataMapper;
 import com.lanchonete.payment.adapter.driver.rest.mappers.PaymentStatusMapper;
+import com.lanchonete.payment.adapter.driver.rest.mappers.QrCodeImageMapper;
 import com.lanchonete.payment.adapter.driver.rest.requests.PaymentConfirmationRequest;
 import com.lanchonete.payment.adapter.driver.rest.requests.PaymentDataRequest;
+import com.lanchonete.payment.adapter.driver.rest.responses.BatchPaymentStatusResponse;
 import com.lanchonete.payment.adapter.driver.rest.responses.PaymentDataResponse;
 import com.lanchonete.payment.adapter.driver.rest.responses.PaymentStatusResponse;
+import com.lanchonete.payment.adapter.driver.rest.security.InternalRequestGuard;
+import com.lanchonete.payment.core.application.usecases.AwaitPaymentStatusUseCase;
+import com.lanchonete.payment.core.application.usecases.BatchConsultPaymentStatusUseCase;
 import com.lanchonete.payment.core.application.usecases.ConsultPaymentStatusUseCase;
 import com.lanchonete.payment.core.application.usecases.GeneratePaymentQrCodeUseCase;
+import com.lanchonete.payment.core.application.usecases.PregeneratePaymentQrCodeUseCase;
 import com.lanchonete.payment.core.application.usecases.ProcessPaymentWebhookUseCase;
+import com.lanchonete.payment.core.application.usecases.RenderPaymentQrCodeUseCase;
 import com.lanchonete.payment.core.domain.model.PaymentData;
 import com.lanchonete.payment.core.domain.model.PaymentStatus;
+import com.lanchonete.payment.core.domain.model.QrCodeImage;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+import com.lanchonete.payment.core.domain.model.enums.QrCodeImageFormat;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -40,11 +58,17 @@ import lombok.extern.slf4j.Slf4j;
 @RestController
 @AllArgsConstructor
 @RequestMapping
+@ConditionalOnProperty(name = "payment.io-mode", havingValue = "blocking", matchIfMissing = true)
 public class PaymentController {
 
     private final ConsultPaymentStatusUseCase consultPaymentStatusUseCase; 
     private final ProcessPaymentWebhookUseCase processPaymentWebhookUseCase;
     private final GeneratePaymentQrCodeUseCase generatePaymentQrCodeUseCase; 
+    private final AwaitPaymentStatusUseCase awaitPaymentStatusUseCase;
+    private final BatchConsultPaymentStatusUseCase batchConsultPaymentStatusUseCase;
+    private final PregeneratePaymentQrCodeUseCase pregeneratePaymentQrCodeUseCase;
+    private final RenderPaymentQrCodeUseCase renderPaymentQrCodeUseCase;
+    private final InternalRequestGuard internalRequestGuard;
 
     @Operation(summary = "Consult order payment status")
     @ApiResponses(value = {
@@ -65,6 +89,86 @@ public class PaymentController {
         return ResponseEntity.ok(paymentStatusResponse);
     }
 
+    @Operation(summary = "Get the payment QR code as a PNG or SVG image")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "QR code image rendered successfully"),
+            @ApiResponse(responseCode = "304", description = "QR code image not modified since the informed ETag"),
+            @ApiResponse(responseCode = "400", description = "Unsupported image format"),
+            @ApiResponse(responseCode = "404", description = "QR code not found or expired")
+    })
+    @GetMapping("/paymentData/{paymentId}/qr-code")
+    public ResponseEntity<byte[]> getPaymentQrCode(
+            @RequestHeader(value = REQUEST_TRACE_ID, required = false) String requestTraceId,
+            @PathVariable final String paymentId,
+            @RequestParam(defaultValue = "png") final String format) {
+        checkTraceId(requestTraceId);
+
+        log.info("Received request to render payment QR Code image for payment id: {}", paymentId);
+        final QrCodeImage qrCodeImage = renderPaymentQrCodeUseCase.renderPaymentQrCode(paymentId,
+                QrCodeImageFormat.fromValue(format));
+
+        return QrCodeImageMapper.toResponse(qrCodeImage);
+    }
+
+    @Operation(summary = "Pre-generate the payment QR code of a new order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "QR code generation scheduled"),
+            @ApiResponse(responseCode = "403", description = "Missing or invalid X-Internal-Token header"),
+            @ApiResponse(responseCode = "503", description = "Pre-generation unavailable, the QR code will be generated on demand")
+    })
+    @PostMapping("/internal/paymentData")
+    public ResponseEntity<Void> pregeneratePaymentData(
+            @RequestHeader(value = REQUEST_TRACE_ID, required = false) String requestTraceId,
+            @RequestHeader(value = X_INTERNAL_TOKEN, required = false) String internalToken,
+            @RequestBody final PaymentDataRequest paymentDataRequest) {
+        checkTraceId(requestTraceId);
+        internalRequestGuard.check(internalToken);
+
+        log.info("Received request to pre-generate payment QR Code for order id: {}", paymentDataRequest.getOrderId());
+        final boolean accepted = pregeneratePaymentQrCodeUseCase.pregeneratePaymentQrCode(paymentDataRequest.toDto());
+
+        return ResponseEntity.status(accepted ? HttpStatus.ACCEPTED : HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+
+    @Operation(summary = "Consult the payment status of several orders at once")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Payment statuses retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = BatchPaymentStatusResponse.class))),
+            @ApiResponse(responseCode = "400", description = "No order ids or too many order ids informed")
+    })
+    @GetMapping("/payment-status")
+    public ResponseEntity<BatchPaymentStatusResponse> getPaymentStatuses(
+            @RequestHeader(value = REQUEST_TRACE_ID, required = false) String requestTraceId,
+            @RequestParam final List<Long> orderIds) {
+        checkTraceId(requestTraceId);
+
+        log.info("Received request to consult payment status for {} order(s)", orderIds.size());
+        final List<PaymentStatus> paymentStatuses = batchConsultPaymentStatusUseCase.getPaymentStatuses(orderIds);
+
+        return ResponseEntity.ok(PaymentStatusMapper.toBatchResponse(orderIds, paymentStatuses));
+    }
+
+    @Operation(summary = "Wait for the order payment status to change (long polling)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Payment status changed or wait timed out with the current status",
+                    content = @Content(schema = @Schema(implementation = PaymentStatusResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Order not found")
+    })
+    @GetMapping("/{orderId}/payment-status/await")
+    public CompletableFuture<ResponseEntity<PaymentStatusResponse>> awaitPaymentStatus(
+            @RequestHeader(value = REQUEST_TRACE_ID, required = false) String requestTraceId,
+            @PathVariable final Long orderId,
+            @RequestParam(defaultValue = "PENDING") final PaymentStatusEnum knownStatus,
+            @RequestParam(required = false) final Long timeoutSeconds) {
+        checkTraceId(requestTraceId);
+
+        log.info("Received request to await payment status change for order id: {}", orderId);
+        return awaitPaymentStatusUseCase.awaitPaymentStatus(orderId, knownStatus,
+                    timeoutSeconds != null ? Duration.ofSeconds(timeoutSeconds) : null)
+            .thenApply(PaymentStatusMapper::toResponse)
+            .thenApply(ResponseEntity::ok);
+    }
+
     @Operation(summary = "Webhook to receive payment confirmation")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Payment confirmation received and processed"),
@@ -0,0 +1,220 @@
+package com.lanchonete.payment.adapter.driver.rest.controllers;
+
+import static com.lanchonete.payment.core.application.config.ContextLogger.checkTraceId;
+import static com.lanchonete.payment.core.application.config.Constants.REQUEST_TRACE_ID;
+import static com.lanchonete.payment.core.application.config.Constants.X_INTERNAL_TOKEN;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.apache.logging.log4j.ThreadContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.lanchonete.payment.adapter.driver.rest.mappers.PaymentDataMapper;
+import com.lanchonete.payment.adapter.driver.rest.mappers.PaymentStatusMapper;
+import com.lanchonete.payment.adapter.driver.rest.mappers.QrCodeImageMapper;
+import com.lanchonete.payment.adapter.driver.rest.requests.PaymentConfirmationRequest;
+import com.lanchonete.payment.adapter.driver.rest.requests.PaymentDataRequest;
+import com.lanchonete.payment.adapter.driver.rest.responses.BatchPaymentStatusResponse;
+import com.lanchonete.payment.adapter.driver.rest.responses.PaymentDataResponse;
+import com.lanchonete.payment.adapter.driver.rest.responses.PaymentStatusResponse;
+import com.lanchonete.payment.adapter.driver.rest.security.InternalRequestGuard;
+import com.lanchonete.payment.core.application.usecases.PregeneratePaymentQrCodeUseCase;
+import com.lanchonete.payment.core.application.usecases.ReactiveAwaitPaymentStatusUseCase;
+import com.lanchonete.payment.core.application.usecases.ReactiveBatchConsultPaymentStatusUseCase;
+import com.lanchonete.payment.core.application.usecases.ReactiveConsultPaymentStatusUseCase;
+import com.lanchonete.payment.core.application.usecases.ReactiveGeneratePaymentQrCodeUseCase;
+import com.lanchonete.payment.core.application.usecases.ReactiveProcessPaymentWebhookUseCase;
+import com.lanchonete.payment.core.application.usecases.RenderPaymentQrCodeUseCase;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+import com.lanchonete.payment.core.domain.model.enums.QrCodeImageFormat;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+
+@Tag(name = "Payments", description = "Operations related to payments")
+@Slf4j
+@Validated
+@RestController
+@AllArgsConstructor
+@RequestMapping
+@ConditionalOnProperty(name = "payment.io-mode", havingValue = "reactive")
+public class ReactivePaymentController {
+
+    private final ReactiveConsultPaymentStatusUseCase consultPaymentStatusUseCase;
+    private final ReactiveProcessPaymentWebhookUseCase processPaymentWebhookUseCase;
+    private final ReactiveGeneratePaymentQrCodeUseCase generatePaymentQrCodeUseCase;
+    private final ReactiveAwaitPaymentStatusUseCase awaitPaymentStatusUseCase;
+    private final ReactiveBatchConsultPaymentStatusUseCase batchConsultPaymentStatusUseCase;
+    private final PregeneratePaymentQrCodeUseCase pregeneratePaymentQrCodeUseCase;
+    private final RenderPaymentQrCodeUseCase renderPaymentQrCodeUseCase;
+    private final InternalRequestGuard internalRequestGuard;
+
+    @Operation(summary = "Consult order payment status")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Payment status retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = PaymentStatusResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Order not found")
+    })
+    @GetMapping("/{orderId}/payment-status")
+    public Mono<ResponseEntity<PaymentStatusResponse>> getPaymentStatus(
+            @RequestHeader(value = REQUEST_TRACE_ID, required = false) String requestTraceId,
+            @PathVariable final Long orderId) {
+        checkTraceId(requestTraceId);
+
+        log.info("Received request to consult payment status for order id: {}", orderId);
+        return consultPaymentStatusUseCase.getPaymentStatus(orderId)
+            .map(PaymentStatusMapper::toResponse)
+            .map(ResponseEntity::ok)
+            .contextWrite(traceContext());
+    }
+
+    @Operation(summary = "Consult the payment status of several orders at once")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Payment statuses retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = BatchPaymentStatusResponse.class))),
+            @ApiResponse(responseCode = "400", description = "No order ids or too many order ids informed")
+    })
+    @GetMapping("/payment-status")
+    public Mono<ResponseEntity<BatchPaymentStatusResponse>> getPaymentStatuses(
+            @RequestHeader(value = REQUEST_TRACE_ID, required = false) String requestTraceId,
+            @RequestParam final List<Long> orderIds) {
+        checkTraceId(requestTraceId);
+
+        log.info("Received request to consult payment status for {} order(s)", orderIds.size());
+        return batchConsultPaymentStatusUseCase.getPaymentStatuses(orderIds)
+            .map(paymentStatuses -> PaymentStatusMapper.toBatchResponse(orderIds, paymentStatuses))
+            .map(ResponseEntity::ok)
+            .contextWrite(traceContext());
+    }
+
+    @Operation(summary = "Wait for the order payment status to change (long polling)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Payment status changed or wait timed out with the current status",
+                    content = @Content(schema = @Schema(implementation = PaymentStatusResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Order not found")
+    })
+    @GetMapping("/{orderId}/payment-status/await")
+    public Mono<ResponseEntity<PaymentStatusResponse>> awaitPaymentStatus(
+            @RequestHeader(value = REQUEST_TRACE_ID, required = false) String requestTraceId,
+            @PathVariable final Long orderId,
+            @RequestParam(defaultValue = "PENDING") final PaymentStatusEnum knownStatus,
+            @RequestParam(required = false) final Long timeoutSeconds) {
+        checkTraceId(requestTraceId);
+
+        log.info("Received request to await payment status change for order id: {}", orderId);
+        return awaitPaymentStatusUseCase.awaitPaymentStatus(orderId, knownStatus,
+                    timeoutSeconds != null ? Duration.ofSeconds(timeoutSeconds) : null)
+            .map(PaymentStatusMapper::toResponse)
+            .map(ResponseEntity::ok)
+            .contextWrite(traceContext());
+    }
+
+    @Operation(summary = "Webhook to receive payment confirmation")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Payment confirmation received and processed"),
+            @ApiResponse(responseCode = "400", description = "Invalid webhook payload"),
+            @ApiResponse(responseCode = "404", description = "Order not found for given external reference")
+    })
+    @PostMapping("/webhooks/payment-confirmation")
+    public Mono<ResponseEntity<Void>> receivePaymentConfirmation(
+            @RequestHeader(value = REQUEST_TRACE_ID, required = false) String requestTraceId,
+            @RequestBody final PaymentConfirmationRequest paymentConfirmationRequest) {
+        checkTraceId(requestTraceId);
+
+        log.info("Received payment confirmation webhook for order with external reference: {}",
+                paymentConfirmationRequest.getData().getId());
+
+        return processPaymentWebhookUseCase.processPaymentConfirmation(paymentConfirmationRequest.toDto())
+            .then(Mono.fromSupplier(() -> ResponseEntity.ok().<Void>build()))
+            .contextWrite(traceContext());
+    }
+
+    @Operation(summary = "Get payment data")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Payment data retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = PaymentStatusResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Order not found")
+    })
+    @PostMapping("/paymentData")
+    public Mono<ResponseEntity<PaymentDataResponse>> getPaymentData(
+            @RequestHeader(value = REQUEST_TRACE_ID, required = false) String requestTraceId,
+            @RequestBody final PaymentDataRequest paymentDataRequest) {
+        checkTraceId(requestTraceId);
+
+        log.info("Received request to generate payment QR Code for order id: {}", paymentDataRequest.getOrderId());
+        return generatePaymentQrCodeUseCase.generatePaymentQrCode(paymentDataRequest.toDto())
+            .map(PaymentDataMapper::toResponse)
+            .map(ResponseEntity::ok)
+            .contextWrite(traceContext());
+    }
+
+    @Operation(summary = "Get the payment QR code as a PNG or SVG image")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "QR code image rendered successfully"),
+            @ApiResponse(responseCode = "304", description = "QR code image not modified since the informed ETag"),
+            @ApiResponse(responseCode = "400", description = "Unsupported image format"),
+            @ApiResponse(responseCode = "404", description = "QR code not found or expired")
+    })
+    @GetMapping("/paymentData/{paymentId}/qr-code")
+    public Mono<ResponseEntity<byte[]>> getPaymentQrCode(
+            @RequestHeader(value = REQUEST_TRACE_ID, required = false) String requestTraceId,
+            @PathVariable final String paymentId,
+            @RequestParam(defaultValue = "png") final String format) {
+        checkTraceId(requestTraceId);
+
+        log.info("Received request to render payment QR Code image for payment id: {}", paymentId);
+        final QrCodeImageFormat imageFormat = QrCodeImageFormat.fromValue(format);
+
+        return Mono.fromCallable(() -> renderPaymentQrCodeUseCase.renderPaymentQrCode(paymentId, imageFormat))
+            .subscribeOn(Schedulers.boundedElastic())
+            .map(QrCodeImageMapper::toResponse)
+            .contextWrite(traceContext());
+    }
+
+    @Operation(summary = "Pre-generate the payment QR code of a new order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "QR code generation scheduled"),
+            @ApiResponse(responseCode = "403", description = "Missing or invalid X-Internal-Token header"),
+            @ApiResponse(responseCode = "503", description = "Pre-generation unavailable, the QR code will be generated on demand")
+    })
+    @PostMapping("/internal/paymentData")
+    public Mono<ResponseEntity<Void>> pregeneratePaymentData(
+            @RequestHeader(value = REQUEST_TRACE_ID, required = false) String requestTraceId,
+            @RequestHeader(value = X_INTERNAL_TOKEN, required = false) String internalToken,
+            @RequestBody final PaymentDataRequest paymentDataRequest) {
+        checkTraceId(requestTraceId);
+        internalRequestGuard.check(internalToken);
+
+        log.info("Received request to pre-generate payment QR Code for order id: {}", paymentDataRequest.getOrderId());
+        return Mono.fromCallable(() -> pregeneratePaymentQrCodeUseCase.pregeneratePaymentQrCode(paymentDataRequest.toDto()))
+            .subscribeOn(Schedulers.boundedElastic())
+            .map(accepted -> ResponseEntity.status(accepted ? HttpStatus.ACCEPTED : HttpStatus.SERVICE_UNAVAILABLE).<Void>build())
+            .contextWrite(traceContext());
+    }
+
+    private Context traceContext() {
+        return Context.of(REQUEST_TRACE_ID, ThreadContext.get(REQUEST_TRACE_ID));
+    }
+
+}
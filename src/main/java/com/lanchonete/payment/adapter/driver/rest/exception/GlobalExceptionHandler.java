@@ -5,10 +5,14 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import com.lanchonete.payment.core.domain.exceptions.InternalAccessDeniedException;
 import com.lanchonete.payment.core.domain.exceptions.InvalidPaymentException;
 import com.lanchonete.payment.core.domain.exceptions.MercadoPagoIntegrationException;
+import com.lanchonete.payment.core.domain.exceptions.MercadoPagoUnavailableException;
 import com.lanchonete.payment.core.domain.exceptions.OrderNotFoundException;
 import com.lanchonete.payment.core.domain.exceptions.PaymentException;
+import com.lanchonete.payment.core.domain.exceptions.QrCodeNotFoundException;
+import com.lanchonete.payment.core.domain.exceptions.WebhookBackpressureException;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -22,6 +26,18 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
     }
 
+    @ExceptionHandler(QrCodeNotFoundException.class)
+    public ResponseEntity<String> handleQrCodeNotFoundException(QrCodeNotFoundException ex) {
+        log.warn("QR code not found: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InternalAccessDeniedException.class)
+    public ResponseEntity<String> handleInternalAccessDeniedException(InternalAccessDeniedException ex) {
+        log.warn("Internal endpoint access denied: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ex.getMessage());
+    }
+
     @ExceptionHandler(InvalidPaymentException.class)
     public ResponseEntity<String> handleInvalidPaymentException(InvalidPaymentException ex) {
         log.error("Invalid payment: {}", ex.getMessage());
@@ -34,6 +50,18 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ex.getMessage());
     }
 
+    @ExceptionHandler(MercadoPagoUnavailableException.class)
+    public ResponseEntity<String> handleMercadoPagoUnavailableException(MercadoPagoUnavailableException ex) {
+        log.warn("MercadoPago unavailable: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(WebhookBackpressureException.class)
+    public ResponseEntity<String> handleWebhookBackpressureException(WebhookBackpressureException ex) {
+        log.warn("Webhook rejected: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
+    }
+
     @ExceptionHandler(PaymentException.class)
     public ResponseEntity<String> handlePaymentException(PaymentException ex) {
         log.error("Payment error: {}", ex.getMessage());
@@ -1,5 +1,10 @@
 package com.lanchonete.payment.adapter.driver.rest.mappers;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.lanchonete.payment.adapter.driver.rest.responses.BatchPaymentStatusResponse;
 import com.lanchonete.payment.adapter.driver.rest.responses.PaymentStatusResponse;
 import com.lanchonete.payment.core.domain.model.PaymentStatus;
 
@@ -11,5 +16,15 @@ public class PaymentStatusMapper {
                 .paymentStatus(paymentStatus.getPaymentStatus())
                 .build();
     }
+
+    public static BatchPaymentStatusResponse toBatchResponse(List<Long> orderIds, List<PaymentStatus> paymentStatuses) {
+        final Set<Long> notFound = new LinkedHashSet<>(orderIds);
+        paymentStatuses.forEach(paymentStatus -> notFound.remove(paymentStatus.getOrderId()));
+
+        return BatchPaymentStatusResponse.builder()
+                .statuses(paymentStatuses.stream().map(PaymentStatusMapper::toResponse).toList())
+                .notFound(List.copyOf(notFound))
+                .build();
+    }
 }
 
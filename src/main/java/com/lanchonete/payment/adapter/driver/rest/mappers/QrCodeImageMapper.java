@@ -0,0 +1,20 @@
+package com.lanchonete.payment.adapter.driver.rest.mappers;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import com.lanchonete.payment.core.domain.model.QrCodeImage;
+
+public class QrCodeImageMapper {
+
+    // the cached array is handed to the converter as is; If-None-Match is answered with 304 from the ETag
+    public static ResponseEntity<byte[]> toResponse(QrCodeImage qrCodeImage) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(qrCodeImage.getFormat().getMediaType()))
+                .contentLength(qrCodeImage.getContent().length)
+                .eTag(qrCodeImage.getEtag())
+                .cacheControl(CacheControl.maxAge(qrCodeImage.getMaxAge()).cachePrivate())
+                .body(qrCodeImage.getContent());
+    }
+}
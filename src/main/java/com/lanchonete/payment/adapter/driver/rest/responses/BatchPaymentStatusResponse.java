@@ -0,0 +1,17 @@
+package com.lanchonete.payment.adapter.driver.rest.responses;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BatchPaymentStatusResponse {
+    @JsonProperty
+    private List<PaymentStatusResponse> statuses;
+    @JsonProperty
+    private List<Long> notFound;
+}
@@ -0,0 +1,35 @@
+package com.lanchonete.payment.adapter.driver.rest.security;
+
+import static com.lanchonete.payment.core.application.config.Constants.X_INTERNAL_TOKEN;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.lanchonete.payment.core.domain.exceptions.InternalAccessDeniedException;
+
+import lombok.extern.slf4j.Slf4j;
+
+// /internal endpoints share the public port, so callers must present the shared secret; with no secret configured they are closed
+@Slf4j
+@Component
+public class InternalRequestGuard {
+
+    private final byte[] internalToken;
+
+    public InternalRequestGuard(@Value("${payment.internal.token:}") String internalToken) {
+        this.internalToken = internalToken.getBytes(StandardCharsets.UTF_8);
+        if (internalToken.isBlank()) {
+            log.warn("payment.internal.token is not set, internal endpoints will reject every request");
+        }
+    }
+
+    public void check(final String token) {
+        if (internalToken.length == 0 || token == null
+                || !MessageDigest.isEqual(internalToken, token.getBytes(StandardCharsets.UTF_8))) {
+            throw new InternalAccessDeniedException("Missing or invalid " + X_INTERNAL_TOKEN + " header");
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.lanchonete.payment.core.application.config;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import com.lanchonete.payment.core.application.config.HttpClientProperties.DestinationProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class ApacheHttpRequestFactoryProvider implements HttpRequestFactoryProvider, DisposableBean {
+
+    private final MeterRegistry meterRegistry;
+    private final List<CloseableHttpClient> clients = new CopyOnWriteArrayList<>();
+
+    public ApacheHttpRequestFactoryProvider(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpRequestFactory create(final String destination, final DestinationProperties properties) {
+        final PoolingHttpClientConnectionManager connectionManager = connectionManager(properties);
+        final CloseableHttpClient httpClient = HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(requestConfig(properties))
+            .evictExpiredConnections()
+            .evictIdleConnections(TimeValue.of(properties.getIdleEviction()))
+            .build();
+        clients.add(httpClient);
+
+        if (meterRegistry != null) {
+            new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, destination).bindTo(meterRegistry);
+        }
+
+        log.info("Created pooled HTTP client for {} with {} max connections", destination, properties.getMaxConnections());
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    static PoolingHttpClientConnectionManager connectionManager(final DestinationProperties properties) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(properties.getMaxConnections())
+            .setMaxConnPerRoute(properties.getMaxConnections())
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                .setSocketTimeout(Timeout.of(properties.getReadTimeout()))
+                .setTimeToLive(TimeValue.of(properties.getTimeToLive()))
+                .build())
+            .build();
+    }
+
+    static RequestConfig requestConfig(final DestinationProperties properties) {
+        return RequestConfig.custom()
+            .setConnectionRequestTimeout(Timeout.of(properties.getConnectionRequestTimeout()))
+            .setResponseTimeout(Timeout.of(properties.getReadTimeout()))
+            .build();
+    }
+
+    @Override
+    public void destroy() {
+        for (CloseableHttpClient client : clients) {
+            try {
+                client.close();
+            } catch (IOException e) {
+                log.warn("Error closing HTTP client: {}", e.getMessage());
+            }
+        }
+    }
+}
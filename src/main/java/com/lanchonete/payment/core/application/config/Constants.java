@@ -10,9 +10,20 @@ public class Constants {
     public static final String SLASH = "/";
     public static final String CLIENT_CREDENTIALS = "client_credentials";
     public static final String X_IDEMPOTENCY_KEY = "X-Idempotency-Key";
+    public static final String X_INTERNAL_TOKEN = "X-Internal-Token";
+    public static final String QR_IDEMPOTENCY_KEY_PREFIX = "qr-order-";
     public static final String DYNAMIC = "dynamic";
     public static final String QR = "qr"; 
     public static final String ORDER_DESCRIPTION = "Order payment: ";
+    public static final String PRODUCTION_SERVICE = "production-service";
+    public static final String MERCADO_PAGO = "mercadopago";
+    public static final String PRODUCTION_SERVICE_REST_TEMPLATE = "productionServiceRestTemplate";
+    public static final String MERCADO_PAGO_REST_TEMPLATE = "mercadoPagoRestTemplate";
+    public static final String PRODUCTION_SERVICE_WEB_CLIENT = "productionServiceWebClient";
+    public static final String MERCADO_PAGO_WEB_CLIENT = "mercadoPagoWebClient";
+    public static final String MERCADO_PAGO_CREATE_QR = "mercadopago-create-qr";
+    public static final String MERCADO_PAGO_GET_CONFIRMATION = "mercadopago-get-confirmation";
+    public static final String MERCADO_PAGO_RECONCILIATION = "mercadopago-reconciliation";
     
 }
 
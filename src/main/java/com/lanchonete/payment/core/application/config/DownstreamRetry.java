@@ -0,0 +1,115 @@
+package com.lanchonete.payment.core.application.config;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+@Slf4j
+@Component
+public class DownstreamRetry {
+
+    private static final Set<Integer> TRANSIENT_STATUSES = Set.of(408, 429, 500, 502, 503, 504);
+
+    private final DownstreamRetryProperties properties;
+    private final RetryBudget retryBudget;
+    private final PaymentMetrics paymentMetrics;
+
+    public DownstreamRetry(DownstreamRetryProperties properties, RetryBudget retryBudget, PaymentMetrics paymentMetrics) {
+        this.properties = properties;
+        this.retryBudget = retryBudget;
+        this.paymentMetrics = paymentMetrics;
+    }
+
+    public <T> T execute(final String target, final String operation, final boolean idempotent, final Supplier<T> call) {
+        if (!retriesAllowed(idempotent)) {
+            return call.get();
+        }
+
+        retryBudget.recordRequest();
+        for (int retry = 1; ; retry++) {
+            try {
+                return call.get();
+            } catch (RuntimeException e) {
+                if (!shouldRetry(target, operation, retry, e)) {
+                    throw e;
+                }
+                pause(backoff(retry), e);
+            }
+        }
+    }
+
+    public <T> Mono<T> execute(final String target, final String operation, final boolean idempotent, final Mono<T> call) {
+        if (!retriesAllowed(idempotent)) {
+            return call;
+        }
+
+        return Mono.defer(() -> {
+            retryBudget.recordRequest();
+            return call.retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+                final int retry = (int) signal.totalRetries() + 1;
+                if (!shouldRetry(target, operation, retry, signal.failure())) {
+                    return Mono.error(signal.failure());
+                }
+                return Mono.delay(backoff(retry));
+            })));
+        });
+    }
+
+    Duration backoff(final int retry) {
+        final double exponential = properties.getInitialBackoff().toNanos() * Math.pow(properties.getMultiplier(), retry - 1);
+        final double capped = Math.min(exponential, properties.getMaxBackoff().toNanos());
+        final double jitter = Math.min(1, Math.max(0, properties.getJitter()));
+        return Duration.ofNanos((long) (capped * (1 - jitter * ThreadLocalRandom.current().nextDouble())));
+    }
+
+    static boolean isTransient(final Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ResourceAccessException || cause instanceof WebClientRequestException) {
+                return true;
+            }
+            final HttpStatusCode status = HttpErrors.statusOf(cause);
+            if (status != null) {
+                return TRANSIENT_STATUSES.contains(status.value());
+            }
+        }
+        return false;
+    }
+
+    private boolean retriesAllowed(final boolean idempotent) {
+        return idempotent && properties.isEnabled() && properties.getMaxAttempts() > 1;
+    }
+
+    private boolean shouldRetry(final String target, final String operation, final int retry, final Throwable error) {
+        if (retry >= properties.getMaxAttempts() || !isTransient(error)) {
+            return false;
+        }
+        if (!retryBudget.tryAcquireRetry()) {
+            log.warn("Retry budget exhausted, not retrying {} {}: {}", target, operation, error.getMessage());
+            paymentMetrics.recordRetry(target, operation, "budget_exhausted");
+            return false;
+        }
+
+        log.info("Retrying {} {} (retry {}): {}", target, operation, retry, error.getMessage());
+        paymentMetrics.recordRetry(target, operation, "retried");
+        return true;
+    }
+
+    private static void pause(final Duration delay, final RuntimeException error) {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw error;
+        }
+    }
+}
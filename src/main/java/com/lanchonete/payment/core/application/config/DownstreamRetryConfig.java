@@ -0,0 +1,21 @@
+package com.lanchonete.payment.core.application.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(DownstreamRetryProperties.class)
+public class DownstreamRetryConfig {
+
+    @Bean
+    public RetryBudget retryBudget(DownstreamRetryProperties properties, MeterRegistry meterRegistry) {
+        final DownstreamRetryProperties.Budget budget = properties.getBudget();
+        final RetryBudget retryBudget = new RetryBudget(budget.getRatio(), budget.getMinRetriesPerSecond(), budget.getMaxTokens());
+        Gauge.builder(PaymentMetrics.RETRY_BUDGET, retryBudget, RetryBudget::available).register(meterRegistry);
+        return retryBudget;
+    }
+}
@@ -0,0 +1,28 @@
+package com.lanchonete.payment.core.application.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "payment.downstream.retry")
+public class DownstreamRetryProperties {
+
+    private boolean enabled = true;
+    private int maxAttempts = 3;
+    private Duration initialBackoff = Duration.ofMillis(50);
+    private Duration maxBackoff = Duration.ofMillis(500);
+    private double multiplier = 2.0;
+    private double jitter = 1.0;
+    private Budget budget = new Budget();
+
+    @Data
+    public static class Budget {
+
+        private double ratio = 0.1;
+        private double minRetriesPerSecond = 5;
+        private double maxTokens = 20;
+    }
+}
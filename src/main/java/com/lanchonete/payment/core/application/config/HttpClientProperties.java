@@ -0,0 +1,31 @@
+package com.lanchonete.payment.core.application.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "http.client")
+public class HttpClientProperties {
+
+    private Engine engine = Engine.APACHE;
+    private DestinationProperties production = new DestinationProperties();
+    private DestinationProperties mercadopago = new DestinationProperties();
+
+    public enum Engine {
+        APACHE,
+        JDK
+    }
+
+    @Data
+    public static class DestinationProperties {
+        private int maxConnections = 50;
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration readTimeout = Duration.ofSeconds(5);
+        private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+        private Duration idleEviction = Duration.ofSeconds(30);
+        private Duration timeToLive = Duration.ofMinutes(5);
+    }
+}
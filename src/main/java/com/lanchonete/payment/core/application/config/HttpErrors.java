@@ -0,0 +1,23 @@
+package com.lanchonete.payment.core.application.config;
+
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class HttpErrors {
+
+    // status of an HTTP error response from either the RestTemplate or the WebClient stack, null for anything else
+    public static HttpStatusCode statusOf(final Throwable error) {
+        if (error instanceof RestClientResponseException responseException) {
+            return responseException.getStatusCode();
+        }
+        if (error instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode();
+        }
+        return null;
+    }
+}
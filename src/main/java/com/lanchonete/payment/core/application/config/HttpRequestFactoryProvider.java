@@ -0,0 +1,9 @@
+package com.lanchonete.payment.core.application.config;
+
+import org.springframework.http.client.ClientHttpRequestFactory;
+
+import com.lanchonete.payment.core.application.config.HttpClientProperties.DestinationProperties;
+
+public interface HttpRequestFactoryProvider {
+    ClientHttpRequestFactory create(String destination, DestinationProperties properties);
+}
@@ -0,0 +1,101 @@
+package com.lanchonete.payment.core.application.config;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.MimeType;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.lanchonete.payment.adapter.driven.rest.request.MPAuthRequest;
+import com.lanchonete.payment.adapter.driven.rest.request.MPQrCodePaymentRequest;
+import com.lanchonete.payment.adapter.driven.rest.response.MPAuthResponse;
+import com.lanchonete.payment.adapter.driven.rest.response.MPPaymentConfirmationResponse;
+import com.lanchonete.payment.adapter.driven.rest.response.MPQrCodePaymentResponse;
+import com.lanchonete.payment.adapter.driver.rest.requests.PaymentConfirmationRequest;
+import com.lanchonete.payment.adapter.driver.rest.requests.PaymentDataRequest;
+import com.lanchonete.payment.adapter.driver.rest.responses.BatchPaymentStatusResponse;
+import com.lanchonete.payment.adapter.driver.rest.responses.PaymentDataResponse;
+import com.lanchonete.payment.adapter.driver.rest.responses.PaymentStatusResponse;
+import com.lanchonete.payment.core.application.dto.OrderDTO;
+import com.lanchonete.payment.core.application.dto.PaymentConfirmationDTO;
+import com.lanchonete.payment.core.application.dto.PaymentStatusUpdateResultDTO;
+import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
+
+// the Boot ObjectMapper (spring.jackson.*) is the only mapper: MVC, both RestTemplates and the WebClients share it
+@Configuration
+public class JacksonConfig {
+
+    private static final List<Class<?>> REQUEST_PATH_TYPES = List.of(
+        PaymentConfirmationRequest.class, PaymentDataRequest.class,
+        PaymentStatusResponse.class, BatchPaymentStatusResponse.class, PaymentDataResponse.class,
+        OrderDTO.class, OrderDTO[].class, PaymentConfirmation.class, PaymentStatusUpdateResultDTO[].class,
+        PaymentConfirmationDTO.class,
+        MPAuthRequest.class, MPAuthResponse.class, MPQrCodePaymentRequest.class,
+        MPQrCodePaymentResponse.class, MPPaymentConfirmationResponse.class);
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public JsonCodecRegistry jsonCodecRegistry(ObjectMapper objectMapper) {
+        return new JsonCodecRegistry(objectMapper, REQUEST_PATH_TYPES);
+    }
+
+    // replaces the Boot converter, so MVC and the RestTemplates read and write through the prebuilt readers/writers
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+            JsonCodecRegistry jsonCodecRegistry) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+
+            @Override
+            protected ObjectReader customizeReader(final ObjectReader reader, final JavaType javaType) {
+                return jsonCodecRegistry.reader(javaType, reader);
+            }
+
+            @Override
+            protected ObjectWriter customizeWriter(final ObjectWriter writer, final JavaType javaType, final MediaType contentType) {
+                return jsonCodecRegistry.writer(javaType, writer);
+            }
+        };
+    }
+
+    // runs after the Boot Jackson codec customizer (order 0), which it overrides for the WebClients
+    @Bean
+    @Order(1)
+    public CodecCustomizer prebuiltJacksonCodecCustomizer(ObjectMapper objectMapper, JsonCodecRegistry jsonCodecRegistry) {
+        return configurer -> {
+            configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper) {
+
+                @Override
+                protected ObjectReader customizeReader(final ObjectReader reader, final ResolvableType elementType,
+                        final Map<String, Object> hints) {
+                    return jsonCodecRegistry.reader(objectMapper.constructType(elementType.getType()), reader);
+                }
+            });
+            configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper) {
+
+                @Override
+                protected ObjectWriter customizeWriter(final ObjectWriter writer, final MimeType mimeType,
+                        final ResolvableType elementType, final Map<String, Object> hints) {
+                    return jsonCodecRegistry.writer(objectMapper.constructType(elementType.getType()), writer);
+                }
+            });
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.lanchonete.payment.core.application.config;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.Executors;
+
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import com.lanchonete.payment.core.application.config.HttpClientProperties.DestinationProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class JdkHttpRequestFactoryProvider implements HttpRequestFactoryProvider {
+
+    private final boolean virtualThreads;
+
+    public JdkHttpRequestFactoryProvider(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    @Override
+    public ClientHttpRequestFactory create(final String destination, final DestinationProperties properties) {
+        final JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient(properties));
+        requestFactory.setReadTimeout(properties.getReadTimeout());
+
+        // the JDK client has one unbounded, JVM-wide connection pool: only connect-timeout and read-timeout apply per destination
+        log.warn("JDK HTTP client for {} ignores max-connections, connection-request-timeout, idle-eviction and time-to-live",
+            destination);
+        log.info("Created HTTP/2 capable JDK client for {}", destination);
+        return requestFactory;
+    }
+
+    HttpClient httpClient(final DestinationProperties properties) {
+        final HttpClient.Builder builder = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(properties.getConnectTimeout());
+        if (virtualThreads) {
+            builder.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.lanchonete.payment.core.application.config;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+public class JsonCodecRegistry {
+
+    private final Map<Class<?>, ObjectReader> readers;
+    private final Map<Class<?>, ObjectWriter> writers;
+
+    // readerFor/writerFor resolve the root (de)serializer up front, so the request path only does a map lookup
+    public JsonCodecRegistry(final ObjectMapper objectMapper, final Collection<Class<?>> types) {
+        this.readers = types.stream().collect(Collectors.toUnmodifiableMap(Function.identity(), objectMapper::readerFor));
+        this.writers = types.stream().collect(Collectors.toUnmodifiableMap(Function.identity(), objectMapper::writerFor));
+    }
+
+    public ObjectReader reader(final JavaType type, final ObjectReader fallback) {
+        if (type.hasGenericTypes() || fallback.getConfig().getActiveView() != null) {
+            return fallback;
+        }
+        return readers.getOrDefault(type.getRawClass(), fallback);
+    }
+
+    public ObjectWriter writer(final JavaType type, final ObjectWriter fallback) {
+        if (type == null || type.hasGenericTypes() || fallback.getConfig().getActiveView() != null
+                || fallback.getConfig().getFilterProvider() != null) {
+            return fallback;
+        }
+        return writers.getOrDefault(type.getRawClass(), fallback);
+    }
+}
@@ -0,0 +1,71 @@
+package com.lanchonete.payment.core.application.config;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.lanchonete.payment.adapter.driven.jdbc.JdbcPaymentLogReader;
+import com.lanchonete.payment.adapter.driven.jdbc.JdbcPaymentLogWriter;
+import com.lanchonete.payment.core.application.paymentlog.PaymentLogReader;
+import com.lanchonete.payment.core.application.paymentlog.PaymentLogWriter;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(PaymentLogProperties.class)
+public class PaymentLogConfig {
+
+    // payment_logs is the only use of a database, so there is no DataSource (nor db health check) unless it is enabled
+    @Bean
+    @ConditionalOnProperty(name = "payment.logs.enabled", havingValue = "true")
+    @ConfigurationProperties("payment.logs.datasource")
+    public DataSourceProperties paymentLogDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "payment.logs.enabled", havingValue = "true")
+    @ConfigurationProperties("payment.logs.datasource.hikari")
+    public HikariDataSource paymentLogDataSource(DataSourceProperties paymentLogDataSourceProperties) {
+        return paymentLogDataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "payment.logs.enabled", havingValue = "true")
+    public PaymentLogWriter jdbcPaymentLogWriter(PaymentLogProperties properties, DataSource paymentLogDataSource,
+            MeterRegistry meterRegistry) {
+        return new JdbcPaymentLogWriter(paymentLogDataSource, properties.getQueueCapacity(), properties.getBatchSize(),
+            properties.getLinger(), meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "payment.logs.enabled", havingValue = "false", matchIfMissing = true)
+    public PaymentLogWriter disabledPaymentLogWriter() {
+        return entry -> {
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "payment.logs.enabled", havingValue = "true")
+    public PaymentLogReader jdbcPaymentLogReader(DataSource paymentLogDataSource) {
+        return new JdbcPaymentLogReader(paymentLogDataSource);
+    }
+
+    // without payment_logs no replica could pick up the payments created by another one
+    @Bean
+    @ConditionalOnProperty(name = "payment.logs.enabled", havingValue = "false", matchIfMissing = true)
+    public PaymentLogReader disabledPaymentLogReader(ReconciliationProperties reconciliationProperties) {
+        if (reconciliationProperties.isEnabled() && reconciliationProperties.getReplicaCount() > 1) {
+            throw new IllegalStateException("payment.reconciliation.replica-count > 1 requires payment.logs.enabled=true");
+        }
+        return (since, limit) -> List.of();
+    }
+}
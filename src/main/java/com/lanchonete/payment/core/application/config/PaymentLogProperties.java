@@ -0,0 +1,17 @@
+package com.lanchonete.payment.core.application.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "payment.logs")
+public class PaymentLogProperties {
+
+    private boolean enabled = false;
+    private int queueCapacity = 10_000;
+    private int batchSize = 100;
+    private Duration linger = Duration.ofMillis(50);
+}
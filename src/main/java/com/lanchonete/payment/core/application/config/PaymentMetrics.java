@@ -0,0 +1,122 @@
+package com.lanchonete.payment.core.application.config;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+
+@Component
+public class PaymentMetrics {
+
+    public static final String DOWNSTREAM_REQUESTS = "payment.downstream.requests";
+    public static final String TOKEN_REFRESHES = "payment.mercadopago.token.refreshes";
+    public static final String WEBHOOK_LAG = "payment.webhook.lag";
+    public static final String RETRIES = "payment.downstream.retries";
+    public static final String RETRY_BUDGET = "payment.downstream.retry.budget";
+    public static final String RECONCILIATIONS = "payment.reconciliation.checks";
+
+    private static final String NONE = "none";
+    private static final String CANCELLED = "CANCELLED";
+
+    private final MeterRegistry meterRegistry;
+
+    public PaymentMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T recordDownstream(final String target, final String operation, final Supplier<T> call) {
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        Throwable error = null;
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            sample.stop(downstreamTimer(target, operation, error));
+        }
+    }
+
+    public <T> Mono<T> recordDownstream(final String target, final String operation, final Mono<T> call) {
+        return Mono.defer(() -> {
+            final Timer.Sample sample = Timer.start(meterRegistry);
+            return call
+                .doOnSuccess(value -> sample.stop(downstreamTimer(target, operation, null)))
+                .doOnError(e -> sample.stop(downstreamTimer(target, operation, e)))
+                .doOnCancel(() -> sample.stop(downstreamTimer(target, operation, CANCELLED, NONE)));
+        });
+    }
+
+    public void recordTokenRefresh(final String trigger, final boolean success) {
+        Counter.builder(TOKEN_REFRESHES)
+            .tags("trigger", trigger, "outcome", success ? "success" : "failure")
+            .register(meterRegistry)
+            .increment();
+    }
+
+    public void recordRetry(final String target, final String operation, final String outcome) {
+        Counter.builder(RETRIES)
+            .tags("target", target, "operation", operation, "outcome", outcome)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    public void recordReconciliation(final String outcome) {
+        Counter.builder(RECONCILIATIONS)
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    public void recordWebhookLag(final Instant dateCreated, final boolean success) {
+        if (dateCreated == null) {
+            return;
+        }
+
+        final Duration lag = Duration.between(dateCreated, Instant.now());
+        Timer.builder(WEBHOOK_LAG)
+            .tag("outcome", success ? "success" : "failure")
+            .register(meterRegistry)
+            .record(lag.isNegative() ? Duration.ZERO : lag);
+    }
+
+    private Timer downstreamTimer(final String target, final String operation, final Throwable error) {
+        return downstreamTimer(target, operation, outcome(error).name(),
+            error != null ? rootCause(error).getClass().getSimpleName() : NONE);
+    }
+
+    private Timer downstreamTimer(final String target, final String operation, final String outcome, final String exception) {
+        return Timer.builder(DOWNSTREAM_REQUESTS)
+            .tags("target", target, "operation", operation, "outcome", outcome, "exception", exception)
+            .register(meterRegistry);
+    }
+
+    private static Outcome outcome(final Throwable error) {
+        if (error == null) {
+            return Outcome.SUCCESS;
+        }
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            final HttpStatusCode status = HttpErrors.statusOf(cause);
+            if (status != null) {
+                return Outcome.forStatus(status.value());
+            }
+        }
+        return Outcome.UNKNOWN;
+    }
+
+    private static Throwable rootCause(final Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,9 @@
+package com.lanchonete.payment.core.application.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ReconciliationProperties.class)
+public class ReconciliationConfig {
+}
@@ -0,0 +1,27 @@
+package com.lanchonete.payment.core.application.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "payment.reconciliation")
+public class ReconciliationProperties {
+
+    private boolean enabled = true;
+    private Duration interval = Duration.ofSeconds(15);
+    private Duration firstCheckDelay = Duration.ofSeconds(60);
+    private Duration recheckInterval = Duration.ofSeconds(60);
+    private Duration qrExpiry = Duration.ofMinutes(30);
+    private int batchSize = 100;
+    private int concurrency = 4;
+    private int maxEntries = 10_000;
+    // orders are split across replicas by hash(orderId) % replica-count; each replica reconciles only its own share
+    private int replicaCount = 1;
+    private int replicaIndex = 0;
+    // unresolved PENDING rows of payment_logs are loaded at startup and then every recovery-interval
+    private Duration recoveryInterval = Duration.ofMinutes(1);
+    private Duration recoveryLookback = Duration.ofHours(24);
+}
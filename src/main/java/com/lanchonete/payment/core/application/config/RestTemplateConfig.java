@@ -1,15 +1,74 @@
 package com.lanchonete.payment.core.application.config;
 
+import static com.lanchonete.payment.core.application.config.Constants.MERCADO_PAGO;
+import static com.lanchonete.payment.core.application.config.Constants.MERCADO_PAGO_REST_TEMPLATE;
+import static com.lanchonete.payment.core.application.config.Constants.PRODUCTION_SERVICE;
+import static com.lanchonete.payment.core.application.config.Constants.PRODUCTION_SERVICE_REST_TEMPLATE;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
+import com.lanchonete.payment.adapter.driven.rest.mercadopago.MercadoPagoResponseHttpMessageConverter;
+import com.lanchonete.payment.adapter.driven.rest.mercadopago.MercadoPagoResponseReader;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+
 @Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
 public class RestTemplateConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    @ConditionalOnProperty(name = "http.client.engine", havingValue = "apache", matchIfMissing = true)
+    public HttpRequestFactoryProvider apacheHttpRequestFactoryProvider(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ApacheHttpRequestFactoryProvider(meterRegistry.getIfAvailable());
     }
-}
 
+    @Bean
+    @ConditionalOnProperty(name = "http.client.engine", havingValue = "jdk")
+    public HttpRequestFactoryProvider jdkHttpRequestFactoryProvider(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        return new JdkHttpRequestFactoryProvider(virtualThreads);
+    }
+
+    @Bean(name = PRODUCTION_SERVICE_REST_TEMPLATE)
+    public RestTemplate productionServiceRestTemplate(HttpRequestFactoryProvider requestFactoryProvider,
+            HttpClientProperties httpClientProperties, ObjectProvider<ObservationRegistry> observationRegistry,
+            MappingJackson2HttpMessageConverter jacksonConverter) {
+        return observed(withSharedJackson(new RestTemplate(requestFactoryProvider.create(PRODUCTION_SERVICE,
+            httpClientProperties.getProduction())), jacksonConverter), observationRegistry);
+    }
+
+    @Bean(name = MERCADO_PAGO_REST_TEMPLATE)
+    public RestTemplate mercadoPagoRestTemplate(HttpRequestFactoryProvider requestFactoryProvider,
+            HttpClientProperties httpClientProperties, ObjectProvider<ObservationRegistry> observationRegistry,
+            MappingJackson2HttpMessageConverter jacksonConverter, MercadoPagoResponseReader responseReader,
+            @Value("${mercadopago.streaming-parser.enabled:true}") boolean streamingParser) {
+        final RestTemplate restTemplate = withSharedJackson(new RestTemplate(requestFactoryProvider.create(MERCADO_PAGO,
+            httpClientProperties.getMercadopago())), jacksonConverter);
+        if (streamingParser) {
+            // ahead of the Jackson converter, which still writes the requests and reads the token response
+            restTemplate.getMessageConverters().add(0, new MercadoPagoResponseHttpMessageConverter(responseReader));
+        }
+        return observed(restTemplate, observationRegistry);
+    }
+
+    // the default converter list builds its own ObjectMapper; swap in the one MVC uses (see JacksonConfig)
+    private static RestTemplate withSharedJackson(final RestTemplate restTemplate,
+            final MappingJackson2HttpMessageConverter jacksonConverter) {
+        restTemplate.getMessageConverters().replaceAll(converter ->
+            converter instanceof MappingJackson2HttpMessageConverter ? jacksonConverter : converter);
+        return restTemplate;
+    }
+
+    private static RestTemplate observed(final RestTemplate restTemplate, final ObjectProvider<ObservationRegistry> observationRegistry) {
+        observationRegistry.ifAvailable(restTemplate::setObservationRegistry);
+        return restTemplate;
+    }
+}
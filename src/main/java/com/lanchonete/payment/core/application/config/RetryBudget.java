@@ -0,0 +1,60 @@
+package com.lanchonete.payment.core.application.config;
+
+import java.util.function.LongSupplier;
+
+public class RetryBudget {
+
+    // fixed point, so that ten deposits of 0.1 add up to exactly one retry
+    private static final long SCALE = 1_000_000L;
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final long deposit;
+    private final double minRetriesPerSecond;
+    private final long maxTokens;
+    private final LongSupplier nanoClock;
+
+    private long tokens;
+    private long lastRefill;
+
+    public RetryBudget(final double ratio, final double minRetriesPerSecond, final double maxTokens) {
+        this(ratio, minRetriesPerSecond, maxTokens, System::nanoTime);
+    }
+
+    RetryBudget(final double ratio, final double minRetriesPerSecond, final double maxTokens, final LongSupplier nanoClock) {
+        this.deposit = Math.round(ratio * SCALE);
+        this.minRetriesPerSecond = minRetriesPerSecond;
+        this.maxTokens = Math.round(maxTokens * SCALE);
+        this.nanoClock = nanoClock;
+        this.tokens = Math.min(this.maxTokens, Math.round(minRetriesPerSecond * SCALE));
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    public synchronized void recordRequest() {
+        refill();
+        tokens = Math.min(maxTokens, tokens + deposit);
+    }
+
+    public synchronized boolean tryAcquireRetry() {
+        refill();
+        if (tokens < SCALE) {
+            return false;
+        }
+        tokens -= SCALE;
+        return true;
+    }
+
+    public synchronized double available() {
+        refill();
+        return (double) tokens / SCALE;
+    }
+
+    // the per-second floor keeps a trickle of retries available while traffic is low
+    private void refill() {
+        final long now = nanoClock.getAsLong();
+        final long earned = (long) (minRetriesPerSecond * SCALE * ((now - lastRefill) / NANOS_PER_SECOND));
+        if (earned > 0) {
+            tokens = Math.min(maxTokens, tokens + earned);
+            lastRefill = now;
+        }
+    }
+}
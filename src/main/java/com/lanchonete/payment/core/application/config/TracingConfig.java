@@ -0,0 +1,23 @@
+package com.lanchonete.payment.core.application.config;
+
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lanchonete.payment.adapter.driven.tracing.FileSpanExporter;
+
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "tracing.exporter", havingValue = "file")
+    public SpanExporter fileSpanExporter(ObjectMapper objectMapper, @Value("${tracing.file.path}") String path) {
+        return new FileSpanExporter(objectMapper, Path.of(path));
+    }
+}
@@ -0,0 +1,63 @@
+package com.lanchonete.payment.core.application.config;
+
+import static com.lanchonete.payment.core.application.config.Constants.MERCADO_PAGO;
+import static com.lanchonete.payment.core.application.config.Constants.MERCADO_PAGO_WEB_CLIENT;
+import static com.lanchonete.payment.core.application.config.Constants.PRODUCTION_SERVICE;
+import static com.lanchonete.payment.core.application.config.Constants.PRODUCTION_SERVICE_WEB_CLIENT;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.lanchonete.payment.adapter.driven.rest.mercadopago.MercadoPagoResponseDecoder;
+import com.lanchonete.payment.adapter.driven.rest.mercadopago.MercadoPagoResponseReader;
+import com.lanchonete.payment.core.application.config.HttpClientProperties.DestinationProperties;
+
+import io.netty.channel.ChannelOption;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+@ConditionalOnProperty(name = "payment.io-mode", havingValue = "reactive")
+public class WebClientConfig {
+
+    @Bean(name = PRODUCTION_SERVICE_WEB_CLIENT)
+    public WebClient productionServiceWebClient(WebClient.Builder webClientBuilder, HttpClientProperties httpClientProperties) {
+        return webClientBuilder.clone()
+            .clientConnector(createConnector(PRODUCTION_SERVICE, httpClientProperties.getProduction()))
+            .build();
+    }
+
+    @Bean(name = MERCADO_PAGO_WEB_CLIENT)
+    public WebClient mercadoPagoWebClient(WebClient.Builder webClientBuilder, HttpClientProperties httpClientProperties,
+            MercadoPagoResponseReader responseReader,
+            @Value("${mercadopago.streaming-parser.enabled:true}") boolean streamingParser) {
+        final WebClient.Builder builder = webClientBuilder.clone()
+            .clientConnector(createConnector(MERCADO_PAGO, httpClientProperties.getMercadopago()));
+        if (streamingParser) {
+            // custom typed decoders are consulted before the Jackson decoder
+            builder.codecs(codecs -> codecs.customCodecs().registerWithDefaultConfig(new MercadoPagoResponseDecoder(responseReader)));
+        }
+        return builder.build();
+    }
+
+    private ReactorClientHttpConnector createConnector(final String destination, final DestinationProperties properties) {
+        final ConnectionProvider connectionProvider = ConnectionProvider.builder(destination)
+            .maxConnections(properties.getMaxConnections())
+            .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+            .maxIdleTime(properties.getIdleEviction())
+            .maxLifeTime(properties.getTimeToLive())
+            .evictInBackground(properties.getIdleEviction())
+            .metrics(true)
+            .build();
+
+        final HttpClient httpClient = HttpClient.create(connectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+            .responseTimeout(properties.getReadTimeout());
+
+        return new ReactorClientHttpConnector(httpClient);
+    }
+}
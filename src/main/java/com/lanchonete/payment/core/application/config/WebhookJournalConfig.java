@@ -0,0 +1,22 @@
+package com.lanchonete.payment.core.application.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lanchonete.payment.adapter.driven.journal.MappedFileWebhookJournal;
+import com.lanchonete.payment.core.application.journal.WebhookJournal;
+
+@Configuration
+@EnableConfigurationProperties(WebhookJournalProperties.class)
+public class WebhookJournalConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "payment.webhook.journal.enabled", havingValue = "true")
+    public WebhookJournal webhookJournal(WebhookJournalProperties properties, ObjectMapper objectMapper) {
+        return new MappedFileWebhookJournal(properties.getDirectory(), (int) properties.getSegmentSize().toBytes(),
+            properties.isForceOnAppend(), objectMapper);
+    }
+}
@@ -0,0 +1,24 @@
+package com.lanchonete.payment.core.application.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "payment.webhook.journal")
+public class WebhookJournalProperties {
+
+    private boolean enabled = false;
+    private Path directory = Path.of("data", "webhook-journal");
+    private DataSize segmentSize = DataSize.ofMegabytes(16);
+    private boolean forceOnAppend = false;
+    private int workers = 2;
+    private long maxPending = 10_000;
+    private int maxAttempts = 5;
+    private Duration retryDelay = Duration.ofSeconds(2);
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
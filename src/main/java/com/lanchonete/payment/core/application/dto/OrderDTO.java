@@ -6,6 +6,7 @@ import java.time.LocalDateTime;
 
 import com.lanchonete.payment.core.domain.model.enums.OrderStatusEnum;
 import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository.Order;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -27,5 +28,14 @@ public class OrderDTO {
     private BigDecimal totalPrice;
     private Instant createdDate;
     private Instant updatedDate;
+
+    public Order toOrder() {
+        return new Order(
+            this.id,
+            this.customerCpf,
+            this.paymentId,
+            this.paymentStatus
+        );
+    }
 }
 
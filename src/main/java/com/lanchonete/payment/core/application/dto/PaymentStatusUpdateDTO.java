@@ -0,0 +1,18 @@
+package com.lanchonete.payment.core.application.dto;
+
+import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentStatusUpdateDTO {
+    private Long orderId;
+    private String idempotencyKey;
+    private PaymentConfirmation payment;
+}
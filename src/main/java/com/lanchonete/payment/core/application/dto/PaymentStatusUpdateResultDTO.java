@@ -0,0 +1,17 @@
+package com.lanchonete.payment.core.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentStatusUpdateResultDTO {
+    private Long orderId;
+    private String idempotencyKey;
+    private int status;
+    private OrderDTO order;
+}
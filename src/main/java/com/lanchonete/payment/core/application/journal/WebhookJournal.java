@@ -0,0 +1,25 @@
+package com.lanchonete.payment.core.application.journal;
+
+import java.util.List;
+
+import com.lanchonete.payment.core.application.dto.PaymentConfirmationDTO;
+
+public interface WebhookJournal {
+
+    Entry append(PaymentConfirmationDTO event);
+
+    List<Entry> recover();
+
+    void complete(Entry entry);
+
+    void fail(Entry entry);
+
+    long pendingCount();
+
+    record Entry(long segmentId, int offset, PaymentConfirmationDTO event, int attempt) {
+
+        public Entry nextAttempt() {
+            return new Entry(segmentId, offset, event, attempt + 1);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.lanchonete.payment.core.application.paymentlog;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface PaymentLogReader {
+
+    // payments logged as PENDING since the given instant with no final status logged yet, oldest first
+    List<PendingEntry> findUnresolved(Instant since, int limit);
+
+    record PendingEntry(String paymentId, long orderId, Instant createdAt) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.lanchonete.payment.core.application.paymentlog;
+
+import java.math.BigDecimal;
+
+public interface PaymentLogWriter {
+
+    // never blocks: entries are queued and persisted in the background, or dropped when the queue is full
+    void record(Entry entry);
+
+    record Entry(String paymentId, Long orderId, String status, BigDecimal amount) {
+
+        public static Entry of(final String paymentId, final Long orderId, final String status, final Double amount) {
+            return new Entry(paymentId, orderId, status, amount != null ? BigDecimal.valueOf(amount) : null);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.lanchonete.payment.core.application.qrcode;
+
+import com.lanchonete.payment.core.domain.model.enums.QrCodeImageFormat;
+
+public interface QrCodeEncoder {
+
+    byte[] encode(String qrData, QrCodeImageFormat format);
+}
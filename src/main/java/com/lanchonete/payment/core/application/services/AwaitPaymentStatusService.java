@@ -0,0 +1,66 @@
+package com.lanchonete.payment.core.application.services;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.lanchonete.payment.core.application.usecases.AwaitPaymentStatusUseCase;
+import com.lanchonete.payment.core.application.usecases.ConsultPaymentStatusUseCase;
+import com.lanchonete.payment.core.domain.model.PaymentStatus;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class AwaitPaymentStatusService implements AwaitPaymentStatusUseCase {
+
+    private final ConsultPaymentStatusUseCase consultPaymentStatusUseCase;
+    private final PaymentStatusNotifier paymentStatusNotifier;
+    private final Duration maxTimeout;
+
+    public AwaitPaymentStatusService(ConsultPaymentStatusUseCase consultPaymentStatusUseCase,
+            PaymentStatusNotifier paymentStatusNotifier,
+            @Value("${payment.status.long-poll.timeout-seconds:25}") long timeoutSeconds) {
+        this.consultPaymentStatusUseCase = consultPaymentStatusUseCase;
+        this.paymentStatusNotifier = paymentStatusNotifier;
+        this.maxTimeout = Duration.ofSeconds(timeoutSeconds);
+    }
+
+    @Override
+    public CompletableFuture<PaymentStatus> awaitPaymentStatus(final Long orderId, final PaymentStatusEnum knownStatus,
+            final Duration timeout) {
+        final PaymentStatusEnum expectedStatus = knownStatus != null ? knownStatus : PaymentStatusEnum.PENDING;
+        final CompletableFuture<PaymentStatusEnum> change = paymentStatusNotifier.register(orderId, expectedStatus);
+
+        final PaymentStatus current;
+        try {
+            current = consultPaymentStatusUseCase.getPaymentStatus(orderId);
+        } catch (RuntimeException e) {
+            change.cancel(false);
+            throw e;
+        }
+
+        if (current.getPaymentStatus() != expectedStatus || expectedStatus.isFinal()) {
+            change.cancel(false);
+            return CompletableFuture.completedFuture(current);
+        }
+
+        log.info("Waiting for payment status of order {} to leave {}", orderId, expectedStatus);
+        return change.completeOnTimeout(expectedStatus, resolveTimeout(timeout).toMillis(), TimeUnit.MILLISECONDS)
+            .thenApply(paymentStatus -> PaymentStatus.builder()
+                .orderId(orderId)
+                .paymentStatus(paymentStatus)
+                .build());
+    }
+
+    private Duration resolveTimeout(final Duration timeout) {
+        if (timeout == null || timeout.isNegative() || timeout.isZero() || timeout.compareTo(maxTimeout) > 0) {
+            return maxTimeout;
+        }
+        return timeout;
+    }
+}
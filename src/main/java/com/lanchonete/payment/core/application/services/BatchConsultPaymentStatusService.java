@@ -0,0 +1,119 @@
+package com.lanchonete.payment.core.application.services;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.logging.log4j.ThreadContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.lanchonete.payment.core.application.usecases.BatchConsultPaymentStatusUseCase;
+import com.lanchonete.payment.core.application.usecases.ConsultPaymentStatusUseCase;
+import com.lanchonete.payment.core.domain.exceptions.InvalidPaymentException;
+import com.lanchonete.payment.core.domain.model.PaymentStatus;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository;
+
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class BatchConsultPaymentStatusService implements BatchConsultPaymentStatusUseCase {
+
+    private final OrderRepository orderRepository;
+    private final ConsultPaymentStatusUseCase consultPaymentStatusUseCase;
+    private final ContextSnapshotFactory contextSnapshotFactory = ContextSnapshotFactory.builder().build();
+    private final int concurrency;
+    private final int maxOrders;
+
+    public BatchConsultPaymentStatusService(OrderRepository orderRepository,
+            ConsultPaymentStatusUseCase consultPaymentStatusUseCase,
+            @Value("${payment.status.batch.concurrency:8}") int concurrency,
+            @Value("${payment.status.batch.max-orders:100}") int maxOrders) {
+        this.orderRepository = orderRepository;
+        this.consultPaymentStatusUseCase = consultPaymentStatusUseCase;
+        this.concurrency = Math.max(1, concurrency);
+        this.maxOrders = maxOrders;
+    }
+
+    @Override
+    public List<PaymentStatus> getPaymentStatuses(final List<Long> orderIds) {
+        if (orderIds == null || orderIds.isEmpty() || orderIds.size() > maxOrders) {
+            throw new InvalidPaymentException("Between 1 and " + maxOrders + " order ids must be informed");
+        }
+
+        final List<OrderRepository.Order> orders = orderRepository.getOrdersByIds(new LinkedHashSet<>(orderIds));
+        log.info("Consulting payment status for {} order(s), {} found", orderIds.size(), orders.size());
+
+        final Map<Long, PaymentStatus> statuses = new ConcurrentHashMap<>();
+        final Queue<OrderRepository.Order> pending = new ConcurrentLinkedQueue<>();
+        for (OrderRepository.Order order : orders) {
+            if (order.getPaymentStatus() == PaymentStatusEnum.PENDING) {
+                pending.add(order);
+            } else {
+                statuses.put(order.getId(), toPaymentStatus(order));
+            }
+        }
+
+        consultPending(pending, statuses);
+
+        final List<PaymentStatus> result = new ArrayList<>(orders.size());
+        for (OrderRepository.Order order : orders) {
+            result.add(statuses.get(order.getId()));
+        }
+        return result;
+    }
+
+    private void consultPending(final Queue<OrderRepository.Order> pending, final Map<Long, PaymentStatus> statuses) {
+        if (pending.size() == 1) {
+            final OrderRepository.Order order = pending.poll();
+            statuses.put(order.getId(), consult(order));
+            return;
+        }
+
+        final ContextSnapshot snapshot = contextSnapshotFactory.captureAll();
+        final Map<String, String> logContext = ThreadContext.getImmutableContext();
+        final Runnable worker = snapshot.wrap(() -> {
+            ThreadContext.putAll(logContext);
+            try {
+                for (OrderRepository.Order order = pending.poll(); order != null; order = pending.poll()) {
+                    statuses.put(order.getId(), consult(order));
+                }
+            } finally {
+                ThreadContext.clearMap();
+            }
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = Math.min(concurrency, pending.size()); i > 0; i--) {
+                executor.execute(worker);
+            }
+        }
+    }
+
+    private PaymentStatus consult(final OrderRepository.Order order) {
+        try {
+            return consultPaymentStatusUseCase.getPaymentStatus(order);
+        } catch (RuntimeException e) {
+            log.warn("Failed to consult payment status for Order {}, answering with its last known status: {}",
+                order.getId(), e.getMessage());
+            return toPaymentStatus(order);
+        }
+    }
+
+    private PaymentStatus toPaymentStatus(final OrderRepository.Order order) {
+        return PaymentStatus.builder()
+            .orderId(order.getId())
+            .paymentStatus(order.getPaymentStatus())
+            .build();
+    }
+}
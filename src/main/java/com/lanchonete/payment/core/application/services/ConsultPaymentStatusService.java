@@ -1,6 +1,7 @@
 package com.lanchonete.payment.core.application.services;
 
 import com.lanchonete.payment.core.application.usecases.ConsultPaymentStatusUseCase;
+import com.lanchonete.payment.core.domain.exceptions.MercadoPagoUnavailableException;
 import com.lanchonete.payment.core.domain.exceptions.OrderNotFoundException;
 import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
 import com.lanchonete.payment.core.domain.model.PaymentStatus;
@@ -20,36 +21,81 @@ public class ConsultPaymentStatusService implements ConsultPaymentStatusUseCase
 
     private final OrderRepository orderRepository;
     private final PaymentRepository paymentRepository;
+    private final PaymentStatusRegistry paymentStatusRegistry;
 
     @Override
     public PaymentStatus getPaymentStatus(final Long orderId) {
         OrderRepository.Order order = orderRepository.getOrderById(orderId);
 
         if (order != null) {
-            log.info("Processing payment confirmation for Order: {}", orderId);
+            return getPaymentStatus(order);
+        } else {
+            log.error("Order not found with id: {}", orderId);
+            throw new OrderNotFoundException("Order with id " + orderId + " not found"); 
+        }
+    }
 
-            if (order.getPaymentStatus() != PaymentStatusEnum.PENDING) {
-                log.info("Order {} in final payment status: {}", orderId, order.getPaymentStatus());
+    @Override
+    public PaymentStatus getPaymentStatus(final OrderRepository.Order order) {
+        final Long orderId = order.getId();
+        log.info("Processing payment confirmation for Order: {}", orderId);
 
-                return PaymentStatus.builder()
-                    .orderId(orderId)
-                    .paymentStatus(order.getPaymentStatus())
-                    .build();
-            }
+        if (order.getPaymentStatus() != PaymentStatusEnum.PENDING) {
+            log.info("Order {} in final payment status: {}", orderId, order.getPaymentStatus());
 
-            final PaymentConfirmation payment = paymentRepository.getPaymentStatus(order.getPaymentId());
-            orderRepository.updateOrderPaymentStatus(order.getId(), payment);
+            return PaymentStatus.builder()
+                .orderId(orderId)
+                .paymentStatus(order.getPaymentStatus())
+                .build();
+        }
 
-            order = orderRepository.getOrderById(orderId);
+        final PaymentConfirmation payment;
+        try {
+            payment = lookupPayment(order);
+        } catch (MercadoPagoUnavailableException e) {
+            log.warn("Mercado Pago unavailable, answering Order {} with its last known payment status: {}", orderId, order.getPaymentStatus());
 
             return PaymentStatus.builder()
-                    .orderId(orderId)
-                    .paymentStatus(order.getPaymentStatus())
-                    .build();
-        } else {
-            log.error("Order not found with id: {}", orderId);
-            throw new OrderNotFoundException("Order with id " + orderId + " not found"); 
+                .orderId(orderId)
+                .paymentStatus(order.getPaymentStatus())
+                .build();
+        }
+
+        final PaymentStatusEnum paymentStatus = PaymentStatusEnum.fromMercadoPagoStatus(payment != null ? payment.getStatus() : null);
+        if (paymentStatus == order.getPaymentStatus()) {
+            log.info("Payment status unchanged for Order {}, skipping Production Service update", orderId);
+
+            return PaymentStatus.builder()
+                .orderId(orderId)
+                .paymentStatus(paymentStatus)
+                .build();
+        }
+
+        final OrderRepository.Order updatedOrder = orderRepository.updateOrderPaymentStatus(orderId, payment);
+
+        return PaymentStatus.builder()
+                .orderId(orderId)
+                .paymentStatus(resolvePaymentStatus(updatedOrder, payment))
+                .build();
+    }
+
+    private PaymentConfirmation lookupPayment(final OrderRepository.Order order) {
+        final PaymentConfirmation registered = paymentStatusRegistry.getFresh(order.getId(), order.getPaymentId());
+        if (registered != null) {
+            log.info("Using registered payment status for Order: {}", order.getId());
+            return registered;
+        }
+
+        final PaymentConfirmation payment = paymentRepository.getPaymentStatus(order.getPaymentId());
+        paymentStatusRegistry.record(order.getId(), order.getPaymentId(), payment);
+        return payment;
+    }
+
+    private PaymentStatusEnum resolvePaymentStatus(final OrderRepository.Order updatedOrder, final PaymentConfirmation payment) {
+        if (updatedOrder != null && updatedOrder.getPaymentStatus() != null) {
+            return updatedOrder.getPaymentStatus();
         }
+        return PaymentStatusEnum.fromMercadoPagoStatus(payment != null ? payment.getStatus() : null);
     }
 }
 
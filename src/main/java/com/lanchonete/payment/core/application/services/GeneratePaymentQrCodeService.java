@@ -3,8 +3,11 @@ package com.lanchonete.payment.core.application.services;
 import org.springframework.stereotype.Service;
 
 import com.lanchonete.payment.core.application.dto.PaymentDataDTO;
+import com.lanchonete.payment.core.application.paymentlog.PaymentLogWriter;
 import com.lanchonete.payment.core.application.usecases.GeneratePaymentQrCodeUseCase;
 import com.lanchonete.payment.core.domain.model.PaymentData;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository;
 import com.lanchonete.payment.core.domain.repositories.PaymentRepository;
 
 import lombok.AllArgsConstructor;
@@ -15,12 +18,44 @@ import lombok.extern.slf4j.Slf4j;
 @AllArgsConstructor
 public class GeneratePaymentQrCodeService implements GeneratePaymentQrCodeUseCase {
 
+    private final OrderRepository orderRepository;
     private final PaymentRepository paymentRepository;
+    private final PendingPaymentTracker pendingPaymentTracker;
+    private final PaymentLogWriter paymentLogWriter;
+    private final PaymentQrCodeCache paymentQrCodeCache;
 
     @Override
     public PaymentData generatePaymentQrCode(PaymentDataDTO paymentDataDTO) {
+        return paymentQrCodeCache.get(paymentDataDTO.getOrderId(), paymentDataDTO.getTotalPrice(),
+            () -> createPaymentQrCode(paymentDataDTO));
+    }
+
+    // the Production Service holds the order's last Mercado Pago payment: while it can still be paid its QR code is
+    // handed out again, once it was resolved the new Mercado Pago order is keyed on it
+    private PaymentData createPaymentQrCode(final PaymentDataDTO paymentDataDTO) {
+        final OrderRepository.Order order = orderRepository.getOrderById(paymentDataDTO.getOrderId());
+        final String previousPaymentId = order != null ? order.getPaymentId() : null;
+        if (previousPaymentId != null && !isResolved(order)) {
+            final PaymentData openPaymentData = paymentRepository.getOpenPaymentData(previousPaymentId);
+            if (openPaymentData != null) {
+                log.info("Reusing open payment {} for Order {}", previousPaymentId, paymentDataDTO.getOrderId());
+                return openPaymentData;
+            }
+        }
+
         log.info("Getting payment data information");
-        return paymentRepository.getPaymentData(paymentDataDTO.getOrderId(), paymentDataDTO.getTotalPrice());
+        final PaymentData paymentData = paymentRepository.getPaymentData(paymentDataDTO.getOrderId(), paymentDataDTO.getTotalPrice(),
+            previousPaymentId);
+        if (paymentData != null) {
+            pendingPaymentTracker.track(paymentDataDTO.getOrderId(), paymentData.getPaymentId());
+            paymentLogWriter.record(new PaymentLogWriter.Entry(paymentData.getPaymentId(), paymentDataDTO.getOrderId(),
+                PaymentStatusEnum.PENDING.name(), paymentDataDTO.getTotalPrice()));
+        }
+        return paymentData;
+    }
+
+    private static boolean isResolved(final OrderRepository.Order order) {
+        return order.getPaymentStatus() != null && order.getPaymentStatus().isFinal();
     }
     
 }
@@ -0,0 +1,184 @@
+package com.lanchonete.payment.core.application.services;
+
+import static com.lanchonete.payment.core.application.config.Constants.REQUEST_TRACE_ID;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.ThreadContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import com.lanchonete.payment.core.application.config.WebhookJournalProperties;
+import com.lanchonete.payment.core.application.dto.PaymentConfirmationDTO;
+import com.lanchonete.payment.core.application.journal.WebhookJournal;
+import com.lanchonete.payment.core.application.journal.WebhookJournal.Entry;
+import com.lanchonete.payment.core.application.usecases.ProcessPaymentWebhookUseCase;
+import com.lanchonete.payment.core.domain.exceptions.InvalidPaymentException;
+import com.lanchonete.payment.core.domain.exceptions.WebhookBackpressureException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Primary
+@Service
+@ConditionalOnProperty(name = "payment.webhook.journal.enabled", havingValue = "true")
+public class JournaledProcessPaymentWebhookService implements ProcessPaymentWebhookUseCase {
+
+    private static final String METRIC_PREFIX = "payment.webhook.journal";
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final ProcessPaymentWebhookService processPaymentWebhookService;
+    private final WebhookJournal journal;
+    private final WebhookJournalProperties properties;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+
+    private final Counter appendedCounter;
+    private final Counter processedCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+
+    private ExecutorService workers;
+    private ScheduledExecutorService retryScheduler;
+    private volatile boolean running;
+
+    public JournaledProcessPaymentWebhookService(ProcessPaymentWebhookService processPaymentWebhookService,
+            WebhookJournal journal, WebhookJournalProperties properties, MeterRegistry meterRegistry) {
+        this.processPaymentWebhookService = processPaymentWebhookService;
+        this.journal = journal;
+        this.properties = properties;
+
+        Gauge.builder(METRIC_PREFIX + ".pending", journal, WebhookJournal::pendingCount).register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queued", queue, Collection::size).register(meterRegistry);
+        this.appendedCounter = eventCounter(meterRegistry, "appended");
+        this.processedCounter = eventCounter(meterRegistry, "processed");
+        this.retriedCounter = eventCounter(meterRegistry, "retried");
+        this.failedCounter = eventCounter(meterRegistry, "failed");
+        this.rejectedCounter = eventCounter(meterRegistry, "rejected");
+    }
+
+    @Override
+    public void processPaymentConfirmation(final PaymentConfirmationDTO paymentConfirmationDTO) {
+        if (paymentConfirmationDTO.getData() == null || paymentConfirmationDTO.getData().getId() == null
+                || paymentConfirmationDTO.getData().getId().isBlank()) {
+            throw new InvalidPaymentException("Payment confirmation webhook without payment id");
+        }
+
+        final long pending = journal.pendingCount();
+        if (pending >= properties.getMaxPending()) {
+            rejectedCounter.increment();
+            log.warn("Rejecting payment confirmation for payment ID {}: {} events pending in the journal",
+                paymentConfirmationDTO.getData().getId(), pending);
+            throw new WebhookBackpressureException("Webhook journal is full, retry later");
+        }
+
+        final Entry entry = journal.append(paymentConfirmationDTO);
+        appendedCounter.increment();
+        queue.add(entry);
+        log.info("Journaled payment confirmation for payment ID: {}", paymentConfirmationDTO.getData().getId());
+    }
+
+    @PostConstruct
+    public void start() {
+        queue.addAll(journal.recover());
+        running = true;
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("webhook-journal-retry").daemon().factory());
+        workers = Executors.newFixedThreadPool(properties.getWorkers(),
+            Thread.ofPlatform().name("webhook-journal-worker-", 0).daemon().factory());
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            workers.execute(this::drain);
+        }
+    }
+
+    // lets in-flight events finish; queued and scheduled retries stay pending in the journal for the next start
+    @PreDestroy
+    public void stop() {
+        running = false;
+        retryScheduler.shutdownNow();
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Webhook journal workers still busy after {}, interrupting them", properties.getShutdownTimeout());
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void process(final Entry entry) {
+        final String paymentId = entry.event().getData().getId();
+        ThreadContext.put(REQUEST_TRACE_ID, "webhook-" + entry.segmentId() + "-" + entry.offset());
+        try {
+            processPaymentWebhookService.processPaymentConfirmation(entry.event());
+            journal.complete(entry);
+            processedCounter.increment();
+        } catch (Exception e) {
+            final int attempts = entry.attempt() + 1;
+            if (!isRetryable(e) || attempts >= properties.getMaxAttempts()) {
+                log.error("Giving up on payment confirmation for payment ID {} after {} attempts: {}", paymentId, attempts, e.getMessage());
+                journal.fail(entry);
+                failedCounter.increment();
+            } else {
+                retryLater(entry, attempts, e);
+            }
+        } finally {
+            ThreadContext.remove(REQUEST_TRACE_ID);
+        }
+    }
+
+    private void retryLater(final Entry entry, final int attempts, final Exception error) {
+        final String paymentId = entry.event().getData().getId();
+        final Duration delay = properties.getRetryDelay().multipliedBy(attempts);
+        try {
+            retryScheduler.schedule(() -> queue.add(entry.nextAttempt()), delay.toMillis(), TimeUnit.MILLISECONDS);
+            log.warn("Payment confirmation for payment ID {} failed on attempt {}, retrying in {}: {}", paymentId, attempts, delay, error.getMessage());
+            retriedCounter.increment();
+        } catch (RejectedExecutionException e) {
+            // shutting down: the entry stays pending in the journal and is replayed on the next start
+            log.warn("Payment confirmation for payment ID {} failed on attempt {} during shutdown, left in the journal: {}",
+                paymentId, attempts, error.getMessage());
+        }
+    }
+
+    // Mercado Pago already got its 200, so an order the Production Service does not know yet is retried here;
+    // a payment Mercado Pago has no confirmation for will not show up by retrying
+    private static boolean isRetryable(final Exception error) {
+        return !(error instanceof InvalidPaymentException);
+    }
+
+    private void drain() {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                final Entry entry = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (entry != null) {
+                    process(entry);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static Counter eventCounter(final MeterRegistry meterRegistry, final String outcome) {
+        return Counter.builder(METRIC_PREFIX + ".events")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
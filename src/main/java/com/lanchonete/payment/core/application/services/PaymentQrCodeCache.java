@@ -0,0 +1,198 @@
+package com.lanchonete.payment.core.application.services;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lanchonete.payment.core.domain.model.PaymentData;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Component
+public class PaymentQrCodeCache {
+
+    private static final String METRIC_PREFIX = "payment.qr.cache";
+
+    private final boolean enabled;
+    private final Duration qrExpiry;
+    private final AsyncCache<Key, PaymentData> qrCodes;
+    private final Cache<String, Generated> generatedByPaymentId;
+
+    private final Counter cachedCounter;
+    private final Counter coalescedCounter;
+    private final Counter missCounter;
+
+    @Autowired
+    public PaymentQrCodeCache(@Value("${payment.qr.cache.enabled:true}") boolean enabled,
+            @Value("${payment.reconciliation.qr-expiry:30m}") Duration qrExpiry,
+            @Value("${payment.qr.cache.max-entries:10000}") long maxEntries,
+            MeterRegistry meterRegistry) {
+        this(enabled, qrExpiry, maxEntries, meterRegistry, System::nanoTime);
+    }
+
+    PaymentQrCodeCache(boolean enabled, Duration qrExpiry, long maxEntries, MeterRegistry meterRegistry,
+            LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.qrExpiry = qrExpiry;
+        this.qrCodes = Caffeine.newBuilder()
+            .expireAfterWrite(qrExpiry)
+            .maximumSize(maxEntries)
+            .ticker(nanoClock::getAsLong)
+            .buildAsync();
+        this.generatedByPaymentId = Caffeine.newBuilder()
+            .expireAfterWrite(qrExpiry)
+            .maximumSize(maxEntries)
+            .ticker(nanoClock::getAsLong)
+            .build();
+        this.cachedCounter = Counter.builder(METRIC_PREFIX + ".hits").tag("reason", "cached").register(meterRegistry);
+        this.coalescedCounter = Counter.builder(METRIC_PREFIX + ".hits").tag("reason", "coalesced").register(meterRegistry);
+        this.missCounter = Counter.builder(METRIC_PREFIX + ".misses").register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // indexed even when deduplication is disabled, so generated QR codes can be rendered by paymentId
+    public Optional<String> findQrData(final String paymentId) {
+        return Optional.ofNullable(generatedByPaymentId.getIfPresent(paymentId)).map(Generated::qrData);
+    }
+
+    // how long the QR code of this payment stays valid; empty once it expired or was invalidated
+    public Optional<Duration> findRemainingLifetime(final String paymentId) {
+        if (generatedByPaymentId.getIfPresent(paymentId) == null) {
+            return Optional.empty();
+        }
+        return generatedByPaymentId.policy().expireAfterWrite()
+            .flatMap(expiration -> expiration.ageOf(paymentId))
+            .map(qrExpiry::minus)
+            .filter(remaining -> remaining.isPositive());
+    }
+
+    // a paid, rejected or expired QR code is never handed out again, the next request generates a new one
+    public void invalidate(final String paymentId) {
+        final Generated generated = paymentId != null ? generatedByPaymentId.asMap().remove(paymentId) : null;
+        if (generated == null) {
+            return;
+        }
+        final CompletableFuture<PaymentData> cached = qrCodes.getIfPresent(generated.key());
+        if (cached != null && paymentId.equals(paymentIdOf(cached))) {
+            qrCodes.asMap().remove(generated.key(), cached);
+            log.info("Discarded cached QR code of payment {} for Order {}", paymentId, generated.key().orderId());
+        }
+    }
+
+    // the first caller generates the QR code on its own thread; concurrent duplicates wait for its result
+    public PaymentData get(final Long orderId, final BigDecimal totalPrice, final Supplier<PaymentData> generation) {
+        if (!enabled) {
+            return index(Key.of(orderId, totalPrice), generation.get());
+        }
+
+        final Key key = Key.of(orderId, totalPrice);
+        final CompletableFuture<PaymentData> candidate = new CompletableFuture<>();
+        final CompletableFuture<PaymentData> existing = qrCodes.asMap().putIfAbsent(key, candidate);
+        if (existing != null) {
+            countHit(orderId, existing);
+            return await(existing);
+        }
+
+        missCounter.increment();
+        try {
+            final PaymentData paymentData = index(key, generation.get());
+            candidate.complete(paymentData);
+            return paymentData;
+        } catch (RuntimeException | Error e) {
+            candidate.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public Mono<PaymentData> get(final Long orderId, final BigDecimal totalPrice, final Mono<PaymentData> generation) {
+        if (!enabled) {
+            final Key key = Key.of(orderId, totalPrice);
+            return generation.doOnNext(paymentData -> index(key, paymentData));
+        }
+
+        // the generation runs detached from the first subscriber, so cancelling one caller does not fail the others
+        return Mono.deferContextual(context -> {
+            final Key key = Key.of(orderId, totalPrice);
+            final CompletableFuture<PaymentData> candidate = new CompletableFuture<>();
+            final CompletableFuture<PaymentData> existing = qrCodes.asMap().putIfAbsent(key, candidate);
+            if (existing != null) {
+                countHit(orderId, existing);
+                return Mono.fromFuture(existing, true);
+            }
+
+            missCounter.increment();
+            generation.contextWrite(context).toFuture().whenComplete((paymentData, error) -> {
+                if (error != null) {
+                    candidate.completeExceptionally(error);
+                } else {
+                    candidate.complete(index(key, paymentData));
+                }
+            });
+            return Mono.fromFuture(candidate, true);
+        });
+    }
+
+    private PaymentData index(final Key key, final PaymentData paymentData) {
+        if (paymentData != null && paymentData.getPaymentId() != null && paymentData.getQrCode() != null) {
+            generatedByPaymentId.put(paymentData.getPaymentId(), new Generated(key, paymentData.getQrCode()));
+        }
+        return paymentData;
+    }
+
+    private static String paymentIdOf(final CompletableFuture<PaymentData> cached) {
+        if (!cached.isDone() || cached.isCompletedExceptionally()) {
+            return null;
+        }
+        final PaymentData paymentData = cached.join();
+        return paymentData != null ? paymentData.getPaymentId() : null;
+    }
+
+    private void countHit(final Long orderId, final CompletableFuture<PaymentData> existing) {
+        if (existing.isDone()) {
+            cachedCounter.increment();
+            log.info("Reusing QR code already generated for Order {}", orderId);
+        } else {
+            coalescedCounter.increment();
+            log.info("Waiting for the QR code being generated for Order {}", orderId);
+        }
+    }
+
+    private static PaymentData await(final CompletableFuture<PaymentData> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Generated(Key key, String qrData) {
+    }
+
+    private record Key(Long orderId, BigDecimal totalPrice) {
+
+        static Key of(final Long orderId, final BigDecimal totalPrice) {
+            return new Key(orderId, totalPrice != null ? totalPrice.stripTrailingZeros() : null);
+        }
+    }
+}
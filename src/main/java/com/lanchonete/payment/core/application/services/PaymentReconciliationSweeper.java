@@ -0,0 +1,198 @@
+package com.lanchonete.payment.core.application.services;
+
+import static com.lanchonete.payment.core.application.config.Constants.MERCADO_PAGO_RECONCILIATION;
+import static com.lanchonete.payment.core.application.config.Constants.REQUEST_TRACE_ID;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.ThreadContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.lanchonete.payment.core.application.config.PaymentMetrics;
+import com.lanchonete.payment.core.application.config.ReconciliationProperties;
+import com.lanchonete.payment.core.application.paymentlog.PaymentLogReader;
+import com.lanchonete.payment.core.application.paymentlog.PaymentLogReader.PendingEntry;
+import com.lanchonete.payment.core.application.paymentlog.PaymentLogWriter;
+import com.lanchonete.payment.core.application.services.PendingPaymentTracker.PendingPayment;
+import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository;
+import com.lanchonete.payment.core.domain.repositories.PaymentRepository;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "payment.reconciliation.enabled", havingValue = "true", matchIfMissing = true)
+public class PaymentReconciliationSweeper {
+
+    private static final String EXPIRED = "expired";
+
+    private final PendingPaymentTracker tracker;
+    private final PaymentRepository paymentRepository;
+    private final OrderRepository orderRepository;
+    private final PaymentStatusRegistry paymentStatusRegistry;
+    private final PaymentStatusNotifier paymentStatusNotifier;
+    private final PaymentMetrics paymentMetrics;
+    private final PaymentLogWriter paymentLogWriter;
+    private final PaymentLogReader paymentLogReader;
+    private final PaymentQrCodeCache paymentQrCodeCache;
+    private final ReconciliationProperties properties;
+    private final RateLimiter rateLimiter;
+
+    private ScheduledExecutorService scheduler;
+
+    public PaymentReconciliationSweeper(PendingPaymentTracker tracker, PaymentRepository paymentRepository,
+            OrderRepository orderRepository, PaymentStatusRegistry paymentStatusRegistry,
+            PaymentStatusNotifier paymentStatusNotifier, PaymentMetrics paymentMetrics, PaymentLogWriter paymentLogWriter,
+            PaymentLogReader paymentLogReader, PaymentQrCodeCache paymentQrCodeCache, ReconciliationProperties properties,
+            RateLimiterRegistry rateLimiterRegistry) {
+        this.tracker = tracker;
+        this.paymentRepository = paymentRepository;
+        this.orderRepository = orderRepository;
+        this.paymentStatusRegistry = paymentStatusRegistry;
+        this.paymentStatusNotifier = paymentStatusNotifier;
+        this.paymentMetrics = paymentMetrics;
+        this.paymentLogWriter = paymentLogWriter;
+        this.paymentLogReader = paymentLogReader;
+        this.paymentQrCodeCache = paymentQrCodeCache;
+        this.properties = properties;
+        this.rateLimiter = rateLimiterRegistry.rateLimiter(MERCADO_PAGO_RECONCILIATION);
+    }
+
+    @PostConstruct
+    public void start() {
+        final long intervalMillis = properties.getInterval().toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("payment-reconciliation").daemon().factory());
+        scheduler.scheduleWithFixedDelay(this::recoverSafely, 0, properties.getRecoveryInterval().toMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::sweepSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    // payments of this replica's partition that it is not tracking: created before a restart or by another replica
+    void recover() {
+        final Instant now = Instant.now();
+        final List<PendingEntry> unresolved = paymentLogReader.findUnresolved(now.minus(properties.getRecoveryLookback()),
+            properties.getMaxEntries());
+
+        int restored = 0;
+        for (final PendingEntry entry : unresolved) {
+            final Duration age = Duration.between(entry.createdAt(), now);
+            if (tracker.restore(entry.orderId(), entry.paymentId(), age.isNegative() ? Duration.ZERO : age)) {
+                restored++;
+            }
+        }
+        if (restored > 0) {
+            log.info("Restored {} unresolved payment(s) from payment logs, {} tracked", restored, tracker.size());
+        }
+    }
+
+    void sweep() {
+        final List<PendingPayment> due = tracker.due(properties.getBatchSize());
+        if (due.isEmpty()) {
+            return;
+        }
+        log.info("Reconciling {} pending payment(s), {} tracked", due.size(), tracker.size());
+
+        final Queue<PendingPayment> queue = new ConcurrentLinkedQueue<>(due);
+        final Runnable worker = () -> {
+            for (PendingPayment payment = queue.poll(); payment != null; payment = queue.poll()) {
+                reconcile(payment);
+            }
+        };
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = Math.min(properties.getConcurrency(), due.size()); i > 0; i--) {
+                executor.execute(worker);
+            }
+        }
+    }
+
+    void reconcile(final PendingPayment pending) {
+        final PaymentConfirmation registered = paymentStatusRegistry.getFresh(pending.orderId(), pending.paymentId());
+        if (registered != null && PaymentStatusEnum.fromMercadoPagoStatus(registered.getStatus()).isFinal()) {
+            tracker.untrack(pending);
+            paymentMetrics.recordReconciliation("already_final");
+            return;
+        }
+        if (!rateLimiter.acquirePermission()) {
+            recheckLater(pending, "rate_limited");
+            return;
+        }
+
+        ThreadContext.put(REQUEST_TRACE_ID, "reconciliation-" + pending.orderId());
+        try {
+            final PaymentConfirmation payment = paymentRepository.getPaymentStatus(pending.paymentId());
+            final PaymentStatusEnum status = PaymentStatusEnum.fromMercadoPagoStatus(payment != null ? payment.getStatus() : null);
+
+            if (status.isFinal()) {
+                log.info("Reconciled Order {} to payment status {}", pending.orderId(), status);
+                paymentStatusRegistry.record(pending.orderId(), pending.paymentId(), payment);
+                resolve(pending, payment, status, "resolved");
+            } else if (tracker.now() - pending.trackedAt() >= properties.getQrExpiry().toNanos()) {
+                log.info("Expiring abandoned QR code for Order {} after {}", pending.orderId(), properties.getQrExpiry());
+                resolve(pending, PaymentConfirmation.builder()
+                    .id(pending.paymentId())
+                    .status(EXPIRED)
+                    .totalAmount(payment != null ? payment.getTotalAmount() : null)
+                    .build(), PaymentStatusEnum.CANCELLED, "expired");
+            } else {
+                recheckLater(pending, "pending");
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to reconcile payment {} of Order {}: {}", pending.paymentId(), pending.orderId(), e.getMessage());
+            recheckLater(pending, "failed");
+        } finally {
+            ThreadContext.remove(REQUEST_TRACE_ID);
+        }
+    }
+
+    private void resolve(final PendingPayment pending, final PaymentConfirmation payment, final PaymentStatusEnum status,
+            final String outcome) {
+        orderRepository.updateOrderPaymentStatus(pending.orderId(), payment);
+        tracker.untrack(pending);
+        paymentQrCodeCache.invalidate(pending.paymentId());
+        paymentStatusNotifier.publish(pending.orderId(), status);
+        paymentLogWriter.record(PaymentLogWriter.Entry.of(pending.paymentId(), pending.orderId(), status.name(),
+            payment.getTotalAmount()));
+        paymentMetrics.recordReconciliation(outcome);
+    }
+
+    private void recheckLater(final PendingPayment pending, final String outcome) {
+        tracker.reschedule(pending, tracker.now() + properties.getRecheckInterval().toNanos());
+        paymentMetrics.recordReconciliation(outcome);
+    }
+
+    private void recoverSafely() {
+        try {
+            recover();
+        } catch (RuntimeException e) {
+            log.error("Payment reconciliation recovery failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void sweepSafely() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            log.error("Payment reconciliation sweep failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.lanchonete.payment.core.application.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Component;
+
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class PaymentStatusNotifier {
+
+    private static final String METRIC_PREFIX = "payment.status.waiters";
+
+    private final ConcurrentMap<Long, List<Waiter>> waitersByOrderId = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final Counter wokenCounter;
+
+    public PaymentStatusNotifier(MeterRegistry meterRegistry) {
+        Gauge.builder(METRIC_PREFIX, waiting, AtomicInteger::get).register(meterRegistry);
+        this.wokenCounter = Counter.builder(METRIC_PREFIX + ".woken").register(meterRegistry);
+    }
+
+    public CompletableFuture<PaymentStatusEnum> register(final Long orderId, final PaymentStatusEnum knownStatus) {
+        final Waiter waiter = new Waiter(knownStatus);
+
+        waitersByOrderId.compute(orderId, (id, waiters) -> {
+            final List<Waiter> current = waiters != null ? waiters : new ArrayList<>();
+            current.add(waiter);
+            return current;
+        });
+        waiting.incrementAndGet();
+
+        waiter.future.whenComplete((status, error) -> remove(orderId, waiter));
+        return waiter.future;
+    }
+
+    public void publish(final Long orderId, final PaymentStatusEnum status) {
+        if (orderId == null || status == null) {
+            return;
+        }
+
+        final List<Waiter> woken = new ArrayList<>();
+        waitersByOrderId.computeIfPresent(orderId, (id, waiters) -> {
+            waiters.removeIf(waiter -> {
+                if (waiter.knownStatus != status) {
+                    woken.add(waiter);
+                    return true;
+                }
+                return false;
+            });
+            return waiters.isEmpty() ? null : waiters;
+        });
+
+        if (!woken.isEmpty()) {
+            log.info("Waking {} client(s) waiting on order {} with payment status {}", woken.size(), orderId, status);
+            waiting.addAndGet(-woken.size());
+            wokenCounter.increment(woken.size());
+            woken.forEach(waiter -> waiter.future.complete(status));
+        }
+    }
+
+    public int waitingCount() {
+        return waiting.get();
+    }
+
+    private void remove(final Long orderId, final Waiter waiter) {
+        final boolean[] removed = new boolean[1];
+        waitersByOrderId.computeIfPresent(orderId, (id, waiters) -> {
+            removed[0] = waiters.remove(waiter);
+            return waiters.isEmpty() ? null : waiters;
+        });
+        if (removed[0]) {
+            waiting.decrementAndGet();
+        }
+    }
+
+    private static final class Waiter {
+
+        private final PaymentStatusEnum knownStatus;
+        private final CompletableFuture<PaymentStatusEnum> future = new CompletableFuture<>();
+
+        private Waiter(final PaymentStatusEnum knownStatus) {
+            this.knownStatus = knownStatus;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.lanchonete.payment.core.application.services;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class PaymentStatusRegistry {
+
+    private static final String METRIC_PREFIX = "payment.status.registry";
+    private static final int STRIPES = 16;
+    // slots checked for expired entries on every put, and on the next stripe in turn when the registry is full
+    private static final int SWEEP_SLOTS = 4;
+    private static final int FULL_SWEEP_SLOTS = 64;
+
+    private final boolean enabled;
+    private final long pendingTtlNanos;
+    private final long finalTtlNanos;
+    private final LongSupplier nanoClock;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger sweepStripe = new AtomicInteger();
+
+    private final Counter hitCounter;
+    private final Counter missingCounter;
+    private final Counter staleCounter;
+    private final Counter rejectedCounter;
+
+    @Autowired
+    public PaymentStatusRegistry(@Value("${payment.status.registry.enabled:true}") boolean enabled,
+            @Value("${payment.status.registry.pending-ttl-seconds:5}") long pendingTtlSeconds,
+            @Value("${payment.status.registry.final-ttl-seconds:600}") long finalTtlSeconds,
+            @Value("${payment.status.registry.max-entries:10000}") int maxEntries,
+            MeterRegistry meterRegistry) {
+        this(enabled, Duration.ofSeconds(pendingTtlSeconds), Duration.ofSeconds(finalTtlSeconds), maxEntries,
+            meterRegistry, System::nanoTime);
+    }
+
+    PaymentStatusRegistry(boolean enabled, Duration pendingTtl, Duration finalTtl, int maxEntries,
+            MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.pendingTtlNanos = pendingTtl.toNanos();
+        this.finalTtlNanos = finalTtl.toNanos();
+        this.nanoClock = nanoClock;
+
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(size, maxEntries);
+        }
+
+        Gauge.builder(METRIC_PREFIX + ".size", this, PaymentStatusRegistry::size).register(meterRegistry);
+        this.hitCounter = Counter.builder(METRIC_PREFIX + ".hits").register(meterRegistry);
+        this.missingCounter = Counter.builder(METRIC_PREFIX + ".misses").tag("reason", "missing").register(meterRegistry);
+        this.staleCounter = Counter.builder(METRIC_PREFIX + ".misses").tag("reason", "stale").register(meterRegistry);
+        this.rejectedCounter = Counter.builder(METRIC_PREFIX + ".rejected").register(meterRegistry);
+    }
+
+    public void record(final long orderId, final String paymentId, final PaymentConfirmation payment) {
+        if (!enabled || payment == null) {
+            return;
+        }
+
+        final PaymentStatusEnum status = PaymentStatusEnum.fromMercadoPagoStatus(payment.getStatus());
+        final long now = nanoClock.getAsLong();
+        final Entry entry = new Entry(paymentId, payment, now + (status.isFinal() ? finalTtlNanos : pendingTtlNanos));
+
+        final Stripe stripe = stripeFor(orderId);
+        if (!stripe.put(orderId, entry, now)) {
+            stripes[sweepStripe.getAndIncrement() & (STRIPES - 1)].sweep(now, FULL_SWEEP_SLOTS);
+            if (!stripe.put(orderId, entry, now)) {
+                rejectedCounter.increment();
+                log.debug("Payment status registry full, not recording order {}", orderId);
+            }
+        }
+    }
+
+    public PaymentConfirmation getFresh(final long orderId, final String paymentId) {
+        if (!enabled) {
+            return null;
+        }
+
+        final Entry entry = stripeFor(orderId).get(orderId);
+        if (entry == null || !Objects.equals(entry.paymentId(), paymentId)) {
+            missingCounter.increment();
+            return null;
+        }
+        if (entry.expiresAt() - nanoClock.getAsLong() <= 0) {
+            staleCounter.increment();
+            return null;
+        }
+
+        hitCounter.increment();
+        return entry.payment();
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    private Stripe stripeFor(final long orderId) {
+        return stripes[(int) (mix(orderId) >>> 60) & (STRIPES - 1)];
+    }
+
+    private static long mix(final long key) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    private record Entry(String paymentId, PaymentConfirmation payment, long expiresAt) {
+    }
+
+    private static final class Stripe {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final AtomicInteger registrySize;
+        private final int maxEntries;
+        private long[] keys = new long[INITIAL_CAPACITY];
+        private Entry[] values = new Entry[INITIAL_CAPACITY];
+        private int mask = INITIAL_CAPACITY - 1;
+        private int size;
+        private int sweepCursor;
+
+        Stripe(final AtomicInteger registrySize, final int maxEntries) {
+            this.registrySize = registrySize;
+            this.maxEntries = maxEntries;
+        }
+
+        synchronized Entry get(final long key) {
+            for (int i = slot(key); values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        synchronized boolean put(final long key, final Entry entry, final long now) {
+            sweep(now, SWEEP_SLOTS);
+            for (int i = slot(key); values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    values[i] = entry;
+                    return true;
+                }
+            }
+
+            if (registrySize.get() >= maxEntries) {
+                return false;
+            }
+            if ((size + 1) * 2 > values.length) {
+                resize(values.length * 2);
+            }
+
+            insert(key, entry);
+            size++;
+            registrySize.incrementAndGet();
+            return true;
+        }
+
+        private void insert(final long key, final Entry entry) {
+            int i = slot(key);
+            while (values[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = entry;
+        }
+
+        private void resize(final int capacity) {
+            final long[] oldKeys = keys;
+            final Entry[] oldValues = values;
+            keys = new long[capacity];
+            values = new Entry[capacity];
+            mask = capacity - 1;
+            for (int i = 0; i < oldValues.length; i++) {
+                if (oldValues[i] != null) {
+                    insert(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        synchronized void sweep(final long now, final int slots) {
+            if (size == 0) {
+                return;
+            }
+            for (int n = 0; n < slots; n++) {
+                final int i = sweepCursor & mask;
+                while (values[i] != null && values[i].expiresAt() - now <= 0) {
+                    remove(i);
+                }
+                sweepCursor = i + 1;
+            }
+        }
+
+        private void remove(int hole) {
+            values[hole] = null;
+            size--;
+            registrySize.decrementAndGet();
+
+            for (int i = (hole + 1) & mask; values[i] != null; i = (i + 1) & mask) {
+                final int home = slot(keys[i]);
+                if (((i - home) & mask) >= ((i - hole) & mask)) {
+                    keys[hole] = keys[i];
+                    values[hole] = values[i];
+                    values[i] = null;
+                    hole = i;
+                }
+            }
+        }
+
+        private int slot(final long key) {
+            return (int) mix(key) & mask;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.lanchonete.payment.core.application.services;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Component
+public class PaymentWebhookCoalescer {
+
+    private static final String METRIC_PREFIX = "payment.webhook.dedup";
+
+    private final boolean enabled;
+    private final Cache<String, PaymentStatusEnum> resolvedPayments;
+    private final ConcurrentMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter duplicateCounter;
+    private final Counter coalescedCounter;
+    private final Counter missCounter;
+
+    @Autowired
+    public PaymentWebhookCoalescer(@Value("${payment.webhook.dedup.enabled:true}") boolean enabled,
+            @Value("${payment.webhook.dedup.ttl-seconds:30}") long ttlSeconds,
+            @Value("${payment.webhook.dedup.max-entries:10000}") long maxEntries,
+            MeterRegistry meterRegistry) {
+        this(enabled, ttlSeconds, maxEntries, meterRegistry, System::nanoTime);
+    }
+
+    PaymentWebhookCoalescer(final boolean enabled, final long ttlSeconds, final long maxEntries,
+            final MeterRegistry meterRegistry, final LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.resolvedPayments = Caffeine.newBuilder()
+            .ticker(nanoClock::getAsLong)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .maximumSize(maxEntries)
+            .build();
+        this.duplicateCounter = Counter.builder(METRIC_PREFIX + ".hits").tag("reason", "duplicate").register(meterRegistry);
+        this.coalescedCounter = Counter.builder(METRIC_PREFIX + ".hits").tag("reason", "coalesced").register(meterRegistry);
+        this.missCounter = Counter.builder(METRIC_PREFIX + ".misses").register(meterRegistry);
+    }
+
+    public void execute(final String paymentId, final Supplier<PaymentStatusEnum> processing) {
+        if (!enabled) {
+            processing.get();
+            return;
+        }
+
+        final PaymentStatusEnum resolvedStatus = resolvedPayments.getIfPresent(paymentId);
+        if (resolvedStatus != null) {
+            duplicateCounter.increment();
+            log.info("Dropping duplicate notification for payment ID {} already resolved as {}", paymentId, resolvedStatus);
+            return;
+        }
+
+        final Flight candidate = new Flight();
+        while (true) {
+            final Flight current = inFlight.putIfAbsent(paymentId, candidate);
+            if (current == null) {
+                run(paymentId, candidate, processing);
+                return;
+            }
+
+            final Flight next = current.follow(candidate);
+            if (next == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            if (next != candidate) {
+                coalescedCounter.increment();
+                log.info("Coalescing notification for payment ID {} into the pending processing run", paymentId);
+                await(next);
+                return;
+            }
+
+            current.result.handle((ignored, error) -> null).join();
+            if (resolvedPayments.getIfPresent(paymentId) != null) {
+                duplicateCounter.increment();
+                release(paymentId, candidate);
+                candidate.result.complete(null);
+                return;
+            }
+            run(paymentId, candidate, processing);
+            return;
+        }
+    }
+
+    // same dedup and coalescing as execute(String, Supplier), waiting on the pending run without blocking a thread
+    public Mono<Void> execute(final String paymentId, final Mono<PaymentStatusEnum> processing) {
+        if (!enabled) {
+            return processing.then();
+        }
+
+        return Mono.defer(() -> {
+            final PaymentStatusEnum resolvedStatus = resolvedPayments.getIfPresent(paymentId);
+            if (resolvedStatus != null) {
+                duplicateCounter.increment();
+                log.info("Dropping duplicate notification for payment ID {} already resolved as {}", paymentId, resolvedStatus);
+                return Mono.empty();
+            }
+
+            final Flight candidate = new Flight();
+            while (true) {
+                final Flight current = inFlight.putIfAbsent(paymentId, candidate);
+                if (current == null) {
+                    return run(paymentId, candidate, processing);
+                }
+
+                final Flight next = current.follow(candidate);
+                if (next == null) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+
+                if (next != candidate) {
+                    coalescedCounter.increment();
+                    log.info("Coalescing notification for payment ID {} into the pending processing run", paymentId);
+                    return Mono.fromFuture(next.result, true);
+                }
+
+                return Mono.fromFuture(current.result.handle((ignored, error) -> null), true)
+                    .then(Mono.defer(() -> {
+                        if (resolvedPayments.getIfPresent(paymentId) != null) {
+                            duplicateCounter.increment();
+                            release(paymentId, candidate);
+                            candidate.result.complete(null);
+                            return Mono.empty();
+                        }
+                        return run(paymentId, candidate, processing);
+                    }));
+            }
+        });
+    }
+
+    private Mono<Void> run(final String paymentId, final Flight flight, final Mono<PaymentStatusEnum> processing) {
+        missCounter.increment();
+        return processing
+            .doOnSuccess(status -> {
+                if (status != null && status.isFinal()) {
+                    resolvedPayments.put(paymentId, status);
+                }
+                release(paymentId, flight);
+                flight.result.complete(null);
+            })
+            .doOnError(e -> {
+                release(paymentId, flight);
+                flight.result.completeExceptionally(e);
+            })
+            .doOnCancel(() -> {
+                release(paymentId, flight);
+                flight.result.completeExceptionally(new CancellationException("Processing of payment ID " + paymentId + " was cancelled"));
+            })
+            .then();
+    }
+
+    private void run(final String paymentId, final Flight flight, final Supplier<PaymentStatusEnum> processing) {
+        missCounter.increment();
+        final PaymentStatusEnum status;
+        try {
+            status = processing.get();
+        } catch (RuntimeException | Error e) {
+            release(paymentId, flight);
+            flight.result.completeExceptionally(e);
+            throw e;
+        }
+        if (status != null && status.isFinal()) {
+            resolvedPayments.put(paymentId, status);
+        }
+        release(paymentId, flight);
+        flight.result.complete(null);
+    }
+
+    // hands the slot over before the result completes, so a woken follower never finds this flight still mapped
+    private void release(final String paymentId, final Flight flight) {
+        final Flight next = flight.close();
+        if (next == null) {
+            inFlight.remove(paymentId, flight);
+        } else {
+            inFlight.replace(paymentId, flight, next);
+        }
+    }
+
+    private void await(final Flight flight) {
+        try {
+            flight.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Flight {
+
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        private Flight next;
+        private boolean closed;
+
+        synchronized Flight follow(final Flight candidate) {
+            if (closed) {
+                return null;
+            }
+            if (next == null) {
+                next = candidate;
+            }
+            return next;
+        }
+
+        synchronized Flight close() {
+            closed = true;
+            return next;
+        }
+    }
+}
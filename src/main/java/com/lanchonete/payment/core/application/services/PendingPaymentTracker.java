@@ -0,0 +1,114 @@
+package com.lanchonete.payment.core.application.services;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.lanchonete.payment.core.application.config.ReconciliationProperties;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class PendingPaymentTracker {
+
+    private final boolean enabled;
+    private final long firstCheckDelayNanos;
+    private final int maxEntries;
+    private final int replicaCount;
+    private final int replicaIndex;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<Long, PendingPayment> pending = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PendingPaymentTracker(ReconciliationProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    PendingPaymentTracker(ReconciliationProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.enabled = properties.isEnabled();
+        this.firstCheckDelayNanos = properties.getFirstCheckDelay().toNanos();
+        this.maxEntries = properties.getMaxEntries();
+        this.replicaCount = properties.getReplicaCount();
+        this.replicaIndex = properties.getReplicaIndex();
+        this.nanoClock = nanoClock;
+        if (replicaCount < 1 || replicaIndex < 0 || replicaIndex >= replicaCount) {
+            throw new IllegalStateException("payment.reconciliation.replica-index must be between 0 and replica-count - 1, got "
+                + replicaIndex + " of " + replicaCount);
+        }
+
+        Gauge.builder("payment.reconciliation.pending", pending, ConcurrentMap::size).register(meterRegistry);
+    }
+
+    // orders of another replica's partition are left to it: it loads them from payment_logs
+    public boolean owns(final long orderId) {
+        return Math.floorMod(Long.hashCode(orderId), replicaCount) == replicaIndex;
+    }
+
+    public void track(final Long orderId, final String paymentId) {
+        if (!enabled || orderId == null || paymentId == null || !owns(orderId)) {
+            return;
+        }
+        if (pending.size() >= maxEntries && !pending.containsKey(orderId)) {
+            log.warn("Pending payment tracker full, not tracking order {}", orderId);
+            return;
+        }
+
+        final long now = nanoClock.getAsLong();
+        pending.put(orderId, new PendingPayment(orderId, paymentId, now, now + firstCheckDelayNanos));
+    }
+
+    // tracks a payment created age ago (by this replica before a restart, or by another one); a tracked order is kept
+    public boolean restore(final long orderId, final String paymentId, final Duration age) {
+        if (!enabled || paymentId == null || !owns(orderId) || pending.containsKey(orderId)) {
+            return false;
+        }
+        if (pending.size() >= maxEntries) {
+            log.warn("Pending payment tracker full, not restoring order {}", orderId);
+            return false;
+        }
+
+        final long trackedAt = nanoClock.getAsLong() - age.toNanos();
+        return pending.putIfAbsent(orderId, new PendingPayment(orderId, paymentId, trackedAt, trackedAt + firstCheckDelayNanos)) == null;
+    }
+
+    public void untrack(final PendingPayment payment) {
+        pending.remove(payment.orderId(), payment);
+    }
+
+    public void reschedule(final PendingPayment payment, final long nextCheckAt) {
+        pending.replace(payment.orderId(), payment, payment.withNextCheckAt(nextCheckAt));
+    }
+
+    public List<PendingPayment> due(final int limit) {
+        final long now = nanoClock.getAsLong();
+        return pending.values().stream()
+            .filter(payment -> payment.nextCheckAt() - now <= 0)
+            .sorted(Comparator.comparingLong(payment -> payment.nextCheckAt() - now))
+            .limit(limit)
+            .toList();
+    }
+
+    public long now() {
+        return nanoClock.getAsLong();
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    public record PendingPayment(long orderId, String paymentId, long trackedAt, long nextCheckAt) {
+
+        PendingPayment withNextCheckAt(final long nextCheckAt) {
+            return new PendingPayment(orderId, paymentId, trackedAt, nextCheckAt);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.lanchonete.payment.core.application.services;
+
+import static com.lanchonete.payment.core.application.config.Constants.REQUEST_TRACE_ID;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.ThreadContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.lanchonete.payment.core.application.dto.PaymentDataDTO;
+import com.lanchonete.payment.core.application.usecases.GeneratePaymentQrCodeUseCase;
+import com.lanchonete.payment.core.application.usecases.PregeneratePaymentQrCodeUseCase;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class PregeneratePaymentQrCodeService implements PregeneratePaymentQrCodeUseCase {
+
+    private static final String METRIC_PREFIX = "payment.qr.pregeneration";
+
+    private final GeneratePaymentQrCodeUseCase generatePaymentQrCodeUseCase;
+    private final PaymentQrCodeCache paymentQrCodeCache;
+    private final MeterRegistry meterRegistry;
+    private final int workers;
+    private final int maxPending;
+
+    private final Counter completedCounter;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+
+    private ThreadPoolExecutor executor;
+
+    public PregeneratePaymentQrCodeService(GeneratePaymentQrCodeUseCase generatePaymentQrCodeUseCase,
+            PaymentQrCodeCache paymentQrCodeCache, MeterRegistry meterRegistry,
+            @Value("${payment.qr.pregeneration.workers:4}") int workers,
+            @Value("${payment.qr.pregeneration.max-pending:1000}") int maxPending) {
+        this.generatePaymentQrCodeUseCase = generatePaymentQrCodeUseCase;
+        this.paymentQrCodeCache = paymentQrCodeCache;
+        this.meterRegistry = meterRegistry;
+        this.workers = Math.max(1, workers);
+        this.maxPending = Math.max(1, maxPending);
+        this.completedCounter = jobCounter(meterRegistry, "completed");
+        this.failedCounter = jobCounter(meterRegistry, "failed");
+        this.rejectedCounter = jobCounter(meterRegistry, "rejected");
+    }
+
+    @PostConstruct
+    public void start() {
+        executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(maxPending),
+            Thread.ofPlatform().name("qr-pregeneration-", 0).daemon().factory());
+        Gauge.builder(METRIC_PREFIX + ".queued", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    // the job only warms the QR code cache, so a later POST /paymentData for the same order and amount skips Mercado Pago
+    @Override
+    public boolean pregeneratePaymentQrCode(final PaymentDataDTO paymentDataDTO) {
+        if (!paymentQrCodeCache.isEnabled()) {
+            log.warn("Ignoring QR code pre-generation for Order {}: the QR code cache is disabled", paymentDataDTO.getOrderId());
+            rejectedCounter.increment();
+            return false;
+        }
+
+        try {
+            executor.execute(() -> generate(paymentDataDTO));
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.warn("QR code pre-generation queue is full, Order {} will be generated on demand", paymentDataDTO.getOrderId());
+            rejectedCounter.increment();
+            return false;
+        }
+    }
+
+    private void generate(final PaymentDataDTO paymentDataDTO) {
+        ThreadContext.put(REQUEST_TRACE_ID, "pregeneration-" + paymentDataDTO.getOrderId());
+        try {
+            generatePaymentQrCodeUseCase.generatePaymentQrCode(paymentDataDTO);
+            completedCounter.increment();
+        } catch (RuntimeException e) {
+            log.warn("Failed to pre-generate QR code for Order {}: {}", paymentDataDTO.getOrderId(), e.getMessage());
+            failedCounter.increment();
+        } finally {
+            ThreadContext.remove(REQUEST_TRACE_ID);
+        }
+    }
+
+    private static Counter jobCounter(final MeterRegistry meterRegistry, final String outcome) {
+        return Counter.builder(METRIC_PREFIX + ".jobs")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
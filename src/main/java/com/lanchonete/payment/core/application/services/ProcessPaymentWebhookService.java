@@ -1,10 +1,13 @@
 package com.lanchonete.payment.core.application.services;
 
+import com.lanchonete.payment.core.application.config.PaymentMetrics;
 import com.lanchonete.payment.core.application.dto.PaymentConfirmationDTO;
+import com.lanchonete.payment.core.application.paymentlog.PaymentLogWriter;
 import com.lanchonete.payment.core.application.usecases.ProcessPaymentWebhookUseCase;
 import com.lanchonete.payment.core.domain.exceptions.InvalidPaymentException;
 import com.lanchonete.payment.core.domain.exceptions.OrderNotFoundException;
 import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
 import com.lanchonete.payment.core.domain.repositories.OrderRepository;
 import com.lanchonete.payment.core.domain.repositories.PaymentRepository;
 
@@ -19,11 +22,27 @@ public class ProcessPaymentWebhookService implements ProcessPaymentWebhookUseCas
 
     private final OrderRepository orderRepository;
     private final PaymentRepository paymentRepository;
+    private final PaymentWebhookCoalescer webhookCoalescer;
+    private final PaymentStatusNotifier paymentStatusNotifier;
+    private final PaymentStatusRegistry paymentStatusRegistry;
+    private final PaymentMetrics paymentMetrics;
+    private final PaymentLogWriter paymentLogWriter;
+    private final PaymentQrCodeCache paymentQrCodeCache;
 
     @Override
     public void processPaymentConfirmation(final PaymentConfirmationDTO paymentConfirmationDTO) {
         final String paymentId = paymentConfirmationDTO.getData().getId();
-   
+
+        boolean processed = false;
+        try {
+            webhookCoalescer.execute(paymentId, () -> processPayment(paymentId));
+            processed = true;
+        } finally {
+            paymentMetrics.recordWebhookLag(paymentConfirmationDTO.getDateCreated(), processed);
+        }
+    }
+
+    private PaymentStatusEnum processPayment(final String paymentId) {
         final OrderRepository.Order order = orderRepository.getOrderByPaymentId(paymentId);
 
         if (order != null) {
@@ -32,7 +51,20 @@ public class ProcessPaymentWebhookService implements ProcessPaymentWebhookUseCas
             final PaymentConfirmation payment = paymentRepository.getPaymentStatus(paymentId);
 
             if (payment != null) {
-                orderRepository.updateOrderPaymentStatus(order.getId(), payment);    
+                paymentStatusRegistry.record(order.getId(), paymentId, payment);
+
+                final OrderRepository.Order updatedOrder = orderRepository.updateOrderPaymentStatus(order.getId(), payment);
+                final PaymentStatusEnum paymentStatus = updatedOrder != null && updatedOrder.getPaymentStatus() != null
+                    ? updatedOrder.getPaymentStatus()
+                    : PaymentStatusEnum.fromMercadoPagoStatus(payment.getStatus());
+
+                paymentStatusNotifier.publish(order.getId(), paymentStatus);
+                if (paymentStatus.isFinal()) {
+                    paymentQrCodeCache.invalidate(paymentId);
+                }
+                paymentLogWriter.record(PaymentLogWriter.Entry.of(paymentId, order.getId(), paymentStatus.name(),
+                    payment.getTotalAmount()));
+                return paymentStatus;
             } else {
                 log.error("No payment confirmation received for paymentId {}", paymentId);
                 throw new InvalidPaymentException("No payment confirmation received for paymentId " + paymentId);
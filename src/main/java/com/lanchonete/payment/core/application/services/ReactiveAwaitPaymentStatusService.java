@@ -0,0 +1,68 @@
+package com.lanchonete.payment.core.application.services;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.lanchonete.payment.core.application.usecases.ReactiveAwaitPaymentStatusUseCase;
+import com.lanchonete.payment.core.application.usecases.ReactiveConsultPaymentStatusUseCase;
+import com.lanchonete.payment.core.domain.model.PaymentStatus;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "payment.io-mode", havingValue = "reactive")
+public class ReactiveAwaitPaymentStatusService implements ReactiveAwaitPaymentStatusUseCase {
+
+    private final ReactiveConsultPaymentStatusUseCase consultPaymentStatusUseCase;
+    private final PaymentStatusNotifier paymentStatusNotifier;
+    private final Duration maxTimeout;
+
+    public ReactiveAwaitPaymentStatusService(ReactiveConsultPaymentStatusUseCase consultPaymentStatusUseCase,
+            PaymentStatusNotifier paymentStatusNotifier,
+            @Value("${payment.status.long-poll.timeout-seconds:25}") long timeoutSeconds) {
+        this.consultPaymentStatusUseCase = consultPaymentStatusUseCase;
+        this.paymentStatusNotifier = paymentStatusNotifier;
+        this.maxTimeout = Duration.ofSeconds(timeoutSeconds);
+    }
+
+    @Override
+    public Mono<PaymentStatus> awaitPaymentStatus(final Long orderId, final PaymentStatusEnum knownStatus,
+            final Duration timeout) {
+        final PaymentStatusEnum expectedStatus = knownStatus != null ? knownStatus : PaymentStatusEnum.PENDING;
+
+        return Mono.defer(() -> {
+            final CompletableFuture<PaymentStatusEnum> change = paymentStatusNotifier.register(orderId, expectedStatus);
+
+            return consultPaymentStatusUseCase.getPaymentStatus(orderId)
+                .flatMap(current -> {
+                    if (current.getPaymentStatus() != expectedStatus || expectedStatus.isFinal()) {
+                        return Mono.just(current);
+                    }
+
+                    log.info("Waiting for payment status of order {} to leave {}", orderId, expectedStatus);
+                    return Mono.fromFuture(change.completeOnTimeout(expectedStatus,
+                            resolveTimeout(timeout).toMillis(), TimeUnit.MILLISECONDS))
+                        .map(paymentStatus -> PaymentStatus.builder()
+                            .orderId(orderId)
+                            .paymentStatus(paymentStatus)
+                            .build());
+                })
+                .doFinally(signal -> change.cancel(false));
+        });
+    }
+
+    private Duration resolveTimeout(final Duration timeout) {
+        if (timeout == null || timeout.isNegative() || timeout.isZero() || timeout.compareTo(maxTimeout) > 0) {
+            return maxTimeout;
+        }
+        return timeout;
+    }
+}
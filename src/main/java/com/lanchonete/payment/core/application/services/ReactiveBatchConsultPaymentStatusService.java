@@ -0,0 +1,62 @@
+package com.lanchonete.payment.core.application.services;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.lanchonete.payment.core.application.usecases.ReactiveBatchConsultPaymentStatusUseCase;
+import com.lanchonete.payment.core.application.usecases.ReactiveConsultPaymentStatusUseCase;
+import com.lanchonete.payment.core.domain.exceptions.InvalidPaymentException;
+import com.lanchonete.payment.core.domain.model.PaymentStatus;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository.Order;
+import com.lanchonete.payment.core.domain.repositories.ReactiveOrderRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "payment.io-mode", havingValue = "reactive")
+public class ReactiveBatchConsultPaymentStatusService implements ReactiveBatchConsultPaymentStatusUseCase {
+
+    private final ReactiveOrderRepository orderRepository;
+    private final ReactiveConsultPaymentStatusUseCase consultPaymentStatusUseCase;
+    private final int concurrency;
+    private final int maxOrders;
+
+    public ReactiveBatchConsultPaymentStatusService(ReactiveOrderRepository orderRepository,
+            ReactiveConsultPaymentStatusUseCase consultPaymentStatusUseCase,
+            @Value("${payment.status.batch.concurrency:8}") int concurrency,
+            @Value("${payment.status.batch.max-orders:100}") int maxOrders) {
+        this.orderRepository = orderRepository;
+        this.consultPaymentStatusUseCase = consultPaymentStatusUseCase;
+        this.concurrency = Math.max(1, concurrency);
+        this.maxOrders = maxOrders;
+    }
+
+    @Override
+    public Mono<List<PaymentStatus>> getPaymentStatuses(final List<Long> orderIds) {
+        if (orderIds == null || orderIds.isEmpty() || orderIds.size() > maxOrders) {
+            return Mono.error(new InvalidPaymentException("Between 1 and " + maxOrders + " order ids must be informed"));
+        }
+
+        return orderRepository.getOrdersByIds(new LinkedHashSet<>(orderIds))
+            .flatMapSequential(order -> consultPaymentStatusUseCase.getPaymentStatus(order)
+                .onErrorResume(e -> {
+                    log.warn("Failed to consult payment status for Order {}, answering with its last known status: {}",
+                        order.getId(), e.getMessage());
+                    return Mono.just(toPaymentStatus(order));
+                }), concurrency)
+            .collectList();
+    }
+
+    private PaymentStatus toPaymentStatus(final Order order) {
+        return PaymentStatus.builder()
+            .orderId(order.getId())
+            .paymentStatus(order.getPaymentStatus())
+            .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.lanchonete.payment.core.application.services;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.lanchonete.payment.core.application.usecases.ReactiveConsultPaymentStatusUseCase;
+import com.lanchonete.payment.core.domain.exceptions.MercadoPagoUnavailableException;
+import com.lanchonete.payment.core.domain.exceptions.OrderNotFoundException;
+import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
+import com.lanchonete.payment.core.domain.model.PaymentStatus;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository.Order;
+import com.lanchonete.payment.core.domain.repositories.ReactiveOrderRepository;
+import com.lanchonete.payment.core.domain.repositories.ReactivePaymentRepository;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Service
+@AllArgsConstructor
+@ConditionalOnProperty(name = "payment.io-mode", havingValue = "reactive")
+public class ReactiveConsultPaymentStatusService implements ReactiveConsultPaymentStatusUseCase {
+
+    private final ReactiveOrderRepository orderRepository;
+    private final ReactivePaymentRepository paymentRepository;
+    private final PaymentStatusRegistry paymentStatusRegistry;
+
+    @Override
+    public Mono<PaymentStatus> getPaymentStatus(final Long orderId) {
+        return orderRepository.getOrderById(orderId)
+            .switchIfEmpty(Mono.defer(() -> {
+                log.error("Order not found with id: {}", orderId);
+                return Mono.error(new OrderNotFoundException("Order with id " + orderId + " not found"));
+            }))
+            .flatMap(this::getPaymentStatus);
+    }
+
+    @Override
+    public Mono<PaymentStatus> getPaymentStatus(final Order order) {
+        final Long orderId = order.getId();
+        log.info("Processing payment confirmation for Order: {}", orderId);
+
+        if (order.getPaymentStatus() != PaymentStatusEnum.PENDING) {
+            log.info("Order {} in final payment status: {}", orderId, order.getPaymentStatus());
+            return Mono.just(toPaymentStatus(orderId, order.getPaymentStatus()));
+        }
+
+        return lookupPayment(order)
+            .flatMap(payment -> updateIfChanged(order, payment))
+            .onErrorResume(MercadoPagoUnavailableException.class, e -> {
+                log.warn("Mercado Pago unavailable, answering Order {} with its last known payment status: {}", orderId, order.getPaymentStatus());
+                return Mono.empty();
+            })
+            .defaultIfEmpty(order.getPaymentStatus())
+            .map(paymentStatus -> toPaymentStatus(orderId, paymentStatus));
+    }
+
+    private Mono<PaymentStatusEnum> updateIfChanged(final Order order, final PaymentConfirmation payment) {
+        final PaymentStatusEnum paymentStatus = PaymentStatusEnum.fromMercadoPagoStatus(payment.getStatus());
+        if (paymentStatus == order.getPaymentStatus()) {
+            log.info("Payment status unchanged for Order {}, skipping Production Service update", order.getId());
+            return Mono.just(paymentStatus);
+        }
+
+        return orderRepository.updateOrderPaymentStatus(order.getId(), payment)
+            .mapNotNull(Order::getPaymentStatus)
+            .defaultIfEmpty(paymentStatus);
+    }
+
+    private Mono<PaymentConfirmation> lookupPayment(final Order order) {
+        return Mono.justOrEmpty(paymentStatusRegistry.getFresh(order.getId(), order.getPaymentId()))
+            .doOnNext(registered -> log.info("Using registered payment status for Order: {}", order.getId()))
+            .switchIfEmpty(Mono.defer(() -> paymentRepository.getPaymentStatus(order.getPaymentId())
+                .doOnNext(payment -> paymentStatusRegistry.record(order.getId(), order.getPaymentId(), payment))));
+    }
+
+    private PaymentStatus toPaymentStatus(final Long orderId, final PaymentStatusEnum paymentStatus) {
+        return PaymentStatus.builder()
+            .orderId(orderId)
+            .paymentStatus(paymentStatus)
+            .build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.lanchonete.payment.core.application.services;
+
+import java.util.Optional;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.lanchonete.payment.core.application.dto.PaymentDataDTO;
+import com.lanchonete.payment.core.application.paymentlog.PaymentLogWriter;
+import com.lanchonete.payment.core.application.usecases.ReactiveGeneratePaymentQrCodeUseCase;
+import com.lanchonete.payment.core.domain.model.PaymentData;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository;
+import com.lanchonete.payment.core.domain.repositories.ReactiveOrderRepository;
+import com.lanchonete.payment.core.domain.repositories.ReactivePaymentRepository;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Service
+@AllArgsConstructor
+@ConditionalOnProperty(name = "payment.io-mode", havingValue = "reactive")
+public class ReactiveGeneratePaymentQrCodeService implements ReactiveGeneratePaymentQrCodeUseCase {
+
+    private final ReactiveOrderRepository orderRepository;
+    private final ReactivePaymentRepository paymentRepository;
+    private final PendingPaymentTracker pendingPaymentTracker;
+    private final PaymentLogWriter paymentLogWriter;
+    private final PaymentQrCodeCache paymentQrCodeCache;
+
+    @Override
+    public Mono<PaymentData> generatePaymentQrCode(PaymentDataDTO paymentDataDTO) {
+        return paymentQrCodeCache.get(paymentDataDTO.getOrderId(), paymentDataDTO.getTotalPrice(),
+            Mono.defer(() -> createPaymentQrCode(paymentDataDTO)));
+    }
+
+    // the Production Service holds the order's last Mercado Pago payment: while it can still be paid its QR code is
+    // handed out again, once it was resolved the new Mercado Pago order is keyed on it
+    private Mono<PaymentData> createPaymentQrCode(final PaymentDataDTO paymentDataDTO) {
+        return orderRepository.getOrderById(paymentDataDTO.getOrderId())
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .flatMap(order -> {
+                final String previousPaymentId = order.map(OrderRepository.Order::getPaymentId).orElse(null);
+                if (previousPaymentId == null || isResolved(order.get())) {
+                    return createPaymentQrCode(paymentDataDTO, previousPaymentId);
+                }
+                return paymentRepository.getOpenPaymentData(previousPaymentId)
+                    .doOnNext(paymentData -> log.info("Reusing open payment {} for Order {}", previousPaymentId, paymentDataDTO.getOrderId()))
+                    .switchIfEmpty(Mono.defer(() -> createPaymentQrCode(paymentDataDTO, previousPaymentId)));
+            });
+    }
+
+    private Mono<PaymentData> createPaymentQrCode(final PaymentDataDTO paymentDataDTO, final String previousPaymentId) {
+        log.info("Getting payment data information");
+        return paymentRepository.getPaymentData(paymentDataDTO.getOrderId(), paymentDataDTO.getTotalPrice(), previousPaymentId)
+            .doOnNext(paymentData -> {
+                pendingPaymentTracker.track(paymentDataDTO.getOrderId(), paymentData.getPaymentId());
+                paymentLogWriter.record(new PaymentLogWriter.Entry(paymentData.getPaymentId(), paymentDataDTO.getOrderId(),
+                    PaymentStatusEnum.PENDING.name(), paymentDataDTO.getTotalPrice()));
+            });
+    }
+
+    private static boolean isResolved(final OrderRepository.Order order) {
+        return order.getPaymentStatus() != null && order.getPaymentStatus().isFinal();
+    }
+    
+}
@@ -0,0 +1,84 @@
+package com.lanchonete.payment.core.application.services;
+
+import java.util.Optional;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.lanchonete.payment.core.application.config.PaymentMetrics;
+import com.lanchonete.payment.core.application.dto.PaymentConfirmationDTO;
+import com.lanchonete.payment.core.application.paymentlog.PaymentLogWriter;
+import com.lanchonete.payment.core.application.usecases.ReactiveProcessPaymentWebhookUseCase;
+import com.lanchonete.payment.core.domain.exceptions.InvalidPaymentException;
+import com.lanchonete.payment.core.domain.exceptions.OrderNotFoundException;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository.Order;
+import com.lanchonete.payment.core.domain.repositories.ReactiveOrderRepository;
+import com.lanchonete.payment.core.domain.repositories.ReactivePaymentRepository;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Slf4j
+@Service
+@AllArgsConstructor
+@ConditionalOnProperty(name = "payment.io-mode", havingValue = "reactive")
+public class ReactiveProcessPaymentWebhookService implements ReactiveProcessPaymentWebhookUseCase {
+
+    private final ReactiveOrderRepository orderRepository;
+    private final ReactivePaymentRepository paymentRepository;
+    private final PaymentWebhookCoalescer webhookCoalescer;
+    private final Optional<JournaledProcessPaymentWebhookService> webhookJournal;
+    private final PaymentStatusNotifier paymentStatusNotifier;
+    private final PaymentStatusRegistry paymentStatusRegistry;
+    private final PaymentMetrics paymentMetrics;
+    private final PaymentLogWriter paymentLogWriter;
+    private final PaymentQrCodeCache paymentQrCodeCache;
+
+    @Override
+    public Mono<Void> processPaymentConfirmation(final PaymentConfirmationDTO paymentConfirmationDTO) {
+        if (webhookJournal.isPresent()) {
+            // journal appends are blocking file writes; the journal workers then run the blocking flow on their own threads
+            return Mono.fromRunnable(() -> webhookJournal.get().processPaymentConfirmation(paymentConfirmationDTO))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+        }
+
+        final String paymentId = paymentConfirmationDTO.getData().getId();
+
+        return webhookCoalescer.execute(paymentId, Mono.defer(() -> processPayment(paymentId)))
+            .doOnSuccess(done -> paymentMetrics.recordWebhookLag(paymentConfirmationDTO.getDateCreated(), true))
+            .doOnError(e -> paymentMetrics.recordWebhookLag(paymentConfirmationDTO.getDateCreated(), false));
+    }
+
+    private Mono<PaymentStatusEnum> processPayment(final String paymentId) {
+        return orderRepository.getOrderByPaymentId(paymentId)
+            .switchIfEmpty(Mono.defer(() -> {
+                log.error("No order with paymentId {} found in the database", paymentId);
+                return Mono.error(new OrderNotFoundException("Order with paymentId " + paymentId + " not found"));
+            }))
+            .flatMap(order -> {
+                log.info("Processing payment confirmation for payment ID: {}", paymentId);
+
+                return paymentRepository.getPaymentStatus(paymentId)
+                    .switchIfEmpty(Mono.defer(() -> {
+                        log.error("No payment confirmation received for paymentId {}", paymentId);
+                        return Mono.error(new InvalidPaymentException("No payment confirmation received for paymentId " + paymentId));
+                    }))
+                    .doOnNext(payment -> paymentStatusRegistry.record(order.getId(), paymentId, payment))
+                    .flatMap(payment -> orderRepository.updateOrderPaymentStatus(order.getId(), payment)
+                        .mapNotNull(Order::getPaymentStatus)
+                        .defaultIfEmpty(PaymentStatusEnum.fromMercadoPagoStatus(payment.getStatus()))
+                        .doOnNext(paymentStatus -> paymentLogWriter.record(PaymentLogWriter.Entry.of(paymentId, order.getId(),
+                            paymentStatus.name(), payment.getTotalAmount()))))
+                    .doOnNext(paymentStatus -> {
+                        paymentStatusNotifier.publish(order.getId(), paymentStatus);
+                        if (paymentStatus.isFinal()) {
+                            paymentQrCodeCache.invalidate(paymentId);
+                        }
+                    });
+            });
+    }
+}
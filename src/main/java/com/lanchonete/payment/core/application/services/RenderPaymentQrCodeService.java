@@ -0,0 +1,139 @@
+package com.lanchonete.payment.core.application.services;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.unit.DataSize;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lanchonete.payment.core.application.qrcode.QrCodeEncoder;
+import com.lanchonete.payment.core.application.usecases.RenderPaymentQrCodeUseCase;
+import com.lanchonete.payment.core.domain.exceptions.QrCodeNotFoundException;
+import com.lanchonete.payment.core.domain.model.PaymentData;
+import com.lanchonete.payment.core.domain.model.QrCodeImage;
+import com.lanchonete.payment.core.domain.model.enums.QrCodeImageFormat;
+import com.lanchonete.payment.core.domain.repositories.PaymentRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class RenderPaymentQrCodeService implements RenderPaymentQrCodeUseCase {
+
+    private static final String METRIC_PREFIX = "payment.qr.image.cache";
+    private static final long MAX_REMOTE_ENTRIES = 10_000;
+
+    private final PaymentQrCodeCache paymentQrCodeCache;
+    private final PaymentRepository paymentRepository;
+    private final QrCodeEncoder qrCodeEncoder;
+    private final Duration maxAge;
+    private final Duration remoteMaxAge;
+    private final Cache<Key, QrCodeImage> images;
+    private final Cache<String, Optional<String>> remoteQrData;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    @Autowired
+    public RenderPaymentQrCodeService(PaymentQrCodeCache paymentQrCodeCache, PaymentRepository paymentRepository,
+            QrCodeEncoder qrCodeEncoder,
+            @Value("${payment.qr.image.max-age:${payment.reconciliation.qr-expiry:30m}}") Duration maxAge,
+            @Value("${payment.qr.image.remote-max-age:60s}") Duration remoteMaxAge,
+            @Value("${payment.qr.image.cache.max-size:4MB}") DataSize maxSize,
+            MeterRegistry meterRegistry) {
+        this(paymentQrCodeCache, paymentRepository, qrCodeEncoder, maxAge, remoteMaxAge, maxSize, meterRegistry,
+            ForkJoinPool.commonPool());
+    }
+
+    RenderPaymentQrCodeService(PaymentQrCodeCache paymentQrCodeCache, PaymentRepository paymentRepository,
+            QrCodeEncoder qrCodeEncoder, Duration maxAge, Duration remoteMaxAge, DataSize maxSize,
+            MeterRegistry meterRegistry, Executor maintenanceExecutor) {
+        this.paymentQrCodeCache = paymentQrCodeCache;
+        this.paymentRepository = paymentRepository;
+        this.qrCodeEncoder = qrCodeEncoder;
+        this.maxAge = maxAge;
+        this.remoteMaxAge = remoteMaxAge;
+        // bounded by the bytes held rather than the number of images, PNG and SVG differ a lot in size
+        this.images = Caffeine.newBuilder()
+            .expireAfterWrite(maxAge)
+            .maximumWeight(maxSize.toBytes())
+            .<Key, QrCodeImage>weigher((key, image) -> image.getContent().length)
+            .executor(maintenanceExecutor)
+            .build();
+        this.remoteQrData = Caffeine.newBuilder()
+            .expireAfterWrite(remoteMaxAge)
+            .maximumSize(MAX_REMOTE_ENTRIES)
+            .executor(maintenanceExecutor)
+            .build();
+        this.hitCounter = Counter.builder(METRIC_PREFIX + ".hits").register(meterRegistry);
+        this.missCounter = Counter.builder(METRIC_PREFIX + ".misses").register(meterRegistry);
+    }
+
+    @Override
+    public QrCodeImage renderPaymentQrCode(final String paymentId, final QrCodeImageFormat format) {
+        // checked on every request, so an image is never served past its QR code, even while it is still cached
+        final Optional<Duration> localLifetime = paymentQrCodeCache.findRemainingLifetime(paymentId);
+        final Optional<String> openQrData = localLifetime.isPresent() ? Optional.empty() : findOpenQrData(paymentId);
+        final Duration remainingLifetime = localLifetime.or(() -> openQrData.map(ignored -> remoteMaxAge))
+            .orElseThrow(() -> notFound(paymentId));
+
+        final Key key = new Key(paymentId, format);
+        final QrCodeImage cached = images.getIfPresent(key);
+        if (cached != null) {
+            hitCounter.increment();
+            return capMaxAge(cached, remainingLifetime);
+        }
+
+        final String qrData = openQrData.or(() -> paymentQrCodeCache.findQrData(paymentId))
+            .orElseThrow(() -> notFound(paymentId));
+
+        // concurrent requests for the same image wait for a single render
+        return capMaxAge(images.get(key, ignored -> render(paymentId, format, qrData)), remainingLifetime);
+    }
+
+    // QR codes created by another replica, or before a restart, are read back from Mercado Pago; their lifetime is
+    // not known here, so the answer (open or not) is only trusted for remote-max-age
+    private Optional<String> findOpenQrData(final String paymentId) {
+        return remoteQrData.get(paymentId, ignored -> {
+            final PaymentData paymentData = paymentRepository.getOpenPaymentData(paymentId);
+            return Optional.ofNullable(paymentData).map(PaymentData::getQrCode);
+        });
+    }
+
+    private static QrCodeImage capMaxAge(final QrCodeImage image, final Duration remainingLifetime) {
+        if (image.getMaxAge().compareTo(remainingLifetime) <= 0) {
+            return image;
+        }
+        return image.toBuilder().maxAge(remainingLifetime).build();
+    }
+
+    private static QrCodeNotFoundException notFound(final String paymentId) {
+        return new QrCodeNotFoundException("QR code for payment ID " + paymentId + " not found");
+    }
+
+    private QrCodeImage render(final String paymentId, final QrCodeImageFormat format, final String qrData) {
+        missCounter.increment();
+        log.info("Rendering {} QR code image for payment ID {}", format, paymentId);
+
+        final byte[] content = qrCodeEncoder.encode(qrData, format);
+        return QrCodeImage.builder()
+            .paymentId(paymentId)
+            .format(format)
+            .content(content)
+            .etag(DigestUtils.md5DigestAsHex(content))
+            .maxAge(maxAge)
+            .build();
+    }
+
+    private record Key(String paymentId, QrCodeImageFormat format) {
+    }
+}
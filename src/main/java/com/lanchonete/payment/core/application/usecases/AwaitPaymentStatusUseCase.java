@@ -0,0 +1,11 @@
+package com.lanchonete.payment.core.application.usecases;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import com.lanchonete.payment.core.domain.model.PaymentStatus;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+
+public interface AwaitPaymentStatusUseCase {
+    CompletableFuture<PaymentStatus> awaitPaymentStatus(Long orderId, PaymentStatusEnum knownStatus, Duration timeout);
+}
@@ -0,0 +1,9 @@
+package com.lanchonete.payment.core.application.usecases;
+
+import java.util.List;
+
+import com.lanchonete.payment.core.domain.model.PaymentStatus;
+
+public interface BatchConsultPaymentStatusUseCase {
+    List<PaymentStatus> getPaymentStatuses(List<Long> orderIds);
+}
@@ -1,8 +1,10 @@
 package com.lanchonete.payment.core.application.usecases;
 
 import com.lanchonete.payment.core.domain.model.PaymentStatus;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository.Order;
 
 public interface ConsultPaymentStatusUseCase {
     PaymentStatus getPaymentStatus(Long orderId);
+    PaymentStatus getPaymentStatus(Order order);
 }
 
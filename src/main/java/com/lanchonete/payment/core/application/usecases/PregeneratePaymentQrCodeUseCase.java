@@ -0,0 +1,7 @@
+package com.lanchonete.payment.core.application.usecases;
+
+import com.lanchonete.payment.core.application.dto.PaymentDataDTO;
+
+public interface PregeneratePaymentQrCodeUseCase {
+    boolean pregeneratePaymentQrCode(PaymentDataDTO paymentDataDTO);
+}
@@ -0,0 +1,12 @@
+package com.lanchonete.payment.core.application.usecases;
+
+import java.time.Duration;
+
+import com.lanchonete.payment.core.domain.model.PaymentStatus;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveAwaitPaymentStatusUseCase {
+    Mono<PaymentStatus> awaitPaymentStatus(Long orderId, PaymentStatusEnum knownStatus, Duration timeout);
+}
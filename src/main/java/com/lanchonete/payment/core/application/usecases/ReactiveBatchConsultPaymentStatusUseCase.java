@@ -0,0 +1,11 @@
+package com.lanchonete.payment.core.application.usecases;
+
+import java.util.List;
+
+import com.lanchonete.payment.core.domain.model.PaymentStatus;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveBatchConsultPaymentStatusUseCase {
+    Mono<List<PaymentStatus>> getPaymentStatuses(List<Long> orderIds);
+}
@@ -0,0 +1,11 @@
+package com.lanchonete.payment.core.application.usecases;
+
+import com.lanchonete.payment.core.domain.model.PaymentStatus;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository.Order;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveConsultPaymentStatusUseCase {
+    Mono<PaymentStatus> getPaymentStatus(Long orderId);
+    Mono<PaymentStatus> getPaymentStatus(Order order);
+}
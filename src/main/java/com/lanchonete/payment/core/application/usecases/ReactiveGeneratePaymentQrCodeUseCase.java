@@ -0,0 +1,10 @@
+package com.lanchonete.payment.core.application.usecases;
+
+import com.lanchonete.payment.core.application.dto.PaymentDataDTO;
+import com.lanchonete.payment.core.domain.model.PaymentData;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveGeneratePaymentQrCodeUseCase {
+    Mono<PaymentData> generatePaymentQrCode(PaymentDataDTO paymentDataDTO);
+}
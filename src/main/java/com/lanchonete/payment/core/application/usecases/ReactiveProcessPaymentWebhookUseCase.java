@@ -0,0 +1,9 @@
+package com.lanchonete.payment.core.application.usecases;
+
+import com.lanchonete.payment.core.application.dto.PaymentConfirmationDTO;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveProcessPaymentWebhookUseCase {
+    Mono<Void> processPaymentConfirmation(PaymentConfirmationDTO paymentConfirmationDTO);
+}
@@ -0,0 +1,8 @@
+package com.lanchonete.payment.core.application.usecases;
+
+import com.lanchonete.payment.core.domain.model.QrCodeImage;
+import com.lanchonete.payment.core.domain.model.enums.QrCodeImageFormat;
+
+public interface RenderPaymentQrCodeUseCase {
+    QrCodeImage renderPaymentQrCode(String paymentId, QrCodeImageFormat format);
+}
@@ -0,0 +1,7 @@
+package com.lanchonete.payment.core.domain.exceptions;
+
+public class InternalAccessDeniedException extends RuntimeException {
+    public InternalAccessDeniedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.lanchonete.payment.core.domain.exceptions;
+
+public class MercadoPagoUnavailableException extends MercadoPagoIntegrationException {
+
+    public MercadoPagoUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
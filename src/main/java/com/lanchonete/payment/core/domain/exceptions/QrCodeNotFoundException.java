@@ -0,0 +1,7 @@
+package com.lanchonete.payment.core.domain.exceptions;
+
+public class QrCodeNotFoundException extends RuntimeException {
+    public QrCodeNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.lanchonete.payment.core.domain.exceptions;
+
+public class WebhookBackpressureException extends PaymentException {
+
+    public WebhookBackpressureException(String message) {
+        super(message);
+    }
+}
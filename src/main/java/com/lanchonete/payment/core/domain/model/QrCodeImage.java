@@ -0,0 +1,20 @@
+package com.lanchonete.payment.core.domain.model;
+
+import java.time.Duration;
+
+import com.lanchonete.payment.core.domain.model.enums.QrCodeImageFormat;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder(toBuilder = true)
+public class QrCodeImage {
+
+    private String paymentId;
+    private QrCodeImageFormat format;
+    private byte[] content;
+    private String etag;
+    private Duration maxAge;
+
+}
@@ -1,9 +1,27 @@
 package com.lanchonete.payment.core.domain.model.enums;
 
+import java.util.Locale;
+
 public enum PaymentStatusEnum {
     PENDING,
     APPROVED,
     REJECTED,
-    CANCELLED
-}
+    CANCELLED;
+
+    public boolean isFinal() {
+        return this != PENDING;
+    }
 
+    public static PaymentStatusEnum fromMercadoPagoStatus(final String status) {
+        if (status == null) {
+            return PENDING;
+        }
+
+        return switch (status.toLowerCase(Locale.ROOT)) {
+            case "processed", "approved", "accredited" -> APPROVED;
+            case "failed", "rejected" -> REJECTED;
+            case "canceled", "cancelled", "expired" -> CANCELLED;
+            default -> PENDING;
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.lanchonete.payment.core.domain.model.enums;
+
+import java.util.Locale;
+
+import com.lanchonete.payment.core.domain.exceptions.InvalidPaymentException;
+
+public enum QrCodeImageFormat {
+    PNG("image/png"),
+    SVG("image/svg+xml");
+
+    private final String mediaType;
+
+    QrCodeImageFormat(final String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public static QrCodeImageFormat fromValue(final String value) {
+        if (value == null) {
+            return PNG;
+        }
+
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "png" -> PNG;
+            case "svg" -> SVG;
+            default -> throw new InvalidPaymentException("Unsupported QR code image format: " + value);
+        };
+    }
+}
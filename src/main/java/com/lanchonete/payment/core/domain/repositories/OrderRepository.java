@@ -1,12 +1,16 @@
 package com.lanchonete.payment.core.domain.repositories;
 
+import java.util.Collection;
+import java.util.List;
+
 import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
 import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
 
 public interface OrderRepository {
     Order getOrderById(Long orderId);
     Order getOrderByPaymentId(String paymentId);
-    void updateOrderPaymentStatus(Long orderId, PaymentConfirmation paymentConfirmation);
+    List<Order> getOrdersByIds(Collection<Long> orderIds);
+    Order updateOrderPaymentStatus(Long orderId, PaymentConfirmation paymentConfirmation);
     
     class Order {
         private Long id;
@@ -8,7 +8,9 @@ import com.lanchonete.payment.core.domain.model.PaymentData;
 public interface PaymentRepository {
 
     PaymentConfirmation getPaymentStatus(String paymentId);
-    PaymentData getPaymentData(Long orderId, BigDecimal totalPrice);
+    PaymentData getPaymentData(Long orderId, BigDecimal totalPrice, String previousPaymentId);
+    // the QR code of a payment that can still be paid; null once it was paid, rejected or expired
+    PaymentData getOpenPaymentData(String paymentId);
     
 }
 
@@ -0,0 +1,16 @@
+package com.lanchonete.payment.core.domain.repositories;
+
+import java.util.Collection;
+
+import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository.Order;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveOrderRepository {
+    Mono<Order> getOrderById(Long orderId);
+    Mono<Order> getOrderByPaymentId(String paymentId);
+    Flux<Order> getOrdersByIds(Collection<Long> orderIds);
+    Mono<Order> updateOrderPaymentStatus(Long orderId, PaymentConfirmation paymentConfirmation);
+}
@@ -0,0 +1,17 @@
+package com.lanchonete.payment.core.domain.repositories;
+
+import java.math.BigDecimal;
+
+import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
+import com.lanchonete.payment.core.domain.model.PaymentData;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactivePaymentRepository {
+
+    Mono<PaymentConfirmation> getPaymentStatus(String paymentId);
+    Mono<PaymentData> getPaymentData(Long orderId, BigDecimal totalPrice, String previousPaymentId);
+    // the QR code of a payment that can still be paid; empty once it was paid, rejected or expired
+    Mono<PaymentData> getOpenPaymentData(String paymentId);
+    
+}
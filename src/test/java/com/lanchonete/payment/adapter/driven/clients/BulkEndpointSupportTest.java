@@ -0,0 +1,54 @@
+package com.lanchonete.payment.adapter.driven.clients;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class BulkEndpointSupportTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final BulkEndpointSupport bulkEndpoint = new BulkEndpointSupport(Duration.ofMinutes(5), clock::get);
+
+    @Test
+    void shouldBeSupportedUntilMarkedUnsupported() {
+        assertTrue(bulkEndpoint.isSupported());
+
+        bulkEndpoint.markUnsupported();
+
+        assertFalse(bulkEndpoint.isSupported());
+    }
+
+    @Test
+    void shouldProbeAgainAfterReprobeInterval() {
+        bulkEndpoint.markUnsupported();
+
+        clock.addAndGet(Duration.ofMinutes(5).minusNanos(1).toNanos());
+        assertFalse(bulkEndpoint.isSupported());
+        clock.addAndGet(1);
+        assertTrue(bulkEndpoint.isSupported());
+    }
+
+    @Test
+    void shouldStayUnsupportedForAnotherIntervalWhenProbeFails() {
+        bulkEndpoint.markUnsupported();
+        clock.addAndGet(Duration.ofMinutes(5).toNanos());
+
+        bulkEndpoint.markUnsupported();
+
+        assertFalse(bulkEndpoint.isSupported());
+    }
+
+    @Test
+    void shouldStaySupportedOnceProbeSucceeds() {
+        bulkEndpoint.markUnsupported();
+        clock.addAndGet(Duration.ofMinutes(5).toNanos());
+
+        bulkEndpoint.markSupported();
+        clock.addAndGet(Duration.ofHours(1).toNanos());
+
+        assertTrue(bulkEndpoint.isSupported());
+    }
+}
@@ -0,0 +1,157 @@
+package com.lanchonete.payment.adapter.driven.clients;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository.Order;
+import com.lanchonete.payment.mocks.PaymentConfirmationMock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class CachingOrderRepositoryTest {
+
+    @Mock
+    private ProductionServiceClient productionServiceClient;
+
+    private CachingOrderRepository cachingOrderRepository;
+    private Order pendingOrder;
+    private Order approvedOrder;
+
+    @BeforeEach
+    void setUp() {
+        cachingOrderRepository = new CachingOrderRepository(productionServiceClient, new OrderCache(100, 60, 3600, new SimpleMeterRegistry()));
+        pendingOrder = new Order(1L, "12345678900", "mp-payment-123", PaymentStatusEnum.PENDING);
+        approvedOrder = new Order(1L, "12345678900", "mp-payment-123", PaymentStatusEnum.APPROVED);
+    }
+
+    @Test
+    void shouldCacheOrderById() {
+        when(productionServiceClient.getOrderById(1L)).thenReturn(pendingOrder);
+
+        assertSame(pendingOrder, cachingOrderRepository.getOrderById(1L));
+        assertSame(pendingOrder, cachingOrderRepository.getOrderById(1L));
+
+        verify(productionServiceClient, times(1)).getOrderById(1L);
+    }
+
+    @Test
+    void shouldLoadOnlyUncachedOrdersInBulk() {
+        final Order secondOrder = new Order(2L, "12345678900", "mp-payment-456", PaymentStatusEnum.PENDING);
+        when(productionServiceClient.getOrderById(1L)).thenReturn(pendingOrder);
+        when(productionServiceClient.getOrdersByIds(List.of(2L, 3L))).thenReturn(List.of(secondOrder));
+
+        cachingOrderRepository.getOrderById(1L);
+        final List<Order> result = cachingOrderRepository.getOrdersByIds(List.of(2L, 1L, 3L));
+
+        assertEquals(List.of(secondOrder, pendingOrder), result);
+        assertSame(secondOrder, cachingOrderRepository.getOrderByPaymentId("mp-payment-456"));
+        verify(productionServiceClient, never()).getOrderByPaymentId(anyString());
+    }
+
+    @Test
+    void shouldResolvePaymentIdThroughOrderIndex() {
+        when(productionServiceClient.getOrderById(1L)).thenReturn(pendingOrder);
+
+        cachingOrderRepository.getOrderById(1L);
+        final Order result = cachingOrderRepository.getOrderByPaymentId("mp-payment-123");
+
+        assertSame(pendingOrder, result);
+        verify(productionServiceClient, never()).getOrderByPaymentId(anyString());
+    }
+
+    @Test
+    void shouldCacheOrderLoadedByPaymentId() {
+        when(productionServiceClient.getOrderByPaymentId("mp-payment-123")).thenReturn(pendingOrder);
+
+        cachingOrderRepository.getOrderByPaymentId("mp-payment-123");
+        cachingOrderRepository.getOrderByPaymentId("mp-payment-123");
+        final Order result = cachingOrderRepository.getOrderById(1L);
+
+        assertSame(pendingOrder, result);
+        verify(productionServiceClient, times(1)).getOrderByPaymentId("mp-payment-123");
+        verify(productionServiceClient, never()).getOrderById(anyLong());
+    }
+
+    @Test
+    void shouldWriteUpdatedOrderThroughToCache() {
+        final PaymentConfirmation paymentConfirmation = PaymentConfirmationMock.createApprovedPaymentMock();
+        when(productionServiceClient.getOrderById(1L)).thenReturn(pendingOrder);
+        when(productionServiceClient.updateOrderPaymentStatus(1L, paymentConfirmation)).thenReturn(approvedOrder);
+
+        cachingOrderRepository.getOrderById(1L);
+        final Order updated = cachingOrderRepository.updateOrderPaymentStatus(1L, paymentConfirmation);
+
+        assertSame(approvedOrder, updated);
+        assertSame(approvedOrder, cachingOrderRepository.getOrderById(1L));
+        assertSame(approvedOrder, cachingOrderRepository.getOrderByPaymentId("mp-payment-123"));
+        verify(productionServiceClient, times(1)).getOrderById(1L);
+    }
+
+    @Test
+    void shouldInvalidateOrderWhenUpdateReturnsNoOrder() {
+        final PaymentConfirmation paymentConfirmation = PaymentConfirmationMock.createApprovedPaymentMock();
+        when(productionServiceClient.getOrderById(1L)).thenReturn(pendingOrder, approvedOrder);
+
+        cachingOrderRepository.getOrderById(1L);
+        cachingOrderRepository.updateOrderPaymentStatus(1L, paymentConfirmation);
+        final Order result = cachingOrderRepository.getOrderById(1L);
+
+        assertEquals(PaymentStatusEnum.APPROVED, result.getPaymentStatus());
+        verify(productionServiceClient).updateOrderPaymentStatus(1L, paymentConfirmation);
+        verify(productionServiceClient, times(2)).getOrderById(1L);
+    }
+
+    @Test
+    void shouldInvalidateOrderEvenWhenUpdateFails() {
+        final PaymentConfirmation paymentConfirmation = PaymentConfirmationMock.createApprovedPaymentMock();
+        when(productionServiceClient.getOrderById(1L)).thenReturn(pendingOrder);
+        doThrow(new IllegalStateException("Production service unavailable"))
+            .when(productionServiceClient).updateOrderPaymentStatus(1L, paymentConfirmation);
+
+        cachingOrderRepository.getOrderById(1L);
+        assertThrows(IllegalStateException.class, () -> cachingOrderRepository.updateOrderPaymentStatus(1L, paymentConfirmation));
+        cachingOrderRepository.getOrderById(1L);
+
+        verify(productionServiceClient, times(2)).getOrderById(1L);
+    }
+
+    @Test
+    void shouldExpirePendingOrdersButKeepFinalOnes() {
+        final CachingOrderRepository shortPendingTtl = new CachingOrderRepository(productionServiceClient,
+            new OrderCache(100, 0, 3600, new SimpleMeterRegistry()));
+        final Order approvedOrder2 = new Order(2L, "12345678900", "mp-payment-456", PaymentStatusEnum.APPROVED);
+        when(productionServiceClient.getOrderById(1L)).thenReturn(pendingOrder);
+        when(productionServiceClient.getOrderById(2L)).thenReturn(approvedOrder2);
+
+        shortPendingTtl.getOrderById(1L);
+        shortPendingTtl.getOrderById(1L);
+        shortPendingTtl.getOrderById(2L);
+        shortPendingTtl.getOrderById(2L);
+
+        verify(productionServiceClient, times(2)).getOrderById(1L);
+        verify(productionServiceClient, times(1)).getOrderById(2L);
+    }
+
+    @Test
+    void shouldNotCacheMissingOrders() {
+        when(productionServiceClient.getOrderById(1L)).thenReturn(null);
+
+        assertNull(cachingOrderRepository.getOrderById(1L));
+        assertNull(cachingOrderRepository.getOrderById(1L));
+
+        verify(productionServiceClient, times(2)).getOrderById(1L);
+    }
+}
@@ -0,0 +1,123 @@
+package com.lanchonete.payment.adapter.driven.clients;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.lanchonete.payment.adapter.driven.clients.OrderStatusUpdateBatcher.Result;
+import com.lanchonete.payment.adapter.driven.clients.OrderStatusUpdateBatcher.Update;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository.Order;
+import com.lanchonete.payment.mocks.PaymentConfirmationMock;
+
+class OrderStatusUpdateBatcherTest {
+
+    private final List<List<Update>> flushed = new CopyOnWriteArrayList<>();
+    private final ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+    private OrderStatusUpdateBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        batcher.close();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void shouldFlushWhenBatchIsFull() {
+        batcher = new OrderStatusUpdateBatcher(3, Duration.ofSeconds(30), batch -> {
+            flushed.add(batch);
+            batch.forEach(update -> update.result().complete(Result.applied(order(update.orderId()))));
+        });
+
+        final List<CompletableFuture<Result>> results = submitAll(1L, 2L, 3L);
+
+        results.forEach(result -> assertTrue(result.join().applied()));
+        assertEquals(1, flushed.size());
+        assertEquals(3, flushed.get(0).size());
+    }
+
+    @Test
+    void shouldFlushPartialBatchAfterLinger() {
+        batcher = new OrderStatusUpdateBatcher(50, Duration.ofMillis(20), batch -> {
+            flushed.add(batch);
+            batch.forEach(update -> update.result().complete(Result.applied(order(update.orderId()))));
+        });
+
+        final List<CompletableFuture<Result>> results = submitAll(1L, 2L);
+
+        assertEquals(List.of(1L, 2L), results.stream().map(result -> result.join().order().getId()).sorted().toList());
+    }
+
+    @Test
+    void shouldHandSingleUpdateBackWithoutFlushing() {
+        batcher = new OrderStatusUpdateBatcher(50, Duration.ofMillis(5), flushed::add);
+
+        assertFalse(batcher.submit(1L, PaymentConfirmationMock.createApprovedPaymentMock()).applied());
+        assertTrue(flushed.isEmpty());
+    }
+
+    @Test
+    void shouldHandUnsettledUpdatesBackWhenFlushFails() {
+        batcher = new OrderStatusUpdateBatcher(2, Duration.ofSeconds(30), batch -> {
+            batch.get(0).result().complete(Result.applied(order(batch.get(0).orderId())));
+            throw new IllegalStateException("connection reset");
+        });
+
+        final List<CompletableFuture<Result>> results = submitAll(1L, 2L);
+
+        assertEquals(1, results.stream().filter(result -> result.join().applied()).count());
+    }
+
+    @Test
+    void shouldPropagateItemFailureToItsCaller() {
+        batcher = new OrderStatusUpdateBatcher(2, Duration.ofSeconds(30),
+            batch -> batch.forEach(update -> update.result().completeExceptionally(new IllegalArgumentException("rejected"))));
+
+        final List<CompletableFuture<Result>> results = submitAll(1L, 2L);
+
+        results.forEach(result -> assertInstanceOf(IllegalArgumentException.class,
+            assertThrows(RuntimeException.class, result::join).getCause()));
+    }
+
+    @Test
+    void shouldReleaseWaitingCallersOnClose() throws Exception {
+        final CountDownLatch submitted = new CountDownLatch(1);
+        batcher = new OrderStatusUpdateBatcher(50, Duration.ofSeconds(30), flushed::add);
+
+        final CompletableFuture<Result> result = CompletableFuture.supplyAsync(() -> {
+            submitted.countDown();
+            return batcher.submit(1L, PaymentConfirmationMock.createApprovedPaymentMock());
+        }, callers);
+        assertTrue(submitted.await(5, TimeUnit.SECONDS));
+        Thread.sleep(20);
+        batcher.close();
+
+        assertFalse(result.get(5, TimeUnit.SECONDS).applied());
+        assertFalse(batcher.submit(2L, PaymentConfirmationMock.createApprovedPaymentMock()).applied());
+    }
+
+    private List<CompletableFuture<Result>> submitAll(final Long... orderIds) {
+        final List<CompletableFuture<Result>> results = Arrays.stream(orderIds)
+            .map(orderId -> CompletableFuture.supplyAsync(
+                () -> batcher.submit(orderId, PaymentConfirmationMock.createApprovedPaymentMock()), callers))
+            .toList();
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).orTimeout(10, TimeUnit.SECONDS)
+            .exceptionally(e -> null).join();
+        return results;
+    }
+
+    private static Order order(final Long orderId) {
+        return new Order(orderId, "12345678900", "mp-payment-" + orderId, PaymentStatusEnum.APPROVED);
+    }
+}
@@ -1,18 +1,43 @@
 package com.lanchonete.payment.adapter.driven.clients;
 
+import com.lanchonete.payment.core.application.config.PaymentMetrics;
 import com.lanchonete.payment.core.application.dto.OrderDTO;
+import com.lanchonete.payment.core.application.dto.PaymentStatusUpdateDTO;
+import com.lanchonete.payment.core.application.dto.PaymentStatusUpdateResultDTO;
 import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
 import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
 import com.lanchonete.payment.core.domain.repositories.OrderRepository.Order;
+import com.lanchonete.payment.mocks.DownstreamRetryMock;
+import com.lanchonete.payment.mocks.PaymentConfirmationMock;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static com.lanchonete.payment.core.application.config.Constants.X_IDEMPOTENCY_KEY;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -24,12 +49,16 @@ class ProductionServiceClientTest {
     private RestTemplate restTemplate;
 
     private ProductionServiceClient productionServiceClient;
+    private SimpleMeterRegistry meterRegistry;
 
     private static final String PRODUCTION_SERVICE_URL = "http://localhost:8080";
 
     @BeforeEach
     void setUp() {
-        productionServiceClient = new ProductionServiceClient(restTemplate, PRODUCTION_SERVICE_URL);
+        meterRegistry = new SimpleMeterRegistry();
+        PaymentMetrics paymentMetrics = new PaymentMetrics(meterRegistry);
+        productionServiceClient = new ProductionServiceClient(restTemplate, PRODUCTION_SERVICE_URL, paymentMetrics,
+            DownstreamRetryMock.createDownstreamRetry(paymentMetrics), 1, Duration.ZERO, Duration.ofMinutes(5), 8);
     }
 
     @Test
@@ -41,7 +70,7 @@ class ProductionServiceClientTest {
         orderDTO.setPaymentId("payment-123");
         orderDTO.setPaymentStatus(PaymentStatusEnum.PENDING);
 
-        when(restTemplate.getForObject(anyString(), eq(OrderDTO.class)))
+        when(restTemplate.getForObject(anyString(), eq(OrderDTO.class), anyLong()))
                 .thenReturn(orderDTO);
 
         Order result = productionServiceClient.getOrderById(orderId);
@@ -51,20 +80,123 @@ class ProductionServiceClientTest {
         assertEquals("12345678900", result.getCustomerCpf());
         assertEquals("payment-123", result.getPaymentId());
         assertEquals(PaymentStatusEnum.PENDING, result.getPaymentStatus());
-        verify(restTemplate).getForObject(PRODUCTION_SERVICE_URL + "/production/orders/" + orderId, OrderDTO.class);
+        verify(restTemplate).getForObject(PRODUCTION_SERVICE_URL + "/production/orders/{orderId}", OrderDTO.class, orderId);
     }
 
     @Test
     void shouldReturnNullWhenOrderDTOIsNull() {
         Long orderId = 1L;
 
-        when(restTemplate.getForObject(anyString(), eq(OrderDTO.class)))
+        when(restTemplate.getForObject(anyString(), eq(OrderDTO.class), anyLong()))
                 .thenReturn(null);
 
         Order result = productionServiceClient.getOrderById(orderId);
 
         assertNull(result);
-        verify(restTemplate).getForObject(PRODUCTION_SERVICE_URL + "/production/orders/" + orderId, OrderDTO.class);
+        verify(restTemplate).getForObject(PRODUCTION_SERVICE_URL + "/production/orders/{orderId}", OrderDTO.class, orderId);
+    }
+
+    @Test
+    void shouldGetOrdersByIdsInOneRequest() {
+        OrderDTO first = new OrderDTO();
+        first.setId(1L);
+        first.setPaymentStatus(PaymentStatusEnum.PENDING);
+        OrderDTO second = new OrderDTO();
+        second.setId(2L);
+        second.setPaymentStatus(PaymentStatusEnum.APPROVED);
+
+        when(restTemplate.getForObject(anyString(), eq(OrderDTO[].class), anyString()))
+                .thenReturn(new OrderDTO[] { first, second });
+
+        List<Order> result = productionServiceClient.getOrdersByIds(List.of(1L, 2L));
+
+        assertEquals(List.of(1L, 2L), result.stream().map(Order::getId).toList());
+        verify(restTemplate).getForObject(PRODUCTION_SERVICE_URL + "/production/orders?ids={ids}", OrderDTO[].class, "1,2");
+        verify(restTemplate, never()).getForObject(anyString(), eq(OrderDTO.class), anyLong());
+    }
+
+    @Test
+    void shouldFallBackToSingleLookupsWhenBulkLookupIsUnsupported() {
+        OrderDTO orderDTO = new OrderDTO();
+        orderDTO.setId(1L);
+        orderDTO.setPaymentStatus(PaymentStatusEnum.PENDING);
+
+        when(restTemplate.getForObject(anyString(), eq(OrderDTO[].class), anyString()))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        when(restTemplate.getForObject(anyString(), eq(OrderDTO.class), eq(1L))).thenReturn(orderDTO);
+        when(restTemplate.getForObject(anyString(), eq(OrderDTO.class), eq(2L)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        assertEquals(1, productionServiceClient.getOrdersByIds(List.of(1L, 2L)).size());
+        assertEquals(1, productionServiceClient.getOrdersByIds(List.of(1L, 2L)).size());
+
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(OrderDTO[].class), anyString());
+        verify(restTemplate, times(2)).getForObject(anyString(), eq(OrderDTO.class), eq(1L));
+    }
+
+    @Test
+    void shouldRunSingleLookupsConcurrentlyInOrderOfIds() {
+        CountDownLatch inFlight = new CountDownLatch(3);
+        when(restTemplate.getForObject(anyString(), eq(OrderDTO[].class), anyString()))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_IMPLEMENTED));
+        when(restTemplate.getForObject(anyString(), eq(OrderDTO.class), anyLong())).thenAnswer(invocation -> {
+            inFlight.countDown();
+            if (!inFlight.await(5, TimeUnit.SECONDS)) {
+                throw new ResourceAccessException("lookups were not concurrent");
+            }
+            OrderDTO orderDTO = new OrderDTO();
+            orderDTO.setId(invocation.getArgument(2));
+            orderDTO.setPaymentStatus(PaymentStatusEnum.PENDING);
+            return orderDTO;
+        });
+
+        List<Order> result = productionServiceClient.getOrdersByIds(List.of(3L, 1L, 2L));
+
+        assertEquals(List.of(3L, 1L, 2L), result.stream().map(Order::getId).toList());
+    }
+
+    @Test
+    void shouldPropagateSingleLookupServerErrors() {
+        OrderDTO orderDTO = new OrderDTO();
+        orderDTO.setId(1L);
+        orderDTO.setPaymentStatus(PaymentStatusEnum.PENDING);
+        when(restTemplate.getForObject(anyString(), eq(OrderDTO[].class), anyString()))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        lenient().when(restTemplate.getForObject(anyString(), eq(OrderDTO.class), eq(1L))).thenReturn(orderDTO);
+        when(restTemplate.getForObject(anyString(), eq(OrderDTO.class), eq(2L)))
+                .thenThrow(new HttpServerErrorException(HttpStatus.BAD_GATEWAY));
+
+        assertThrows(HttpServerErrorException.class, () -> productionServiceClient.getOrdersByIds(List.of(1L, 2L)));
+    }
+
+    @Test
+    void shouldProbeBulkLookupAgainAfterReprobeInterval() {
+        PaymentMetrics paymentMetrics = new PaymentMetrics(meterRegistry);
+        ProductionServiceClient reprobingClient = new ProductionServiceClient(restTemplate, PRODUCTION_SERVICE_URL, paymentMetrics,
+            DownstreamRetryMock.createDownstreamRetry(paymentMetrics), 1, Duration.ZERO, Duration.ZERO, 8);
+        OrderDTO orderDTO = new OrderDTO();
+        orderDTO.setId(1L);
+        orderDTO.setPaymentStatus(PaymentStatusEnum.PENDING);
+
+        when(restTemplate.getForObject(anyString(), eq(OrderDTO[].class), anyString()))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND))
+                .thenReturn(new OrderDTO[]{orderDTO});
+        when(restTemplate.getForObject(anyString(), eq(OrderDTO.class), eq(1L))).thenReturn(orderDTO);
+
+        assertEquals(1, reprobingClient.getOrdersByIds(List.of(1L)).size());
+        assertEquals(1, reprobingClient.getOrdersByIds(List.of(1L)).size());
+
+        verify(restTemplate, times(2)).getForObject(anyString(), eq(OrderDTO[].class), anyString());
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(OrderDTO.class), eq(1L));
+    }
+
+    @Test
+    void shouldPropagateBulkLookupServerErrors() {
+        when(restTemplate.getForObject(anyString(), eq(OrderDTO[].class), anyString()))
+                .thenThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+
+        assertThrows(HttpClientErrorException.class, () -> productionServiceClient.getOrdersByIds(List.of(1L)));
+        verify(restTemplate, never()).getForObject(anyString(), eq(OrderDTO.class), anyLong());
     }
 
     @Test
@@ -76,7 +208,7 @@ class ProductionServiceClientTest {
         orderDTO.setPaymentId(paymentId);
         orderDTO.setPaymentStatus(PaymentStatusEnum.APPROVED);
 
-        when(restTemplate.getForObject(anyString(), eq(OrderDTO.class)))
+        when(restTemplate.getForObject(anyString(), eq(OrderDTO.class), anyString()))
                 .thenReturn(orderDTO);
 
         Order result = productionServiceClient.getOrderByPaymentId(paymentId);
@@ -86,20 +218,20 @@ class ProductionServiceClientTest {
         assertEquals("12345678900", result.getCustomerCpf());
         assertEquals(paymentId, result.getPaymentId());
         assertEquals(PaymentStatusEnum.APPROVED, result.getPaymentStatus());
-        verify(restTemplate).getForObject(PRODUCTION_SERVICE_URL + "/production/orders/payment/" + paymentId, OrderDTO.class);
+        verify(restTemplate).getForObject(PRODUCTION_SERVICE_URL + "/production/orders/payment/{paymentId}", OrderDTO.class, paymentId);
     }
 
     @Test
     void shouldReturnNullWhenOrderByPaymentIdIsNull() {
         String paymentId = "payment-123";
 
-        when(restTemplate.getForObject(anyString(), eq(OrderDTO.class)))
+        when(restTemplate.getForObject(anyString(), eq(OrderDTO.class), anyString()))
                 .thenReturn(null);
 
         Order result = productionServiceClient.getOrderByPaymentId(paymentId);
 
         assertNull(result);
-        verify(restTemplate).getForObject(PRODUCTION_SERVICE_URL + "/production/orders/payment/" + paymentId, OrderDTO.class);
+        verify(restTemplate).getForObject(PRODUCTION_SERVICE_URL + "/production/orders/payment/{paymentId}", OrderDTO.class, paymentId);
     }
 
     @Test
@@ -111,20 +243,205 @@ class ProductionServiceClientTest {
                 .totalAmount(50.0)
                 .build();
 
+        OrderDTO updatedOrderDTO = new OrderDTO();
+        updatedOrderDTO.setId(orderId);
+        updatedOrderDTO.setPaymentId("payment-123");
+        updatedOrderDTO.setPaymentStatus(PaymentStatusEnum.APPROVED);
+
         when(restTemplate.exchange(
                 anyString(),
                 eq(HttpMethod.PUT),
                 any(HttpEntity.class),
-                eq(Void.class)
-        )).thenReturn(null);
+                eq(OrderDTO.class),
+                anyLong()
+        )).thenReturn(ResponseEntity.ok(updatedOrderDTO));
 
-        productionServiceClient.updateOrderPaymentStatus(orderId, paymentConfirmation);
+        Order result = productionServiceClient.updateOrderPaymentStatus(orderId, paymentConfirmation);
 
+        assertNotNull(result);
+        assertEquals(PaymentStatusEnum.APPROVED, result.getPaymentStatus());
         verify(restTemplate).exchange(
-                eq(PRODUCTION_SERVICE_URL + "/production/orders/" + orderId + "/payment-status"),
+                eq(PRODUCTION_SERVICE_URL + "/production/orders/{orderId}/payment-status"),
                 eq(HttpMethod.PUT),
                 any(HttpEntity.class),
-                eq(Void.class)
+                eq(OrderDTO.class),
+                eq(orderId)
         );
     }
+
+    @Test
+    void shouldReturnNullWhenUpdateResponseHasNoBody() {
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.PUT),
+                any(HttpEntity.class),
+                eq(OrderDTO.class),
+                anyLong()
+        )).thenReturn(ResponseEntity.noContent().build());
+
+        Order result = productionServiceClient.updateOrderPaymentStatus(1L, PaymentConfirmationMock.createApprovedPaymentMock());
+
+        assertNull(result);
+    }
+
+    @Test
+    void shouldTimeDownstreamCallsByOperationAndOutcome() {
+        when(restTemplate.getForObject(anyString(), eq(OrderDTO.class), anyLong()))
+                .thenReturn(new OrderDTO())
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+
+        productionServiceClient.getOrderById(1L);
+        assertThrows(HttpClientErrorException.class, () -> productionServiceClient.getOrderById(2L));
+
+        assertEquals(1, downstreamTimer("getOrderById", "SUCCESS").count());
+        assertEquals(1, downstreamTimer("getOrderById", "CLIENT_ERROR").count());
+    }
+
+    @Test
+    void shouldRetryTransientFailures() {
+        OrderDTO orderDTO = new OrderDTO();
+        orderDTO.setId(1L);
+        when(restTemplate.getForObject(anyString(), eq(OrderDTO.class), anyLong()))
+                .thenThrow(new ResourceAccessException("Connection reset"))
+                .thenThrow(new HttpServerErrorException(HttpStatus.BAD_GATEWAY))
+                .thenReturn(orderDTO);
+
+        Order result = productionServiceClient.getOrderById(1L);
+
+        assertEquals(1L, result.getId());
+        verify(restTemplate, times(3)).getForObject(anyString(), eq(OrderDTO.class), anyLong());
+        assertEquals(1, downstreamTimer("getOrderById", "SERVER_ERROR").count());
+        assertEquals(1, downstreamTimer("getOrderById", "SUCCESS").count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldSendIdempotencyKeyOnPaymentStatusUpdate() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PUT), any(HttpEntity.class), eq(OrderDTO.class), anyLong()))
+                .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE))
+                .thenReturn(ResponseEntity.noContent().build());
+
+        productionServiceClient.updateOrderPaymentStatus(1L, PaymentConfirmationMock.createApprovedPaymentMock());
+
+        ArgumentCaptor<HttpEntity<PaymentConfirmation>> entity = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.PUT), entity.capture(), eq(OrderDTO.class), anyLong());
+        assertEquals("payment-status-1-mp-payment-123-processed", entity.getValue().getHeaders().getFirst(X_IDEMPOTENCY_KEY));
+        assertSame(entity.getAllValues().get(0), entity.getAllValues().get(1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldSendConcurrentUpdatesAsOneBulkRequest() throws Exception {
+        when(restTemplate.exchange(eq(PRODUCTION_SERVICE_URL + "/production/orders/payment-status"), eq(HttpMethod.PUT),
+                any(HttpEntity.class), eq(PaymentStatusUpdateResultDTO[].class)))
+                .thenAnswer(invocation -> {
+                    List<PaymentStatusUpdateDTO> updates = ((HttpEntity<List<PaymentStatusUpdateDTO>>) invocation.getArgument(2)).getBody();
+                    return ResponseEntity.ok(updates.stream()
+                            .map(update -> new PaymentStatusUpdateResultDTO(update.getOrderId(), update.getIdempotencyKey(), 200,
+                                    OrderDTO.builder().id(update.getOrderId()).paymentStatus(PaymentStatusEnum.APPROVED).build()))
+                            .toArray(PaymentStatusUpdateResultDTO[]::new));
+                });
+
+        ProductionServiceClient batchingClient = batchingClient();
+        try {
+            List<Order> orders = updateConcurrently(batchingClient, 1L, 2L);
+
+            assertEquals(List.of(1L, 2L), orders.stream().map(Order::getId).toList());
+            assertTrue(orders.stream().allMatch(order -> order.getPaymentStatus() == PaymentStatusEnum.APPROVED));
+        } finally {
+            batchingClient.close();
+        }
+        verify(restTemplate, never()).exchange(anyString(), eq(HttpMethod.PUT), any(HttpEntity.class), eq(OrderDTO.class), anyLong());
+    }
+
+    @Test
+    void shouldFallBackToSingleUpdatesWhenBulkUpdateIsUnsupported() throws Exception {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PUT), any(HttpEntity.class), eq(PaymentStatusUpdateResultDTO[].class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PUT), any(HttpEntity.class), eq(OrderDTO.class), anyLong()))
+                .thenAnswer(invocation -> ResponseEntity.ok(OrderDTO.builder().id(invocation.getArgument(4)).build()));
+
+        ProductionServiceClient batchingClient = batchingClient();
+        try {
+            assertEquals(2, updateConcurrently(batchingClient, 1L, 2L).size());
+            assertEquals(3L, batchingClient.updateOrderPaymentStatus(3L, PaymentConfirmationMock.createApprovedPaymentMock()).getId());
+        } finally {
+            batchingClient.close();
+        }
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.PUT), any(HttpEntity.class), eq(PaymentStatusUpdateResultDTO[].class));
+        verify(restTemplate, times(3)).exchange(anyString(), eq(HttpMethod.PUT), any(HttpEntity.class), eq(OrderDTO.class), anyLong());
+    }
+
+    @Test
+    void shouldProbeBulkUpdateAgainAfterReprobeInterval() throws Exception {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PUT), any(HttpEntity.class), eq(PaymentStatusUpdateResultDTO[].class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PUT), any(HttpEntity.class), eq(OrderDTO.class), anyLong()))
+                .thenAnswer(invocation -> ResponseEntity.ok(OrderDTO.builder().id(invocation.getArgument(4)).build()));
+
+        ProductionServiceClient batchingClient = batchingClient(Duration.ZERO);
+        try {
+            updateConcurrently(batchingClient, 1L, 2L);
+            updateConcurrently(batchingClient, 3L, 4L);
+        } finally {
+            batchingClient.close();
+        }
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.PUT), any(HttpEntity.class), eq(PaymentStatusUpdateResultDTO[].class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReportBulkItemResultsToEachCaller() throws Exception {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PUT), any(HttpEntity.class), eq(PaymentStatusUpdateResultDTO[].class)))
+                .thenAnswer(invocation -> {
+                    List<PaymentStatusUpdateDTO> updates = ((HttpEntity<List<PaymentStatusUpdateDTO>>) invocation.getArgument(2)).getBody();
+                    return ResponseEntity.ok(updates.stream()
+                            .map(update -> new PaymentStatusUpdateResultDTO(update.getOrderId(), update.getIdempotencyKey(),
+                                    update.getOrderId() == 1L ? 404 : 503, null))
+                            .toArray(PaymentStatusUpdateResultDTO[]::new));
+                });
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PUT), any(HttpEntity.class), eq(OrderDTO.class), eq(2L)))
+                .thenReturn(ResponseEntity.ok(OrderDTO.builder().id(2L).build()));
+
+        ProductionServiceClient batchingClient = batchingClient();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<Order> rejected = CompletableFuture.supplyAsync(
+                    () -> batchingClient.updateOrderPaymentStatus(1L, PaymentConfirmationMock.createApprovedPaymentMock()), callers);
+            CompletableFuture<Order> retriedAlone = CompletableFuture.supplyAsync(
+                    () -> batchingClient.updateOrderPaymentStatus(2L, PaymentConfirmationMock.createApprovedPaymentMock()), callers);
+
+            CompletionException error = assertThrows(CompletionException.class, rejected::join);
+            assertInstanceOf(HttpClientErrorException.NotFound.class, error.getCause());
+            assertEquals(2L, retriedAlone.join().getId());
+        } finally {
+            batchingClient.close();
+        }
+        verify(restTemplate, never()).exchange(anyString(), eq(HttpMethod.PUT), any(HttpEntity.class), eq(OrderDTO.class), eq(1L));
+    }
+
+    private ProductionServiceClient batchingClient() {
+        return batchingClient(Duration.ofMinutes(5));
+    }
+
+    private ProductionServiceClient batchingClient(Duration bulkReprobeInterval) {
+        PaymentMetrics paymentMetrics = new PaymentMetrics(meterRegistry);
+        return new ProductionServiceClient(restTemplate, PRODUCTION_SERVICE_URL, paymentMetrics,
+            DownstreamRetryMock.createDownstreamRetry(paymentMetrics), 2, Duration.ofSeconds(5), bulkReprobeInterval, 8);
+    }
+
+    private static List<Order> updateConcurrently(ProductionServiceClient client, Long... orderIds) {
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<CompletableFuture<Order>> updates = Arrays.stream(orderIds)
+                    .map(orderId -> CompletableFuture.supplyAsync(
+                            () -> client.updateOrderPaymentStatus(orderId, PaymentConfirmationMock.createApprovedPaymentMock()), callers))
+                    .toList();
+            return updates.stream().map(CompletableFuture::join).toList();
+        }
+    }
+
+    private Timer downstreamTimer(String operation, String outcome) {
+        return meterRegistry.get(PaymentMetrics.DOWNSTREAM_REQUESTS)
+                .tags("target", "production-service", "operation", operation, "outcome", outcome)
+                .timer();
+    }
 }
@@ -0,0 +1,107 @@
+package com.lanchonete.payment.adapter.driven.clients;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository.Order;
+import com.lanchonete.payment.mocks.PaymentConfirmationMock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveCachingOrderRepositoryTest {
+
+    @Mock
+    private ReactiveProductionServiceClient productionServiceClient;
+
+    private OrderCache orderCache;
+    private ReactiveCachingOrderRepository cachingOrderRepository;
+    private Order pendingOrder;
+    private Order approvedOrder;
+
+    @BeforeEach
+    void setUp() {
+        orderCache = new OrderCache(100, 60, 3600, new SimpleMeterRegistry());
+        cachingOrderRepository = new ReactiveCachingOrderRepository(productionServiceClient, orderCache);
+        pendingOrder = new Order(1L, "12345678900", "mp-payment-123", PaymentStatusEnum.PENDING);
+        approvedOrder = new Order(1L, "12345678900", "mp-payment-123", PaymentStatusEnum.APPROVED);
+    }
+
+    @Test
+    void shouldCacheOrderById() {
+        when(productionServiceClient.getOrderById(1L)).thenReturn(Mono.just(pendingOrder));
+
+        StepVerifier.create(cachingOrderRepository.getOrderById(1L)).expectNext(pendingOrder).verifyComplete();
+        StepVerifier.create(cachingOrderRepository.getOrderById(1L)).expectNext(pendingOrder).verifyComplete();
+
+        verify(productionServiceClient, times(1)).getOrderById(1L);
+    }
+
+    @Test
+    void shouldResolvePaymentIdThroughOrderIndex() {
+        when(productionServiceClient.getOrderById(1L)).thenReturn(Mono.just(pendingOrder));
+
+        StepVerifier.create(cachingOrderRepository.getOrderById(1L)).expectNext(pendingOrder).verifyComplete();
+        StepVerifier.create(cachingOrderRepository.getOrderByPaymentId("mp-payment-123")).expectNext(pendingOrder).verifyComplete();
+
+        verify(productionServiceClient, never()).getOrderByPaymentId(anyString());
+    }
+
+    @Test
+    void shouldLoadOnlyUncachedOrdersInBulkAndKeepRequestOrder() {
+        final Order secondOrder = new Order(2L, "12345678900", "mp-payment-456", PaymentStatusEnum.PENDING);
+        orderCache.put(pendingOrder);
+        when(productionServiceClient.getOrdersByIds(List.of(2L, 3L))).thenReturn(Flux.just(secondOrder));
+
+        StepVerifier.create(cachingOrderRepository.getOrdersByIds(List.of(2L, 1L, 3L)))
+            .expectNext(secondOrder, pendingOrder)
+            .verifyComplete();
+        StepVerifier.create(cachingOrderRepository.getOrderById(2L)).expectNext(secondOrder).verifyComplete();
+
+        verify(productionServiceClient, never()).getOrderById(anyLong());
+    }
+
+    @Test
+    void shouldWriteUpdatedOrderThroughToSharedCache() {
+        final PaymentConfirmation paymentConfirmation = PaymentConfirmationMock.createApprovedPaymentMock();
+        orderCache.put(pendingOrder);
+        when(productionServiceClient.updateOrderPaymentStatus(1L, paymentConfirmation)).thenReturn(Mono.just(approvedOrder));
+
+        StepVerifier.create(cachingOrderRepository.updateOrderPaymentStatus(1L, paymentConfirmation))
+            .expectNext(approvedOrder)
+            .verifyComplete();
+
+        StepVerifier.create(cachingOrderRepository.getOrderByPaymentId("mp-payment-123")).expectNext(approvedOrder).verifyComplete();
+        verify(productionServiceClient, never()).getOrderByPaymentId(anyString());
+    }
+
+    @Test
+    void shouldInvalidateOrderWhenUpdateFails() {
+        final PaymentConfirmation paymentConfirmation = PaymentConfirmationMock.createApprovedPaymentMock();
+        orderCache.put(pendingOrder);
+        when(productionServiceClient.updateOrderPaymentStatus(1L, paymentConfirmation))
+            .thenReturn(Mono.error(new IllegalStateException("Production service unavailable")));
+        when(productionServiceClient.getOrderById(1L)).thenReturn(Mono.just(approvedOrder));
+
+        StepVerifier.create(cachingOrderRepository.updateOrderPaymentStatus(1L, paymentConfirmation))
+            .expectError(IllegalStateException.class)
+            .verify();
+        StepVerifier.create(cachingOrderRepository.getOrderById(1L)).expectNext(approvedOrder).verifyComplete();
+
+        verify(productionServiceClient).getOrderById(1L);
+    }
+}
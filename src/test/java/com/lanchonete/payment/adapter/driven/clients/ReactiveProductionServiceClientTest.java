@@ -0,0 +1,196 @@
+package com.lanchonete.payment.adapter.driven.clients;
+
+import static com.lanchonete.payment.core.application.config.Constants.X_IDEMPOTENCY_KEY;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.lanchonete.payment.core.application.config.PaymentMetrics;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+import com.lanchonete.payment.mocks.DownstreamRetryMock;
+import com.lanchonete.payment.mocks.PaymentConfirmationMock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class ReactiveProductionServiceClientTest {
+
+    private static final String PRODUCTION_SERVICE_URL = "http://localhost:8080";
+    private static final String ORDER_JSON = "{\"id\":1,\"customerCpf\":\"12345678900\",\"paymentId\":\"payment-123\",\"paymentStatus\":\"PENDING\"}";
+
+    private final List<ClientRequest> requests = new ArrayList<>();
+    private ClientResponse nextResponse;
+    private final Deque<ClientResponse> queuedResponses = new ArrayDeque<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PaymentMetrics paymentMetrics = new PaymentMetrics(meterRegistry);
+    private ReactiveProductionServiceClient productionServiceClient;
+
+    @BeforeEach
+    void setUp() {
+        final WebClient webClient = WebClient.builder()
+            .exchangeFunction(request -> {
+                requests.add(request);
+                return Mono.just(queuedResponses.isEmpty() ? nextResponse : queuedResponses.poll());
+            })
+            .build();
+        productionServiceClient = new ReactiveProductionServiceClient(webClient, PRODUCTION_SERVICE_URL, paymentMetrics,
+            DownstreamRetryMock.createDownstreamRetry(paymentMetrics), Duration.ofMinutes(5), 8);
+    }
+
+    @Test
+    void shouldGetOrderById() {
+        nextResponse = jsonResponse(ORDER_JSON);
+
+        StepVerifier.create(productionServiceClient.getOrderById(1L))
+            .assertNext(order -> {
+                assertEquals(1L, order.getId());
+                assertEquals("12345678900", order.getCustomerCpf());
+                assertEquals("payment-123", order.getPaymentId());
+                assertEquals(PaymentStatusEnum.PENDING, order.getPaymentStatus());
+            })
+            .verifyComplete();
+
+        assertEquals(HttpMethod.GET, requests.get(0).method());
+        assertEquals(PRODUCTION_SERVICE_URL + "/production/orders/1", requests.get(0).url().toString());
+        assertEquals(1, meterRegistry.get(PaymentMetrics.DOWNSTREAM_REQUESTS)
+            .tags("target", "production-service", "operation", "getOrderById", "outcome", "SUCCESS")
+            .timer().count());
+    }
+
+    @Test
+    void shouldGetOrdersByIdsInOneRequest() {
+        nextResponse = jsonResponse("[" + ORDER_JSON + "," + ORDER_JSON.replace("\"id\":1", "\"id\":2") + "]");
+
+        StepVerifier.create(productionServiceClient.getOrdersByIds(List.of(1L, 2L)))
+            .assertNext(order -> assertEquals(1L, order.getId()))
+            .assertNext(order -> assertEquals(2L, order.getId()))
+            .verifyComplete();
+
+        assertEquals(1, requests.size());
+        assertEquals("/production/orders", requests.get(0).url().getPath());
+        assertEquals("ids=1,2", requests.get(0).url().getQuery());
+    }
+
+    @Test
+    void shouldFallBackToSingleLookupsWhenBulkLookupIsUnsupported() {
+        queuedResponses.add(ClientResponse.create(HttpStatus.METHOD_NOT_ALLOWED).build());
+        queuedResponses.add(jsonResponse(ORDER_JSON));
+        queuedResponses.add(ClientResponse.create(HttpStatus.NOT_FOUND).build());
+
+        StepVerifier.create(productionServiceClient.getOrdersByIds(List.of(1L, 2L)))
+            .assertNext(order -> assertEquals(1L, order.getId()))
+            .verifyComplete();
+
+        assertEquals(3, requests.size());
+        assertEquals(PRODUCTION_SERVICE_URL + "/production/orders/1", requests.get(1).url().toString());
+        assertEquals(PRODUCTION_SERVICE_URL + "/production/orders/2", requests.get(2).url().toString());
+
+        nextResponse = jsonResponse(ORDER_JSON);
+        StepVerifier.create(productionServiceClient.getOrdersByIds(List.of(1L)))
+            .expectNextCount(1)
+            .verifyComplete();
+        assertEquals(PRODUCTION_SERVICE_URL + "/production/orders/1", requests.get(3).url().toString());
+    }
+
+    @Test
+    void shouldProbeBulkLookupAgainAfterReprobeInterval() {
+        final ReactiveProductionServiceClient reprobingClient = new ReactiveProductionServiceClient(
+            WebClient.builder()
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return Mono.just(queuedResponses.isEmpty() ? nextResponse : queuedResponses.poll());
+                })
+                .build(),
+            PRODUCTION_SERVICE_URL, paymentMetrics, DownstreamRetryMock.createDownstreamRetry(paymentMetrics), Duration.ZERO, 8);
+        queuedResponses.add(ClientResponse.create(HttpStatus.NOT_FOUND).build());
+        queuedResponses.add(jsonResponse(ORDER_JSON));
+        queuedResponses.add(jsonResponse("[" + ORDER_JSON + "]"));
+
+        StepVerifier.create(reprobingClient.getOrdersByIds(List.of(1L))).expectNextCount(1).verifyComplete();
+        StepVerifier.create(reprobingClient.getOrdersByIds(List.of(1L))).expectNextCount(1).verifyComplete();
+
+        assertEquals(3, requests.size());
+        assertEquals("/production/orders", requests.get(2).url().getPath());
+        assertEquals("ids=1", requests.get(2).url().getQuery());
+    }
+
+    @Test
+    void shouldGetOrderByPaymentId() {
+        nextResponse = jsonResponse(ORDER_JSON);
+
+        StepVerifier.create(productionServiceClient.getOrderByPaymentId("payment-123"))
+            .assertNext(order -> assertEquals(1L, order.getId()))
+            .verifyComplete();
+
+        assertEquals(PRODUCTION_SERVICE_URL + "/production/orders/payment/payment-123", requests.get(0).url().toString());
+    }
+
+    @Test
+    void shouldUpdateOrderPaymentStatus() {
+        nextResponse = jsonResponse(ORDER_JSON);
+
+        StepVerifier.create(productionServiceClient.updateOrderPaymentStatus(1L, PaymentConfirmationMock.createApprovedPaymentMock()))
+            .assertNext(order -> assertEquals(1L, order.getId()))
+            .verifyComplete();
+
+        assertEquals(HttpMethod.PUT, requests.get(0).method());
+        assertEquals(PRODUCTION_SERVICE_URL + "/production/orders/1/payment-status", requests.get(0).url().toString());
+        assertEquals("payment-status-1-mp-payment-123-processed", requests.get(0).headers().getFirst(X_IDEMPOTENCY_KEY));
+    }
+
+    @Test
+    void shouldCompleteEmptyWhenUpdateResponseHasNoBody() {
+        nextResponse = ClientResponse.create(HttpStatus.NO_CONTENT).build();
+
+        StepVerifier.create(productionServiceClient.updateOrderPaymentStatus(1L, PaymentConfirmationMock.createApprovedPaymentMock()))
+            .verifyComplete();
+    }
+
+    @Test
+    void shouldPropagateErrorResponsesAfterRetries() {
+        nextResponse = ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build();
+
+        StepVerifier.create(productionServiceClient.getOrderById(1L))
+            .expectError(WebClientResponseException.class)
+            .verify();
+
+        assertEquals(3, requests.size());
+        assertEquals(3, meterRegistry.get(PaymentMetrics.DOWNSTREAM_REQUESTS)
+            .tags("target", "production-service", "operation", "getOrderById", "outcome", "SERVER_ERROR")
+            .timer().count());
+    }
+
+    @Test
+    void shouldNotRetryClientErrors() {
+        nextResponse = ClientResponse.create(HttpStatus.NOT_FOUND).build();
+
+        StepVerifier.create(productionServiceClient.getOrderByPaymentId("payment-123"))
+            .expectError(WebClientResponseException.NotFound.class)
+            .verify();
+
+        assertEquals(1, requests.size());
+    }
+
+    private ClientResponse jsonResponse(final String body) {
+        return ClientResponse.create(HttpStatus.OK)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .body(body)
+            .build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.lanchonete.payment.adapter.driven.jdbc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.lanchonete.payment.core.application.paymentlog.PaymentLogReader.PendingEntry;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+class JdbcPaymentLogReaderTest {
+
+    private final Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private JdbcPaymentLogReader reader;
+
+    @BeforeEach
+    void setUp() {
+        final HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:payment_logs_" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(2);
+        dataSource = new HikariDataSource(config);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+            CREATE TABLE payment_logs (
+                id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                payment_id VARCHAR(255) NOT NULL,
+                order_id VARCHAR(255) NULL,
+                status VARCHAR(50) NOT NULL,
+                amount DECIMAL(10,2) NULL,
+                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+            )""");
+        reader = new JdbcPaymentLogReader(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void shouldFindPendingPaymentsWithoutFinalStatusOldestFirst() {
+        insert("mp-payment-1", "1", "PENDING", Duration.ofMinutes(10));
+        insert("mp-payment-2", "2", "PENDING", Duration.ofMinutes(20));
+        insert("mp-payment-3", "3", "PENDING", Duration.ofMinutes(30));
+        insert("mp-payment-3", "3", "APPROVED", Duration.ofMinutes(29));
+
+        final List<PendingEntry> unresolved = reader.findUnresolved(now.minus(Duration.ofHours(1)), 10);
+
+        assertEquals(List.of(
+            new PendingEntry("mp-payment-2", 2L, now.minus(Duration.ofMinutes(20))),
+            new PendingEntry("mp-payment-1", 1L, now.minus(Duration.ofMinutes(10)))), unresolved);
+    }
+
+    @Test
+    void shouldSkipOldRowsAndRowsWithoutOrderAndApplyLimit() {
+        insert("mp-payment-1", "1", "PENDING", Duration.ofHours(2));
+        insert("mp-payment-2", null, "PENDING", Duration.ofMinutes(20));
+        insert("mp-payment-3", "3", "PENDING", Duration.ofMinutes(15));
+        insert("mp-payment-4", "4", "PENDING", Duration.ofMinutes(10));
+
+        final List<PendingEntry> unresolved = reader.findUnresolved(now.minus(Duration.ofHours(1)), 1);
+
+        assertEquals(List.of(new PendingEntry("mp-payment-3", 3L, now.minus(Duration.ofMinutes(15)))), unresolved);
+    }
+
+    private void insert(final String paymentId, final String orderId, final String status, final Duration age) {
+        jdbcTemplate.update("INSERT INTO payment_logs (payment_id, order_id, status, amount, created_at) VALUES (?, ?, ?, 10, ?)",
+            paymentId, orderId, status, Timestamp.from(now.minus(age)));
+    }
+}
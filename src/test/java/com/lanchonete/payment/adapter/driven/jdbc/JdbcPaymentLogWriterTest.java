@@ -0,0 +1,142 @@
+package com.lanchonete.payment.adapter.driven.jdbc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.lanchonete.payment.core.application.paymentlog.PaymentLogWriter.Entry;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JdbcPaymentLogWriterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private JdbcPaymentLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        final HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:payment_logs_" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(2);
+        dataSource = new HikariDataSource(config);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+            CREATE TABLE payment_logs (
+                id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                payment_id VARCHAR(255) NOT NULL,
+                order_id VARCHAR(255) NULL,
+                status VARCHAR(50) NOT NULL,
+                amount DECIMAL(10,2) NULL,
+                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+            )""");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (writer != null) {
+            writer.destroy();
+        }
+        dataSource.close();
+    }
+
+    @Test
+    void shouldPersistEnqueuedEntries() throws Exception {
+        writer = new JdbcPaymentLogWriter(dataSource, 100, 10, Duration.ofMillis(5), meterRegistry);
+
+        writer.record(new Entry("mp-payment-1", 1L, "PENDING", new BigDecimal("57.90")));
+        writer.record(Entry.of("mp-payment-1", 1L, "APPROVED", 57.9));
+        writer.record(Entry.of("mp-payment-2", 2L, "REJECTED", null));
+        writer.destroy();
+
+        final List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+            "SELECT payment_id, order_id, status, amount FROM payment_logs ORDER BY id");
+        assertEquals(3, rows.size());
+        assertEquals("mp-payment-1", rows.get(0).get("PAYMENT_ID"));
+        assertEquals("1", rows.get(0).get("ORDER_ID"));
+        assertEquals("PENDING", rows.get(0).get("STATUS"));
+        assertEquals(0, new BigDecimal("57.90").compareTo((BigDecimal) rows.get(1).get("AMOUNT")));
+        assertNull(rows.get(2).get("AMOUNT"));
+        assertEquals(3, entries("written"));
+    }
+
+    @Test
+    void shouldStoreMissingOrderIdAsSqlNull() throws Exception {
+        writer = new JdbcPaymentLogWriter(dataSource, 100, 10, Duration.ofMillis(5), meterRegistry);
+
+        writer.record(new Entry("mp-payment-1", null, "APPROVED", BigDecimal.TEN));
+        writer.destroy();
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payment_logs WHERE order_id IS NULL", Integer.class));
+        assertEquals(1, entries("written"));
+    }
+
+    @Test
+    void shouldWriteMultiRowBatches() throws Exception {
+        writer = new JdbcPaymentLogWriter(dataSource, 100, 3, Duration.ofSeconds(30), meterRegistry);
+
+        for (long orderId = 1; orderId <= 7; orderId++) {
+            writer.record(new Entry("mp-payment-" + orderId, orderId, "PENDING", BigDecimal.TEN));
+        }
+        writer.destroy();
+
+        assertEquals(7, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payment_logs", Integer.class));
+        assertEquals(3, meterRegistry.get("payment.logs.batch.size").summary().count());
+        assertEquals(3.0, meterRegistry.get("payment.logs.batch.size").summary().max());
+    }
+
+    @Test
+    void shouldNeverBlockCallerWhenDatabaseIsStuck() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final DataSource stuckDataSource = mock(DataSource.class);
+        when(stuckDataSource.getConnection()).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            throw new SQLException("database unavailable");
+        });
+        writer = new JdbcPaymentLogWriter(stuckDataSource, 2, 1, Duration.ZERO, meterRegistry);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            for (long orderId = 1; orderId <= 10; orderId++) {
+                writer.record(new Entry("mp-payment-" + orderId, orderId, "PENDING", BigDecimal.TEN));
+            }
+        });
+        release.countDown();
+        writer.destroy();
+
+        assertTrue(entries("dropped") >= 7);
+        assertEquals(10, entries("dropped") + entries("failed"));
+    }
+
+    @Test
+    void shouldDropEntriesAfterShutdown() throws Exception {
+        writer = new JdbcPaymentLogWriter(dataSource, 100, 10, Duration.ZERO, meterRegistry);
+        writer.destroy();
+
+        writer.record(new Entry("mp-payment-1", 1L, "PENDING", BigDecimal.TEN));
+
+        assertEquals(1, entries("dropped"));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payment_logs", Integer.class));
+    }
+
+    private double entries(final String outcome) {
+        return meterRegistry.get("payment.logs.entries").tag("outcome", outcome).counter().count();
+    }
+}
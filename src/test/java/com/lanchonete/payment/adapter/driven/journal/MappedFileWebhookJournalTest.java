@@ -0,0 +1,141 @@
+package com.lanchonete.payment.adapter.driven.journal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lanchonete.payment.core.application.dto.PaymentConfirmationDTO;
+import com.lanchonete.payment.core.application.journal.WebhookJournal.Entry;
+import com.lanchonete.payment.core.domain.exceptions.InvalidPaymentException;
+
+class MappedFileWebhookJournalTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    private Path directory;
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+    }
+
+    @Test
+    void shouldAppendEntriesAsPending() {
+        final MappedFileWebhookJournal journal = openJournal();
+
+        final Entry first = journal.append(event("payment-1"));
+        final Entry second = journal.append(event("payment-2"));
+
+        assertEquals(2, journal.pendingCount());
+        assertEquals(first.segmentId(), second.segmentId());
+        assertTrue(second.offset() > first.offset());
+        assertEquals("payment-1", first.event().getData().getId());
+        journal.destroy();
+    }
+
+    @Test
+    void shouldReplayPendingEntriesAfterRestart() {
+        final MappedFileWebhookJournal journal = openJournal();
+        final Entry completed = journal.append(event("payment-1"));
+        journal.append(event("payment-2"));
+        journal.complete(completed);
+        journal.destroy();
+
+        final MappedFileWebhookJournal reopened = openJournal();
+        final List<Entry> recovered = reopened.recover();
+
+        assertEquals(1, recovered.size());
+        assertEquals("payment-2", recovered.get(0).event().getData().getId());
+        assertEquals(1, reopened.pendingCount());
+        assertTrue(reopened.recover().isEmpty());
+        reopened.destroy();
+    }
+
+    @Test
+    void shouldNotReplayFailedEntries() {
+        final MappedFileWebhookJournal journal = openJournal();
+        journal.fail(journal.append(event("payment-1")));
+        journal.destroy();
+
+        final MappedFileWebhookJournal reopened = openJournal();
+
+        assertTrue(reopened.recover().isEmpty());
+        assertEquals(0, reopened.pendingCount());
+        reopened.destroy();
+    }
+
+    @Test
+    void shouldRollSegmentsAndDeleteResolvedOnes() throws IOException {
+        final MappedFileWebhookJournal journal = openJournal();
+        Entry first = null;
+        Entry last = null;
+        for (int i = 0; i < 100; i++) {
+            final Entry entry = journal.append(event("payment-" + i));
+            journal.complete(entry);
+            first = first == null ? entry : first;
+            last = entry;
+        }
+
+        assertNotEquals(first.segmentId(), last.segmentId());
+        assertEquals(0, journal.pendingCount());
+        assertEquals(1, segmentFiles());
+        journal.destroy();
+    }
+
+    @Test
+    void shouldKeepSegmentWithPendingEntriesAfterRolling() throws IOException {
+        final MappedFileWebhookJournal journal = openJournal();
+        journal.append(event("payment-pending"));
+        for (int i = 0; i < 100; i++) {
+            journal.complete(journal.append(event("payment-" + i)));
+        }
+        journal.destroy();
+
+        final MappedFileWebhookJournal reopened = openJournal();
+        final List<Entry> recovered = reopened.recover();
+
+        assertEquals(1, recovered.size());
+        assertEquals("payment-pending", recovered.get(0).event().getData().getId());
+        reopened.destroy();
+    }
+
+    @Test
+    void shouldRejectPayloadLargerThanSegment() {
+        final MappedFileWebhookJournal journal = openJournal();
+
+        assertThrows(InvalidPaymentException.class, () -> journal.append(event("x".repeat(SEGMENT_SIZE))));
+        assertEquals(0, journal.pendingCount());
+        journal.destroy();
+    }
+
+    private MappedFileWebhookJournal openJournal() {
+        return new MappedFileWebhookJournal(directory, SEGMENT_SIZE, false, objectMapper);
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static PaymentConfirmationDTO event(final String paymentId) {
+        return PaymentConfirmationDTO.builder()
+            .id(1L)
+            .type("payment")
+            .action("payment.updated")
+            .data(PaymentConfirmationDTO.PaymentConfirmationDataDTO.builder().id(paymentId).build())
+            .build();
+    }
+}
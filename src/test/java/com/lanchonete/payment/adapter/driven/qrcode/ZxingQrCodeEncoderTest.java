@@ -0,0 +1,58 @@
+package com.lanchonete.payment.adapter.driven.qrcode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.RGBLuminanceSource;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.qrcode.QRCodeReader;
+import com.lanchonete.payment.core.domain.exceptions.PaymentException;
+import com.lanchonete.payment.core.domain.model.enums.QrCodeImageFormat;
+
+class ZxingQrCodeEncoderTest {
+
+    private static final String QR_DATA = "00020101021243650016COM.MERCADOLIBRE020130636mp-payment-123"
+        + "5204000053039865802BR5909Lanchonete6009SAO PAULO62070503***6304ABCD";
+
+    private final ZxingQrCodeEncoder encoder = new ZxingQrCodeEncoder(8, 4);
+
+    @Test
+    void shouldRenderDecodablePng() throws Exception {
+        final byte[] png = encoder.encode(QR_DATA, QrCodeImageFormat.PNG);
+
+        final BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        assertEquals(0, image.getWidth() % 8);
+        assertEquals(image.getWidth(), image.getHeight());
+
+        final int[] pixels = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+        final BinaryBitmap bitmap = new BinaryBitmap(new HybridBinarizer(
+            new RGBLuminanceSource(image.getWidth(), image.getHeight(), pixels)));
+        assertEquals(QR_DATA, new QRCodeReader().decode(bitmap).getText());
+    }
+
+    @Test
+    void shouldRenderSvgWithOnePathOfModuleRuns() {
+        final String svg = new String(encoder.encode(QR_DATA, QrCodeImageFormat.SVG), StandardCharsets.UTF_8);
+
+        assertTrue(svg.startsWith("<svg xmlns=\"http://www.w3.org/2000/svg\""));
+        assertTrue(svg.endsWith("\"/></svg>"));
+        assertEquals(1, svg.split("<path").length - 1);
+        // quiet zone of 4 modules: the first dark run starts at column 4 of row 4
+        assertTrue(svg.contains("d=\"M4 4h7v1h-7z"));
+    }
+
+    @Test
+    void shouldFailWhenDataDoesNotFitInQrCode() {
+        final String tooLong = "x".repeat(5000);
+
+        assertThrows(PaymentException.class, () -> encoder.encode(tooLong, QrCodeImageFormat.PNG));
+    }
+}
@@ -6,6 +6,7 @@ import static com.lanchonete.payment.core.application.config.Constants.QR;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 
 import org.junit.jupiter.api.Test;
 
@@ -18,13 +19,15 @@ class MPQrCodePaymentRequestMapperTest {
         Long orderId = 1L;
         BigDecimal totalPrice = new BigDecimal("50.00");
         String externalPosId = "pos-123";
-        MPQrCodePaymentRequest result = MPQrCodePaymentRequestMapper.createMPQrCodePaymentRequest(orderId, totalPrice, externalPosId);
+        MPQrCodePaymentRequest result = MPQrCodePaymentRequestMapper.createMPQrCodePaymentRequest(orderId, totalPrice, externalPosId,
+            Duration.ofMinutes(30));
 
         assertNotNull(result);
         assertEquals(QR, result.getType());
         assertEquals("50.00", result.getTotalAmount());
         assertEquals(ORDER_DESCRIPTION + orderId, result.getDescription());
         assertEquals(orderId.toString(), result.getExternalReference());
+        assertEquals("PT30M", result.getExpirationTime());
         
         assertNotNull(result.getConfig());
         assertNotNull(result.getConfig().getQr());
@@ -42,13 +45,14 @@ class MPQrCodePaymentRequestMapperTest {
         Long orderId = 999L;
         BigDecimal totalPrice = new BigDecimal("123.45");
         String externalPosId = "pos-456";
-        MPQrCodePaymentRequest result = MPQrCodePaymentRequestMapper.createMPQrCodePaymentRequest(orderId, totalPrice, externalPosId);
+        MPQrCodePaymentRequest result = MPQrCodePaymentRequestMapper.createMPQrCodePaymentRequest(orderId, totalPrice, externalPosId, null);
 
         assertNotNull(result);
         assertEquals(QR, result.getType());
         assertEquals("123.45", result.getTotalAmount());
         assertEquals(ORDER_DESCRIPTION + orderId, result.getDescription());
         assertEquals("999", result.getExternalReference());
+        assertNull(result.getExpirationTime());
         assertEquals(externalPosId, result.getConfig().getQr().getExternalPosId());
         assertEquals("123.45", result.getTransactions().getPayments().get(0).getAmount());
     }
@@ -58,11 +62,20 @@ class MPQrCodePaymentRequestMapperTest {
         Long orderId = 1L;
         BigDecimal totalPrice = BigDecimal.ZERO;
         String externalPosId = "pos-123";
-        MPQrCodePaymentRequest result = MPQrCodePaymentRequestMapper.createMPQrCodePaymentRequest(orderId, totalPrice, externalPosId);
+        MPQrCodePaymentRequest result = MPQrCodePaymentRequestMapper.createMPQrCodePaymentRequest(orderId, totalPrice, externalPosId,
+            Duration.ofMinutes(30));
 
         assertNotNull(result);
         assertEquals("0", result.getTotalAmount());
         assertEquals("0", result.getTransactions().getPayments().get(0).getAmount());
     }
-}
 
+    @Test
+    void shouldCreateIdempotencyKeyFromOrderNormalizedAmountAndPreviousPayment() {
+        assertEquals("qr-order-1-50", MPQrCodePaymentRequestMapper.createIdempotencyKey(1L, new BigDecimal("50.00"), null));
+        assertEquals("qr-order-1-50", MPQrCodePaymentRequestMapper.createIdempotencyKey(1L, new BigDecimal("50"), null));
+        assertEquals("qr-order-1-50.5-after-mp-1", MPQrCodePaymentRequestMapper.createIdempotencyKey(1L, new BigDecimal("50.50"), "mp-1"));
+        assertNotEquals(MPQrCodePaymentRequestMapper.createIdempotencyKey(1L, new BigDecimal("50"), "mp-1"),
+            MPQrCodePaymentRequestMapper.createIdempotencyKey(1L, new BigDecimal("50"), "mp-2"));
+    }
+}
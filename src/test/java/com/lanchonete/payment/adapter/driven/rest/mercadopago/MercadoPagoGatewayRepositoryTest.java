@@ -6,28 +6,37 @@ import static org.mockito.Mockito.*;
 
 import java.math.BigDecimal;
 import java.time.Duration;
-import java.time.LocalDateTime;
 
 import org.apache.logging.log4j.ThreadContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
-import com.lanchonete.payment.adapter.driven.rest.request.MPAuthRequest;
-import com.lanchonete.payment.adapter.driven.rest.response.MPAuthResponse;
+import com.lanchonete.payment.adapter.driven.rest.request.MPQrCodePaymentRequest;
 import com.lanchonete.payment.adapter.driven.rest.response.MPPaymentConfirmationResponse;
 import com.lanchonete.payment.adapter.driven.rest.response.MPQrCodePaymentResponse;
+import com.lanchonete.payment.core.application.config.DownstreamRetry;
+import com.lanchonete.payment.core.application.config.PaymentMetrics;
 import com.lanchonete.payment.core.domain.exceptions.MercadoPagoIntegrationException;
+import com.lanchonete.payment.mocks.DownstreamRetryMock;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class MercadoPagoGatewayRepositoryTest {
@@ -35,21 +44,33 @@ class MercadoPagoGatewayRepositoryTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Mock
+    private MercadoPagoTokenManager tokenManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private PaymentMetrics paymentMetrics = new PaymentMetrics(meterRegistry);
+
+    @Spy
+    private MercadoPagoResilience resilience = new MercadoPagoResilience(CircuitBreakerRegistry.ofDefaults(),
+        BulkheadRegistry.ofDefaults());
+
+    @Spy
+    private DownstreamRetry downstreamRetry = DownstreamRetryMock.createDownstreamRetry(paymentMetrics);
+
     @InjectMocks
     private MercadoPagoGatewayRepository mercadoPagoGatewayRepository;
 
     private MPPaymentConfirmationResponse mpPaymentConfirmationResponse;
     private MPQrCodePaymentResponse mpQrCodePaymentResponse;
-    private MPAuthResponse mpAuthResponse;
 
     @BeforeEach
     void setUp() {
-        ReflectionTestUtils.setField(mercadoPagoGatewayRepository, "clientId", "test-client-id");
-        ReflectionTestUtils.setField(mercadoPagoGatewayRepository, "secretId", "test-secret-id");
         ReflectionTestUtils.setField(mercadoPagoGatewayRepository, "mpUrl", "https://api.mercadopago.com");
-        ReflectionTestUtils.setField(mercadoPagoGatewayRepository, "authPath", "/oauth/token");
         ReflectionTestUtils.setField(mercadoPagoGatewayRepository, "ordersPath", "/instore/orders");
         ReflectionTestUtils.setField(mercadoPagoGatewayRepository, "externalPosId", "pos-123");
+        ReflectionTestUtils.setField(mercadoPagoGatewayRepository, "qrExpiry", Duration.ofMinutes(30));
 
         mpPaymentConfirmationResponse = new MPPaymentConfirmationResponse();
         mpPaymentConfirmationResponse.setId("mp-payment-123");
@@ -64,23 +85,16 @@ class MercadoPagoGatewayRepositoryTest {
                         .qrData("00020126580014br.gov.bcb.pix")
                         .build())
                 .build();
-
-        mpAuthResponse = new MPAuthResponse();
-        mpAuthResponse.setAccessToken("test-access-token");
-        mpAuthResponse.setExpiresIn(3600L);
     }
 
     @Test
     void shouldGetPaymentConfirmationSuccessfully() {
-        ResponseEntity<MPAuthResponse> authResponseEntity = 
-                new ResponseEntity<>(mpAuthResponse, HttpStatus.OK);
         ResponseEntity<MPPaymentConfirmationResponse> responseEntity = 
                 new ResponseEntity<>(mpPaymentConfirmationResponse, HttpStatus.OK);
-        
-        when(restTemplate.postForEntity(anyString(), any(MPAuthRequest.class), eq(MPAuthResponse.class)))
-                .thenReturn(authResponseEntity);
+
+        when(tokenManager.getAccessToken()).thenReturn("test-access-token");
         when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), 
-                eq(MPPaymentConfirmationResponse.class))).thenReturn(responseEntity);
+                eq(MPPaymentConfirmationResponse.class), anyString())).thenReturn(responseEntity);
 
         MPPaymentConfirmationResponse result = mercadoPagoGatewayRepository.getPaymentConfirmation("mp-payment-123");
 
@@ -88,17 +102,16 @@ class MercadoPagoGatewayRepositoryTest {
         assertEquals("mp-payment-123", result.getId());
         assertEquals("approved", result.getStatus());
         assertEquals(50.0, result.getTotalAmount());
+        assertEquals(1, meterRegistry.get(PaymentMetrics.DOWNSTREAM_REQUESTS)
+                .tags("target", "mercadopago", "operation", "getConfirmation", "outcome", "SUCCESS")
+                .timer().count());
     }
 
     @Test
     void shouldThrowExceptionWhenGetPaymentConfirmationFails() {
-        ResponseEntity<MPAuthResponse> authResponseEntity = 
-                new ResponseEntity<>(mpAuthResponse, HttpStatus.OK);
-        
-        when(restTemplate.postForEntity(anyString(), any(MPAuthRequest.class), eq(MPAuthResponse.class)))
-                .thenReturn(authResponseEntity);
+        when(tokenManager.getAccessToken()).thenReturn("test-access-token");
         when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), 
-                eq(MPPaymentConfirmationResponse.class)))
+                eq(MPPaymentConfirmationResponse.class), anyString()))
                 .thenThrow(new RestClientException("Connection error"));
         
         assertThrows(MercadoPagoIntegrationException.class, () -> {
@@ -109,17 +122,14 @@ class MercadoPagoGatewayRepositoryTest {
     @Test
     void shouldCreateQrCodeForPaymentSuccessfully() {
 
-        ResponseEntity<MPAuthResponse> authResponseEntity = 
-                new ResponseEntity<>(mpAuthResponse, HttpStatus.OK);
         ResponseEntity<MPQrCodePaymentResponse> qrResponseEntity = 
                 new ResponseEntity<>(mpQrCodePaymentResponse, HttpStatus.OK);
 
-        when(restTemplate.postForEntity(anyString(), any(MPAuthRequest.class), eq(MPAuthResponse.class)))
-                .thenReturn(authResponseEntity);
+        when(tokenManager.getAccessToken()).thenReturn("test-access-token");
         when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(MPQrCodePaymentResponse.class)))
                 .thenReturn(qrResponseEntity);
         ThreadContext.put("requestTraceId", "trace-123");
-        MPQrCodePaymentResponse result = mercadoPagoGatewayRepository.createQrCodeForPayment(1L, new BigDecimal("50.00"));
+        MPQrCodePaymentResponse result = mercadoPagoGatewayRepository.createQrCodeForPayment(1L, new BigDecimal("50.00"), null);
         assertNotNull(result);
         assertEquals("mp-payment-123", result.getId());
         assertEquals("pending", result.getStatus());
@@ -131,77 +141,97 @@ class MercadoPagoGatewayRepositoryTest {
     @Test
     void shouldThrowExceptionWhenCreateQrCodeFails() {
 
-        ResponseEntity<MPAuthResponse> authResponseEntity = 
-                new ResponseEntity<>(mpAuthResponse, HttpStatus.OK);
-        
-        when(restTemplate.postForEntity(anyString(), any(MPAuthRequest.class), eq(MPAuthResponse.class)))
-                .thenReturn(authResponseEntity);
+        when(tokenManager.getAccessToken()).thenReturn("test-access-token");
         when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(MPQrCodePaymentResponse.class)))
                 .thenThrow(new RestClientException("Connection error"));
         assertThrows(MercadoPagoIntegrationException.class, () -> {
-            mercadoPagoGatewayRepository.createQrCodeForPayment(1L, new BigDecimal("50.00"));
+            mercadoPagoGatewayRepository.createQrCodeForPayment(1L, new BigDecimal("50.00"), null);
         });
+        assertEquals(1, meterRegistry.get(PaymentMetrics.DOWNSTREAM_REQUESTS)
+                .tags("target", "mercadopago", "operation", "createQr", "outcome", "UNKNOWN", "exception", "RestClientException")
+                .timer().count());
     }
 
     @Test
-    void shouldRefreshTokenWhenTokenIsExpired() {
+    void shouldRetryQrCreationWithSameIdempotencyKey() {
+        when(tokenManager.getAccessToken()).thenReturn("test-access-token");
+        when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(MPQrCodePaymentResponse.class)))
+                .thenThrow(new HttpServerErrorException(HttpStatus.BAD_GATEWAY))
+                .thenReturn(new ResponseEntity<>(mpQrCodePaymentResponse, HttpStatus.OK));
 
-        ResponseEntity<MPAuthResponse> authResponseEntity = 
-                new ResponseEntity<>(mpAuthResponse, HttpStatus.OK);
-        ResponseEntity<MPPaymentConfirmationResponse> paymentResponseEntity = 
-                new ResponseEntity<>(mpPaymentConfirmationResponse, HttpStatus.OK);
-        ReflectionTestUtils.setField(mercadoPagoGatewayRepository, "accessToken", "old-token");
-        ReflectionTestUtils.setField(mercadoPagoGatewayRepository, "tokenExpiryTime", 
-                LocalDateTime.now().minus(Duration.ofMinutes(10)));
+        assertEquals("mp-payment-123", mercadoPagoGatewayRepository.createQrCodeForPayment(1L, new BigDecimal("50.00"), null).getId());
 
-        when(restTemplate.postForEntity(anyString(), any(MPAuthRequest.class), eq(MPAuthResponse.class)))
-                .thenReturn(authResponseEntity);
-        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), 
-                eq(MPPaymentConfirmationResponse.class))).thenReturn(paymentResponseEntity);
-        MPPaymentConfirmationResponse result = mercadoPagoGatewayRepository.getPaymentConfirmation("mp-payment-123");
-        assertNotNull(result);
+        ArgumentCaptor<HttpEntity> request = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, times(2)).postForEntity(anyString(), request.capture(), eq(MPQrCodePaymentResponse.class));
+        assertEquals("PT30M", ((MPQrCodePaymentRequest) request.getAllValues().get(0).getBody()).getExpirationTime());
+        assertEquals("qr-order-1-50", request.getAllValues().get(0).getHeaders().getFirst("X-Idempotency-Key"));
+        assertEquals("qr-order-1-50", request.getAllValues().get(1).getHeaders().getFirst("X-Idempotency-Key"));
+    }
 
-        verify(restTemplate, times(1)).postForEntity(anyString(), any(MPAuthRequest.class), eq(MPAuthResponse.class));
+    @Test
+    void shouldReuseQrIdempotencyKeyForSamePreviousPayment() {
+        when(tokenManager.getAccessToken()).thenReturn("test-access-token");
+        when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(MPQrCodePaymentResponse.class)))
+                .thenReturn(new ResponseEntity<>(mpQrCodePaymentResponse, HttpStatus.OK));
+
+        mercadoPagoGatewayRepository.createQrCodeForPayment(1L, new BigDecimal("50.00"), "mp-payment-rejected");
+        mercadoPagoGatewayRepository.createQrCodeForPayment(1L, new BigDecimal("50.0"), "mp-payment-rejected");
+
+        ArgumentCaptor<HttpEntity> request = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, times(2)).postForEntity(anyString(), request.capture(), eq(MPQrCodePaymentResponse.class));
+        assertEquals("qr-order-1-50-after-mp-payment-rejected", request.getAllValues().get(0).getHeaders().getFirst("X-Idempotency-Key"));
+        assertEquals("qr-order-1-50-after-mp-payment-rejected", request.getAllValues().get(1).getHeaders().getFirst("X-Idempotency-Key"));
     }
 
     @Test
-    void shouldThrowExceptionWhenTokenRefreshFails() {
+    void shouldUseNewQrIdempotencyKeyAfterRejectedPayment() {
+        when(tokenManager.getAccessToken()).thenReturn("test-access-token");
+        when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(MPQrCodePaymentResponse.class)))
+                .thenReturn(new ResponseEntity<>(mpQrCodePaymentResponse, HttpStatus.OK));
 
-        when(restTemplate.postForEntity(anyString(), any(MPAuthRequest.class), eq(MPAuthResponse.class)))
-                .thenThrow(new RestClientException("Auth error"));
-        assertThrows(MercadoPagoIntegrationException.class, () -> {
-            mercadoPagoGatewayRepository.getPaymentConfirmation("mp-payment-123");
-        });
+        mercadoPagoGatewayRepository.createQrCodeForPayment(1L, new BigDecimal("50.00"), null);
+        mercadoPagoGatewayRepository.createQrCodeForPayment(1L, new BigDecimal("50.00"), "mp-payment-123");
+
+        ArgumentCaptor<HttpEntity> request = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, times(2)).postForEntity(anyString(), request.capture(), eq(MPQrCodePaymentResponse.class));
+        assertNotEquals(request.getAllValues().get(0).getHeaders().getFirst("X-Idempotency-Key"),
+            request.getAllValues().get(1).getHeaders().getFirst("X-Idempotency-Key"));
     }
 
     @Test
-    void shouldThrowExceptionWhenAuthResponseIsNull() {
+    void shouldGetQrCodePaymentSuccessfully() {
+        when(tokenManager.getAccessToken()).thenReturn("test-access-token");
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class),
+                eq(MPQrCodePaymentResponse.class), eq("mp-payment-123")))
+                .thenReturn(new ResponseEntity<>(mpQrCodePaymentResponse, HttpStatus.OK));
 
-        ResponseEntity<MPAuthResponse> authResponseEntity = 
-                new ResponseEntity<>(null, HttpStatus.OK);
+        MPQrCodePaymentResponse result = mercadoPagoGatewayRepository.getQrCodePayment("mp-payment-123");
 
-        when(restTemplate.postForEntity(anyString(), any(MPAuthRequest.class), eq(MPAuthResponse.class)))
-                .thenReturn(authResponseEntity);
-        assertThrows(MercadoPagoIntegrationException.class, () -> {
-            mercadoPagoGatewayRepository.getPaymentConfirmation("mp-payment-123");
-        });
+        assertEquals("00020126580014br.gov.bcb.pix", result.getTypeResponse().getQrData());
+        assertEquals(1, meterRegistry.get(PaymentMetrics.DOWNSTREAM_REQUESTS)
+                .tags("target", "mercadopago", "operation", "getQr", "outcome", "SUCCESS")
+                .timer().count());
     }
 
     @Test
-    void shouldThrowExceptionWhenAccessTokenIsNull() {
+    void shouldRetryPaymentConfirmationOnTransientFailure() {
+        when(tokenManager.getAccessToken()).thenReturn("test-access-token");
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class),
+                eq(MPPaymentConfirmationResponse.class), anyString()))
+                .thenThrow(new ResourceAccessException("Read timed out"))
+                .thenReturn(new ResponseEntity<>(mpPaymentConfirmationResponse, HttpStatus.OK));
+
+        assertEquals("approved", mercadoPagoGatewayRepository.getPaymentConfirmation("mp-payment-123").getStatus());
+        verify(tokenManager, times(2)).getAccessToken();
+    }
 
-        MPAuthResponse invalidAuthResponse = new MPAuthResponse();
-        invalidAuthResponse.setAccessToken(null);
-        invalidAuthResponse.setExpiresIn(3600L);
-        
-        ResponseEntity<MPAuthResponse> authResponseEntity = 
-                new ResponseEntity<>(invalidAuthResponse, HttpStatus.OK);
+    @Test
+    void shouldThrowExceptionWhenTokenRefreshFails() {
 
-        when(restTemplate.postForEntity(anyString(), any(MPAuthRequest.class), eq(MPAuthResponse.class)))
-                .thenReturn(authResponseEntity);
+        when(tokenManager.getAccessToken())
+                .thenThrow(new MercadoPagoIntegrationException("Error trying to get auth token from Mercado Pago."));
         assertThrows(MercadoPagoIntegrationException.class, () -> {
             mercadoPagoGatewayRepository.getPaymentConfirmation("mp-payment-123");
         });
     }
 }
-
@@ -0,0 +1,129 @@
+package com.lanchonete.payment.adapter.driven.rest.mercadopago;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.lanchonete.payment.core.domain.exceptions.MercadoPagoIntegrationException;
+import com.lanchonete.payment.core.domain.exceptions.MercadoPagoUnavailableException;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class MercadoPagoResilienceTest {
+
+    private static final String OPERATION = "mercadopago-get-confirmation";
+
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private MercadoPagoResilience resilience;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .slidingWindowSize(4)
+            .minimumNumberOfCalls(4)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofMinutes(1))
+            .recordException(new MercadoPagoFailurePredicate())
+            .build());
+        final BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+        resilience = new MercadoPagoResilience(circuitBreakerRegistry, bulkheadRegistry);
+    }
+
+    @Test
+    void shouldFailFastOnceTheCircuitOpens() {
+        final AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            assertThrows(MercadoPagoIntegrationException.class, () -> resilience.execute(OPERATION, () -> {
+                calls.incrementAndGet();
+                throw new MercadoPagoIntegrationException("timeout", new ResourceAccessException("Read timed out"));
+            }));
+        }
+
+        final MercadoPagoUnavailableException rejected = assertThrows(MercadoPagoUnavailableException.class,
+            () -> resilience.execute(OPERATION, () -> calls.incrementAndGet()));
+
+        assertEquals(4, calls.get());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakerRegistry.circuitBreaker(OPERATION).getState());
+        assertNotNull(rejected.getCause());
+    }
+
+    @Test
+    void shouldNotOpenTheCircuitOnClientErrors() {
+        for (int i = 0; i < 6; i++) {
+            assertThrows(MercadoPagoIntegrationException.class, () -> resilience.execute(OPERATION, () -> {
+                throw new MercadoPagoIntegrationException("not found", new HttpClientErrorException(HttpStatus.NOT_FOUND));
+            }));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreakerRegistry.circuitBreaker(OPERATION).getState());
+        assertEquals("ok", resilience.execute(OPERATION, () -> "ok"));
+    }
+
+    @Test
+    void shouldRecordRateLimitingAsFailure() {
+        final MercadoPagoFailurePredicate predicate = new MercadoPagoFailurePredicate();
+
+        assertTrue(predicate.test(new MercadoPagoIntegrationException("throttled",
+            new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS))));
+        assertFalse(predicate.test(new HttpClientErrorException(HttpStatus.BAD_REQUEST)));
+    }
+
+    @Test
+    void shouldShedCallsBeyondTheBulkhead() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Thread inFlight = Thread.ofVirtual().start(() -> resilience.execute(OPERATION, () -> {
+            started.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(MercadoPagoUnavailableException.class, () -> resilience.execute(OPERATION, () -> "second"));
+
+        release.countDown();
+        inFlight.join(5_000);
+        assertEquals("third", resilience.execute(OPERATION, () -> "third"));
+    }
+
+    @Test
+    void shouldFailFastReactiveCallsWhileOpen() {
+        circuitBreakerRegistry.circuitBreaker(OPERATION).transitionToOpenState();
+        final AtomicInteger subscriptions = new AtomicInteger();
+
+        StepVerifier.create(resilience.execute(OPERATION, Mono.fromCallable(subscriptions::incrementAndGet)))
+            .expectError(MercadoPagoUnavailableException.class)
+            .verify();
+
+        assertEquals(0, subscriptions.get());
+    }
+
+    @Test
+    void shouldPassThroughReactiveResults() {
+        StepVerifier.create(resilience.execute(OPERATION, Mono.just("ok")))
+            .expectNext("ok")
+            .verifyComplete();
+    }
+}
@@ -0,0 +1,72 @@
+package com.lanchonete.payment.adapter.driven.rest.mercadopago;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.lanchonete.payment.adapter.driven.rest.response.MPAuthResponse;
+import com.lanchonete.payment.adapter.driven.rest.response.MPQrCodePaymentResponse;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class MercadoPagoResponseDecoderTest {
+
+    private static final ResolvableType QR_CODE_PAYMENT = ResolvableType.forClass(MPQrCodePaymentResponse.class);
+
+    private final MercadoPagoResponseDecoder decoder = new MercadoPagoResponseDecoder(
+        new MercadoPagoResponseReader(Jackson2ObjectMapperBuilder.json().build()));
+
+    @Test
+    void shouldDecodeOrderSplitAcrossBuffers() throws Exception {
+        final byte[] order;
+        try (InputStream resource = getClass().getResourceAsStream("/mercadopago/order-created.json")) {
+            order = resource.readAllBytes();
+        }
+        final int half = order.length / 2;
+
+        StepVerifier.create(decoder.decodeToMono(Flux.just(buffer(Arrays.copyOfRange(order, 0, half)),
+                    buffer(Arrays.copyOfRange(order, half, order.length))), QR_CODE_PAYMENT, MediaType.APPLICATION_JSON, null))
+            .assertNext(response -> {
+                final MPQrCodePaymentResponse qrCodePayment = (MPQrCodePaymentResponse) response;
+                assertEquals("ORD01JQ4S4KY8HWQ6NA5PXB65B3D3", qrCodePayment.getId());
+                assertNotNull(qrCodePayment.getTypeResponse().getQrData());
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    void shouldCompleteEmptyForNullBody() {
+        StepVerifier.create(decoder.decodeToMono(Flux.just(buffer("null".getBytes(StandardCharsets.UTF_8))), QR_CODE_PAYMENT,
+                MediaType.APPLICATION_JSON, null))
+            .verifyComplete();
+    }
+
+    @Test
+    void shouldFailWithDecodingExceptionOnMalformedBody() {
+        StepVerifier.create(decoder.decodeToMono(Flux.just(buffer("{\"id\":".getBytes(StandardCharsets.UTF_8))), QR_CODE_PAYMENT,
+                MediaType.APPLICATION_JSON, null))
+            .verifyError(DecodingException.class);
+    }
+
+    @Test
+    void shouldOnlyDecodeOrderResponsesAsJson() {
+        assertTrue(decoder.canDecode(QR_CODE_PAYMENT, MediaType.APPLICATION_JSON));
+        assertFalse(decoder.canDecode(QR_CODE_PAYMENT, MediaType.TEXT_HTML));
+        assertFalse(decoder.canDecode(ResolvableType.forClass(MPAuthResponse.class), MediaType.APPLICATION_JSON));
+    }
+
+    private static DataBuffer buffer(final byte[] bytes) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(bytes);
+    }
+}
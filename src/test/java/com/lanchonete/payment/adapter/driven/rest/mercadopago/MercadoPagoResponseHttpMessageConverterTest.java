@@ -0,0 +1,71 @@
+package com.lanchonete.payment.adapter.driven.rest.mercadopago;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.lanchonete.payment.adapter.driven.rest.response.MPAuthResponse;
+import com.lanchonete.payment.adapter.driven.rest.response.MPPaymentConfirmationResponse;
+import com.lanchonete.payment.adapter.driven.rest.response.MPQrCodePaymentResponse;
+
+class MercadoPagoResponseHttpMessageConverterTest {
+
+    private static final String ORDER_URL = "https://api.mercadopago.com/v1/orders/ORD01JQ4S4KY8HWQ6NA5PXB65B3D3";
+
+    private RestTemplate restTemplate;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = new RestTemplate();
+        restTemplate.getMessageConverters().add(0, new MercadoPagoResponseHttpMessageConverter(
+            new MercadoPagoResponseReader(Jackson2ObjectMapperBuilder.json().build())));
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+    }
+
+    @Test
+    void shouldReadOrderResponsesThroughRestTemplate() {
+        server.expect(requestTo(ORDER_URL)).andExpect(method(HttpMethod.GET))
+            .andRespond(withSuccess(new ClassPathResource("mercadopago/order-processed.json"), MediaType.APPLICATION_JSON));
+        server.expect(requestTo("https://api.mercadopago.com/v1/orders")).andExpect(method(HttpMethod.POST))
+            .andRespond(withSuccess(new ClassPathResource("mercadopago/order-created.json"), MediaType.APPLICATION_JSON));
+
+        final MPPaymentConfirmationResponse confirmation = restTemplate.getForObject(ORDER_URL, MPPaymentConfirmationResponse.class);
+        final MPQrCodePaymentResponse qrCodePayment = restTemplate.postForObject("https://api.mercadopago.com/v1/orders",
+            "{}", MPQrCodePaymentResponse.class);
+
+        assertEquals("processed", confirmation.getStatus());
+        assertEquals(57.90, confirmation.getTotalAmount());
+        assertNotNull(qrCodePayment.getTypeResponse().getQrData());
+        server.verify();
+    }
+
+    @Test
+    void shouldLeaveOtherResponsesToJackson() {
+        server.expect(requestTo("https://api.mercadopago.com/oauth/token"))
+            .andRespond(withSuccess("{\"access_token\":\"token\",\"expires_in\":21600,\"scope\":\"offline_access\"}",
+                MediaType.APPLICATION_JSON));
+
+        final MPAuthResponse auth = restTemplate.getForObject("https://api.mercadopago.com/oauth/token", MPAuthResponse.class);
+
+        assertEquals("token", auth.getAccessToken());
+    }
+
+    @Test
+    void shouldFailOnMalformedOrderResponse() {
+        server.expect(requestTo(ORDER_URL))
+            .andRespond(withSuccess("{\"id\":\"ORD1\",\"total_amount\":\"abc\"}", MediaType.APPLICATION_JSON));
+
+        assertThrows(RestClientException.class, () -> restTemplate.getForObject(ORDER_URL, MPPaymentConfirmationResponse.class));
+    }
+}
@@ -0,0 +1,97 @@
+package com.lanchonete.payment.adapter.driven.rest.mercadopago;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lanchonete.payment.adapter.driven.rest.response.MPAuthResponse;
+import com.lanchonete.payment.adapter.driven.rest.response.MPPaymentConfirmationResponse;
+import com.lanchonete.payment.adapter.driven.rest.response.MPQrCodePaymentResponse;
+
+class MercadoPagoResponseReaderTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final MercadoPagoResponseReader reader = new MercadoPagoResponseReader(objectMapper);
+
+    @Test
+    void shouldReadQrCodePaymentFromCreatedOrder() throws Exception {
+        final MPQrCodePaymentResponse response = (MPQrCodePaymentResponse) reader.read(MPQrCodePaymentResponse.class,
+            resource("order-created.json"));
+
+        assertEquals("ORD01JQ4S4KY8HWQ6NA5PXB65B3D3", response.getId());
+        assertEquals("created", response.getStatus());
+        assertEquals("12345", response.getExternalReference());
+        assertTrue(response.getTypeResponse().getQrData().startsWith("00020101021243650016COM.MERCADOLIBRE"));
+    }
+
+    @Test
+    void shouldReadPaymentConfirmationFromProcessedOrder() throws Exception {
+        final MPPaymentConfirmationResponse response = (MPPaymentConfirmationResponse) reader.read(
+            MPPaymentConfirmationResponse.class, resource("order-processed.json"));
+
+        assertEquals("ORD01JQ4S4KY8HWQ6NA5PXB65B3D3", response.getId());
+        assertEquals("processed", response.getStatus());
+        assertEquals(57.90, response.getTotalAmount());
+    }
+
+    @Test
+    void shouldMatchJacksonDatabinding() throws Exception {
+        for (String order : new String[] { "order-created.json", "order-processed.json" }) {
+            assertEquals(objectMapper.readValue(resource(order), MPQrCodePaymentResponse.class),
+                reader.read(MPQrCodePaymentResponse.class, resource(order)));
+            assertEquals(objectMapper.readValue(resource(order), MPPaymentConfirmationResponse.class),
+                reader.read(MPPaymentConfirmationResponse.class, resource(order)));
+        }
+    }
+
+    @Test
+    void shouldReadNumericIdsAmountsAndNulls() throws Exception {
+        final MPPaymentConfirmationResponse confirmation = (MPPaymentConfirmationResponse) reader.read(
+            MPPaymentConfirmationResponse.class, json("{\"id\":123,\"status\":null,\"total_amount\":57.9,\"extra\":[1,{\"a\":[]}]}"));
+        final MPQrCodePaymentResponse qrCodePayment = (MPQrCodePaymentResponse) reader.read(MPQrCodePaymentResponse.class,
+            json("{\"type_response\":null,\"id\":\"ORD1\"}"));
+
+        assertEquals("123", confirmation.getId());
+        assertNull(confirmation.getStatus());
+        assertEquals(57.9, confirmation.getTotalAmount());
+        assertEquals("ORD1", qrCodePayment.getId());
+        assertNull(qrCodePayment.getTypeResponse());
+    }
+
+    @Test
+    void shouldReturnNullForNullOrEmptyBody() throws Exception {
+        assertNull(reader.read(MPPaymentConfirmationResponse.class, json("null")));
+        assertNull(reader.read(MPPaymentConfirmationResponse.class, json("")));
+    }
+
+    @Test
+    void shouldRejectMalformedBody() {
+        assertThrows(JsonParseException.class, () -> reader.read(MPPaymentConfirmationResponse.class, json("[]")));
+        assertThrows(JsonParseException.class,
+            () -> reader.read(MPPaymentConfirmationResponse.class, json("{\"total_amount\":{\"value\":1}}")));
+        assertThrows(IOException.class, () -> reader.read(MPQrCodePaymentResponse.class, json("{\"id\":\"ORD1\"")));
+    }
+
+    @Test
+    void shouldOnlySupportOrderResponses() {
+        assertTrue(reader.supports(MPQrCodePaymentResponse.class));
+        assertTrue(reader.supports(MPPaymentConfirmationResponse.class));
+        assertFalse(reader.supports(MPAuthResponse.class));
+    }
+
+    private static InputStream resource(final String name) {
+        return MercadoPagoResponseReaderTest.class.getResourceAsStream("/mercadopago/" + name);
+    }
+
+    private static InputStream json(final String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,190 @@
+package com.lanchonete.payment.adapter.driven.rest.mercadopago;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.lanchonete.payment.adapter.driven.rest.mercadopago.MercadoPagoTokenManager.TokenSnapshot;
+import com.lanchonete.payment.adapter.driven.rest.request.MPAuthRequest;
+import com.lanchonete.payment.adapter.driven.rest.response.MPAuthResponse;
+import com.lanchonete.payment.core.application.config.PaymentMetrics;
+import com.lanchonete.payment.core.domain.exceptions.MercadoPagoIntegrationException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class MercadoPagoTokenManagerTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private MercadoPagoTokenManager tokenManager;
+    private SimpleMeterRegistry meterRegistry;
+
+    private MPAuthResponse mpAuthResponse;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tokenManager = new MercadoPagoTokenManager(restTemplate, new PaymentMetrics(meterRegistry));
+        ReflectionTestUtils.setField(tokenManager, "clientId", "test-client-id");
+        ReflectionTestUtils.setField(tokenManager, "secretId", "test-secret-id");
+        ReflectionTestUtils.setField(tokenManager, "mpUrl", "https://api.mercadopago.com");
+        ReflectionTestUtils.setField(tokenManager, "authPath", "/oauth/token");
+        ReflectionTestUtils.setField(tokenManager, "refreshAheadSeconds", 60L);
+        ReflectionTestUtils.setField(tokenManager, "retryDelaySeconds", 10L);
+
+        mpAuthResponse = new MPAuthResponse();
+        mpAuthResponse.setAccessToken("test-access-token");
+        mpAuthResponse.setExpiresIn(3600L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tokenManager.shutdown();
+    }
+
+    @Test
+    void shouldFetchTokenOnFirstAccessAndReuseIt() {
+        when(restTemplate.postForEntity(anyString(), any(MPAuthRequest.class), eq(MPAuthResponse.class)))
+                .thenReturn(new ResponseEntity<>(mpAuthResponse, HttpStatus.OK));
+
+        assertEquals("test-access-token", tokenManager.getAccessToken());
+        assertEquals("test-access-token", tokenManager.getAccessToken());
+
+        verify(restTemplate, times(1)).postForEntity(anyString(), any(MPAuthRequest.class), eq(MPAuthResponse.class));
+        assertEquals(1, tokenRefreshes("on-demand", "success"));
+        assertEquals(1, meterRegistry.get(PaymentMetrics.DOWNSTREAM_REQUESTS)
+                .tags("target", "mercadopago", "operation", "token", "outcome", "SUCCESS")
+                .timer().count());
+    }
+
+    @Test
+    void shouldRefreshTokenWhenTokenIsExpired() {
+        ReflectionTestUtils.setField(tokenManager, "snapshot",
+                new TokenSnapshot("old-token", Instant.now().minus(Duration.ofMinutes(10))));
+        when(restTemplate.postForEntity(anyString(), any(MPAuthRequest.class), eq(MPAuthResponse.class)))
+                .thenReturn(new ResponseEntity<>(mpAuthResponse, HttpStatus.OK));
+
+        assertEquals("test-access-token", tokenManager.getAccessToken());
+
+        verify(restTemplate, times(1)).postForEntity(anyString(), any(MPAuthRequest.class), eq(MPAuthResponse.class));
+    }
+
+    @Test
+    void shouldRefreshTokenInsideSkewWindow() {
+        ReflectionTestUtils.setField(tokenManager, "snapshot",
+                new TokenSnapshot("old-token", Instant.now().plus(Duration.ofMinutes(4))));
+        when(restTemplate.postForEntity(anyString(), any(MPAuthRequest.class), eq(MPAuthResponse.class)))
+                .thenReturn(new ResponseEntity<>(mpAuthResponse, HttpStatus.OK));
+
+        assertEquals("test-access-token", tokenManager.getAccessToken());
+    }
+
+    @Test
+    void shouldCollapseConcurrentRefreshesIntoSingleCall() throws Exception {
+        when(restTemplate.postForEntity(anyString(), any(MPAuthRequest.class), eq(MPAuthResponse.class)))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(200);
+                    return new ResponseEntity<>(mpAuthResponse, HttpStatus.OK);
+                });
+
+        final int threads = 16;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<String>> tokens = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            tokens.add(executor.submit(() -> {
+                start.await();
+                return tokenManager.getAccessToken();
+            }));
+        }
+        start.countDown();
+
+        for (Future<String> token : tokens) {
+            assertEquals("test-access-token", token.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        verify(restTemplate, times(1)).postForEntity(anyString(), any(MPAuthRequest.class), eq(MPAuthResponse.class));
+    }
+
+    @Test
+    void shouldScheduleBackgroundRefreshBeforeSkewWindow() {
+        when(restTemplate.postForEntity(anyString(), any(MPAuthRequest.class), eq(MPAuthResponse.class)))
+                .thenReturn(new ResponseEntity<>(mpAuthResponse, HttpStatus.OK));
+
+        tokenManager.getAccessToken();
+
+        assertNotNull(ReflectionTestUtils.getField(tokenManager, "scheduledRefresh"));
+    }
+
+    @Test
+    void shouldReplaceTokenOnForcedRefresh() {
+        ReflectionTestUtils.setField(tokenManager, "snapshot",
+                new TokenSnapshot("old-token", Instant.now().plus(Duration.ofHours(1))));
+        when(restTemplate.postForEntity(anyString(), any(MPAuthRequest.class), eq(MPAuthResponse.class)))
+                .thenReturn(new ResponseEntity<>(mpAuthResponse, HttpStatus.OK));
+
+        tokenManager.refresh(true);
+
+        assertEquals("test-access-token", tokenManager.getAccessToken());
+        assertEquals(1, tokenRefreshes("background", "success"));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenTokenRefreshFails() {
+        when(restTemplate.postForEntity(anyString(), any(MPAuthRequest.class), eq(MPAuthResponse.class)))
+                .thenThrow(new RestClientException("Auth error"));
+
+        assertThrows(MercadoPagoIntegrationException.class, () -> tokenManager.getAccessToken());
+        assertEquals(1, tokenRefreshes("on-demand", "failure"));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenAuthResponseIsNull() {
+        when(restTemplate.postForEntity(anyString(), any(MPAuthRequest.class), eq(MPAuthResponse.class)))
+                .thenReturn(new ResponseEntity<>(null, HttpStatus.OK));
+
+        assertThrows(MercadoPagoIntegrationException.class, () -> tokenManager.getAccessToken());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenAccessTokenIsNull() {
+        MPAuthResponse invalidAuthResponse = new MPAuthResponse();
+        invalidAuthResponse.setAccessToken(null);
+        invalidAuthResponse.setExpiresIn(3600L);
+        when(restTemplate.postForEntity(anyString(), any(MPAuthRequest.class), eq(MPAuthResponse.class)))
+                .thenReturn(new ResponseEntity<>(invalidAuthResponse, HttpStatus.OK));
+
+        assertThrows(MercadoPagoIntegrationException.class, () -> tokenManager.getAccessToken());
+    }
+
+    private double tokenRefreshes(String trigger, String outcome) {
+        return meterRegistry.get(PaymentMetrics.TOKEN_REFRESHES)
+                .tags("trigger", trigger, "outcome", outcome)
+                .counter().count();
+    }
+}
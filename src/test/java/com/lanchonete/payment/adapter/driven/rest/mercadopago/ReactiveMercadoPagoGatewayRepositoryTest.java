@@ -0,0 +1,160 @@
+package com.lanchonete.payment.adapter.driven.rest.mercadopago;
+
+import static com.lanchonete.payment.core.application.config.Constants.REQUEST_TRACE_ID;
+import static com.lanchonete.payment.core.application.config.Constants.X_IDEMPOTENCY_KEY;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.lanchonete.payment.core.application.config.PaymentMetrics;
+import com.lanchonete.payment.core.domain.exceptions.MercadoPagoIntegrationException;
+import com.lanchonete.payment.mocks.DownstreamRetryMock;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveMercadoPagoGatewayRepositoryTest {
+
+    @Mock
+    private MercadoPagoTokenManager tokenManager;
+
+    private final List<ClientRequest> requests = new ArrayList<>();
+    private ClientResponse nextResponse;
+    private ReactiveMercadoPagoGatewayRepository mercadoPagoGatewayRepository;
+
+    @BeforeEach
+    void setUp() {
+        final WebClient webClient = WebClient.builder()
+            .exchangeFunction(request -> {
+                requests.add(request);
+                return Mono.just(nextResponse);
+            })
+            .build();
+        final PaymentMetrics paymentMetrics = new PaymentMetrics(new SimpleMeterRegistry());
+        mercadoPagoGatewayRepository = new ReactiveMercadoPagoGatewayRepository(webClient, tokenManager, paymentMetrics,
+            new MercadoPagoResilience(CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults()),
+            DownstreamRetryMock.createDownstreamRetry(paymentMetrics));
+        ReflectionTestUtils.setField(mercadoPagoGatewayRepository, "mpUrl", "https://api.mercadopago.com");
+        ReflectionTestUtils.setField(mercadoPagoGatewayRepository, "ordersPath", "/instore/orders");
+        ReflectionTestUtils.setField(mercadoPagoGatewayRepository, "externalPosId", "pos-123");
+        ReflectionTestUtils.setField(mercadoPagoGatewayRepository, "qrExpiry", Duration.ofMinutes(30));
+    }
+
+    @Test
+    void shouldGetPaymentConfirmationWithCachedToken() {
+        when(tokenManager.currentAccessToken()).thenReturn(Optional.of("test-access-token"));
+        nextResponse = jsonResponse("{\"id\":\"mp-payment-123\",\"status\":\"approved\",\"total_amount\":50.0}");
+
+        StepVerifier.create(mercadoPagoGatewayRepository.getPaymentConfirmation("mp-payment-123"))
+            .assertNext(response -> {
+                assertEquals("mp-payment-123", response.getId());
+                assertEquals("approved", response.getStatus());
+                assertEquals(50.0, response.getTotalAmount());
+            })
+            .verifyComplete();
+
+        final ClientRequest request = requests.get(0);
+        assertEquals(HttpMethod.GET, request.method());
+        assertEquals("https://api.mercadopago.com/instore/orders/mp-payment-123", request.url().toString());
+        assertEquals("Bearer test-access-token", request.headers().getFirst(HttpHeaders.AUTHORIZATION));
+        verify(tokenManager, never()).getAccessToken();
+    }
+
+    @Test
+    void shouldFetchTokenWhenNoneIsCached() {
+        when(tokenManager.currentAccessToken()).thenReturn(Optional.empty());
+        when(tokenManager.getAccessToken()).thenReturn("fresh-token");
+        nextResponse = jsonResponse("{\"id\":\"mp-payment-123\",\"status\":\"approved\"}");
+
+        StepVerifier.create(mercadoPagoGatewayRepository.getPaymentConfirmation("mp-payment-123"))
+            .expectNextCount(1)
+            .verifyComplete();
+
+        assertEquals("Bearer fresh-token", requests.get(0).headers().getFirst(HttpHeaders.AUTHORIZATION));
+    }
+
+    @Test
+    void shouldWrapErrorWhenGettingPaymentConfirmation() {
+        when(tokenManager.currentAccessToken()).thenReturn(Optional.of("test-access-token"));
+        nextResponse = ClientResponse.create(HttpStatus.BAD_GATEWAY).build();
+
+        StepVerifier.create(mercadoPagoGatewayRepository.getPaymentConfirmation("mp-payment-123"))
+            .expectError(MercadoPagoIntegrationException.class)
+            .verify();
+    }
+
+    @Test
+    void shouldCreateQrCodeWithIdempotencyKeyDerivedFromOrderAndPreviousPayment() {
+        when(tokenManager.currentAccessToken()).thenReturn(Optional.of("test-access-token"));
+        nextResponse = jsonResponse("{\"id\":\"mp-payment-123\",\"status\":\"pending\",\"external_reference\":\"1\","
+            + "\"type_response\":{\"qr_data\":\"00020126580014br.gov.bcb.pix\"}}");
+
+        StepVerifier.create(mercadoPagoGatewayRepository.createQrCodeForPayment(1L, new BigDecimal("50.00"), "mp-payment-rejected")
+                .contextWrite(Context.of(REQUEST_TRACE_ID, "trace-123")))
+            .assertNext(response -> assertEquals("mp-payment-123", response.getId()))
+            .verifyComplete();
+
+        final ClientRequest request = requests.get(0);
+        assertEquals(HttpMethod.POST, request.method());
+        assertEquals("https://api.mercadopago.com/instore/orders", request.url().toString());
+        assertEquals("qr-order-1-50-after-mp-payment-rejected", request.headers().getFirst(X_IDEMPOTENCY_KEY));
+    }
+
+    @Test
+    void shouldWrapErrorWhenCreatingQrCode() {
+        when(tokenManager.currentAccessToken()).thenReturn(Optional.of("test-access-token"));
+        nextResponse = ClientResponse.create(HttpStatus.BAD_REQUEST).build();
+
+        StepVerifier.create(mercadoPagoGatewayRepository.createQrCodeForPayment(1L, new BigDecimal("50.00"), null))
+            .expectError(MercadoPagoIntegrationException.class)
+            .verify();
+
+        assertEquals("qr-order-1-50", requests.get(0).headers().getFirst(X_IDEMPOTENCY_KEY));
+    }
+
+    @Test
+    void shouldGetQrCodePayment() {
+        when(tokenManager.currentAccessToken()).thenReturn(Optional.of("test-access-token"));
+        nextResponse = jsonResponse("{\"id\":\"mp-payment-123\",\"status\":\"action_required\","
+            + "\"type_response\":{\"qr_data\":\"00020126580014br.gov.bcb.pix\"}}");
+
+        StepVerifier.create(mercadoPagoGatewayRepository.getQrCodePayment("mp-payment-123"))
+            .assertNext(response -> assertEquals("00020126580014br.gov.bcb.pix", response.getTypeResponse().getQrData()))
+            .verifyComplete();
+
+        assertEquals(HttpMethod.GET, requests.get(0).method());
+        assertEquals("https://api.mercadopago.com/instore/orders/mp-payment-123", requests.get(0).url().toString());
+    }
+
+    private ClientResponse jsonResponse(final String body) {
+        return ClientResponse.create(HttpStatus.OK)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .body(body)
+            .build();
+    }
+}
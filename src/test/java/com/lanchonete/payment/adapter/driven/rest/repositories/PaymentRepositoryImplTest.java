@@ -76,24 +76,24 @@ class PaymentRepositoryImplTest {
 
     @Test
     void shouldGetPaymentDataSuccessfully() {
-        when(mercadoPagoGateway.createQrCodeForPayment(anyLong(), any())).thenReturn(mpQrCodePaymentResponse);
+        when(mercadoPagoGateway.createQrCodeForPayment(anyLong(), any(), isNull())).thenReturn(mpQrCodePaymentResponse);
 
-        PaymentData result = paymentRepository.getPaymentData(orderId, totalPrice);
+        PaymentData result = paymentRepository.getPaymentData(orderId, totalPrice, null);
 
         assertNotNull(result);
         assertEquals("mp-payment-123", result.getPaymentId());
         assertEquals("00020126580014br.gov.bcb.pix", result.getQrCode());
-        verify(mercadoPagoGateway, times(1)).createQrCodeForPayment(orderId, totalPrice);
+        verify(mercadoPagoGateway, times(1)).createQrCodeForPayment(orderId, totalPrice, null);
     }
 
     @Test
     void shouldReturnNullWhenPaymentDataNotFound() {
-        when(mercadoPagoGateway.createQrCodeForPayment(anyLong(), any())).thenReturn(null);
+        when(mercadoPagoGateway.createQrCodeForPayment(anyLong(), any(), isNull())).thenReturn(null);
 
-        PaymentData result = paymentRepository.getPaymentData(orderId, totalPrice);
+        PaymentData result = paymentRepository.getPaymentData(orderId, totalPrice, null);
 
         assertNull(result);
-        verify(mercadoPagoGateway, times(1)).createQrCodeForPayment(orderId, totalPrice);
+        verify(mercadoPagoGateway, times(1)).createQrCodeForPayment(orderId, totalPrice, null);
     }
 
     @Test
@@ -104,15 +104,32 @@ class PaymentRepositoryImplTest {
                 .externalReference("2")
                 .typeResponse(null)
                 .build();
-        when(mercadoPagoGateway.createQrCodeForPayment(anyLong(), any())).thenReturn(responseWithNullQr);
+        when(mercadoPagoGateway.createQrCodeForPayment(anyLong(), any(), isNull())).thenReturn(responseWithNullQr);
 
-        PaymentData result = paymentRepository.getPaymentData(orderId, totalPrice);
+        PaymentData result = paymentRepository.getPaymentData(orderId, totalPrice, null);
 
         assertNotNull(result);
         assertEquals("mp-payment-456", result.getPaymentId());
         assertNull(result.getQrCode());
-        verify(mercadoPagoGateway, times(1)).createQrCodeForPayment(orderId, totalPrice);
+        verify(mercadoPagoGateway, times(1)).createQrCodeForPayment(orderId, totalPrice, null);
     }
-}
 
+    @Test
+    void shouldGetOpenPaymentDataWhilePaymentCanBePaid() {
+        mpQrCodePaymentResponse.setStatus("action_required");
+        when(mercadoPagoGateway.getQrCodePayment("mp-payment-123")).thenReturn(mpQrCodePaymentResponse);
+
+        PaymentData result = paymentRepository.getOpenPaymentData("mp-payment-123");
 
+        assertEquals("mp-payment-123", result.getPaymentId());
+        assertEquals("00020126580014br.gov.bcb.pix", result.getQrCode());
+    }
+
+    @Test
+    void shouldReturnNullOpenPaymentDataOnceResolved() {
+        mpQrCodePaymentResponse.setStatus("expired");
+        when(mercadoPagoGateway.getQrCodePayment("mp-payment-123")).thenReturn(mpQrCodePaymentResponse);
+
+        assertNull(paymentRepository.getOpenPaymentData("mp-payment-123"));
+    }
+}
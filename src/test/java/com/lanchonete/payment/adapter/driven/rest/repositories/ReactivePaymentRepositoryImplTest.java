@@ -0,0 +1,86 @@
+package com.lanchonete.payment.adapter.driven.rest.repositories;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.lanchonete.payment.adapter.driven.rest.mercadopago.ReactiveMercadoPagoGatewayRepository;
+import com.lanchonete.payment.adapter.driven.rest.response.MPPaymentConfirmationResponse;
+import com.lanchonete.payment.adapter.driven.rest.response.MPQrCodePaymentResponse;
+
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class ReactivePaymentRepositoryImplTest {
+
+    @Mock
+    private ReactiveMercadoPagoGatewayRepository mercadoPagoGateway;
+
+    @InjectMocks
+    private ReactivePaymentRepositoryImpl paymentRepository;
+
+    @Test
+    void shouldMapPaymentConfirmation() {
+        final MPPaymentConfirmationResponse response = new MPPaymentConfirmationResponse();
+        response.setId("mp-payment-123");
+        response.setStatus("approved");
+        response.setTotalAmount(50.0);
+        when(mercadoPagoGateway.getPaymentConfirmation("mp-payment-123")).thenReturn(Mono.just(response));
+
+        StepVerifier.create(paymentRepository.getPaymentStatus("mp-payment-123"))
+            .assertNext(payment -> {
+                assertEquals("mp-payment-123", payment.getId());
+                assertEquals("approved", payment.getStatus());
+                assertEquals(50.0, payment.getTotalAmount());
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    void shouldMapPaymentData() {
+        final MPQrCodePaymentResponse response = MPQrCodePaymentResponse.builder()
+            .id("mp-payment-123")
+            .typeResponse(MPQrCodePaymentResponse.TypeResponse.builder().qrData("00020126580014br.gov.bcb.pix").build())
+            .build();
+        when(mercadoPagoGateway.createQrCodeForPayment(1L, new BigDecimal("50.00"), null)).thenReturn(Mono.just(response));
+
+        StepVerifier.create(paymentRepository.getPaymentData(1L, new BigDecimal("50.00"), null))
+            .assertNext(paymentData -> {
+                assertEquals("mp-payment-123", paymentData.getPaymentId());
+                assertEquals("00020126580014br.gov.bcb.pix", paymentData.getQrCode());
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    void shouldReturnOpenPaymentDataOnlyWhilePaymentCanBePaid() {
+        final MPQrCodePaymentResponse.TypeResponse typeResponse = MPQrCodePaymentResponse.TypeResponse.builder()
+            .qrData("00020126580014br.gov.bcb.pix").build();
+        when(mercadoPagoGateway.getQrCodePayment("mp-payment-open")).thenReturn(Mono.just(MPQrCodePaymentResponse.builder()
+            .id("mp-payment-open").status("action_required").typeResponse(typeResponse).build()));
+        when(mercadoPagoGateway.getQrCodePayment("mp-payment-expired")).thenReturn(Mono.just(MPQrCodePaymentResponse.builder()
+            .id("mp-payment-expired").status("expired").typeResponse(typeResponse).build()));
+
+        StepVerifier.create(paymentRepository.getOpenPaymentData("mp-payment-open"))
+            .assertNext(paymentData -> assertEquals("00020126580014br.gov.bcb.pix", paymentData.getQrCode()))
+            .verifyComplete();
+        StepVerifier.create(paymentRepository.getOpenPaymentData("mp-payment-expired"))
+            .verifyComplete();
+    }
+
+    @Test
+    void shouldCompleteEmptyWhenGatewayReturnsNothing() {
+        when(mercadoPagoGateway.getPaymentConfirmation("mp-payment-123")).thenReturn(Mono.empty());
+
+        StepVerifier.create(paymentRepository.getPaymentStatus("mp-payment-123"))
+            .verifyComplete();
+    }
+}
@@ -0,0 +1,107 @@
+package com.lanchonete.payment.adapter.driven.tracing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.sdk.testing.trace.TestSpanData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+
+class FileSpanExporterTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    @TempDir
+    private Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Path file;
+    private FileSpanExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("traces/spans.jsonl");
+        exporter = new FileSpanExporter(objectMapper, file);
+    }
+
+    @AfterEach
+    void tearDown() {
+        exporter.shutdown();
+    }
+
+    @Test
+    void shouldWriteOneJsonLinePerSpan() throws Exception {
+        final SpanData server = span("00f067aa0ba902b7", SpanContext.getInvalid(), "http get /{orderId}/payment-status",
+            SpanKind.SERVER, 1_000_000_000L, 1_025_000_000L);
+        final SpanData client = span("b7ad6b7169203331", server.getSpanContext(), "http get", SpanKind.CLIENT,
+            1_002_000_000L, 1_014_500_000L);
+
+        assertTrue(exporter.export(List.of(client, server)).isSuccess());
+
+        final List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+
+        final JsonNode clientRecord = objectMapper.readTree(lines.get(0));
+        assertEquals(TRACE_ID, clientRecord.get("traceId").asText());
+        assertEquals("b7ad6b7169203331", clientRecord.get("spanId").asText());
+        assertEquals("00f067aa0ba902b7", clientRecord.get("parentSpanId").asText());
+        assertEquals("CLIENT", clientRecord.get("kind").asText());
+        assertEquals(12_500, clientRecord.get("durationMicros").asLong());
+        assertEquals("/production/orders/{orderId}", clientRecord.get("attributes").get("uri").asText());
+
+        final JsonNode serverRecord = objectMapper.readTree(lines.get(1));
+        assertFalse(serverRecord.has("parentSpanId"));
+        assertEquals(25_000, serverRecord.get("durationMicros").asLong());
+    }
+
+    @Test
+    void shouldAppendAcrossExporters() throws Exception {
+        exporter.export(List.of(span("00f067aa0ba902b7", SpanContext.getInvalid(), "first", SpanKind.SERVER, 0, 1_000)));
+        exporter.shutdown();
+
+        exporter = new FileSpanExporter(objectMapper, file);
+        exporter.export(List.of(span("b7ad6b7169203331", SpanContext.getInvalid(), "second", SpanKind.SERVER, 0, 1_000)));
+
+        assertEquals(2, Files.readAllLines(file).size());
+    }
+
+    @Test
+    void shouldRejectExportAfterShutdown() {
+        assertTrue(exporter.shutdown().isSuccess());
+
+        assertFalse(exporter.export(List.of(span("00f067aa0ba902b7", SpanContext.getInvalid(), "late", SpanKind.SERVER, 0, 1_000)))
+            .isSuccess());
+    }
+
+    private static SpanData span(final String spanId, final SpanContext parent, final String name, final SpanKind kind,
+            final long startNanos, final long endNanos) {
+        return TestSpanData.builder()
+            .setSpanContext(SpanContext.create(TRACE_ID, spanId, TraceFlags.getSampled(), TraceState.getDefault()))
+            .setParentSpanContext(parent)
+            .setName(name)
+            .setKind(kind)
+            .setStartEpochNanos(startNanos)
+            .setEndEpochNanos(endNanos)
+            .setHasEnded(true)
+            .setStatus(StatusData.unset())
+            .setAttributes(Attributes.of(AttributeKey.stringKey("uri"), "/production/orders/{orderId}"))
+            .build();
+    }
+}
@@ -0,0 +1,157 @@
+package com.lanchonete.payment.adapter.driven.tracing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.lanchonete.payment.PaymentServiceApplication;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+@AutoConfigureObservability
+@SpringBootTest(classes = { PaymentServiceApplication.class, TracingPropagationTest.InMemoryExporterConfig.class },
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "mercadopago.access.client=tracing-test-client",
+        "mercadopago.access.secret=tracing-test-secret",
+        "management.tracing.sampling.probability=1.0"
+    })
+class TracingPropagationTest {
+
+    private static final String ORDER_JSON = "{\"id\":42,\"customerCpf\":\"12345678900\",\"paymentId\":\"PAY-42\",\"paymentStatus\":\"%s\"}";
+
+    private static final Map<String, String> TRACEPARENTS = new ConcurrentHashMap<>();
+    private static final HttpServer DOWNSTREAM;
+
+    static {
+        try {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+            DOWNSTREAM = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        } catch (IOException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        DOWNSTREAM.createContext("/", TracingPropagationTest::handle);
+        DOWNSTREAM.start();
+    }
+
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @DynamicPropertySource
+    static void downstreamServices(final DynamicPropertyRegistry registry) {
+        final String baseUrl = "http://127.0.0.1:" + DOWNSTREAM.getAddress().getPort();
+        registry.add("production.service.url", () -> baseUrl);
+        registry.add("mercadopago.baseUrl", () -> baseUrl);
+    }
+
+    @AfterAll
+    static void stopDownstream() {
+        DOWNSTREAM.stop(0);
+    }
+
+    @Test
+    void shouldTraceStatusCheckAcrossEveryHop() throws Exception {
+        final HttpResponse<String> response = HttpClient.newHttpClient().send(
+            HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/42/payment-status")).GET().build(),
+            HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        assertTrue(tracerProvider.forceFlush().join(10, TimeUnit.SECONDS).isSuccess());
+
+        final List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        final SpanData serverSpan = spans.stream()
+            .filter(span -> span.getKind() == SpanKind.SERVER)
+            .filter(span -> "/{orderId}/payment-status".equals(span.getAttributes().get(AttributeKey.stringKey("uri"))))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("No server span in " + spans));
+        final String traceId = serverSpan.getTraceId();
+
+        final List<SpanData> clientSpans = spans.stream()
+            .filter(span -> span.getKind() == SpanKind.CLIENT)
+            .filter(span -> span.getTraceId().equals(traceId))
+            .toList();
+        assertEquals(4, clientSpans.size(), "token, order lookup, MP confirmation and status update: " + clientSpans);
+
+        for (String hop : List.of("GET /production/orders/42", "POST /oauth/token", "GET /v1/orders/PAY-42",
+                "PUT /production/orders/42/payment-status")) {
+            final String traceparent = TRACEPARENTS.get(hop);
+            assertNotNull(traceparent, "no traceparent sent on " + hop);
+
+            final String[] parts = traceparent.split("-");
+            assertEquals("00", parts[0]);
+            assertEquals(traceId, parts[1], "trace id propagated on " + hop);
+            assertTrue(clientSpans.stream().anyMatch(span -> span.getSpanId().equals(parts[2])),
+                "traceparent on " + hop + " does not point at a client span");
+        }
+    }
+
+    private static void handle(final HttpExchange exchange) throws IOException {
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            final String hop = exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath();
+            final String traceparent = exchange.getRequestHeaders().getFirst("traceparent");
+            if (traceparent != null) {
+                TRACEPARENTS.put(hop, traceparent);
+            }
+
+            switch (hop) {
+                case "GET /production/orders/42" -> respond(exchange, String.format(ORDER_JSON, "PENDING"));
+                case "PUT /production/orders/42/payment-status" -> respond(exchange, String.format(ORDER_JSON, "APPROVED"));
+                case "POST /oauth/token" -> respond(exchange, "{\"access_token\":\"tracing-token\",\"expires_in\":21600}");
+                case "GET /v1/orders/PAY-42" -> respond(exchange, "{\"id\":\"PAY-42\",\"status\":\"processed\",\"total_amount\":57.90}");
+                default -> exchange.sendResponseHeaders(404, -1);
+            }
+        }
+    }
+
+    private static void respond(final HttpExchange exchange, final String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+}
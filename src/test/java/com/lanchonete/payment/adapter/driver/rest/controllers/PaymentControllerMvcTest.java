@@ -7,7 +7,9 @@ import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -20,16 +22,23 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lanchonete.payment.adapter.driver.rest.requests.PaymentConfirmationRequest;
+import com.lanchonete.payment.adapter.driver.rest.security.InternalRequestGuard;
 import com.lanchonete.payment.core.application.dto.PaymentConfirmationDTO;
+import com.lanchonete.payment.core.application.usecases.AwaitPaymentStatusUseCase;
+import com.lanchonete.payment.core.application.usecases.BatchConsultPaymentStatusUseCase;
 import com.lanchonete.payment.core.application.usecases.ConsultPaymentStatusUseCase;
 import com.lanchonete.payment.core.application.usecases.GeneratePaymentQrCodeUseCase;
+import com.lanchonete.payment.core.application.usecases.PregeneratePaymentQrCodeUseCase;
 import com.lanchonete.payment.core.application.usecases.ProcessPaymentWebhookUseCase;
+import com.lanchonete.payment.core.application.usecases.RenderPaymentQrCodeUseCase;
 import com.lanchonete.payment.core.domain.exceptions.InvalidPaymentException;
 import com.lanchonete.payment.core.domain.exceptions.MercadoPagoIntegrationException;
 import com.lanchonete.payment.core.domain.exceptions.OrderNotFoundException;
@@ -38,6 +47,7 @@ import com.lanchonete.payment.core.domain.model.PaymentStatus;
 import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
 
 @WebMvcTest(PaymentController.class)
+@Import(InternalRequestGuard.class)
 @DisplayName("PaymentController MVC Tests")
 class PaymentControllerMvcTest {
 
@@ -56,6 +66,18 @@ class PaymentControllerMvcTest {
     @MockitoBean
     private GeneratePaymentQrCodeUseCase generatePaymentQrCodeUseCase;
 
+    @MockitoBean
+    private AwaitPaymentStatusUseCase awaitPaymentStatusUseCase;
+
+    @MockitoBean
+    private BatchConsultPaymentStatusUseCase batchConsultPaymentStatusUseCase;
+
+    @MockitoBean
+    private PregeneratePaymentQrCodeUseCase pregeneratePaymentQrCodeUseCase;
+
+    @MockitoBean
+    private RenderPaymentQrCodeUseCase renderPaymentQrCodeUseCase;
+
     private PaymentStatus paymentStatus;
     private PaymentConfirmationRequest paymentConfirmationRequest;
 
@@ -175,6 +197,55 @@ class PaymentControllerMvcTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /{orderId}/payment-status/await")
+    class AwaitPaymentStatusTests {
+
+        @Test
+        @DisplayName("Should return changed payment status asynchronously")
+        void shouldReturnChangedPaymentStatus() throws Exception {
+
+            when(awaitPaymentStatusUseCase.awaitPaymentStatus(1L, PaymentStatusEnum.PENDING, Duration.ofSeconds(10)))
+                    .thenReturn(CompletableFuture.completedFuture(paymentStatus));
+            final MvcResult result = mockMvc.perform(get("/1/payment-status/await")
+                    .param("knownStatus", "PENDING")
+                    .param("timeoutSeconds", "10")
+                    .header(REQUEST_TRACE_ID, "trace-123"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.orderId").value(1))
+                    .andExpect(jsonPath("$.paymentStatus").value("APPROVED"));
+        }
+
+        @Test
+        @DisplayName("Should default known status to PENDING and use server timeout")
+        void shouldUseDefaults() throws Exception {
+
+            when(awaitPaymentStatusUseCase.awaitPaymentStatus(1L, PaymentStatusEnum.PENDING, null))
+                    .thenReturn(CompletableFuture.completedFuture(paymentStatus));
+            final MvcResult result = mockMvc.perform(get("/1/payment-status/await"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk());
+            verify(awaitPaymentStatusUseCase, times(1)).awaitPaymentStatus(1L, PaymentStatusEnum.PENDING, null);
+        }
+
+        @Test
+        @DisplayName("Should return 404 when order not found")
+        void shouldReturn404WhenOrderNotFound() throws Exception {
+
+            when(awaitPaymentStatusUseCase.awaitPaymentStatus(anyLong(), any(), any()))
+                    .thenThrow(new OrderNotFoundException("Order with id 1 not found"));
+            mockMvc.perform(get("/1/payment-status/await"))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
     @Nested
     @DisplayName("POST /webhooks/payment-confirmation")
     class PostPaymentConfirmationWebhookTests {
@@ -1,32 +1,51 @@
 package com.lanchonete.payment.adapter.driver.rest.controllers;
 
+import static com.lanchonete.payment.core.application.config.Constants.X_INTERNAL_TOKEN;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lanchonete.payment.adapter.driver.rest.requests.PaymentConfirmationRequest;
 import com.lanchonete.payment.adapter.driver.rest.requests.PaymentDataRequest;
+import com.lanchonete.payment.adapter.driver.rest.security.InternalRequestGuard;
 import com.lanchonete.payment.core.application.dto.PaymentConfirmationDTO;
+import com.lanchonete.payment.core.application.usecases.AwaitPaymentStatusUseCase;
+import com.lanchonete.payment.core.application.usecases.BatchConsultPaymentStatusUseCase;
 import com.lanchonete.payment.core.application.usecases.ConsultPaymentStatusUseCase;
 import com.lanchonete.payment.core.application.usecases.GeneratePaymentQrCodeUseCase;
+import com.lanchonete.payment.core.application.usecases.PregeneratePaymentQrCodeUseCase;
 import com.lanchonete.payment.core.application.usecases.ProcessPaymentWebhookUseCase;
+import com.lanchonete.payment.core.application.usecases.RenderPaymentQrCodeUseCase;
+import com.lanchonete.payment.core.domain.exceptions.InvalidPaymentException;
 import com.lanchonete.payment.core.domain.exceptions.OrderNotFoundException;
+import com.lanchonete.payment.core.domain.exceptions.QrCodeNotFoundException;
 import com.lanchonete.payment.core.domain.model.PaymentData;
 import com.lanchonete.payment.core.domain.model.PaymentStatus;
+import com.lanchonete.payment.core.domain.model.QrCodeImage;
 import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+import com.lanchonete.payment.core.domain.model.enums.QrCodeImageFormat;
 
 @WebMvcTest(PaymentController.class)
+@Import(InternalRequestGuard.class)
+@TestPropertySource(properties = "payment.internal.token=internal-secret")
 class PaymentControllerTest {
 
     @Autowired
@@ -44,6 +63,18 @@ class PaymentControllerTest {
     @MockitoBean
     private GeneratePaymentQrCodeUseCase generatePaymentQrCodeUseCase;
 
+    @MockitoBean
+    private AwaitPaymentStatusUseCase awaitPaymentStatusUseCase;
+
+    @MockitoBean
+    private BatchConsultPaymentStatusUseCase batchConsultPaymentStatusUseCase;
+
+    @MockitoBean
+    private PregeneratePaymentQrCodeUseCase pregeneratePaymentQrCodeUseCase;
+
+    @MockitoBean
+    private RenderPaymentQrCodeUseCase renderPaymentQrCodeUseCase;
+
     private PaymentStatus paymentStatus;
     private PaymentConfirmationRequest paymentConfirmationRequest;
     private PaymentDataRequest paymentDataRequest;
@@ -98,6 +129,30 @@ class PaymentControllerTest {
         verify(consultPaymentStatusUseCase, times(1)).getPaymentStatus(999L);
     }
 
+    @Test
+    void shouldGetPaymentStatusesForSeveralOrders() throws Exception {
+
+        when(batchConsultPaymentStatusUseCase.getPaymentStatuses(List.of(1L, 2L, 3L))).thenReturn(List.of(
+                paymentStatus,
+                PaymentStatus.builder().orderId(2L).paymentStatus(PaymentStatusEnum.PENDING).build()));
+        mockMvc.perform(get("/payment-status").param("orderIds", "1,2,3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statuses.length()").value(2))
+                .andExpect(jsonPath("$.statuses[0].orderId").value(1))
+                .andExpect(jsonPath("$.statuses[0].paymentStatus").value("APPROVED"))
+                .andExpect(jsonPath("$.statuses[1].paymentStatus").value("PENDING"))
+                .andExpect(jsonPath("$.notFound[0]").value(3));
+    }
+
+    @Test
+    void shouldReturn400WhenBatchIsInvalid() throws Exception {
+
+        when(batchConsultPaymentStatusUseCase.getPaymentStatuses(anyList()))
+                .thenThrow(new InvalidPaymentException("Between 1 and 100 order ids must be informed"));
+        mockMvc.perform(get("/payment-status").param("orderIds", "1"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldProcessPaymentConfirmationWebhookSuccessfully() throws Exception {
 
@@ -136,5 +191,94 @@ class PaymentControllerTest {
 
         verify(generatePaymentQrCodeUseCase, times(1)).generatePaymentQrCode(any());
     }
-}
 
+    @Test
+    void shouldGetPaymentQrCodeImageWithCacheHeaders() throws Exception {
+
+        when(renderPaymentQrCodeUseCase.renderPaymentQrCode("mp-payment-123", QrCodeImageFormat.SVG)).thenReturn(qrCodeImage());
+        mockMvc.perform(get("/paymentData/mp-payment-123/qr-code").param("format", "SVG"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/svg+xml"))
+                .andExpect(content().bytes("<svg/>".getBytes(StandardCharsets.UTF_8)))
+                .andExpect(header().string("ETag", "\"5d41402abc4b2a76\""))
+                .andExpect(header().string("Cache-Control", "max-age=1800, private"));
+    }
+
+    @Test
+    void shouldReturn304WhenPaymentQrCodeImageIsNotModified() throws Exception {
+
+        when(renderPaymentQrCodeUseCase.renderPaymentQrCode("mp-payment-123", QrCodeImageFormat.PNG)).thenReturn(qrCodeImage());
+        mockMvc.perform(get("/paymentData/mp-payment-123/qr-code")
+                .header("If-None-Match", "\"5d41402abc4b2a76\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void shouldReturn404WhenPaymentQrCodeIsUnknown() throws Exception {
+
+        when(renderPaymentQrCodeUseCase.renderPaymentQrCode(any(), any()))
+                .thenThrow(new QrCodeNotFoundException("QR code for payment ID mp-payment-999 not found"));
+        mockMvc.perform(get("/paymentData/mp-payment-999/qr-code"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldReturn400WhenPaymentQrCodeFormatIsUnsupported() throws Exception {
+
+        mockMvc.perform(get("/paymentData/mp-payment-123/qr-code").param("format", "gif"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(renderPaymentQrCodeUseCase);
+    }
+
+    @Test
+    void shouldAcceptQrCodePregeneration() throws Exception {
+
+        when(pregeneratePaymentQrCodeUseCase.pregeneratePaymentQrCode(any())).thenReturn(true);
+        mockMvc.perform(post("/internal/paymentData")
+                .header(X_INTERNAL_TOKEN, "internal-secret")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(paymentDataRequest)))
+                .andExpect(status().isAccepted());
+
+        verify(pregeneratePaymentQrCodeUseCase, times(1)).pregeneratePaymentQrCode(any());
+    }
+
+    @Test
+    void shouldReturn503WhenQrCodePregenerationIsRejected() throws Exception {
+
+        when(pregeneratePaymentQrCodeUseCase.pregeneratePaymentQrCode(any())).thenReturn(false);
+        mockMvc.perform(post("/internal/paymentData")
+                .header(X_INTERNAL_TOKEN, "internal-secret")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(paymentDataRequest)))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void shouldRejectQrCodePregenerationWithoutInternalToken() throws Exception {
+
+        mockMvc.perform(post("/internal/paymentData")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(paymentDataRequest)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/internal/paymentData")
+                .header(X_INTERNAL_TOKEN, "wrong-secret")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(paymentDataRequest)))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(pregeneratePaymentQrCodeUseCase);
+    }
+
+    private static QrCodeImage qrCodeImage() {
+        return QrCodeImage.builder()
+                .paymentId("mp-payment-123")
+                .format(QrCodeImageFormat.SVG)
+                .content("<svg/>".getBytes(StandardCharsets.UTF_8))
+                .etag("5d41402abc4b2a76")
+                .maxAge(Duration.ofMinutes(30))
+                .build();
+    }
+}
@@ -0,0 +1,258 @@
+package com.lanchonete.payment.adapter.driver.rest.controllers;
+
+import static com.lanchonete.payment.core.application.config.Constants.REQUEST_TRACE_ID;
+import static com.lanchonete.payment.core.application.config.Constants.X_INTERNAL_TOKEN;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lanchonete.payment.adapter.driver.rest.requests.PaymentConfirmationRequest;
+import com.lanchonete.payment.adapter.driver.rest.requests.PaymentDataRequest;
+import com.lanchonete.payment.adapter.driver.rest.security.InternalRequestGuard;
+import com.lanchonete.payment.core.application.dto.PaymentConfirmationDTO;
+import com.lanchonete.payment.core.application.dto.PaymentDataDTO;
+import com.lanchonete.payment.core.application.usecases.PregeneratePaymentQrCodeUseCase;
+import com.lanchonete.payment.core.application.usecases.ReactiveAwaitPaymentStatusUseCase;
+import com.lanchonete.payment.core.application.usecases.ReactiveBatchConsultPaymentStatusUseCase;
+import com.lanchonete.payment.core.application.usecases.ReactiveConsultPaymentStatusUseCase;
+import com.lanchonete.payment.core.application.usecases.ReactiveGeneratePaymentQrCodeUseCase;
+import com.lanchonete.payment.core.application.usecases.ReactiveProcessPaymentWebhookUseCase;
+import com.lanchonete.payment.core.application.usecases.RenderPaymentQrCodeUseCase;
+import com.lanchonete.payment.core.domain.exceptions.OrderNotFoundException;
+import com.lanchonete.payment.core.domain.model.PaymentStatus;
+import com.lanchonete.payment.core.domain.model.QrCodeImage;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+import com.lanchonete.payment.core.domain.model.enums.QrCodeImageFormat;
+import com.lanchonete.payment.mocks.PaymentDataMock;
+
+import reactor.core.publisher.Mono;
+
+@WebMvcTest(ReactivePaymentController.class)
+@Import(InternalRequestGuard.class)
+@TestPropertySource(properties = {"payment.io-mode=reactive", "payment.internal.token=internal-secret"})
+@DisplayName("ReactivePaymentController MVC Tests")
+class ReactivePaymentControllerMvcTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private ReactiveConsultPaymentStatusUseCase consultPaymentStatusUseCase;
+
+    @MockitoBean
+    private ReactiveProcessPaymentWebhookUseCase processPaymentWebhookUseCase;
+
+    @MockitoBean
+    private ReactiveGeneratePaymentQrCodeUseCase generatePaymentQrCodeUseCase;
+
+    @MockitoBean
+    private ReactiveAwaitPaymentStatusUseCase awaitPaymentStatusUseCase;
+
+    @MockitoBean
+    private ReactiveBatchConsultPaymentStatusUseCase batchConsultPaymentStatusUseCase;
+
+    @MockitoBean
+    private PregeneratePaymentQrCodeUseCase pregeneratePaymentQrCodeUseCase;
+
+    @MockitoBean
+    private RenderPaymentQrCodeUseCase renderPaymentQrCodeUseCase;
+
+    @Test
+    @DisplayName("Should return payment status asynchronously")
+    void shouldReturnPaymentStatus() throws Exception {
+        when(consultPaymentStatusUseCase.getPaymentStatus(anyLong())).thenReturn(Mono.just(PaymentStatus.builder()
+                .orderId(1L)
+                .paymentStatus(PaymentStatusEnum.APPROVED)
+                .build()));
+
+        final MvcResult result = mockMvc.perform(get("/1/payment-status").header(REQUEST_TRACE_ID, "trace-123"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderId").value(1))
+                .andExpect(jsonPath("$.paymentStatus").value("APPROVED"));
+    }
+
+    @Test
+    @DisplayName("Should return payment statuses for several orders asynchronously")
+    void shouldReturnPaymentStatuses() throws Exception {
+        when(batchConsultPaymentStatusUseCase.getPaymentStatuses(List.of(1L, 2L))).thenReturn(Mono.just(List.of(
+                PaymentStatus.builder()
+                        .orderId(1L)
+                        .paymentStatus(PaymentStatusEnum.APPROVED)
+                        .build())));
+
+        final MvcResult result = mockMvc.perform(get("/payment-status").param("orderIds", "1", "2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statuses[0].orderId").value(1))
+                .andExpect(jsonPath("$.statuses[0].paymentStatus").value("APPROVED"))
+                .andExpect(jsonPath("$.notFound[0]").value(2));
+    }
+
+    @Test
+    @DisplayName("Should return changed payment status after waiting")
+    void shouldAwaitPaymentStatus() throws Exception {
+        when(awaitPaymentStatusUseCase.awaitPaymentStatus(1L, PaymentStatusEnum.PENDING, Duration.ofSeconds(10)))
+                .thenReturn(Mono.just(PaymentStatus.builder()
+                        .orderId(1L)
+                        .paymentStatus(PaymentStatusEnum.APPROVED)
+                        .build()));
+
+        final MvcResult result = mockMvc.perform(get("/1/payment-status/await")
+                        .param("knownStatus", "PENDING")
+                        .param("timeoutSeconds", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.paymentStatus").value("APPROVED"));
+    }
+
+    @Test
+    @DisplayName("Should return 404 when order not found")
+    void shouldReturn404WhenOrderNotFound() throws Exception {
+        when(consultPaymentStatusUseCase.getPaymentStatus(anyLong()))
+                .thenReturn(Mono.error(new OrderNotFoundException("Order not found")));
+
+        final MvcResult result = mockMvc.perform(get("/999/payment-status"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should process webhook asynchronously")
+    void shouldProcessWebhook() throws Exception {
+        when(processPaymentWebhookUseCase.processPaymentConfirmation(any(PaymentConfirmationDTO.class))).thenReturn(Mono.empty());
+        final PaymentConfirmationRequest request = PaymentConfirmationRequest.builder()
+                .id(12345L)
+                .type("payment")
+                .dateCreated(Instant.now())
+                .data(PaymentConfirmationRequest.PaymentConfirmationDataRequest.builder().id("mp-payment-123").build())
+                .build();
+
+        final MvcResult result = mockMvc.perform(post("/webhooks/payment-confirmation")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        verify(processPaymentWebhookUseCase).processPaymentConfirmation(any(PaymentConfirmationDTO.class));
+    }
+
+    @Test
+    @DisplayName("Should return payment data asynchronously")
+    void shouldReturnPaymentData() throws Exception {
+        when(generatePaymentQrCodeUseCase.generatePaymentQrCode(any(PaymentDataDTO.class)))
+                .thenReturn(Mono.just(PaymentDataMock.createPaymentDataMock()));
+        final PaymentDataRequest request = PaymentDataRequest.builder()
+                .orderId(1L)
+                .totalPrice(new BigDecimal("50.00"))
+                .build();
+
+        final MvcResult result = mockMvc.perform(post("/paymentData")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.paymentId").value("mp-payment-123"));
+    }
+
+    @Test
+    @DisplayName("Should return payment QR code image asynchronously")
+    void shouldReturnPaymentQrCodeImage() throws Exception {
+        final byte[] png = { (byte) 0x89, 'P', 'N', 'G' };
+        when(renderPaymentQrCodeUseCase.renderPaymentQrCode("mp-payment-123", QrCodeImageFormat.PNG))
+                .thenReturn(QrCodeImage.builder()
+                        .paymentId("mp-payment-123")
+                        .format(QrCodeImageFormat.PNG)
+                        .content(png)
+                        .etag("5d41402abc4b2a76")
+                        .maxAge(Duration.ofMinutes(30))
+                        .build());
+
+        final MvcResult result = mockMvc.perform(get("/paymentData/mp-payment-123/qr-code"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().bytes(png))
+                .andExpect(header().string("ETag", "\"5d41402abc4b2a76\""));
+    }
+
+    @Test
+    @DisplayName("Should schedule QR code pre-generation")
+    void shouldAcceptQrCodePregeneration() throws Exception {
+        when(pregeneratePaymentQrCodeUseCase.pregeneratePaymentQrCode(any(PaymentDataDTO.class))).thenReturn(true);
+        final PaymentDataRequest request = PaymentDataRequest.builder()
+                .orderId(1L)
+                .totalPrice(new BigDecimal("50.00"))
+                .build();
+
+        final MvcResult result = mockMvc.perform(post("/internal/paymentData")
+                .header(X_INTERNAL_TOKEN, "internal-secret")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isAccepted());
+    }
+
+    @Test
+    @DisplayName("Should reject QR code pre-generation without the internal token")
+    void shouldRejectQrCodePregenerationWithoutInternalToken() throws Exception {
+        final PaymentDataRequest request = PaymentDataRequest.builder()
+                .orderId(1L)
+                .totalPrice(new BigDecimal("50.00"))
+                .build();
+
+        mockMvc.perform(post("/internal/paymentData")
+                .header(X_INTERNAL_TOKEN, "wrong-secret")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(pregeneratePaymentQrCodeUseCase);
+    }
+}
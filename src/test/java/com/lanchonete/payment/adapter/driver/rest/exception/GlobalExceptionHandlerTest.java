@@ -12,8 +12,11 @@ import org.springframework.http.ResponseEntity;
 
 import com.lanchonete.payment.core.domain.exceptions.InvalidPaymentException;
 import com.lanchonete.payment.core.domain.exceptions.MercadoPagoIntegrationException;
+import com.lanchonete.payment.core.domain.exceptions.MercadoPagoUnavailableException;
 import com.lanchonete.payment.core.domain.exceptions.OrderNotFoundException;
 import com.lanchonete.payment.core.domain.exceptions.PaymentException;
+import com.lanchonete.payment.core.domain.exceptions.QrCodeNotFoundException;
+import com.lanchonete.payment.core.domain.exceptions.WebhookBackpressureException;
 
 @ExtendWith(MockitoExtension.class)
 class GlobalExceptionHandlerTest {
@@ -31,6 +34,16 @@ class GlobalExceptionHandlerTest {
         assertEquals("Order not found", response.getBody());
     }
 
+    @Test
+    void shouldHandleQrCodeNotFoundException() {
+
+        QrCodeNotFoundException exception = new QrCodeNotFoundException("QR code not found");
+        ResponseEntity<String> response = globalExceptionHandler.handleQrCodeNotFoundException(exception);
+        assertNotNull(response);
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("QR code not found", response.getBody());
+    }
+
     @Test
     void shouldHandleInvalidPaymentException() {
 
@@ -51,6 +64,26 @@ class GlobalExceptionHandlerTest {
         assertEquals("MercadoPago API error", response.getBody());
     }
 
+    @Test
+    void shouldHandleWebhookBackpressureException() {
+
+        WebhookBackpressureException exception = new WebhookBackpressureException("Webhook journal is full, retry later");
+        ResponseEntity<String> response = globalExceptionHandler.handleWebhookBackpressureException(exception);
+        assertNotNull(response);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("Webhook journal is full, retry later", response.getBody());
+    }
+
+    @Test
+    void shouldHandleMercadoPagoUnavailableException() {
+
+        MercadoPagoUnavailableException exception = new MercadoPagoUnavailableException("Mercado Pago is unavailable", null);
+        ResponseEntity<String> response = globalExceptionHandler.handleMercadoPagoUnavailableException(exception);
+        assertNotNull(response);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("Mercado Pago is unavailable", response.getBody());
+    }
+
     @Test
     void shouldHandleGenericException() {
 
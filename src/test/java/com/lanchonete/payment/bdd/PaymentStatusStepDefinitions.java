@@ -112,7 +112,8 @@ public class PaymentStatusStepDefinitions {
             paymentId,
             PaymentStatusEnum.APPROVED
         );
-        when(orderRepository.getOrderById(currentOrderId)).thenReturn(pendingOrder, approvedOrder);
+        when(orderRepository.getOrderById(currentOrderId)).thenReturn(pendingOrder);
+        when(orderRepository.updateOrderPaymentStatus(currentOrderId, paymentConfirmation)).thenReturn(approvedOrder);
     }
 
     @When("I consult the payment status for order {string}")
@@ -0,0 +1,134 @@
+package com.lanchonete.payment.core.application.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.lanchonete.payment.core.application.config.HttpClientProperties.DestinationProperties;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ApacheHttpRequestFactoryProviderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ApacheHttpRequestFactoryProvider requestFactoryProvider = new ApacheHttpRequestFactoryProvider(meterRegistry);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch received = new CountDownLatch(1);
+
+    private ExecutorService serverExecutor;
+    private HttpServer server;
+    private String slowUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/slow", this::respondWhenReleased);
+        server.setExecutor(serverExecutor);
+        server.start();
+        slowUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/slow";
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        requestFactoryProvider.destroy();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void shouldSizePoolFromMaxConnections() {
+        final PoolingHttpClientConnectionManager connectionManager =
+            ApacheHttpRequestFactoryProvider.connectionManager(properties(7, Duration.ofSeconds(1), Duration.ofSeconds(5)));
+
+        assertEquals(7, connectionManager.getMaxTotal());
+        assertEquals(7, connectionManager.getDefaultMaxPerRoute());
+        connectionManager.close();
+    }
+
+    @Test
+    void shouldApplyPoolAcquireAndResponseTimeouts() {
+        final RequestConfig requestConfig =
+            ApacheHttpRequestFactoryProvider.requestConfig(properties(7, Duration.ofMillis(250), Duration.ofSeconds(3)));
+
+        assertEquals(Timeout.ofMilliseconds(250), requestConfig.getConnectionRequestTimeout());
+        assertEquals(Timeout.ofSeconds(3), requestConfig.getResponseTimeout());
+    }
+
+    @Test
+    void shouldPublishPoolMetricsPerDestination() {
+        requestFactoryProvider.create("production-service", properties(7, Duration.ofSeconds(1), Duration.ofSeconds(5)));
+        requestFactoryProvider.create("mercadopago", properties(3, Duration.ofSeconds(1), Duration.ofSeconds(5)));
+
+        assertEquals(7.0, maxConnections("production-service"));
+        assertEquals(3.0, maxConnections("mercadopago"));
+    }
+
+    @Test
+    void shouldFailFastWhenPoolIsExhausted() throws Exception {
+        final RestTemplate restTemplate = new RestTemplate(requestFactoryProvider.create("production-service",
+            properties(1, Duration.ofMillis(200), Duration.ofSeconds(10))));
+        final CompletableFuture<String> leased = CompletableFuture.supplyAsync(() -> restTemplate.getForObject(slowUrl, String.class));
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+
+        final long start = System.nanoTime();
+        assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(slowUrl, String.class));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0);
+
+        release.countDown();
+        assertEquals("ok", leased.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldTimeOutSlowResponses() {
+        final RestTemplate restTemplate = new RestTemplate(requestFactoryProvider.create("mercadopago",
+            properties(1, Duration.ofSeconds(1), Duration.ofMillis(200))));
+
+        assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(slowUrl, String.class));
+    }
+
+    private double maxConnections(final String destination) {
+        return meterRegistry.get("httpcomponents.httpclient.pool.total.max").tag("httpclient", destination).gauge().value();
+    }
+
+    private void respondWhenReleased(final HttpExchange exchange) throws IOException {
+        received.countDown();
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        final byte[] body = "ok".getBytes();
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    private static DestinationProperties properties(final int maxConnections, final Duration connectionRequestTimeout,
+            final Duration readTimeout) {
+        final DestinationProperties properties = new DestinationProperties();
+        properties.setMaxConnections(maxConnections);
+        properties.setConnectionRequestTimeout(connectionRequestTimeout);
+        properties.setReadTimeout(readTimeout);
+        return properties;
+    }
+}
@@ -0,0 +1,156 @@
+package com.lanchonete.payment.core.application.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.lanchonete.payment.core.domain.exceptions.MercadoPagoIntegrationException;
+import com.lanchonete.payment.core.domain.exceptions.MercadoPagoUnavailableException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class DownstreamRetryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DownstreamRetryProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new DownstreamRetryProperties();
+        properties.setInitialBackoff(Duration.ofMillis(1));
+        properties.setMaxBackoff(Duration.ofMillis(5));
+    }
+
+    @Test
+    void shouldRetryTransientFailureOfIdempotentCall() {
+        final AtomicInteger attempts = new AtomicInteger();
+
+        final String result = retry(new RetryBudget(0.1, 5, 20)).execute("production-service", "getOrderById", true, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            return "order";
+        });
+
+        assertEquals("order", result);
+        assertEquals(2, attempts.get());
+        assertEquals(1, retries("retried"));
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxAttempts() {
+        final AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ResourceAccessException.class, () -> retry(new RetryBudget(0.1, 5, 20))
+            .execute("production-service", "getOrderById", true, () -> {
+                attempts.incrementAndGet();
+                throw new ResourceAccessException("Connection reset");
+            }));
+
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void shouldNotRetryNonIdempotentCalls() {
+        final AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(HttpServerErrorException.class, () -> retry(new RetryBudget(0.1, 5, 20))
+            .execute("mercadopago", "createQr", false, () -> {
+                attempts.incrementAndGet();
+                throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+            }));
+
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void shouldStopRetryingWhenBudgetIsExhausted() {
+        final DownstreamRetry downstreamRetry = retry(new RetryBudget(0.1, 0, 20));
+        final AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(HttpServerErrorException.class, () -> downstreamRetry.execute("production-service", "getOrderById", true, () -> {
+            attempts.incrementAndGet();
+            throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+        }));
+
+        assertEquals(1, attempts.get());
+        assertEquals(1, retries("budget_exhausted"));
+    }
+
+    @Test
+    void shouldOnlyRetryTransientFailures() {
+        assertTrue(DownstreamRetry.isTransient(new MercadoPagoIntegrationException("wrapped",
+            new HttpServerErrorException(HttpStatus.GATEWAY_TIMEOUT))));
+        assertTrue(DownstreamRetry.isTransient(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS)));
+        assertFalse(DownstreamRetry.isTransient(new HttpClientErrorException(HttpStatus.NOT_FOUND)));
+        assertFalse(DownstreamRetry.isTransient(new HttpServerErrorException(HttpStatus.NOT_IMPLEMENTED)));
+        assertFalse(DownstreamRetry.isTransient(new MercadoPagoUnavailableException("circuit open", null)));
+    }
+
+    @Test
+    void shouldBoundJitteredExponentialBackoff() {
+        properties.setInitialBackoff(Duration.ofMillis(100));
+        properties.setMaxBackoff(Duration.ofMillis(300));
+        properties.setJitter(0.5);
+        final DownstreamRetry downstreamRetry = retry(new RetryBudget(0.1, 5, 20));
+
+        for (int i = 0; i < 50; i++) {
+            assertBetween(downstreamRetry.backoff(1), 50, 100);
+            assertBetween(downstreamRetry.backoff(2), 100, 200);
+            assertBetween(downstreamRetry.backoff(5), 150, 300);
+        }
+    }
+
+    @Test
+    void shouldResubscribeReactiveCallOnTransientFailure() {
+        final AtomicInteger subscriptions = new AtomicInteger();
+        final Mono<String> call = Mono.defer(() -> subscriptions.incrementAndGet() == 1
+            ? Mono.error(new HttpServerErrorException(HttpStatus.BAD_GATEWAY))
+            : Mono.just("confirmation"));
+
+        StepVerifier.create(retry(new RetryBudget(0.1, 5, 20)).execute("mercadopago", "getConfirmation", true, call))
+            .expectNext("confirmation")
+            .verifyComplete();
+
+        assertEquals(2, subscriptions.get());
+    }
+
+    @Test
+    void shouldPropagateReactiveClientErrorsWithoutRetry() {
+        final AtomicInteger subscriptions = new AtomicInteger();
+        final Mono<String> call = Mono.defer(() -> {
+            subscriptions.incrementAndGet();
+            return Mono.error(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        });
+
+        StepVerifier.create(retry(new RetryBudget(0.1, 5, 20)).execute("mercadopago", "getConfirmation", true, call))
+            .expectError(HttpClientErrorException.class)
+            .verify();
+
+        assertEquals(1, subscriptions.get());
+    }
+
+    private DownstreamRetry retry(final RetryBudget budget) {
+        return new DownstreamRetry(properties, budget, new PaymentMetrics(meterRegistry));
+    }
+
+    private double retries(final String outcome) {
+        return meterRegistry.get(PaymentMetrics.RETRIES).tag("outcome", outcome).counter().count();
+    }
+
+    private static void assertBetween(final Duration delay, final long minMillis, final long maxMillis) {
+        assertTrue(delay.toNanos() >= Duration.ofMillis(minMillis).toNanos() && delay.toNanos() <= Duration.ofMillis(maxMillis).toNanos(),
+            delay + " not within [" + minMillis + ", " + maxMillis + "] ms");
+    }
+}
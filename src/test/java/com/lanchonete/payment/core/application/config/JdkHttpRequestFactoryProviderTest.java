@@ -0,0 +1,76 @@
+package com.lanchonete.payment.core.application.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.lanchonete.payment.core.application.config.HttpClientProperties.DestinationProperties;
+import com.sun.net.httpserver.HttpServer;
+
+class JdkHttpRequestFactoryProviderTest {
+
+    private final JdkHttpRequestFactoryProvider requestFactoryProvider = new JdkHttpRequestFactoryProvider(false);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private ExecutorService serverExecutor;
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/slow", exchange -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.setExecutor(serverExecutor);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void shouldApplyConnectTimeoutAndPreferHttp2() {
+        final DestinationProperties properties = new DestinationProperties();
+        properties.setConnectTimeout(Duration.ofMillis(750));
+
+        final HttpClient httpClient = requestFactoryProvider.httpClient(properties);
+
+        assertEquals(Optional.of(Duration.ofMillis(750)), httpClient.connectTimeout());
+        assertEquals(HttpClient.Version.HTTP_2, httpClient.version());
+    }
+
+    @Test
+    void shouldTimeOutSlowResponses() {
+        final DestinationProperties properties = new DestinationProperties();
+        properties.setReadTimeout(Duration.ofMillis(200));
+        final RestTemplate restTemplate = new RestTemplate(requestFactoryProvider.create("mercadopago", properties));
+
+        assertThrows(ResourceAccessException.class, () ->
+            restTemplate.getForObject("http://127.0.0.1:" + server.getAddress().getPort() + "/slow", String.class));
+    }
+}
@@ -0,0 +1,90 @@
+package com.lanchonete.payment.core.application.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.lanchonete.payment.adapter.driver.rest.requests.PaymentDataRequest;
+import com.lanchonete.payment.core.application.dto.PaymentConfirmationDTO;
+import com.lanchonete.payment.core.application.dto.PaymentConfirmationDTO.PaymentConfirmationDataDTO;
+
+class JsonCodecRegistryTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+        .modulesToInstall(new BlackbirdModule())
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+    private final JsonCodecRegistry registry = new JsonCodecRegistry(objectMapper,
+        List.of(PaymentConfirmationDTO.class, PaymentDataRequest.class));
+
+    @Test
+    void shouldReturnSamePrebuiltReaderAndWriterForRegisteredType() {
+        final JavaType type = objectMapper.constructType(PaymentConfirmationDTO.class);
+        final ObjectReader fallbackReader = objectMapper.readerFor(type);
+        final ObjectWriter fallbackWriter = objectMapper.writerFor(type);
+
+        final ObjectReader reader = registry.reader(type, fallbackReader);
+        final ObjectWriter writer = registry.writer(type, fallbackWriter);
+
+        assertNotSame(fallbackReader, reader);
+        assertNotSame(fallbackWriter, writer);
+        assertSame(reader, registry.reader(type, objectMapper.readerFor(type)));
+        assertSame(writer, registry.writer(type, objectMapper.writerFor(type)));
+    }
+
+    @Test
+    void shouldFallBackForUnregisteredType() {
+        final JavaType type = objectMapper.constructType(String.class);
+        final ObjectReader fallback = objectMapper.readerFor(type);
+
+        assertSame(fallback, registry.reader(type, fallback));
+    }
+
+    @Test
+    void shouldFallBackForGenericType() {
+        final JavaType type = objectMapper.getTypeFactory().constructCollectionType(List.class, PaymentConfirmationDTO.class);
+        final ObjectWriter fallback = objectMapper.writerFor(type);
+
+        assertSame(fallback, registry.writer(type, fallback));
+    }
+
+    @Test
+    void shouldFallBackWhenViewIsActive() {
+        final JavaType type = objectMapper.constructType(PaymentConfirmationDTO.class);
+        final ObjectReader reader = objectMapper.readerWithView(Object.class).forType(type);
+        final ObjectWriter writer = objectMapper.writerWithView(Object.class).forType(type);
+
+        assertSame(reader, registry.reader(type, reader));
+        assertSame(writer, registry.writer(type, writer));
+    }
+
+    @Test
+    void shouldRoundTripWithIsoDatesAndIgnoreUnknownProperties() throws Exception {
+        final JavaType type = objectMapper.constructType(PaymentConfirmationDTO.class);
+        final PaymentConfirmationDTO event = PaymentConfirmationDTO.builder()
+            .id(1L)
+            .action("order.processed")
+            .dateCreated(Instant.parse("2025-04-10T12:30:00Z"))
+            .data(PaymentConfirmationDataDTO.builder().id("ORD01").build())
+            .build();
+
+        final String json = registry.writer(type, objectMapper.writerFor(type)).writeValueAsString(event);
+        assertTrue(json.contains("\"dateCreated\":\"2025-04-10T12:30:00Z\""), json);
+
+        final PaymentConfirmationDTO read = registry.reader(type, objectMapper.readerFor(type))
+            .readValue(json.replace("{\"id\":1", "{\"unknown\":true,\"id\":1"));
+        assertEquals(event, read);
+        assertFalse(objectMapper.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+    }
+}
@@ -0,0 +1,61 @@
+package com.lanchonete.payment.core.application.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.NestedExceptionUtils;
+
+import com.lanchonete.payment.adapter.driven.jdbc.JdbcPaymentLogReader;
+import com.lanchonete.payment.adapter.driven.jdbc.JdbcPaymentLogWriter;
+import com.lanchonete.payment.core.application.paymentlog.PaymentLogReader;
+import com.lanchonete.payment.core.application.paymentlog.PaymentLogWriter;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PaymentLogConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withUserConfiguration(PaymentLogConfig.class, ReconciliationConfig.class)
+        .withBean(MeterRegistry.class, SimpleMeterRegistry::new);
+
+    @Test
+    void shouldHaveNoDataSourceWhenPaymentLogsAreDisabled() {
+        contextRunner
+            .withPropertyValues("payment.logs.datasource.url=jdbc:h2:mem:payment_logs_disabled")
+            .run(context -> {
+                assertTrue(context.getBeansOfType(DataSource.class).isEmpty());
+                assertFalse(context.getBean(PaymentLogWriter.class) instanceof JdbcPaymentLogWriter);
+            });
+    }
+
+    @Test
+    void shouldBuildPaymentLogDataSourceWhenEnabled() {
+        contextRunner
+            .withPropertyValues(
+                "payment.logs.enabled=true",
+                "payment.logs.datasource.url=jdbc:h2:mem:payment_logs_enabled;MODE=MySQL",
+                "payment.logs.datasource.hikari.pool-name=payment-logs",
+                "payment.logs.datasource.hikari.maximum-pool-size=2")
+            .run(context -> {
+                final HikariDataSource dataSource = context.getBean(HikariDataSource.class);
+                assertEquals("jdbc:h2:mem:payment_logs_enabled;MODE=MySQL", dataSource.getJdbcUrl());
+                assertEquals("payment-logs", dataSource.getPoolName());
+                assertEquals(2, dataSource.getMaximumPoolSize());
+                assertInstanceOf(JdbcPaymentLogWriter.class, context.getBean(PaymentLogWriter.class));
+                assertInstanceOf(JdbcPaymentLogReader.class, context.getBean(PaymentLogReader.class));
+            });
+    }
+
+    @Test
+    void shouldRequirePaymentLogsToPartitionReconciliation() {
+        contextRunner
+            .withPropertyValues("payment.reconciliation.replica-count=2")
+            .run(context -> assertInstanceOf(IllegalStateException.class,
+                NestedExceptionUtils.getMostSpecificCause(context.getStartupFailure())));
+    }
+}
@@ -0,0 +1,120 @@
+package com.lanchonete.payment.core.application.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.lanchonete.payment.core.domain.exceptions.MercadoPagoIntegrationException;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class PaymentMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PaymentMetrics paymentMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        paymentMetrics = new PaymentMetrics(meterRegistry);
+    }
+
+    @Test
+    void shouldTimeSuccessfulDownstreamCall() {
+        assertEquals("ok", paymentMetrics.recordDownstream("mercadopago", "token", () -> "ok"));
+
+        assertEquals(1, downstreamTimer("token", "SUCCESS", "none").count());
+    }
+
+    @Test
+    void shouldTagOutcomeFromWrappedHttpStatus() {
+        final RuntimeException error = new MercadoPagoIntegrationException("wrapped",
+            new HttpServerErrorException(HttpStatus.BAD_GATEWAY));
+
+        assertThrows(MercadoPagoIntegrationException.class,
+            () -> paymentMetrics.recordDownstream("mercadopago", "createQr", () -> { throw error; }));
+
+        assertEquals(1, downstreamTimer("createQr", "SERVER_ERROR", "HttpServerErrorException").count());
+    }
+
+    @Test
+    void shouldTagIoFailuresAsUnknownOutcome() {
+        final RuntimeException error = new ResourceAccessException("Read timed out");
+
+        assertThrows(ResourceAccessException.class,
+            () -> paymentMetrics.recordDownstream("mercadopago", "getConfirmation", () -> { throw error; }));
+
+        assertEquals(1, downstreamTimer("getConfirmation", "UNKNOWN", "ResourceAccessException").count());
+    }
+
+    @Test
+    void shouldTimeMonoOnSubscription() {
+        final Mono<String> call = paymentMetrics.recordDownstream("mercadopago", "getConfirmation",
+            Mono.just("ok").delayElement(Duration.ofMillis(20)));
+
+        assertTrue(meterRegistry.find(PaymentMetrics.DOWNSTREAM_REQUESTS).timers().isEmpty());
+
+        StepVerifier.create(call).expectNext("ok").verifyComplete();
+
+        final Timer timer = downstreamTimer("getConfirmation", "SUCCESS", "none");
+        assertEquals(1, timer.count());
+        assertTrue(timer.totalTime(TimeUnit.MILLISECONDS) >= 20);
+    }
+
+    @Test
+    void shouldTagCancelledMono() {
+        StepVerifier.create(paymentMetrics.recordDownstream("mercadopago", "createQr", Mono.never()))
+            .thenCancel()
+            .verify();
+
+        assertEquals(1, downstreamTimer("createQr", "CANCELLED", "none").count());
+    }
+
+    @Test
+    void shouldCountTokenRefreshesByTriggerAndOutcome() {
+        paymentMetrics.recordTokenRefresh("background", true);
+        paymentMetrics.recordTokenRefresh("background", true);
+        paymentMetrics.recordTokenRefresh("on-demand", false);
+
+        assertEquals(2, meterRegistry.get(PaymentMetrics.TOKEN_REFRESHES)
+            .tags("trigger", "background", "outcome", "success").counter().count());
+        assertEquals(1, meterRegistry.get(PaymentMetrics.TOKEN_REFRESHES)
+            .tags("trigger", "on-demand", "outcome", "failure").counter().count());
+    }
+
+    @Test
+    void shouldRecordWebhookLagSinceNotificationCreation() {
+        paymentMetrics.recordWebhookLag(Instant.now().minusSeconds(3), true);
+
+        final Timer timer = meterRegistry.get(PaymentMetrics.WEBHOOK_LAG).tag("outcome", "success").timer();
+        assertEquals(1, timer.count());
+        assertTrue(timer.totalTime(TimeUnit.SECONDS) >= 3);
+    }
+
+    @Test
+    void shouldClampClockSkewAndSkipMissingCreationDate() {
+        paymentMetrics.recordWebhookLag(Instant.now().plusSeconds(30), false);
+        paymentMetrics.recordWebhookLag(null, false);
+
+        final Timer timer = meterRegistry.get(PaymentMetrics.WEBHOOK_LAG).tag("outcome", "failure").timer();
+        assertEquals(1, timer.count());
+        assertEquals(0, timer.totalTime(TimeUnit.NANOSECONDS));
+    }
+
+    private Timer downstreamTimer(final String operation, final String outcome, final String exception) {
+        return meterRegistry.get(PaymentMetrics.DOWNSTREAM_REQUESTS)
+            .tags("target", "mercadopago", "operation", operation, "outcome", outcome, "exception", exception)
+            .timer();
+    }
+}
@@ -0,0 +1,81 @@
+package com.lanchonete.payment.core.application.config;
+
+import static com.lanchonete.payment.core.application.config.Constants.MERCADO_PAGO_REST_TEMPLATE;
+import static com.lanchonete.payment.core.application.config.Constants.PRODUCTION_SERVICE_REST_TEMPLATE;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lanchonete.payment.adapter.driven.rest.mercadopago.MercadoPagoResponseReader;
+import com.lanchonete.payment.core.application.config.HttpClientProperties.DestinationProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RestTemplateConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withUserConfiguration(RestTemplateConfig.class)
+        .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+        .withBean(MappingJackson2HttpMessageConverter.class)
+        .withBean(MercadoPagoResponseReader.class, () -> new MercadoPagoResponseReader(new ObjectMapper()));
+
+    @Test
+    void shouldBindDestinationProperties() {
+        contextRunner
+            .withPropertyValues(
+                "http.client.production.max-connections=7",
+                "http.client.production.connect-timeout=750ms",
+                "http.client.production.read-timeout=3s",
+                "http.client.production.connection-request-timeout=250ms",
+                "http.client.production.idle-eviction=20s",
+                "http.client.production.time-to-live=2m",
+                "http.client.mercadopago.max-connections=3")
+            .run(context -> {
+                final HttpClientProperties properties = context.getBean(HttpClientProperties.class);
+                final DestinationProperties production = properties.getProduction();
+
+                assertEquals(7, production.getMaxConnections());
+                assertEquals(Duration.ofMillis(750), production.getConnectTimeout());
+                assertEquals(Duration.ofSeconds(3), production.getReadTimeout());
+                assertEquals(Duration.ofMillis(250), production.getConnectionRequestTimeout());
+                assertEquals(Duration.ofSeconds(20), production.getIdleEviction());
+                assertEquals(Duration.ofMinutes(2), production.getTimeToLive());
+                assertEquals(3, properties.getMercadopago().getMaxConnections());
+            });
+    }
+
+    @Test
+    void shouldGiveEachDestinationItsOwnApachePool() {
+        contextRunner
+            .withPropertyValues("http.client.production.max-connections=7", "http.client.mercadopago.max-connections=3")
+            .run(context -> {
+                assertInstanceOf(ApacheHttpRequestFactoryProvider.class, context.getBean(HttpRequestFactoryProvider.class));
+                assertNotNull(context.getBean(PRODUCTION_SERVICE_REST_TEMPLATE, RestTemplate.class));
+                assertNotNull(context.getBean(MERCADO_PAGO_REST_TEMPLATE, RestTemplate.class));
+
+                final MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+                assertEquals(7.0, meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                    .tag("httpclient", Constants.PRODUCTION_SERVICE).gauge().value());
+                assertEquals(3.0, meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                    .tag("httpclient", Constants.MERCADO_PAGO).gauge().value());
+            });
+    }
+
+    @Test
+    void shouldSwitchToJdkEngine() {
+        contextRunner
+            .withPropertyValues("http.client.engine=jdk")
+            .run(context -> {
+                assertInstanceOf(JdkHttpRequestFactoryProvider.class, context.getBean(HttpRequestFactoryProvider.class));
+                assertNotNull(context.getBean(PRODUCTION_SERVICE_REST_TEMPLATE, RestTemplate.class));
+                assertNotNull(context.getBean(MERCADO_PAGO_REST_TEMPLATE, RestTemplate.class));
+            });
+    }
+}
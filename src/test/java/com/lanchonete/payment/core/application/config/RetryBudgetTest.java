@@ -0,0 +1,60 @@
+package com.lanchonete.payment.core.application.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class RetryBudgetTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void shouldStartWithOneSecondOfFloorRetries() {
+        final RetryBudget budget = new RetryBudget(0.1, 2, 20, clock::get);
+
+        assertTrue(budget.tryAcquireRetry());
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+    }
+
+    @Test
+    void shouldEarnOneRetryPerTenRequestsAtTenPercent() {
+        final RetryBudget budget = new RetryBudget(0.1, 0, 20, clock::get);
+
+        for (int i = 0; i < 9; i++) {
+            budget.recordRequest();
+        }
+        assertFalse(budget.tryAcquireRetry());
+
+        budget.recordRequest();
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+    }
+
+    @Test
+    void shouldRefillFloorOverTime() {
+        final RetryBudget budget = new RetryBudget(0.1, 5, 20, clock::get);
+        while (budget.tryAcquireRetry()) {
+            // drain
+        }
+
+        clock.addAndGet(200_000_000L);
+
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+    }
+
+    @Test
+    void shouldCapTokens() {
+        final RetryBudget budget = new RetryBudget(0.5, 5, 3, clock::get);
+
+        for (int i = 0; i < 100; i++) {
+            budget.recordRequest();
+        }
+        clock.addAndGet(60_000_000_000L);
+
+        assertEquals(3, budget.available(), 0.0001);
+    }
+}
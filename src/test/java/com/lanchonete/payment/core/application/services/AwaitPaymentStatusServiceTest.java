@@ -0,0 +1,101 @@
+package com.lanchonete.payment.core.application.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.lanchonete.payment.core.application.usecases.ConsultPaymentStatusUseCase;
+import com.lanchonete.payment.core.domain.exceptions.OrderNotFoundException;
+import com.lanchonete.payment.core.domain.model.PaymentStatus;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class AwaitPaymentStatusServiceTest {
+
+    @Mock
+    private ConsultPaymentStatusUseCase consultPaymentStatusUseCase;
+
+    private PaymentStatusNotifier paymentStatusNotifier;
+    private AwaitPaymentStatusService awaitPaymentStatusService;
+
+    @BeforeEach
+    void setUp() {
+        paymentStatusNotifier = new PaymentStatusNotifier(new SimpleMeterRegistry());
+        awaitPaymentStatusService = new AwaitPaymentStatusService(consultPaymentStatusUseCase, paymentStatusNotifier, 25);
+    }
+
+    @Test
+    void shouldAnswerRightAwayWhenStatusAlreadyChanged() {
+        when(consultPaymentStatusUseCase.getPaymentStatus(1L)).thenReturn(paymentStatus(PaymentStatusEnum.APPROVED));
+
+        final CompletableFuture<PaymentStatus> result =
+            awaitPaymentStatusService.awaitPaymentStatus(1L, PaymentStatusEnum.PENDING, null);
+
+        assertEquals(PaymentStatusEnum.APPROVED, result.getNow(null).getPaymentStatus());
+        assertEquals(0, paymentStatusNotifier.waitingCount());
+    }
+
+    @Test
+    void shouldWaitUntilStatusIsPublished() throws Exception {
+        when(consultPaymentStatusUseCase.getPaymentStatus(1L)).thenReturn(paymentStatus(PaymentStatusEnum.PENDING));
+
+        final CompletableFuture<PaymentStatus> result =
+            awaitPaymentStatusService.awaitPaymentStatus(1L, PaymentStatusEnum.PENDING, null);
+
+        assertFalse(result.isDone());
+        assertEquals(1, paymentStatusNotifier.waitingCount());
+
+        paymentStatusNotifier.publish(1L, PaymentStatusEnum.APPROVED);
+
+        final PaymentStatus paymentStatus = result.get(1, TimeUnit.SECONDS);
+        assertEquals(1L, paymentStatus.getOrderId());
+        assertEquals(PaymentStatusEnum.APPROVED, paymentStatus.getPaymentStatus());
+        verify(consultPaymentStatusUseCase, times(1)).getPaymentStatus(1L);
+    }
+
+    @Test
+    void shouldReturnUnchangedStatusOnTimeout() throws Exception {
+        when(consultPaymentStatusUseCase.getPaymentStatus(1L)).thenReturn(paymentStatus(PaymentStatusEnum.PENDING));
+
+        final CompletableFuture<PaymentStatus> result =
+            awaitPaymentStatusService.awaitPaymentStatus(1L, PaymentStatusEnum.PENDING, Duration.ofMillis(50));
+
+        assertEquals(PaymentStatusEnum.PENDING, result.get(1, TimeUnit.SECONDS).getPaymentStatus());
+        assertEquals(0, paymentStatusNotifier.waitingCount());
+    }
+
+    @Test
+    void shouldNotWaitOnFinalStatus() {
+        when(consultPaymentStatusUseCase.getPaymentStatus(1L)).thenReturn(paymentStatus(PaymentStatusEnum.REJECTED));
+
+        final CompletableFuture<PaymentStatus> result =
+            awaitPaymentStatusService.awaitPaymentStatus(1L, PaymentStatusEnum.REJECTED, null);
+
+        assertEquals(PaymentStatusEnum.REJECTED, result.getNow(null).getPaymentStatus());
+        assertEquals(0, paymentStatusNotifier.waitingCount());
+    }
+
+    @Test
+    void shouldReleaseRegistrationWhenOrderNotFound() {
+        when(consultPaymentStatusUseCase.getPaymentStatus(1L)).thenThrow(new OrderNotFoundException("Order with id 1 not found"));
+
+        assertThrows(OrderNotFoundException.class,
+            () -> awaitPaymentStatusService.awaitPaymentStatus(1L, PaymentStatusEnum.PENDING, null));
+        assertEquals(0, paymentStatusNotifier.waitingCount());
+    }
+
+    private PaymentStatus paymentStatus(final PaymentStatusEnum status) {
+        return PaymentStatus.builder().orderId(1L).paymentStatus(status).build();
+    }
+}
@@ -0,0 +1,128 @@
+package com.lanchonete.payment.core.application.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.lanchonete.payment.core.application.usecases.ConsultPaymentStatusUseCase;
+import com.lanchonete.payment.core.domain.exceptions.InvalidPaymentException;
+import com.lanchonete.payment.core.domain.model.PaymentStatus;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository.Order;
+
+@ExtendWith(MockitoExtension.class)
+class BatchConsultPaymentStatusServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ConsultPaymentStatusUseCase consultPaymentStatusUseCase;
+
+    private BatchConsultPaymentStatusService batchConsultPaymentStatusService;
+
+    @BeforeEach
+    void setUp() {
+        batchConsultPaymentStatusService = new BatchConsultPaymentStatusService(orderRepository, consultPaymentStatusUseCase, 4, 10);
+    }
+
+    @Test
+    void shouldAnswerFinalOrdersWithoutConsultingMercadoPago() {
+        when(orderRepository.getOrdersByIds(Set.of(1L, 2L))).thenReturn(List.of(
+            order(1L, PaymentStatusEnum.APPROVED), order(2L, PaymentStatusEnum.REJECTED)));
+
+        final List<PaymentStatus> result = batchConsultPaymentStatusService.getPaymentStatuses(List.of(1L, 2L));
+
+        assertEquals(List.of(PaymentStatusEnum.APPROVED, PaymentStatusEnum.REJECTED),
+            result.stream().map(PaymentStatus::getPaymentStatus).toList());
+        verifyNoInteractions(consultPaymentStatusUseCase);
+    }
+
+    @Test
+    void shouldConsultPendingOrdersInParallelAndKeepRequestOrder() throws Exception {
+        final List<Order> orders = LongStream.rangeClosed(1, 4).mapToObj(id -> order(id, PaymentStatusEnum.PENDING)).toList();
+        final CountDownLatch allStarted = new CountDownLatch(4);
+        when(orderRepository.getOrdersByIds(any())).thenReturn(orders);
+        when(consultPaymentStatusUseCase.getPaymentStatus(any(Order.class))).thenAnswer(invocation -> {
+            final Order order = invocation.getArgument(0);
+            allStarted.countDown();
+            assertTrue(allStarted.await(5, TimeUnit.SECONDS), "lookups did not run in parallel");
+            return paymentStatus(order.getId(), PaymentStatusEnum.APPROVED);
+        });
+
+        final List<PaymentStatus> result = batchConsultPaymentStatusService.getPaymentStatuses(List.of(1L, 2L, 3L, 4L));
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), result.stream().map(PaymentStatus::getOrderId).toList());
+        assertTrue(result.stream().allMatch(status -> status.getPaymentStatus() == PaymentStatusEnum.APPROVED));
+    }
+
+    @Test
+    void shouldBoundConcurrentLookups() {
+        final List<Long> orderIds = LongStream.rangeClosed(1, 10).boxed().toList();
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        when(orderRepository.getOrdersByIds(any()))
+            .thenReturn(orderIds.stream().map(id -> order(id, PaymentStatusEnum.PENDING)).toList());
+        when(consultPaymentStatusUseCase.getPaymentStatus(any(Order.class))).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(10);
+            running.decrementAndGet();
+            final Order order = invocation.getArgument(0);
+            return paymentStatus(order.getId(), PaymentStatusEnum.APPROVED);
+        });
+
+        assertEquals(10, batchConsultPaymentStatusService.getPaymentStatuses(orderIds).size());
+        assertTrue(maxRunning.get() <= 4, "ran " + maxRunning.get() + " lookups at once");
+    }
+
+    @Test
+    void shouldAnswerFailedLookupWithStoredStatus() {
+        when(orderRepository.getOrdersByIds(any())).thenReturn(List.of(order(1L, PaymentStatusEnum.PENDING)));
+        when(consultPaymentStatusUseCase.getPaymentStatus(any(Order.class))).thenThrow(new IllegalStateException("boom"));
+
+        final List<PaymentStatus> result = batchConsultPaymentStatusService.getPaymentStatuses(List.of(1L));
+
+        assertEquals(PaymentStatusEnum.PENDING, result.get(0).getPaymentStatus());
+    }
+
+    @Test
+    void shouldDeduplicateOrderIdsAndSkipMissingOrders() {
+        when(orderRepository.getOrdersByIds(new LinkedHashSet<>(List.of(1L, 2L)))).thenReturn(List.of(order(1L, PaymentStatusEnum.APPROVED)));
+
+        final List<PaymentStatus> result = batchConsultPaymentStatusService.getPaymentStatuses(List.of(1L, 2L, 1L));
+
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).getOrderId());
+    }
+
+    @Test
+    void shouldRejectEmptyOrOversizedBatch() {
+        assertThrows(InvalidPaymentException.class, () -> batchConsultPaymentStatusService.getPaymentStatuses(List.of()));
+        assertThrows(InvalidPaymentException.class, () -> batchConsultPaymentStatusService.getPaymentStatuses(
+            LongStream.rangeClosed(1, 11).boxed().toList()));
+        verifyNoInteractions(orderRepository);
+    }
+
+    private static Order order(final Long id, final PaymentStatusEnum paymentStatus) {
+        return new Order(id, "12345678900", "mp-payment-" + id, paymentStatus);
+    }
+
+    private static PaymentStatus paymentStatus(final Long orderId, final PaymentStatusEnum paymentStatus) {
+        return PaymentStatus.builder().orderId(orderId).paymentStatus(paymentStatus).build();
+    }
+}
@@ -12,6 +12,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.lanchonete.payment.core.domain.exceptions.MercadoPagoIntegrationException;
+import com.lanchonete.payment.core.domain.exceptions.MercadoPagoUnavailableException;
 import com.lanchonete.payment.core.domain.exceptions.OrderNotFoundException;
 import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
 import com.lanchonete.payment.core.domain.model.PaymentStatus;
@@ -30,6 +32,9 @@ class ConsultPaymentStatusServiceTest {
     @Mock
     private PaymentRepository paymentRepository;
 
+    @Mock
+    private PaymentStatusRegistry paymentStatusRegistry;
+
     @InjectMocks
     private ConsultPaymentStatusService consultPaymentStatusService;
 
@@ -83,16 +88,80 @@ class ConsultPaymentStatusServiceTest {
     void shouldConsultMercadoPagoWhenOrderIsPending() {
         when(orderRepository.getOrderById(anyLong())).thenReturn(order);
         when(paymentRepository.getPaymentStatus(order.getPaymentId())).thenReturn(paymentConfirmation);
-        when(orderRepository.getOrderById(anyLong())).thenReturn(order, updatedOrder);
+        when(orderRepository.updateOrderPaymentStatus(anyLong(), any(PaymentConfirmation.class))).thenReturn(updatedOrder);
 
         PaymentStatus result = consultPaymentStatusService.getPaymentStatus(order.getId());
 
         assertNotNull(result);
         assertEquals(order.getId(), result.getOrderId());
+        assertEquals(PaymentStatusEnum.APPROVED, result.getPaymentStatus());
         
-        verify(orderRepository, times(2)).getOrderById(order.getId());
+        verify(orderRepository, times(1)).getOrderById(order.getId());
         verify(paymentRepository, times(1)).getPaymentStatus(order.getPaymentId());
         verify(orderRepository, times(1)).updateOrderPaymentStatus(anyLong(), any(PaymentConfirmation.class));
+        verify(paymentStatusRegistry).record(order.getId(), order.getPaymentId(), paymentConfirmation);
+    }
+
+    @Test
+    void shouldAnswerFromRegistryWithoutConsultingMercadoPago() {
+        when(orderRepository.getOrderById(anyLong())).thenReturn(order);
+        when(paymentStatusRegistry.getFresh(order.getId(), order.getPaymentId())).thenReturn(paymentConfirmation);
+        when(orderRepository.updateOrderPaymentStatus(anyLong(), any(PaymentConfirmation.class))).thenReturn(updatedOrder);
+
+        PaymentStatus result = consultPaymentStatusService.getPaymentStatus(order.getId());
+
+        assertEquals(PaymentStatusEnum.APPROVED, result.getPaymentStatus());
+        verify(paymentRepository, never()).getPaymentStatus(anyString());
+        verify(orderRepository, times(1)).updateOrderPaymentStatus(order.getId(), paymentConfirmation);
+    }
+
+    @Test
+    void shouldSkipProductionUpdateWhenRegisteredStatusIsUnchanged() {
+        when(orderRepository.getOrderById(anyLong())).thenReturn(order);
+        when(paymentStatusRegistry.getFresh(order.getId(), order.getPaymentId()))
+            .thenReturn(PaymentConfirmation.builder().id(order.getPaymentId()).status("pending").build());
+
+        PaymentStatus result = consultPaymentStatusService.getPaymentStatus(order.getId());
+
+        assertEquals(PaymentStatusEnum.PENDING, result.getPaymentStatus());
+        verify(paymentRepository, never()).getPaymentStatus(anyString());
+        verify(orderRepository, never()).updateOrderPaymentStatus(anyLong(), any());
+    }
+
+    @Test
+    void shouldDerivePaymentStatusFromConfirmationWhenUpdateReturnsNoOrder() {
+        when(orderRepository.getOrderById(anyLong())).thenReturn(order);
+        when(paymentRepository.getPaymentStatus(order.getPaymentId())).thenReturn(paymentConfirmation);
+        when(orderRepository.updateOrderPaymentStatus(anyLong(), any(PaymentConfirmation.class))).thenReturn(null);
+
+        PaymentStatus result = consultPaymentStatusService.getPaymentStatus(order.getId());
+
+        assertEquals(PaymentStatusEnum.APPROVED, result.getPaymentStatus());
+        verify(orderRepository, times(1)).getOrderById(order.getId());
+    }
+
+    @Test
+    void shouldFallBackToLastKnownStatusWhenMercadoPagoIsUnavailable() {
+        when(orderRepository.getOrderById(anyLong())).thenReturn(order);
+        when(paymentRepository.getPaymentStatus(order.getPaymentId()))
+            .thenThrow(new MercadoPagoUnavailableException("circuit open", null));
+
+        PaymentStatus result = consultPaymentStatusService.getPaymentStatus(order.getId());
+
+        assertEquals(order.getId(), result.getOrderId());
+        assertEquals(order.getPaymentStatus(), result.getPaymentStatus());
+        verify(orderRepository, never()).updateOrderPaymentStatus(anyLong(), any());
+        verify(paymentStatusRegistry, never()).record(anyLong(), anyString(), any());
+    }
+
+    @Test
+    void shouldPropagateMercadoPagoErrorsThatWereNotShed() {
+        when(orderRepository.getOrderById(anyLong())).thenReturn(order);
+        when(paymentRepository.getPaymentStatus(order.getPaymentId()))
+            .thenThrow(new MercadoPagoIntegrationException("read timed out"));
+
+        assertThrows(MercadoPagoIntegrationException.class, () -> consultPaymentStatusService.getPaymentStatus(order.getId()));
+        verify(orderRepository, never()).updateOrderPaymentStatus(anyLong(), any());
     }
 
     @Test
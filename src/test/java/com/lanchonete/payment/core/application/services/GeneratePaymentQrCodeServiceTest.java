@@ -3,29 +3,50 @@ package com.lanchonete.payment.core.application.services;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.lanchonete.payment.core.application.dto.PaymentDataDTO;
+import com.lanchonete.payment.core.application.paymentlog.PaymentLogWriter;
 import com.lanchonete.payment.core.domain.model.PaymentData;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository;
 import com.lanchonete.payment.core.domain.repositories.PaymentRepository;
 import com.lanchonete.payment.mocks.PaymentDataDTOMock;
 import com.lanchonete.payment.mocks.PaymentDataMock;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 class GeneratePaymentQrCodeServiceTest {
 
+    @Mock
+    private OrderRepository orderRepository;
+
     @Mock
     private PaymentRepository paymentRepository;
 
+    @Mock
+    private PendingPaymentTracker pendingPaymentTracker;
+
+    @Mock
+    private PaymentLogWriter paymentLogWriter;
+
+    @Spy
+    private PaymentQrCodeCache paymentQrCodeCache = new PaymentQrCodeCache(true, Duration.ofMinutes(30), 100,
+        new SimpleMeterRegistry(), System::nanoTime);
+
     @InjectMocks
     private GeneratePaymentQrCodeService generatePaymentQrCodeService;
 
@@ -40,7 +61,7 @@ class GeneratePaymentQrCodeServiceTest {
 
     @Test
     void shouldGeneratePaymentQrCodeSuccessfully() {
-        when(paymentRepository.getPaymentData(anyLong(), any(BigDecimal.class))).thenReturn(paymentData);
+        when(paymentRepository.getPaymentData(anyLong(), any(BigDecimal.class), isNull())).thenReturn(paymentData);
 
         PaymentData result = generatePaymentQrCodeService.generatePaymentQrCode(paymentDataDTO);
 
@@ -48,13 +69,28 @@ class GeneratePaymentQrCodeServiceTest {
         assertEquals(paymentData.getPaymentId(), result.getPaymentId());
         assertEquals(paymentData.getQrCode(), result.getQrCode());
           
-        verify(paymentRepository, times(1)).getPaymentData(paymentDataDTO.getOrderId(), paymentDataDTO.getTotalPrice());
+        verify(paymentRepository, times(1)).getPaymentData(paymentDataDTO.getOrderId(), paymentDataDTO.getTotalPrice(), null);
+        verify(pendingPaymentTracker).track(paymentDataDTO.getOrderId(), paymentData.getPaymentId());
+        verify(paymentLogWriter).record(new PaymentLogWriter.Entry(paymentData.getPaymentId(), paymentDataDTO.getOrderId(),
+            "PENDING", paymentDataDTO.getTotalPrice()));
+    }
+
+    @Test
+    void shouldReuseQrCodeForDuplicateRequest() {
+        when(paymentRepository.getPaymentData(anyLong(), any(BigDecimal.class), isNull())).thenReturn(paymentData);
+
+        final PaymentData first = generatePaymentQrCodeService.generatePaymentQrCode(paymentDataDTO);
+        final PaymentData second = generatePaymentQrCodeService.generatePaymentQrCode(paymentDataDTO);
+
+        assertSame(first, second);
+        verify(paymentRepository, times(1)).getPaymentData(paymentDataDTO.getOrderId(), paymentDataDTO.getTotalPrice(), null);
+        verify(pendingPaymentTracker, times(1)).track(paymentDataDTO.getOrderId(), paymentData.getPaymentId());
     }
 
     @Test
     void shouldReturnPaymentDataWhenValid() {
         PaymentData validPaymentData = PaymentDataMock.createPaymentDataMock();
-        when(paymentRepository.getPaymentData(anyLong(), any(BigDecimal.class))).thenReturn(validPaymentData);
+        when(paymentRepository.getPaymentData(anyLong(), any(BigDecimal.class), isNull())).thenReturn(validPaymentData);
 
         PaymentData result = generatePaymentQrCodeService.generatePaymentQrCode(paymentDataDTO);
 
@@ -62,7 +98,48 @@ class GeneratePaymentQrCodeServiceTest {
         assertEquals(validPaymentData.getPaymentId(), result.getPaymentId());
         assertEquals(validPaymentData.getQrCode(), result.getQrCode());
         
-        verify(paymentRepository, times(1)).getPaymentData(paymentDataDTO.getOrderId(), paymentDataDTO.getTotalPrice());
+        verify(paymentRepository, times(1)).getPaymentData(paymentDataDTO.getOrderId(), paymentDataDTO.getTotalPrice(), null);
     }
-}
 
+    @Test
+    void shouldCreateNewMercadoPagoOrderWhenRegeneratedAfterRejectedPayment() {
+        final PaymentData regenerated = PaymentData.builder().paymentId("mp-payment-2").qrCode("qr-2").build();
+        when(orderRepository.getOrderById(paymentDataDTO.getOrderId())).thenReturn(null)
+            .thenReturn(new OrderRepository.Order(paymentDataDTO.getOrderId(), "12345678900", paymentData.getPaymentId(),
+                PaymentStatusEnum.REJECTED));
+        when(paymentRepository.getPaymentData(paymentDataDTO.getOrderId(), paymentDataDTO.getTotalPrice(), null)).thenReturn(paymentData);
+        when(paymentRepository.getPaymentData(paymentDataDTO.getOrderId(), paymentDataDTO.getTotalPrice(), paymentData.getPaymentId()))
+            .thenReturn(regenerated);
+
+        assertSame(paymentData, generatePaymentQrCodeService.generatePaymentQrCode(paymentDataDTO));
+        paymentQrCodeCache.invalidate(paymentData.getPaymentId());
+
+        assertSame(regenerated, generatePaymentQrCodeService.generatePaymentQrCode(paymentDataDTO));
+        verify(paymentRepository, never()).getOpenPaymentData(any());
+    }
+
+    @Test
+    void shouldReuseOpenPaymentOfPendingOrder() {
+        when(orderRepository.getOrderById(paymentDataDTO.getOrderId())).thenReturn(new OrderRepository.Order(
+            paymentDataDTO.getOrderId(), "12345678900", paymentData.getPaymentId(), PaymentStatusEnum.PENDING));
+        when(paymentRepository.getOpenPaymentData(paymentData.getPaymentId())).thenReturn(paymentData);
+
+        assertSame(paymentData, generatePaymentQrCodeService.generatePaymentQrCode(paymentDataDTO));
+
+        verify(paymentRepository, never()).getPaymentData(any(), any(), any());
+        verifyNoInteractions(pendingPaymentTracker, paymentLogWriter);
+    }
+
+    @Test
+    void shouldCreateNewMercadoPagoOrderWhenPendingPaymentCanNoLongerBePaid() {
+        final PaymentData regenerated = PaymentData.builder().paymentId("mp-payment-2").qrCode("qr-2").build();
+        when(orderRepository.getOrderById(paymentDataDTO.getOrderId())).thenReturn(new OrderRepository.Order(
+            paymentDataDTO.getOrderId(), "12345678900", paymentData.getPaymentId(), PaymentStatusEnum.PENDING));
+        when(paymentRepository.getOpenPaymentData(paymentData.getPaymentId())).thenReturn(null);
+        when(paymentRepository.getPaymentData(paymentDataDTO.getOrderId(), paymentDataDTO.getTotalPrice(), paymentData.getPaymentId()))
+            .thenReturn(regenerated);
+
+        assertSame(regenerated, generatePaymentQrCodeService.generatePaymentQrCode(paymentDataDTO));
+        verify(pendingPaymentTracker).track(paymentDataDTO.getOrderId(), "mp-payment-2");
+    }
+}
@@ -0,0 +1,197 @@
+package com.lanchonete.payment.core.application.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.lanchonete.payment.core.application.config.WebhookJournalProperties;
+import com.lanchonete.payment.core.application.dto.PaymentConfirmationDTO;
+import com.lanchonete.payment.core.application.journal.WebhookJournal;
+import com.lanchonete.payment.core.application.journal.WebhookJournal.Entry;
+import com.lanchonete.payment.core.domain.exceptions.InvalidPaymentException;
+import com.lanchonete.payment.core.domain.exceptions.OrderNotFoundException;
+import com.lanchonete.payment.core.domain.exceptions.WebhookBackpressureException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class JournaledProcessPaymentWebhookServiceTest {
+
+    @Mock
+    private ProcessPaymentWebhookService processPaymentWebhookService;
+
+    @Mock
+    private WebhookJournal journal;
+
+    private WebhookJournalProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private JournaledProcessPaymentWebhookService journaledService;
+    private PaymentConfirmationDTO event;
+
+    @BeforeEach
+    void setUp() {
+        properties = new WebhookJournalProperties();
+        properties.setWorkers(1);
+        properties.setMaxPending(10);
+        properties.setMaxAttempts(3);
+        properties.setRetryDelay(Duration.ofMillis(10));
+        meterRegistry = new SimpleMeterRegistry();
+        journaledService = new JournaledProcessPaymentWebhookService(processPaymentWebhookService, journal, properties, meterRegistry);
+        event = PaymentConfirmationDTO.builder()
+            .data(PaymentConfirmationDTO.PaymentConfirmationDataDTO.builder().id("mp-payment-123").build())
+            .build();
+    }
+
+    @Test
+    void shouldAppendToJournalWithoutProcessingInline() {
+        when(journal.append(event)).thenReturn(new Entry(1L, 0, event, 0));
+
+        journaledService.processPaymentConfirmation(event);
+
+        verify(journal).append(event);
+        verifyNoInteractions(processPaymentWebhookService);
+        assertEquals(1.0, meterRegistry.get("payment.webhook.journal.queued").gauge().value());
+        assertEquals(1.0, outcome("appended"));
+    }
+
+    @Test
+    void shouldRejectEventWithoutPaymentId() {
+        final PaymentConfirmationDTO invalidEvent = PaymentConfirmationDTO.builder().build();
+
+        assertThrows(InvalidPaymentException.class, () -> journaledService.processPaymentConfirmation(invalidEvent));
+        verify(journal, never()).append(any());
+    }
+
+    @Test
+    void shouldApplyBackpressureWhenJournalIsFull() {
+        when(journal.pendingCount()).thenReturn(10L);
+
+        assertThrows(WebhookBackpressureException.class, () -> journaledService.processPaymentConfirmation(event));
+        verify(journal, never()).append(any());
+        assertEquals(1.0, outcome("rejected"));
+    }
+
+    @Test
+    void shouldCompleteEntryAfterSuccessfulProcessing() {
+        final Entry entry = new Entry(1L, 0, event, 0);
+
+        journaledService.process(entry);
+
+        verify(processPaymentWebhookService).processPaymentConfirmation(event);
+        verify(journal).complete(entry);
+        assertEquals(1.0, outcome("processed"));
+    }
+
+    @Test
+    void shouldFailEntryAfterMaxAttempts() {
+        final Entry entry = new Entry(1L, 0, event, 2);
+        doThrow(new RuntimeException("Production service unavailable")).when(processPaymentWebhookService).processPaymentConfirmation(event);
+
+        journaledService.process(entry);
+
+        verify(journal).fail(entry);
+        verify(journal, never()).complete(any());
+        assertEquals(1.0, outcome("failed"));
+    }
+
+    @Test
+    void shouldFailPermanentErrorsWithoutRetrying() {
+        final Entry entry = new Entry(1L, 0, event, 0);
+        doThrow(new InvalidPaymentException("No payment confirmation received")).when(processPaymentWebhookService).processPaymentConfirmation(event);
+
+        journaledService.process(entry);
+
+        verify(journal).fail(entry);
+        assertEquals(1.0, outcome("failed"));
+        assertEquals(0.0, outcome("retried"));
+    }
+
+    @Test
+    void shouldRetryEventsForOrdersNotKnownYet() {
+        final Entry entry = new Entry(1L, 0, event, 0);
+        doThrow(new OrderNotFoundException("Order not found")).when(processPaymentWebhookService).processPaymentConfirmation(event);
+        properties.setRetryDelay(Duration.ofMinutes(1));
+        journaledService.start();
+        try {
+            journaledService.process(entry);
+        } finally {
+            journaledService.stop();
+        }
+
+        verify(journal, never()).fail(any());
+        assertEquals(1.0, outcome("retried"));
+    }
+
+    @Test
+    void shouldLetInFlightEventFinishOnStop() throws InterruptedException {
+        final CountDownLatch processing = new CountDownLatch(1);
+        final Entry entry = new Entry(1L, 0, event, 0);
+        when(journal.recover()).thenReturn(List.of(entry));
+        doAnswer(invocation -> {
+            processing.countDown();
+            Thread.sleep(200);
+            return null;
+        }).when(processPaymentWebhookService).processPaymentConfirmation(event);
+
+        journaledService.start();
+        assertTrue(processing.await(5, TimeUnit.SECONDS));
+        journaledService.stop();
+
+        verify(journal).complete(entry);
+        assertEquals(1.0, outcome("processed"));
+    }
+
+    @Test
+    void shouldLeaveEntryInJournalWhenFailingDuringShutdown() {
+        final Entry entry = new Entry(1L, 0, event, 0);
+        doThrow(new RuntimeException("Production service unavailable")).when(processPaymentWebhookService).processPaymentConfirmation(event);
+        journaledService.start();
+        journaledService.stop();
+
+        assertDoesNotThrow(() -> journaledService.process(entry));
+
+        verify(journal, never()).fail(any());
+        verify(journal, never()).complete(any());
+        assertEquals(0.0, outcome("retried"));
+    }
+
+    @Test
+    void shouldReplayRecoveredEntriesAndRetryFailuresOnStart() throws InterruptedException {
+        final Entry recovered = new Entry(1L, 0, event, 0);
+        final CountDownLatch completed = new CountDownLatch(1);
+        when(journal.recover()).thenReturn(List.of(recovered));
+        doThrow(new RuntimeException("Production service unavailable"))
+            .doNothing()
+            .when(processPaymentWebhookService).processPaymentConfirmation(event);
+        doAnswer(invocation -> {
+            completed.countDown();
+            return null;
+        }).when(journal).complete(any());
+
+        journaledService.start();
+        try {
+            assertTrue(completed.await(5, TimeUnit.SECONDS));
+        } finally {
+            journaledService.stop();
+        }
+
+        verify(processPaymentWebhookService, times(2)).processPaymentConfirmation(event);
+        verify(journal).complete(recovered.nextAttempt());
+        assertEquals(1.0, outcome("retried"));
+    }
+
+    private double outcome(final String outcome) {
+        return meterRegistry.get("payment.webhook.journal.events").tag("outcome", outcome).counter().count();
+    }
+}
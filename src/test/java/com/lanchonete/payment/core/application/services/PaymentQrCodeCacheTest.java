@@ -0,0 +1,220 @@
+package com.lanchonete.payment.core.application.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.lanchonete.payment.core.domain.exceptions.MercadoPagoIntegrationException;
+import com.lanchonete.payment.core.domain.model.PaymentData;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+class PaymentQrCodeCacheTest {
+
+    private static final Long ORDER_ID = 1L;
+    private static final BigDecimal TOTAL_PRICE = new BigDecimal("50.00");
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger generations = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private PaymentQrCodeCache qrCodeCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        qrCodeCache = new PaymentQrCodeCache(true, Duration.ofMinutes(30), 100, meterRegistry, clock::get);
+    }
+
+    @Test
+    void shouldReuseQrCodeUntilItExpires() {
+        final PaymentData first = qrCodeCache.get(ORDER_ID, TOTAL_PRICE, this::generate);
+        clock.addAndGet(Duration.ofMinutes(29).toNanos());
+        final PaymentData cached = qrCodeCache.get(ORDER_ID, new BigDecimal("50.0"), this::generate);
+        clock.addAndGet(Duration.ofMinutes(2).toNanos());
+        final PaymentData regenerated = qrCodeCache.get(ORDER_ID, TOTAL_PRICE, this::generate);
+
+        assertSame(first, cached);
+        assertNotSame(first, regenerated);
+        assertEquals(2, generations.get());
+        assertEquals(1.0, hits("cached"));
+    }
+
+    @Test
+    void shouldKeyByOrderAndAmount() {
+        qrCodeCache.get(ORDER_ID, TOTAL_PRICE, this::generate);
+        qrCodeCache.get(ORDER_ID, new BigDecimal("60.00"), this::generate);
+        qrCodeCache.get(2L, TOTAL_PRICE, this::generate);
+
+        assertEquals(3, generations.get());
+        assertEquals(3.0, misses());
+    }
+
+    @Test
+    void shouldCollapseConcurrentDuplicatesIntoOneGeneration() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Future<PaymentData>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            results.add(executor.submit(() -> qrCodeCache.get(ORDER_ID, TOTAL_PRICE, () -> {
+                await(release);
+                return generate();
+            })));
+            while (misses() < 1) {
+                Thread.onSpinWait();
+            }
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> qrCodeCache.get(ORDER_ID, TOTAL_PRICE, this::generate)));
+            }
+            while (hits("coalesced") < 4) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            final PaymentData leader = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<PaymentData> result : results) {
+                assertSame(leader, result.get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(1, generations.get());
+    }
+
+    @Test
+    void shouldNotCacheFailedGeneration() {
+        assertThrows(MercadoPagoIntegrationException.class, () -> qrCodeCache.get(ORDER_ID, TOTAL_PRICE, () -> {
+            throw new MercadoPagoIntegrationException("Mercado Pago unavailable");
+        }));
+
+        assertNotNull(qrCodeCache.get(ORDER_ID, TOTAL_PRICE, this::generate));
+        assertEquals(1, generations.get());
+    }
+
+    @Test
+    void shouldShareReactiveGenerationWhenOneSubscriberCancels() {
+        final Sinks.One<PaymentData> mercadoPago = Sinks.one();
+        final Mono<PaymentData> generation = Mono.defer(() -> {
+            generations.incrementAndGet();
+            return mercadoPago.asMono();
+        });
+
+        final Disposable cancelled = qrCodeCache.get(ORDER_ID, TOTAL_PRICE, generation).subscribe();
+        final Mono<PaymentData> follower = qrCodeCache.get(ORDER_ID, TOTAL_PRICE, generation);
+        cancelled.dispose();
+        final PaymentData paymentData = PaymentData.builder().paymentId("mp-payment-1").qrCode("qr").build();
+
+        StepVerifier.create(follower)
+            .then(() -> mercadoPago.tryEmitValue(paymentData))
+            .expectNext(paymentData)
+            .verifyComplete();
+        StepVerifier.create(qrCodeCache.get(ORDER_ID, TOTAL_PRICE, generation))
+            .expectNext(paymentData)
+            .verifyComplete();
+        assertEquals(1, generations.get());
+    }
+
+    @Test
+    void shouldGenerateEveryTimeWhenDisabled() {
+        final PaymentQrCodeCache disabled = new PaymentQrCodeCache(false, Duration.ofMinutes(30), 100, meterRegistry, clock::get);
+
+        disabled.get(ORDER_ID, TOTAL_PRICE, this::generate);
+        disabled.get(ORDER_ID, TOTAL_PRICE, this::generate);
+
+        assertEquals(2, generations.get());
+    }
+
+    @Test
+    void shouldFindQrDataOfGeneratedQrCodeUntilItExpires() {
+        final PaymentData paymentData = qrCodeCache.get(ORDER_ID, TOTAL_PRICE, this::generate);
+
+        assertEquals("qr-1", qrCodeCache.findQrData(paymentData.getPaymentId()).orElseThrow());
+        assertTrue(qrCodeCache.findQrData("unknown-payment").isEmpty());
+
+        clock.addAndGet(Duration.ofMinutes(31).toNanos());
+        assertTrue(qrCodeCache.findQrData(paymentData.getPaymentId()).isEmpty());
+    }
+
+    @Test
+    void shouldReportRemainingLifetimeOfQrCode() {
+        final PaymentData paymentData = qrCodeCache.get(ORDER_ID, TOTAL_PRICE, this::generate);
+        clock.addAndGet(Duration.ofMinutes(20).toNanos());
+
+        assertEquals(Duration.ofMinutes(10), qrCodeCache.findRemainingLifetime(paymentData.getPaymentId()).orElseThrow());
+
+        qrCodeCache.invalidate(paymentData.getPaymentId());
+        assertTrue(qrCodeCache.findRemainingLifetime(paymentData.getPaymentId()).isEmpty());
+        assertTrue(qrCodeCache.findRemainingLifetime("unknown-payment").isEmpty());
+    }
+
+    @Test
+    void shouldFindQrDataWhenDeduplicationIsDisabled() {
+        final PaymentQrCodeCache disabled = new PaymentQrCodeCache(false, Duration.ofMinutes(30), 100, meterRegistry, clock::get);
+
+        final PaymentData blocking = disabled.get(ORDER_ID, TOTAL_PRICE, this::generate);
+        final PaymentData reactive = disabled.get(2L, TOTAL_PRICE, Mono.fromSupplier(this::generate)).block();
+
+        assertEquals("qr-1", disabled.findQrData(blocking.getPaymentId()).orElseThrow());
+        assertEquals("qr-2", disabled.findQrData(reactive.getPaymentId()).orElseThrow());
+    }
+
+    @Test
+    void shouldGenerateNewQrCodeOncePaymentIsInvalidated() {
+        final PaymentData first = qrCodeCache.get(ORDER_ID, TOTAL_PRICE, this::generate);
+
+        qrCodeCache.invalidate(first.getPaymentId());
+        final PaymentData regenerated = qrCodeCache.get(ORDER_ID, TOTAL_PRICE, this::generate);
+
+        assertNotEquals(first.getPaymentId(), regenerated.getPaymentId());
+        assertTrue(qrCodeCache.findQrData(first.getPaymentId()).isEmpty());
+        assertEquals("qr-2", qrCodeCache.findQrData(regenerated.getPaymentId()).orElseThrow());
+        assertEquals(2, generations.get());
+    }
+
+    @Test
+    void shouldKeepNewerQrCodeWhenStalePaymentIsInvalidated() {
+        final PaymentData first = qrCodeCache.get(ORDER_ID, TOTAL_PRICE, this::generate);
+        qrCodeCache.invalidate(first.getPaymentId());
+        final PaymentData second = qrCodeCache.get(ORDER_ID, TOTAL_PRICE, this::generate);
+
+        qrCodeCache.invalidate(first.getPaymentId());
+
+        assertSame(second, qrCodeCache.get(ORDER_ID, TOTAL_PRICE, this::generate));
+        assertEquals(2, generations.get());
+    }
+
+    private PaymentData generate() {
+        final int generation = generations.incrementAndGet();
+        return PaymentData.builder().paymentId("mp-payment-" + generation).qrCode("qr-" + generation).build();
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double hits(final String reason) {
+        return meterRegistry.get("payment.qr.cache.hits").tag("reason", reason).counter().count();
+    }
+
+    private double misses() {
+        return meterRegistry.get("payment.qr.cache.misses").counter().count();
+    }
+}
@@ -0,0 +1,207 @@
+package com.lanchonete.payment.core.application.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.lanchonete.payment.core.application.config.PaymentMetrics;
+import com.lanchonete.payment.core.application.config.ReconciliationProperties;
+import com.lanchonete.payment.core.application.paymentlog.PaymentLogReader;
+import com.lanchonete.payment.core.application.paymentlog.PaymentLogReader.PendingEntry;
+import com.lanchonete.payment.core.application.paymentlog.PaymentLogWriter;
+import com.lanchonete.payment.core.domain.exceptions.MercadoPagoUnavailableException;
+import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository;
+import com.lanchonete.payment.core.domain.repositories.PaymentRepository;
+import com.lanchonete.payment.mocks.PaymentConfirmationMock;
+
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentReconciliationSweeperTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private PaymentStatusNotifier paymentStatusNotifier;
+
+    @Mock
+    private PaymentLogWriter paymentLogWriter;
+
+    @Mock
+    private PaymentLogReader paymentLogReader;
+
+    @Mock
+    private PaymentQrCodeCache paymentQrCodeCache;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReconciliationProperties properties;
+    private PendingPaymentTracker tracker;
+    private PaymentStatusRegistry paymentStatusRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ReconciliationProperties();
+        properties.setFirstCheckDelay(Duration.ofSeconds(60));
+        properties.setRecheckInterval(Duration.ofSeconds(60));
+        properties.setQrExpiry(Duration.ofMinutes(30));
+        properties.setConcurrency(2);
+        tracker = new PendingPaymentTracker(properties, meterRegistry, clock::get);
+        paymentStatusRegistry = new PaymentStatusRegistry(true, Duration.ofSeconds(5), Duration.ofMinutes(10), 100, meterRegistry, clock::get);
+    }
+
+    @Test
+    void shouldPushFinalStatusAndStopTracking() {
+        final PaymentConfirmation approved = PaymentConfirmationMock.createApprovedPaymentMock();
+        tracker.track(1L, approved.getId());
+        clock.addAndGet(Duration.ofSeconds(60).toNanos());
+        when(paymentRepository.getPaymentStatus(approved.getId())).thenReturn(approved);
+
+        sweeper(RateLimiterRegistry.ofDefaults()).sweep();
+
+        verify(orderRepository).updateOrderPaymentStatus(1L, approved);
+        verify(paymentStatusNotifier).publish(1L, PaymentStatusEnum.APPROVED);
+        verify(paymentQrCodeCache).invalidate(approved.getId());
+        verify(paymentLogWriter).record(PaymentLogWriter.Entry.of(approved.getId(), 1L, "APPROVED", approved.getTotalAmount()));
+        assertEquals(0, tracker.size());
+        assertEquals(1, reconciliations("resolved"));
+    }
+
+    @Test
+    void shouldRecheckStillPendingPaymentLater() {
+        tracker.track(1L, "mp-payment-123");
+        clock.addAndGet(Duration.ofSeconds(60).toNanos());
+        when(paymentRepository.getPaymentStatus("mp-payment-123"))
+            .thenReturn(PaymentConfirmation.builder().id("mp-payment-123").status("action_required").build());
+
+        final PaymentReconciliationSweeper sweeper = sweeper(RateLimiterRegistry.ofDefaults());
+        sweeper.sweep();
+        sweeper.sweep();
+
+        verify(paymentRepository, times(1)).getPaymentStatus(anyString());
+        verifyNoInteractions(orderRepository);
+        assertEquals(1, tracker.size());
+
+        clock.addAndGet(Duration.ofSeconds(60).toNanos());
+        sweeper.sweep();
+        verify(paymentRepository, times(2)).getPaymentStatus(anyString());
+    }
+
+    @Test
+    void shouldExpireAbandonedQrCode() {
+        tracker.track(1L, "mp-payment-123");
+        clock.addAndGet(Duration.ofMinutes(31).toNanos());
+        when(paymentRepository.getPaymentStatus("mp-payment-123"))
+            .thenReturn(PaymentConfirmation.builder().id("mp-payment-123").status("created").totalAmount(50.0).build());
+
+        sweeper(RateLimiterRegistry.ofDefaults()).sweep();
+
+        verify(orderRepository).updateOrderPaymentStatus(eq(1L), argThat(payment -> "expired".equals(payment.getStatus())
+            && "mp-payment-123".equals(payment.getId())));
+        verify(paymentStatusNotifier).publish(1L, PaymentStatusEnum.CANCELLED);
+        assertEquals(0, tracker.size());
+    }
+
+    @Test
+    void shouldSkipMercadoPagoWhenRegistryAlreadyHasFinalStatus() {
+        final PaymentConfirmation approved = PaymentConfirmationMock.createApprovedPaymentMock();
+        tracker.track(1L, approved.getId());
+        clock.addAndGet(Duration.ofSeconds(60).toNanos());
+        paymentStatusRegistry.record(1L, approved.getId(), approved);
+
+        sweeper(RateLimiterRegistry.ofDefaults()).sweep();
+
+        verifyNoInteractions(paymentRepository, orderRepository);
+        assertEquals(0, tracker.size());
+    }
+
+    @Test
+    void shouldKeepTrackingWhenLookupFails() {
+        tracker.track(1L, "mp-payment-123");
+        clock.addAndGet(Duration.ofSeconds(60).toNanos());
+        when(paymentRepository.getPaymentStatus(anyString()))
+            .thenThrow(new MercadoPagoUnavailableException("circuit open", null));
+
+        sweeper(RateLimiterRegistry.ofDefaults()).sweep();
+
+        verify(orderRepository, never()).updateOrderPaymentStatus(anyLong(), any());
+        assertEquals(1, tracker.size());
+        assertEquals(1, reconciliations("failed"));
+    }
+
+    @Test
+    void shouldRespectRateLimit() {
+        tracker.track(1L, "mp-payment-1");
+        tracker.track(2L, "mp-payment-2");
+        tracker.track(3L, "mp-payment-3");
+        clock.addAndGet(Duration.ofSeconds(60).toNanos());
+        when(paymentRepository.getPaymentStatus(anyString()))
+            .thenReturn(PaymentConfirmation.builder().status("created").build());
+        final RateLimiterRegistry rateLimiterRegistry = RateLimiterRegistry.of(RateLimiterConfig.custom()
+            .limitForPeriod(1)
+            .limitRefreshPeriod(Duration.ofHours(1))
+            .timeoutDuration(Duration.ZERO)
+            .build());
+
+        sweeper(rateLimiterRegistry).sweep();
+
+        verify(paymentRepository, times(1)).getPaymentStatus(anyString());
+        assertEquals(2, reconciliations("rate_limited"));
+        assertEquals(3, tracker.size());
+    }
+
+    @Test
+    void shouldRestoreUnresolvedPaymentsOfItsPartitionFromPaymentLogs() {
+        properties.setReplicaCount(2);
+        properties.setReplicaIndex(0);
+        tracker = new PendingPaymentTracker(properties, meterRegistry, clock::get);
+        when(paymentLogReader.findUnresolved(any(), eq(properties.getMaxEntries()))).thenReturn(List.of(
+            new PendingEntry("mp-payment-2", 2L, Instant.now().minus(Duration.ofMinutes(31))),
+            new PendingEntry("mp-payment-3", 3L, Instant.now().minus(Duration.ofMinutes(31)))));
+        when(paymentRepository.getPaymentStatus("mp-payment-2"))
+            .thenReturn(PaymentConfirmation.builder().id("mp-payment-2").status("created").build());
+
+        final PaymentReconciliationSweeper sweeper = sweeper(RateLimiterRegistry.ofDefaults());
+        sweeper.recover();
+        assertEquals(1, tracker.size());
+
+        sweeper.sweep();
+
+        verify(paymentRepository, never()).getPaymentStatus("mp-payment-3");
+        verify(orderRepository).updateOrderPaymentStatus(eq(2L), argThat(payment -> "expired".equals(payment.getStatus())));
+        assertEquals(0, tracker.size());
+    }
+
+    private PaymentReconciliationSweeper sweeper(final RateLimiterRegistry rateLimiterRegistry) {
+        return new PaymentReconciliationSweeper(tracker, paymentRepository, orderRepository, paymentStatusRegistry,
+            paymentStatusNotifier, new PaymentMetrics(meterRegistry), paymentLogWriter, paymentLogReader, paymentQrCodeCache,
+            properties, rateLimiterRegistry);
+    }
+
+    private double reconciliations(final String outcome) {
+        return meterRegistry.get(PaymentMetrics.RECONCILIATIONS).tag("outcome", outcome).counter().count();
+    }
+}
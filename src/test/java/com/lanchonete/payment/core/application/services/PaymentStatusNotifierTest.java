@@ -0,0 +1,71 @@
+package com.lanchonete.payment.core.application.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PaymentStatusNotifierTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PaymentStatusNotifier paymentStatusNotifier;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        paymentStatusNotifier = new PaymentStatusNotifier(meterRegistry);
+    }
+
+    @Test
+    void shouldWakeEveryWaiterOfTheOrderAtOnce() {
+        final CompletableFuture<PaymentStatusEnum> first = paymentStatusNotifier.register(1L, PaymentStatusEnum.PENDING);
+        final CompletableFuture<PaymentStatusEnum> second = paymentStatusNotifier.register(1L, PaymentStatusEnum.PENDING);
+        final CompletableFuture<PaymentStatusEnum> otherOrder = paymentStatusNotifier.register(2L, PaymentStatusEnum.PENDING);
+
+        paymentStatusNotifier.publish(1L, PaymentStatusEnum.APPROVED);
+
+        assertEquals(PaymentStatusEnum.APPROVED, first.getNow(null));
+        assertEquals(PaymentStatusEnum.APPROVED, second.getNow(null));
+        assertFalse(otherOrder.isDone());
+        assertEquals(1, paymentStatusNotifier.waitingCount());
+        assertEquals(2.0, meterRegistry.get("payment.status.waiters.woken").counter().count());
+    }
+
+    @Test
+    void shouldKeepWaitersWhoseStatusDidNotChange() {
+        final CompletableFuture<PaymentStatusEnum> waiter = paymentStatusNotifier.register(1L, PaymentStatusEnum.PENDING);
+
+        paymentStatusNotifier.publish(1L, PaymentStatusEnum.PENDING);
+
+        assertFalse(waiter.isDone());
+        assertEquals(1, paymentStatusNotifier.waitingCount());
+    }
+
+    @Test
+    void shouldForgetCancelledWaiters() {
+        final CompletableFuture<PaymentStatusEnum> waiter = paymentStatusNotifier.register(1L, PaymentStatusEnum.PENDING);
+
+        waiter.cancel(false);
+        paymentStatusNotifier.publish(1L, PaymentStatusEnum.APPROVED);
+
+        assertEquals(0, paymentStatusNotifier.waitingCount());
+        assertEquals(0.0, meterRegistry.get("payment.status.waiters").gauge().value());
+        assertEquals(0.0, meterRegistry.get("payment.status.waiters.woken").counter().count());
+    }
+
+    @Test
+    void shouldIgnoreIncompleteNotifications() {
+        final CompletableFuture<PaymentStatusEnum> waiter = paymentStatusNotifier.register(1L, PaymentStatusEnum.PENDING);
+
+        paymentStatusNotifier.publish(1L, null);
+        paymentStatusNotifier.publish(null, PaymentStatusEnum.APPROVED);
+
+        assertFalse(waiter.isDone());
+    }
+}
@@ -0,0 +1,154 @@
+package com.lanchonete.payment.core.application.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PaymentStatusRegistryTest {
+
+    private static final String PAYMENT_ID = "mp-payment-123";
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong clock;
+    private PaymentStatusRegistry paymentStatusRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new AtomicLong();
+        paymentStatusRegistry = registry(100);
+    }
+
+    @Test
+    void shouldAnswerFreshEntries() {
+        final PaymentConfirmation payment = payment("pending");
+        paymentStatusRegistry.record(1L, PAYMENT_ID, payment);
+
+        assertSame(payment, paymentStatusRegistry.getFresh(1L, PAYMENT_ID));
+        assertEquals(1.0, meterRegistry.get("payment.status.registry.hits").counter().count());
+    }
+
+    @Test
+    void shouldTreatPendingEntriesAsStaleAfterTtl() {
+        paymentStatusRegistry.record(1L, PAYMENT_ID, payment("pending"));
+
+        advance(Duration.ofSeconds(6));
+
+        assertNull(paymentStatusRegistry.getFresh(1L, PAYMENT_ID));
+        assertEquals(1.0, misses("stale"));
+    }
+
+    @Test
+    void shouldKeepFinalEntriesLonger() {
+        final PaymentConfirmation payment = payment("processed");
+        paymentStatusRegistry.record(1L, PAYMENT_ID, payment);
+
+        advance(Duration.ofSeconds(60));
+
+        assertSame(payment, paymentStatusRegistry.getFresh(1L, PAYMENT_ID));
+    }
+
+    @Test
+    void shouldReplaceEntryWithLatestConfirmation() {
+        paymentStatusRegistry.record(1L, PAYMENT_ID, payment("pending"));
+        final PaymentConfirmation approved = payment("processed");
+        paymentStatusRegistry.record(1L, PAYMENT_ID, approved);
+
+        assertSame(approved, paymentStatusRegistry.getFresh(1L, PAYMENT_ID));
+        assertEquals(1, paymentStatusRegistry.size());
+    }
+
+    @Test
+    void shouldMissWhenOrderHasAnotherPayment() {
+        paymentStatusRegistry.record(1L, PAYMENT_ID, payment("processed"));
+
+        assertNull(paymentStatusRegistry.getFresh(1L, "mp-payment-456"));
+        assertNull(paymentStatusRegistry.getFresh(2L, PAYMENT_ID));
+        assertEquals(2.0, misses("missing"));
+    }
+
+    @Test
+    void shouldEvictExpiredEntriesWhenFull() {
+        final PaymentStatusRegistry smallRegistry = registry(16);
+        for (long orderId = 0; orderId < 1_000; orderId++) {
+            smallRegistry.record(orderId, PAYMENT_ID, payment("pending"));
+        }
+        final int filled = smallRegistry.size();
+        assertTrue(filled <= 16);
+        assertTrue(meterRegistry.get("payment.status.registry.rejected").counter().count() > 0);
+
+        advance(Duration.ofSeconds(6));
+        for (long orderId = 1_000; orderId < 2_000; orderId++) {
+            smallRegistry.record(orderId, PAYMENT_ID, payment("pending"));
+        }
+
+        assertTrue(smallRegistry.size() <= 16);
+        for (long orderId = 0; orderId < 1_000; orderId++) {
+            assertNull(smallRegistry.getFresh(orderId, PAYMENT_ID));
+        }
+    }
+
+    @Test
+    void shouldSweepExpiredEntriesBeforeRegistryIsFull() {
+        final PaymentStatusRegistry largeRegistry = registry(10_000);
+        for (long orderId = 0; orderId < 1_000; orderId++) {
+            largeRegistry.record(orderId, PAYMENT_ID, payment("pending"));
+        }
+
+        advance(Duration.ofSeconds(6));
+        for (long orderId = 1_000; orderId < 2_000; orderId++) {
+            largeRegistry.record(orderId, PAYMENT_ID, payment("pending"));
+        }
+
+        assertTrue(largeRegistry.size() < 2_000);
+        assertEquals(0.0, meterRegistry.get("payment.status.registry.rejected").counter().count());
+    }
+
+    @Test
+    void shouldStoreManyOrdersAcrossProbeChains() {
+        final PaymentStatusRegistry largeRegistry = registry(10_000);
+        for (long orderId = -5_000; orderId < 5_000; orderId++) {
+            largeRegistry.record(orderId, PAYMENT_ID, payment("processed"));
+        }
+
+        assertEquals(10_000, largeRegistry.size());
+        for (long orderId = -5_000; orderId < 5_000; orderId++) {
+            assertNotNull(largeRegistry.getFresh(orderId, PAYMENT_ID), "order " + orderId);
+        }
+    }
+
+    @Test
+    void shouldDoNothingWhenDisabled() {
+        final PaymentStatusRegistry disabled = new PaymentStatusRegistry(false, Duration.ofSeconds(5),
+            Duration.ofSeconds(600), 100, new SimpleMeterRegistry(), clock::get);
+        disabled.record(1L, PAYMENT_ID, payment("processed"));
+
+        assertNull(disabled.getFresh(1L, PAYMENT_ID));
+        assertEquals(0, disabled.size());
+    }
+
+    private PaymentStatusRegistry registry(final int maxEntries) {
+        return new PaymentStatusRegistry(true, Duration.ofSeconds(5), Duration.ofSeconds(600), maxEntries,
+            meterRegistry, clock::get);
+    }
+
+    private void advance(final Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    private double misses(final String reason) {
+        return meterRegistry.get("payment.status.registry.misses").tag("reason", reason).counter().count();
+    }
+
+    private PaymentConfirmation payment(final String status) {
+        return PaymentConfirmation.builder().id(PAYMENT_ID).status(status).totalAmount(25.0).build();
+    }
+}
@@ -0,0 +1,227 @@
+package com.lanchonete.payment.core.application.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.lanchonete.payment.core.domain.exceptions.OrderNotFoundException;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+class PaymentWebhookCoalescerTest {
+
+    private static final String PAYMENT_ID = "mp-payment-123";
+
+    private SimpleMeterRegistry meterRegistry;
+    private PaymentWebhookCoalescer webhookCoalescer;
+    private AtomicInteger runs;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        webhookCoalescer = new PaymentWebhookCoalescer(true, 30, 100, meterRegistry);
+        runs = new AtomicInteger();
+    }
+
+    @Test
+    void shouldDropDuplicatesOfFinalStatusWithinTtl() {
+        webhookCoalescer.execute(PAYMENT_ID, () -> run(PaymentStatusEnum.APPROVED));
+        webhookCoalescer.execute(PAYMENT_ID, () -> run(PaymentStatusEnum.APPROVED));
+
+        assertEquals(1, runs.get());
+        assertEquals(1.0, hits("duplicate"));
+        assertEquals(1.0, misses());
+    }
+
+    @Test
+    void shouldReprocessWhilePaymentIsPending() {
+        webhookCoalescer.execute(PAYMENT_ID, () -> run(PaymentStatusEnum.PENDING));
+        webhookCoalescer.execute(PAYMENT_ID, () -> run(PaymentStatusEnum.APPROVED));
+        webhookCoalescer.execute(PAYMENT_ID, () -> run(PaymentStatusEnum.APPROVED));
+
+        assertEquals(2, runs.get());
+        assertEquals(2.0, misses());
+    }
+
+    @Test
+    void shouldExpireDuplicatesAfterTtl() {
+        final PaymentWebhookCoalescer noTtlCoalescer = new PaymentWebhookCoalescer(true, 0, 100, meterRegistry);
+
+        noTtlCoalescer.execute(PAYMENT_ID, () -> run(PaymentStatusEnum.APPROVED));
+        noTtlCoalescer.execute(PAYMENT_ID, () -> run(PaymentStatusEnum.APPROVED));
+
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void shouldAlwaysProcessWhenDisabled() {
+        final PaymentWebhookCoalescer disabledCoalescer = new PaymentWebhookCoalescer(false, 30, 100, meterRegistry);
+
+        disabledCoalescer.execute(PAYMENT_ID, () -> run(PaymentStatusEnum.APPROVED));
+        disabledCoalescer.execute(PAYMENT_ID, () -> run(PaymentStatusEnum.APPROVED));
+
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void shouldPropagateFailuresAndNotRememberThem() {
+        assertThrows(OrderNotFoundException.class, () -> webhookCoalescer.execute(PAYMENT_ID, () -> {
+            runs.incrementAndGet();
+            throw new OrderNotFoundException("Order not found");
+        }));
+        webhookCoalescer.execute(PAYMENT_ID, () -> run(PaymentStatusEnum.APPROVED));
+
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void shouldCollapseConcurrentNotificationsIntoOneTrailingRun() throws Exception {
+        final CountDownLatch leaderStarted = new CountDownLatch(1);
+        final CountDownLatch releaseLeader = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            final Future<?> leader = executor.submit(() -> webhookCoalescer.execute(PAYMENT_ID, () -> {
+                leaderStarted.countDown();
+                await(releaseLeader);
+                return run(PaymentStatusEnum.PENDING);
+            }));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+            final List<Future<?>> followers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                followers.add(executor.submit(() -> webhookCoalescer.execute(PAYMENT_ID, () -> run(PaymentStatusEnum.APPROVED))));
+            }
+            while (hits("coalesced") < 3) {
+                Thread.sleep(5);
+            }
+            releaseLeader.countDown();
+
+            leader.get(5, TimeUnit.SECONDS);
+            for (final Future<?> follower : followers) {
+                follower.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, runs.get());
+        assertEquals(3.0, hits("coalesced"));
+        assertEquals(2.0, misses());
+    }
+
+    @Test
+    void shouldAcceptNewNotificationsAfterTrailingRunWakesOnResolvedPayment() throws Exception {
+        final AtomicLong clock = new AtomicLong();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // the trailing run wakes as the leader resolves the payment; repeat so both wake-up orders are hit
+            for (int i = 0; i < 200; i++) {
+                final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+                final PaymentWebhookCoalescer coalescer = new PaymentWebhookCoalescer(true, 30, 100, registry, clock::get);
+                final CountDownLatch leaderStarted = new CountDownLatch(1);
+                final CountDownLatch releaseLeader = new CountDownLatch(1);
+
+                final Future<?> leader = executor.submit(() -> coalescer.execute(PAYMENT_ID, () -> {
+                    leaderStarted.countDown();
+                    await(releaseLeader);
+                    return run(PaymentStatusEnum.APPROVED);
+                }));
+                assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+                final Future<?> trailing = executor.submit(() -> coalescer.execute(PAYMENT_ID, () -> run(PaymentStatusEnum.APPROVED)));
+                final Future<?> coalesced = executor.submit(() -> coalescer.execute(PAYMENT_ID, () -> run(PaymentStatusEnum.APPROVED)));
+                while (registry.get("payment.webhook.dedup.hits").tag("reason", "coalesced").counter().count() < 1) {
+                    Thread.sleep(1);
+                }
+                releaseLeader.countDown();
+                leader.get(5, TimeUnit.SECONDS);
+                trailing.get(5, TimeUnit.SECONDS);
+                coalesced.get(5, TimeUnit.SECONDS);
+
+                clock.addAndGet(TimeUnit.SECONDS.toNanos(31));
+                final int before = runs.get();
+                executor.submit(() -> coalescer.execute(PAYMENT_ID, () -> run(PaymentStatusEnum.APPROVED)))
+                    .get(5, TimeUnit.SECONDS);
+                assertEquals(before + 1, runs.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldDropReactiveDuplicatesOfFinalStatus() {
+        StepVerifier.create(webhookCoalescer.execute(PAYMENT_ID, Mono.fromSupplier(() -> run(PaymentStatusEnum.APPROVED))))
+            .verifyComplete();
+        StepVerifier.create(webhookCoalescer.execute(PAYMENT_ID, Mono.fromSupplier(() -> run(PaymentStatusEnum.APPROVED))))
+            .verifyComplete();
+
+        assertEquals(1, runs.get());
+        assertEquals(1.0, hits("duplicate"));
+    }
+
+    @Test
+    void shouldCollapseConcurrentReactiveNotificationsIntoOneTrailingRun() {
+        final Sinks.One<PaymentStatusEnum> leaderResult = Sinks.one();
+        final List<Mono<Void>> notifications = new ArrayList<>();
+        notifications.add(webhookCoalescer.execute(PAYMENT_ID, leaderResult.asMono().doOnNext(status -> runs.incrementAndGet())).cache());
+        for (int i = 0; i < 4; i++) {
+            notifications.add(webhookCoalescer.execute(PAYMENT_ID, Mono.fromSupplier(() -> run(PaymentStatusEnum.APPROVED))).cache());
+        }
+
+        notifications.forEach(Mono::subscribe);
+        assertEquals(3.0, hits("coalesced"));
+        leaderResult.tryEmitValue(PaymentStatusEnum.PENDING);
+
+        StepVerifier.create(Mono.when(notifications)).verifyComplete();
+        assertEquals(2, runs.get());
+        assertEquals(2.0, misses());
+    }
+
+    @Test
+    void shouldPropagateReactiveFailuresAndNotRememberThem() {
+        StepVerifier.create(webhookCoalescer.execute(PAYMENT_ID,
+                Mono.<PaymentStatusEnum>error(new OrderNotFoundException("Order not found")).doOnSubscribe(s -> runs.incrementAndGet())))
+            .expectError(OrderNotFoundException.class)
+            .verify();
+        StepVerifier.create(webhookCoalescer.execute(PAYMENT_ID, Mono.fromSupplier(() -> run(PaymentStatusEnum.APPROVED))))
+            .verifyComplete();
+
+        assertEquals(2, runs.get());
+    }
+
+    private PaymentStatusEnum run(final PaymentStatusEnum status) {
+        runs.incrementAndGet();
+        return status;
+    }
+
+    private double hits(final String reason) {
+        return meterRegistry.get("payment.webhook.dedup.hits").tag("reason", reason).counter().count();
+    }
+
+    private double misses() {
+        return meterRegistry.get("payment.webhook.dedup.misses").counter().count();
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.lanchonete.payment.core.application.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.lanchonete.payment.core.application.config.ReconciliationProperties;
+import com.lanchonete.payment.core.application.services.PendingPaymentTracker.PendingPayment;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PendingPaymentTrackerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private ReconciliationProperties properties;
+    private PendingPaymentTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ReconciliationProperties();
+        properties.setFirstCheckDelay(Duration.ofSeconds(60));
+        properties.setMaxEntries(2);
+        tracker = new PendingPaymentTracker(properties, new SimpleMeterRegistry(), clock::get);
+    }
+
+    @Test
+    void shouldOnlyReturnPaymentsPastTheirFirstCheckDelay() {
+        tracker.track(1L, "mp-payment-1");
+
+        assertTrue(tracker.due(10).isEmpty());
+
+        clock.addAndGet(Duration.ofSeconds(60).toNanos());
+        assertEquals("mp-payment-1", tracker.due(10).get(0).paymentId());
+    }
+
+    @Test
+    void shouldReturnOldestDueFirstUpToLimit() {
+        tracker.track(1L, "mp-payment-1");
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        tracker.track(2L, "mp-payment-2");
+        clock.addAndGet(Duration.ofSeconds(120).toNanos());
+
+        assertEquals(1L, tracker.due(1).get(0).orderId());
+        assertEquals(2, tracker.due(10).size());
+    }
+
+    @Test
+    void shouldRescheduleAndUntrack() {
+        tracker.track(1L, "mp-payment-1");
+        clock.addAndGet(Duration.ofSeconds(60).toNanos());
+        final PendingPayment pending = tracker.due(10).get(0);
+
+        tracker.reschedule(pending, clock.get() + Duration.ofSeconds(30).toNanos());
+        assertTrue(tracker.due(10).isEmpty());
+
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        tracker.untrack(tracker.due(10).get(0));
+        assertEquals(0, tracker.size());
+    }
+
+    @Test
+    void shouldNotUntrackNewerPaymentForSameOrder() {
+        tracker.track(1L, "mp-payment-1");
+        clock.addAndGet(Duration.ofSeconds(60).toNanos());
+        final PendingPayment stale = tracker.due(10).get(0);
+
+        tracker.track(1L, "mp-payment-2");
+        tracker.untrack(stale);
+
+        assertEquals(1, tracker.size());
+    }
+
+    @Test
+    void shouldStopTrackingWhenFullOrDisabled() {
+        tracker.track(1L, "mp-payment-1");
+        tracker.track(2L, "mp-payment-2");
+        tracker.track(3L, "mp-payment-3");
+        assertEquals(2, tracker.size());
+
+        properties.setEnabled(false);
+        final PendingPaymentTracker disabled = new PendingPaymentTracker(properties, new SimpleMeterRegistry(), clock::get);
+        disabled.track(1L, "mp-payment-1");
+        assertEquals(0, disabled.size());
+    }
+
+    @Test
+    void shouldOnlyTrackOrdersOfItsPartition() {
+        properties.setMaxEntries(10);
+        properties.setReplicaCount(3);
+        properties.setReplicaIndex(1);
+        final PendingPaymentTracker partitioned = new PendingPaymentTracker(properties, new SimpleMeterRegistry(), clock::get);
+
+        for (long orderId = 1; orderId <= 6; orderId++) {
+            partitioned.track(orderId, "mp-payment-" + orderId);
+            partitioned.restore(orderId, "mp-payment-" + orderId, Duration.ZERO);
+        }
+
+        assertEquals(2, partitioned.size());
+        assertTrue(partitioned.owns(1L));
+        assertTrue(partitioned.owns(4L));
+        assertFalse(partitioned.owns(2L));
+    }
+
+    @Test
+    void shouldRejectReplicaIndexOutsideReplicaCount() {
+        properties.setReplicaCount(2);
+        properties.setReplicaIndex(2);
+
+        assertThrows(IllegalStateException.class, () -> new PendingPaymentTracker(properties, new SimpleMeterRegistry(), clock::get));
+    }
+
+    @Test
+    void shouldRestorePaymentWithItsOriginalAge() {
+        clock.set(Duration.ofHours(1).toNanos());
+
+        assertTrue(tracker.restore(1L, "mp-payment-1", Duration.ofMinutes(5)));
+
+        final PendingPayment restored = tracker.due(10).get(0);
+        assertEquals(clock.get() - Duration.ofMinutes(5).toNanos(), restored.trackedAt());
+    }
+
+    @Test
+    void shouldKeepTrackedPaymentWhenRestoringSameOrder() {
+        tracker.track(1L, "mp-payment-2");
+
+        assertFalse(tracker.restore(1L, "mp-payment-1", Duration.ofMinutes(5)));
+        assertTrue(tracker.due(10).isEmpty());
+        assertEquals(1, tracker.size());
+    }
+}
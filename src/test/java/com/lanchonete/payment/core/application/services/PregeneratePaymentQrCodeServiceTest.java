@@ -0,0 +1,129 @@
+package com.lanchonete.payment.core.application.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.lanchonete.payment.core.application.dto.PaymentDataDTO;
+import com.lanchonete.payment.core.application.usecases.GeneratePaymentQrCodeUseCase;
+import com.lanchonete.payment.core.domain.exceptions.MercadoPagoIntegrationException;
+import com.lanchonete.payment.core.domain.model.PaymentData;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository;
+import com.lanchonete.payment.core.domain.repositories.PaymentRepository;
+import com.lanchonete.payment.mocks.PaymentDataDTOMock;
+import com.lanchonete.payment.mocks.PaymentDataMock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class PregeneratePaymentQrCodeServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private PendingPaymentTracker pendingPaymentTracker;
+
+    @Mock
+    private GeneratePaymentQrCodeUseCase generatePaymentQrCodeUseCase;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PaymentDataDTO paymentDataDTO = PaymentDataDTOMock.createPaymentDataMock();
+    private final PaymentQrCodeCache paymentQrCodeCache = new PaymentQrCodeCache(true, Duration.ofMinutes(30), 100,
+        meterRegistry, System::nanoTime);
+    private PregeneratePaymentQrCodeService pregenerationService;
+
+    @AfterEach
+    void tearDown() {
+        pregenerationService.stop();
+    }
+
+    @Test
+    void shouldServeLaterRequestFromPregeneratedQrCode() {
+        final PaymentData paymentData = PaymentDataMock.createPaymentDataMock();
+        when(paymentRepository.getPaymentData(paymentDataDTO.getOrderId(), paymentDataDTO.getTotalPrice(), null)).thenReturn(paymentData);
+        final GeneratePaymentQrCodeService generateService = new GeneratePaymentQrCodeService(orderRepository, paymentRepository,
+            pendingPaymentTracker, entry -> {
+            }, paymentQrCodeCache);
+        pregenerationService = service(generateService, 2, 10);
+
+        assertTrue(pregenerationService.pregeneratePaymentQrCode(paymentDataDTO));
+        awaitJobs("completed", 1);
+
+        assertSame(paymentData, generateService.generatePaymentQrCode(paymentDataDTO));
+        verify(paymentRepository, times(1)).getPaymentData(paymentDataDTO.getOrderId(), paymentDataDTO.getTotalPrice(), null);
+    }
+
+    @Test
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        when(generatePaymentQrCodeUseCase.generatePaymentQrCode(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return PaymentDataMock.createPaymentDataMock();
+        });
+        pregenerationService = service(generatePaymentQrCodeUseCase, 1, 1);
+
+        assertTrue(pregenerationService.pregeneratePaymentQrCode(paymentDataDTO));
+        verify(generatePaymentQrCodeUseCase, timeout(5000)).generatePaymentQrCode(any());
+        assertTrue(pregenerationService.pregeneratePaymentQrCode(paymentDataDTO));
+        assertFalse(pregenerationService.pregeneratePaymentQrCode(paymentDataDTO));
+        release.countDown();
+
+        awaitJobs("completed", 2);
+        assertEquals(1.0, jobs("rejected"));
+    }
+
+    @Test
+    void shouldCountFailedPregeneration() {
+        when(generatePaymentQrCodeUseCase.generatePaymentQrCode(any()))
+            .thenThrow(new MercadoPagoIntegrationException("Mercado Pago unavailable"));
+        pregenerationService = service(generatePaymentQrCodeUseCase, 1, 10);
+
+        assertTrue(pregenerationService.pregeneratePaymentQrCode(paymentDataDTO));
+
+        awaitJobs("failed", 1);
+    }
+
+    @Test
+    void shouldRejectWhenQrCodeCacheIsDisabled() {
+        pregenerationService = new PregeneratePaymentQrCodeService(generatePaymentQrCodeUseCase,
+            new PaymentQrCodeCache(false, Duration.ofMinutes(30), 100, meterRegistry, System::nanoTime), meterRegistry, 1, 10);
+        pregenerationService.start();
+
+        assertFalse(pregenerationService.pregeneratePaymentQrCode(paymentDataDTO));
+        verifyNoInteractions(generatePaymentQrCodeUseCase);
+    }
+
+    private PregeneratePaymentQrCodeService service(final GeneratePaymentQrCodeUseCase useCase, final int workers,
+            final int maxPending) {
+        final PregeneratePaymentQrCodeService service = new PregeneratePaymentQrCodeService(useCase, paymentQrCodeCache,
+            meterRegistry, workers, maxPending);
+        service.start();
+        return service;
+    }
+
+    private void awaitJobs(final String outcome, final double expected) {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (jobs(outcome) < expected && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(expected, jobs(outcome));
+    }
+
+    private double jobs(final String outcome) {
+        return meterRegistry.get("payment.qr.pregeneration.jobs").tag("outcome", outcome).counter().count();
+    }
+}
@@ -4,22 +4,30 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.time.Instant;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.lanchonete.payment.core.application.config.PaymentMetrics;
 import com.lanchonete.payment.core.application.dto.PaymentConfirmationDTO;
+import com.lanchonete.payment.core.application.paymentlog.PaymentLogWriter;
 import com.lanchonete.payment.core.domain.exceptions.InvalidPaymentException;
 import com.lanchonete.payment.core.domain.exceptions.OrderNotFoundException;
 import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
 import com.lanchonete.payment.core.domain.repositories.OrderRepository;
 import com.lanchonete.payment.core.domain.repositories.PaymentRepository;
 import com.lanchonete.payment.mocks.OrderDTOMock;
 import com.lanchonete.payment.mocks.PaymentConfirmationMock;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 class ProcessPaymentWebhookServiceTest {
 
@@ -29,12 +37,31 @@ class ProcessPaymentWebhookServiceTest {
     @Mock
     private PaymentRepository paymentRepository;
 
+    @Mock
+    private PaymentStatusNotifier paymentStatusNotifier;
+
+    @Mock
+    private PaymentStatusRegistry paymentStatusRegistry;
+
+    @Mock
+    private PaymentMetrics paymentMetrics;
+
+    @Mock
+    private PaymentLogWriter paymentLogWriter;
+
+    @Mock
+    private PaymentQrCodeCache paymentQrCodeCache;
+
+    @Spy
+    private PaymentWebhookCoalescer webhookCoalescer = new PaymentWebhookCoalescer(true, 30, 100, new SimpleMeterRegistry());
+
     @InjectMocks
     private ProcessPaymentWebhookService processPaymentWebhookService;
 
     private OrderRepository.Order order;
     private PaymentConfirmation paymentConfirmation;
     private PaymentConfirmationDTO paymentConfirmationDTO;
+    private Instant dateCreated;
 
     @BeforeEach
     void setUp() {
@@ -48,7 +75,9 @@ class ProcessPaymentWebhookServiceTest {
         
         paymentConfirmation = PaymentConfirmationMock.createApprovedPaymentMock();
         
+        dateCreated = Instant.now().minusSeconds(2);
         paymentConfirmationDTO = PaymentConfirmationDTO.builder()
+                .dateCreated(dateCreated)
                 .data(PaymentConfirmationDTO.PaymentConfirmationDataDTO.builder()
                         .id("mp-payment-123")
                         .build())
@@ -67,6 +96,26 @@ class ProcessPaymentWebhookServiceTest {
         verify(orderRepository, times(1)).getOrderByPaymentId("mp-payment-123");
         verify(paymentRepository, times(1)).getPaymentStatus("mp-payment-123");
         verify(orderRepository, times(1)).updateOrderPaymentStatus(anyLong(), any(PaymentConfirmation.class));
+        verify(paymentStatusNotifier).publish(order.getId(), PaymentStatusEnum.APPROVED);
+        verify(paymentQrCodeCache).invalidate(paymentConfirmationDTO.getData().getId());
+        verify(paymentStatusRegistry).record(order.getId(), "mp-payment-123", paymentConfirmation);
+        verify(paymentMetrics).recordWebhookLag(dateCreated, true);
+        verify(paymentLogWriter).record(PaymentLogWriter.Entry.of("mp-payment-123", order.getId(), "APPROVED",
+            paymentConfirmation.getTotalAmount()));
+    }
+
+    @Test
+    void shouldApplyLateApprovalToOrderCancelledByQrExpiry() {
+        final OrderRepository.Order expiredOrder = new OrderRepository.Order(order.getId(), order.getCustomerCpf(),
+            "mp-payment-123", PaymentStatusEnum.CANCELLED);
+        when(orderRepository.getOrderByPaymentId("mp-payment-123")).thenReturn(expiredOrder);
+        when(paymentRepository.getPaymentStatus("mp-payment-123")).thenReturn(paymentConfirmation);
+
+        processPaymentWebhookService.processPaymentConfirmation(paymentConfirmationDTO);
+
+        // Mercado Pago is the source of truth: a payment accepted right before its order expired still wins
+        verify(orderRepository).updateOrderPaymentStatus(expiredOrder.getId(), paymentConfirmation);
+        verify(paymentStatusNotifier).publish(expiredOrder.getId(), PaymentStatusEnum.APPROVED);
     }
 
     @Test
@@ -80,6 +129,8 @@ class ProcessPaymentWebhookServiceTest {
         verify(orderRepository, times(1)).getOrderByPaymentId("mp-payment-123");
         verify(paymentRepository, never()).getPaymentStatus(anyString());
         verify(orderRepository, never()).updateOrderPaymentStatus(anyLong(), any(PaymentConfirmation.class));
+        verify(paymentMetrics).recordWebhookLag(dateCreated, false);
+        verifyNoInteractions(paymentLogWriter);
     }
 
     @Test
@@ -95,5 +146,17 @@ class ProcessPaymentWebhookServiceTest {
         verify(paymentRepository, times(1)).getPaymentStatus("mp-payment-123");
         verify(orderRepository, never()).updateOrderPaymentStatus(anyLong(), any(PaymentConfirmation.class));
     }
-}
 
+    @Test
+    void shouldDropDuplicateNotificationAfterFinalStatus() {
+        when(orderRepository.getOrderByPaymentId(anyString())).thenReturn(order);
+        when(paymentRepository.getPaymentStatus(anyString())).thenReturn(paymentConfirmation);
+
+        processPaymentWebhookService.processPaymentConfirmation(paymentConfirmationDTO);
+        processPaymentWebhookService.processPaymentConfirmation(paymentConfirmationDTO);
+
+        verify(orderRepository, times(1)).getOrderByPaymentId("mp-payment-123");
+        verify(paymentRepository, times(1)).getPaymentStatus("mp-payment-123");
+        verify(orderRepository, times(1)).updateOrderPaymentStatus(anyLong(), any(PaymentConfirmation.class));
+    }
+}
@@ -0,0 +1,97 @@
+package com.lanchonete.payment.core.application.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.lanchonete.payment.core.application.usecases.ReactiveConsultPaymentStatusUseCase;
+import com.lanchonete.payment.core.domain.exceptions.OrderNotFoundException;
+import com.lanchonete.payment.core.domain.model.PaymentStatus;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveAwaitPaymentStatusServiceTest {
+
+    @Mock
+    private ReactiveConsultPaymentStatusUseCase consultPaymentStatusUseCase;
+
+    private PaymentStatusNotifier paymentStatusNotifier;
+    private ReactiveAwaitPaymentStatusService awaitPaymentStatusService;
+
+    @BeforeEach
+    void setUp() {
+        paymentStatusNotifier = new PaymentStatusNotifier(new SimpleMeterRegistry());
+        awaitPaymentStatusService = new ReactiveAwaitPaymentStatusService(consultPaymentStatusUseCase, paymentStatusNotifier, 25);
+    }
+
+    @Test
+    void shouldAnswerRightAwayWhenStatusAlreadyChanged() {
+        when(consultPaymentStatusUseCase.getPaymentStatus(1L)).thenReturn(Mono.just(paymentStatus(PaymentStatusEnum.APPROVED)));
+
+        StepVerifier.create(awaitPaymentStatusService.awaitPaymentStatus(1L, PaymentStatusEnum.PENDING, null))
+            .expectNextMatches(status -> status.getPaymentStatus() == PaymentStatusEnum.APPROVED)
+            .verifyComplete();
+
+        assertEquals(0, paymentStatusNotifier.waitingCount());
+    }
+
+    @Test
+    void shouldWaitUntilStatusIsPublished() {
+        when(consultPaymentStatusUseCase.getPaymentStatus(1L)).thenReturn(Mono.just(paymentStatus(PaymentStatusEnum.PENDING)));
+
+        StepVerifier.create(awaitPaymentStatusService.awaitPaymentStatus(1L, PaymentStatusEnum.PENDING, null))
+            .then(() -> paymentStatusNotifier.publish(1L, PaymentStatusEnum.CANCELLED))
+            .expectNextMatches(status -> status.getOrderId() == 1L && status.getPaymentStatus() == PaymentStatusEnum.CANCELLED)
+            .verifyComplete();
+    }
+
+    @Test
+    void shouldReturnUnchangedStatusOnTimeout() {
+        when(consultPaymentStatusUseCase.getPaymentStatus(1L)).thenReturn(Mono.just(paymentStatus(PaymentStatusEnum.PENDING)));
+
+        StepVerifier.create(awaitPaymentStatusService.awaitPaymentStatus(1L, PaymentStatusEnum.PENDING, Duration.ofMillis(50)))
+            .expectNextMatches(status -> status.getPaymentStatus() == PaymentStatusEnum.PENDING)
+            .verifyComplete();
+
+        assertEquals(0, paymentStatusNotifier.waitingCount());
+    }
+
+    @Test
+    void shouldReleaseRegistrationWhenClientGoesAway() {
+        when(consultPaymentStatusUseCase.getPaymentStatus(1L)).thenReturn(Mono.just(paymentStatus(PaymentStatusEnum.PENDING)));
+
+        StepVerifier.create(awaitPaymentStatusService.awaitPaymentStatus(1L, PaymentStatusEnum.PENDING, null))
+            .expectSubscription()
+            .thenCancel()
+            .verify();
+
+        assertEquals(0, paymentStatusNotifier.waitingCount());
+    }
+
+    @Test
+    void shouldReleaseRegistrationWhenOrderNotFound() {
+        when(consultPaymentStatusUseCase.getPaymentStatus(1L))
+            .thenReturn(Mono.error(new OrderNotFoundException("Order with id 1 not found")));
+
+        StepVerifier.create(awaitPaymentStatusService.awaitPaymentStatus(1L, PaymentStatusEnum.PENDING, null))
+            .expectError(OrderNotFoundException.class)
+            .verify();
+
+        assertEquals(0, paymentStatusNotifier.waitingCount());
+    }
+
+    private PaymentStatus paymentStatus(final PaymentStatusEnum status) {
+        return PaymentStatus.builder().orderId(1L).paymentStatus(status).build();
+    }
+}
@@ -0,0 +1,86 @@
+package com.lanchonete.payment.core.application.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.lanchonete.payment.core.application.usecases.ReactiveConsultPaymentStatusUseCase;
+import com.lanchonete.payment.core.domain.exceptions.InvalidPaymentException;
+import com.lanchonete.payment.core.domain.exceptions.MercadoPagoIntegrationException;
+import com.lanchonete.payment.core.domain.model.PaymentStatus;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository.Order;
+import com.lanchonete.payment.core.domain.repositories.ReactiveOrderRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveBatchConsultPaymentStatusServiceTest {
+
+    @Mock
+    private ReactiveOrderRepository orderRepository;
+
+    @Mock
+    private ReactiveConsultPaymentStatusUseCase consultPaymentStatusUseCase;
+
+    private ReactiveBatchConsultPaymentStatusService batchConsultPaymentStatusService;
+
+    @BeforeEach
+    void setUp() {
+        batchConsultPaymentStatusService = new ReactiveBatchConsultPaymentStatusService(orderRepository, consultPaymentStatusUseCase, 3, 10);
+    }
+
+    @Test
+    void shouldConsultOrdersWithBoundedConcurrencyAndKeepRequestOrder() {
+        final List<Long> orderIds = LongStream.rangeClosed(1, 9).boxed().toList();
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        when(orderRepository.getOrdersByIds(any()))
+            .thenReturn(Flux.fromIterable(orderIds).map(id -> new Order(id, "12345678900", "mp-payment-" + id, PaymentStatusEnum.PENDING)));
+        when(consultPaymentStatusUseCase.getPaymentStatus(any(Order.class))).thenAnswer(invocation -> {
+            final Order order = invocation.getArgument(0);
+            return Mono.delay(Duration.ofMillis(10 - order.getId()))
+                .thenReturn(PaymentStatus.builder().orderId(order.getId()).paymentStatus(PaymentStatusEnum.APPROVED).build())
+                .doOnSubscribe(subscription -> maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max))
+                .doOnTerminate(running::decrementAndGet);
+        });
+
+        StepVerifier.create(batchConsultPaymentStatusService.getPaymentStatuses(orderIds))
+            .assertNext(result -> assertEquals(orderIds, result.stream().map(PaymentStatus::getOrderId).toList()))
+            .verifyComplete();
+        assertTrue(maxRunning.get() <= 3, "ran " + maxRunning.get() + " lookups at once");
+    }
+
+    @Test
+    void shouldAnswerFailedLookupWithStoredStatus() {
+        when(orderRepository.getOrdersByIds(any()))
+            .thenReturn(Flux.just(new Order(1L, "12345678900", "mp-payment-1", PaymentStatusEnum.PENDING)));
+        when(consultPaymentStatusUseCase.getPaymentStatus(any(Order.class)))
+            .thenReturn(Mono.error(new MercadoPagoIntegrationException("boom")));
+
+        StepVerifier.create(batchConsultPaymentStatusService.getPaymentStatuses(List.of(1L)))
+            .assertNext(result -> assertEquals(PaymentStatusEnum.PENDING, result.get(0).getPaymentStatus()))
+            .verifyComplete();
+    }
+
+    @Test
+    void shouldRejectEmptyBatch() {
+        StepVerifier.create(batchConsultPaymentStatusService.getPaymentStatuses(List.of()))
+            .expectError(InvalidPaymentException.class)
+            .verify();
+        verifyNoInteractions(orderRepository);
+    }
+}
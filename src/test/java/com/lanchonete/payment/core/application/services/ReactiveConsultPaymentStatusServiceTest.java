@@ -0,0 +1,140 @@
+package com.lanchonete.payment.core.application.services;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.lanchonete.payment.core.domain.exceptions.MercadoPagoUnavailableException;
+import com.lanchonete.payment.core.domain.exceptions.OrderNotFoundException;
+import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository.Order;
+import com.lanchonete.payment.core.domain.repositories.ReactiveOrderRepository;
+import com.lanchonete.payment.core.domain.repositories.ReactivePaymentRepository;
+import com.lanchonete.payment.mocks.OrderDTOMock;
+import com.lanchonete.payment.mocks.PaymentConfirmationMock;
+
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveConsultPaymentStatusServiceTest {
+
+    @Mock
+    private ReactiveOrderRepository orderRepository;
+
+    @Mock
+    private ReactivePaymentRepository paymentRepository;
+
+    @Mock
+    private PaymentStatusRegistry paymentStatusRegistry;
+
+    @InjectMocks
+    private ReactiveConsultPaymentStatusService consultPaymentStatusService;
+
+    private Order order;
+    private PaymentConfirmation paymentConfirmation;
+
+    @BeforeEach
+    void setUp() {
+        order = OrderDTOMock.createOrderDTOWithPayment().toOrder();
+        paymentConfirmation = PaymentConfirmationMock.createApprovedPaymentMock();
+    }
+
+    @Test
+    void shouldReturnPaymentStatusWhenOrderAlreadyInFinalState() {
+        final Order approvedOrder = new Order(order.getId(), order.getCustomerCpf(), order.getPaymentId(), PaymentStatusEnum.APPROVED);
+        when(orderRepository.getOrderById(anyLong())).thenReturn(Mono.just(approvedOrder));
+
+        StepVerifier.create(consultPaymentStatusService.getPaymentStatus(order.getId()))
+            .expectNextMatches(status -> status.getOrderId().equals(order.getId())
+                && status.getPaymentStatus() == PaymentStatusEnum.APPROVED)
+            .verifyComplete();
+
+        verify(paymentRepository, never()).getPaymentStatus(anyString());
+    }
+
+    @Test
+    void shouldUpdateAndReturnPaymentStatusWhenOrderIsPending() {
+        final Order updatedOrder = new Order(order.getId(), order.getCustomerCpf(), order.getPaymentId(), PaymentStatusEnum.APPROVED);
+        when(orderRepository.getOrderById(anyLong())).thenReturn(Mono.just(order));
+        when(paymentRepository.getPaymentStatus(anyString())).thenReturn(Mono.just(paymentConfirmation));
+        when(orderRepository.updateOrderPaymentStatus(anyLong(), any(PaymentConfirmation.class))).thenReturn(Mono.just(updatedOrder));
+
+        StepVerifier.create(consultPaymentStatusService.getPaymentStatus(order.getId()))
+            .expectNextMatches(status -> status.getPaymentStatus() == PaymentStatusEnum.APPROVED)
+            .verifyComplete();
+
+        verify(orderRepository, times(1)).getOrderById(order.getId());
+        verify(orderRepository).updateOrderPaymentStatus(order.getId(), paymentConfirmation);
+        verify(paymentStatusRegistry).record(order.getId(), order.getPaymentId(), paymentConfirmation);
+    }
+
+    @Test
+    void shouldAnswerFromRegistryWithoutConsultingMercadoPago() {
+        when(orderRepository.getOrderById(anyLong())).thenReturn(Mono.just(order));
+        when(paymentStatusRegistry.getFresh(order.getId(), order.getPaymentId())).thenReturn(paymentConfirmation);
+        when(orderRepository.updateOrderPaymentStatus(anyLong(), any(PaymentConfirmation.class))).thenReturn(Mono.empty());
+
+        StepVerifier.create(consultPaymentStatusService.getPaymentStatus(order.getId()))
+            .expectNextMatches(status -> status.getPaymentStatus() == PaymentStatusEnum.APPROVED)
+            .verifyComplete();
+
+        verify(paymentRepository, never()).getPaymentStatus(anyString());
+    }
+
+    @Test
+    void shouldSkipProductionUpdateWhenRegisteredStatusIsUnchanged() {
+        when(orderRepository.getOrderById(anyLong())).thenReturn(Mono.just(order));
+        when(paymentStatusRegistry.getFresh(order.getId(), order.getPaymentId()))
+            .thenReturn(PaymentConfirmation.builder().id(order.getPaymentId()).status("pending").build());
+
+        StepVerifier.create(consultPaymentStatusService.getPaymentStatus(order.getId()))
+            .expectNextMatches(status -> status.getPaymentStatus() == PaymentStatusEnum.PENDING)
+            .verifyComplete();
+
+        verify(paymentRepository, never()).getPaymentStatus(anyString());
+        verify(orderRepository, never()).updateOrderPaymentStatus(anyLong(), any());
+    }
+
+    @Test
+    void shouldDerivePaymentStatusFromConfirmationWhenUpdateReturnsNoOrder() {
+        when(orderRepository.getOrderById(anyLong())).thenReturn(Mono.just(order));
+        when(paymentRepository.getPaymentStatus(anyString())).thenReturn(Mono.just(paymentConfirmation));
+        when(orderRepository.updateOrderPaymentStatus(anyLong(), any(PaymentConfirmation.class))).thenReturn(Mono.empty());
+
+        StepVerifier.create(consultPaymentStatusService.getPaymentStatus(order.getId()))
+            .expectNextMatches(status -> status.getPaymentStatus() == PaymentStatusEnum.APPROVED)
+            .verifyComplete();
+    }
+
+    @Test
+    void shouldFallBackToLastKnownStatusWhenMercadoPagoIsUnavailable() {
+        when(orderRepository.getOrderById(anyLong())).thenReturn(Mono.just(order));
+        when(paymentRepository.getPaymentStatus(anyString()))
+            .thenReturn(Mono.error(new MercadoPagoUnavailableException("circuit open", null)));
+
+        StepVerifier.create(consultPaymentStatusService.getPaymentStatus(order.getId()))
+            .expectNextMatches(status -> status.getPaymentStatus() == order.getPaymentStatus())
+            .verifyComplete();
+
+        verify(orderRepository, never()).updateOrderPaymentStatus(anyLong(), any());
+    }
+
+    @Test
+    void shouldFailWhenOrderNotFound() {
+        when(orderRepository.getOrderById(anyLong())).thenReturn(Mono.empty());
+
+        StepVerifier.create(consultPaymentStatusService.getPaymentStatus(1L))
+            .expectError(OrderNotFoundException.class)
+            .verify();
+    }
+}
@@ -0,0 +1,137 @@
+package com.lanchonete.payment.core.application.services;
+
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.lanchonete.payment.core.application.dto.PaymentDataDTO;
+import com.lanchonete.payment.core.application.paymentlog.PaymentLogWriter;
+import com.lanchonete.payment.core.domain.model.PaymentData;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository;
+import com.lanchonete.payment.core.domain.repositories.ReactiveOrderRepository;
+import com.lanchonete.payment.core.domain.repositories.ReactivePaymentRepository;
+import com.lanchonete.payment.mocks.PaymentDataDTOMock;
+import com.lanchonete.payment.mocks.PaymentDataMock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveGeneratePaymentQrCodeServiceTest {
+
+    @Mock
+    private ReactiveOrderRepository orderRepository;
+
+    @Mock
+    private ReactivePaymentRepository paymentRepository;
+
+    @Mock
+    private PendingPaymentTracker pendingPaymentTracker;
+
+    @Mock
+    private PaymentLogWriter paymentLogWriter;
+
+    @Spy
+    private PaymentQrCodeCache paymentQrCodeCache = new PaymentQrCodeCache(true, Duration.ofMinutes(30), 100,
+        new SimpleMeterRegistry(), System::nanoTime);
+
+    @InjectMocks
+    private ReactiveGeneratePaymentQrCodeService generatePaymentQrCodeService;
+
+    @Test
+    void shouldGeneratePaymentQrCode() {
+        final PaymentDataDTO paymentDataDTO = PaymentDataDTOMock.createPaymentDataMock();
+        final PaymentData paymentData = PaymentDataMock.createPaymentDataMock();
+        when(orderRepository.getOrderById(paymentDataDTO.getOrderId())).thenReturn(Mono.empty());
+        when(paymentRepository.getPaymentData(paymentDataDTO.getOrderId(), paymentDataDTO.getTotalPrice(), null))
+            .thenReturn(Mono.just(paymentData));
+
+        StepVerifier.create(generatePaymentQrCodeService.generatePaymentQrCode(paymentDataDTO))
+            .expectNext(paymentData)
+            .verifyComplete();
+        verify(pendingPaymentTracker).track(paymentDataDTO.getOrderId(), paymentData.getPaymentId());
+        verify(paymentLogWriter).record(new PaymentLogWriter.Entry(paymentData.getPaymentId(), paymentDataDTO.getOrderId(),
+            "PENDING", paymentDataDTO.getTotalPrice()));
+    }
+
+    @Test
+    void shouldReuseQrCodeForDuplicateRequest() {
+        final PaymentDataDTO paymentDataDTO = PaymentDataDTOMock.createPaymentDataMock();
+        final PaymentData paymentData = PaymentDataMock.createPaymentDataMock();
+        when(orderRepository.getOrderById(paymentDataDTO.getOrderId())).thenReturn(Mono.empty());
+        when(paymentRepository.getPaymentData(paymentDataDTO.getOrderId(), paymentDataDTO.getTotalPrice(), null))
+            .thenReturn(Mono.just(paymentData));
+
+        StepVerifier.create(generatePaymentQrCodeService.generatePaymentQrCode(paymentDataDTO)
+                .then(generatePaymentQrCodeService.generatePaymentQrCode(paymentDataDTO)))
+            .expectNext(paymentData)
+            .verifyComplete();
+        verify(paymentRepository, times(1)).getPaymentData(paymentDataDTO.getOrderId(), paymentDataDTO.getTotalPrice(), null);
+        verify(pendingPaymentTracker, times(1)).track(paymentDataDTO.getOrderId(), paymentData.getPaymentId());
+    }
+
+    @Test
+    void shouldCreateNewMercadoPagoOrderWhenRegeneratedAfterRejectedPayment() {
+        final PaymentDataDTO paymentDataDTO = PaymentDataDTOMock.createPaymentDataMock();
+        final PaymentData paymentData = PaymentDataMock.createPaymentDataMock();
+        final PaymentData regenerated = PaymentData.builder().paymentId("mp-payment-2").qrCode("qr-2").build();
+        when(orderRepository.getOrderById(paymentDataDTO.getOrderId())).thenReturn(Mono.empty())
+            .thenReturn(Mono.just(new OrderRepository.Order(paymentDataDTO.getOrderId(), "12345678900", paymentData.getPaymentId(),
+                PaymentStatusEnum.REJECTED)));
+        when(paymentRepository.getPaymentData(paymentDataDTO.getOrderId(), paymentDataDTO.getTotalPrice(), null))
+            .thenReturn(Mono.just(paymentData));
+        when(paymentRepository.getPaymentData(paymentDataDTO.getOrderId(), paymentDataDTO.getTotalPrice(), paymentData.getPaymentId()))
+            .thenReturn(Mono.just(regenerated));
+
+        StepVerifier.create(generatePaymentQrCodeService.generatePaymentQrCode(paymentDataDTO))
+            .expectNext(paymentData)
+            .verifyComplete();
+        paymentQrCodeCache.invalidate(paymentData.getPaymentId());
+
+        StepVerifier.create(generatePaymentQrCodeService.generatePaymentQrCode(paymentDataDTO))
+            .expectNext(regenerated)
+            .verifyComplete();
+        verify(paymentRepository, never()).getOpenPaymentData(any());
+    }
+
+    @Test
+    void shouldReuseOpenPaymentOfPendingOrder() {
+        final PaymentDataDTO paymentDataDTO = PaymentDataDTOMock.createPaymentDataMock();
+        final PaymentData paymentData = PaymentDataMock.createPaymentDataMock();
+        when(orderRepository.getOrderById(paymentDataDTO.getOrderId())).thenReturn(Mono.just(new OrderRepository.Order(
+            paymentDataDTO.getOrderId(), "12345678900", paymentData.getPaymentId(), PaymentStatusEnum.PENDING)));
+        when(paymentRepository.getOpenPaymentData(paymentData.getPaymentId())).thenReturn(Mono.just(paymentData));
+
+        StepVerifier.create(generatePaymentQrCodeService.generatePaymentQrCode(paymentDataDTO))
+            .expectNext(paymentData)
+            .verifyComplete();
+        verify(paymentRepository, never()).getPaymentData(any(), any(), any());
+        verifyNoInteractions(pendingPaymentTracker, paymentLogWriter);
+    }
+
+    @Test
+    void shouldCreateNewMercadoPagoOrderWhenPendingPaymentCanNoLongerBePaid() {
+        final PaymentDataDTO paymentDataDTO = PaymentDataDTOMock.createPaymentDataMock();
+        final PaymentData paymentData = PaymentDataMock.createPaymentDataMock();
+        final PaymentData regenerated = PaymentData.builder().paymentId("mp-payment-2").qrCode("qr-2").build();
+        when(orderRepository.getOrderById(paymentDataDTO.getOrderId())).thenReturn(Mono.just(new OrderRepository.Order(
+            paymentDataDTO.getOrderId(), "12345678900", paymentData.getPaymentId(), PaymentStatusEnum.PENDING)));
+        when(paymentRepository.getOpenPaymentData(paymentData.getPaymentId())).thenReturn(Mono.empty());
+        when(paymentRepository.getPaymentData(paymentDataDTO.getOrderId(), paymentDataDTO.getTotalPrice(), paymentData.getPaymentId()))
+            .thenReturn(Mono.just(regenerated));
+
+        StepVerifier.create(generatePaymentQrCodeService.generatePaymentQrCode(paymentDataDTO))
+            .expectNext(regenerated)
+            .verifyComplete();
+        verify(pendingPaymentTracker).track(paymentDataDTO.getOrderId(), "mp-payment-2");
+    }
+}
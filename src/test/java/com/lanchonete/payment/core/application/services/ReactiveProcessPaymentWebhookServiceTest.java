@@ -0,0 +1,155 @@
+package com.lanchonete.payment.core.application.services;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.lanchonete.payment.core.application.config.PaymentMetrics;
+import com.lanchonete.payment.core.application.dto.PaymentConfirmationDTO;
+import com.lanchonete.payment.core.application.paymentlog.PaymentLogWriter;
+import com.lanchonete.payment.core.domain.exceptions.InvalidPaymentException;
+import com.lanchonete.payment.core.domain.exceptions.OrderNotFoundException;
+import com.lanchonete.payment.core.domain.model.PaymentConfirmation;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+import com.lanchonete.payment.core.domain.repositories.OrderRepository.Order;
+import com.lanchonete.payment.core.domain.repositories.ReactiveOrderRepository;
+import com.lanchonete.payment.core.domain.repositories.ReactivePaymentRepository;
+import com.lanchonete.payment.mocks.OrderDTOMock;
+import com.lanchonete.payment.mocks.PaymentConfirmationMock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveProcessPaymentWebhookServiceTest {
+
+    @Mock
+    private ReactiveOrderRepository orderRepository;
+
+    @Mock
+    private ReactivePaymentRepository paymentRepository;
+
+    @Mock
+    private PaymentStatusNotifier paymentStatusNotifier;
+
+    @Mock
+    private PaymentStatusRegistry paymentStatusRegistry;
+
+    @Mock
+    private PaymentMetrics paymentMetrics;
+
+    @Mock
+    private PaymentLogWriter paymentLogWriter;
+
+    @Mock
+    private PaymentQrCodeCache paymentQrCodeCache;
+
+    @Mock
+    private JournaledProcessPaymentWebhookService journaledProcessPaymentWebhookService;
+
+    private ReactiveProcessPaymentWebhookService processPaymentWebhookService;
+
+    private Order order;
+    private PaymentConfirmation paymentConfirmation;
+    private PaymentConfirmationDTO paymentConfirmationDTO;
+    private Instant dateCreated;
+
+    @BeforeEach
+    void setUp() {
+        processPaymentWebhookService = service(Optional.empty());
+        order = OrderDTOMock.createOrderDTOWithPayment().toOrder();
+        paymentConfirmation = PaymentConfirmationMock.createApprovedPaymentMock();
+        dateCreated = Instant.now().minusSeconds(2);
+        paymentConfirmationDTO = PaymentConfirmationDTO.builder()
+            .dateCreated(dateCreated)
+            .data(PaymentConfirmationDTO.PaymentConfirmationDataDTO.builder().id(order.getPaymentId()).build())
+            .build();
+    }
+
+    @Test
+    void shouldUpdateOrderWithPaymentConfirmation() {
+        when(orderRepository.getOrderByPaymentId(anyString())).thenReturn(Mono.just(order));
+        when(paymentRepository.getPaymentStatus(anyString())).thenReturn(Mono.just(paymentConfirmation));
+        when(orderRepository.updateOrderPaymentStatus(anyLong(), any(PaymentConfirmation.class))).thenReturn(Mono.empty());
+
+        StepVerifier.create(processPaymentWebhookService.processPaymentConfirmation(paymentConfirmationDTO))
+            .verifyComplete();
+
+        verify(orderRepository).updateOrderPaymentStatus(order.getId(), paymentConfirmation);
+        verify(paymentStatusNotifier).publish(order.getId(), PaymentStatusEnum.APPROVED);
+        verify(paymentQrCodeCache).invalidate(paymentConfirmationDTO.getData().getId());
+        verify(paymentStatusRegistry).record(order.getId(), order.getPaymentId(), paymentConfirmation);
+        verify(paymentMetrics).recordWebhookLag(dateCreated, true);
+        verify(paymentLogWriter).record(PaymentLogWriter.Entry.of(order.getPaymentId(), order.getId(), "APPROVED",
+            paymentConfirmation.getTotalAmount()));
+    }
+
+    @Test
+    void shouldFailWhenOrderNotFound() {
+        when(orderRepository.getOrderByPaymentId(anyString())).thenReturn(Mono.empty());
+
+        StepVerifier.create(processPaymentWebhookService.processPaymentConfirmation(paymentConfirmationDTO))
+            .expectError(OrderNotFoundException.class)
+            .verify();
+
+        verify(paymentRepository, never()).getPaymentStatus(anyString());
+        verify(paymentMetrics).recordWebhookLag(dateCreated, false);
+    }
+
+    @Test
+    void shouldFailWhenPaymentConfirmationIsMissing() {
+        when(orderRepository.getOrderByPaymentId(anyString())).thenReturn(Mono.just(order));
+        when(paymentRepository.getPaymentStatus(anyString())).thenReturn(Mono.empty());
+
+        StepVerifier.create(processPaymentWebhookService.processPaymentConfirmation(paymentConfirmationDTO))
+            .expectError(InvalidPaymentException.class)
+            .verify();
+
+        verify(orderRepository, never()).updateOrderPaymentStatus(anyLong(), any(PaymentConfirmation.class));
+    }
+
+    @Test
+    void shouldProcessDuplicateDeliveryOfFinalStatusOnlyOnce() {
+        when(orderRepository.getOrderByPaymentId(anyString())).thenReturn(Mono.just(order));
+        when(paymentRepository.getPaymentStatus(anyString())).thenReturn(Mono.just(paymentConfirmation));
+        when(orderRepository.updateOrderPaymentStatus(anyLong(), any(PaymentConfirmation.class))).thenReturn(Mono.empty());
+
+        StepVerifier.create(processPaymentWebhookService.processPaymentConfirmation(paymentConfirmationDTO))
+            .verifyComplete();
+        StepVerifier.create(processPaymentWebhookService.processPaymentConfirmation(paymentConfirmationDTO))
+            .verifyComplete();
+
+        verify(paymentRepository, times(1)).getPaymentStatus(order.getPaymentId());
+        verify(orderRepository, times(1)).updateOrderPaymentStatus(order.getId(), paymentConfirmation);
+        verify(paymentMetrics, times(2)).recordWebhookLag(dateCreated, true);
+    }
+
+    @Test
+    void shouldJournalNotificationWhenJournalIsEnabled() {
+        final ReactiveProcessPaymentWebhookService journaledService = service(Optional.of(journaledProcessPaymentWebhookService));
+
+        StepVerifier.create(journaledService.processPaymentConfirmation(paymentConfirmationDTO))
+            .verifyComplete();
+
+        verify(journaledProcessPaymentWebhookService).processPaymentConfirmation(paymentConfirmationDTO);
+        verify(orderRepository, never()).getOrderByPaymentId(anyString());
+        verify(paymentRepository, never()).getPaymentStatus(anyString());
+    }
+
+    private ReactiveProcessPaymentWebhookService service(final Optional<JournaledProcessPaymentWebhookService> webhookJournal) {
+        return new ReactiveProcessPaymentWebhookService(orderRepository, paymentRepository,
+            new PaymentWebhookCoalescer(true, 30, 100, new SimpleMeterRegistry()), webhookJournal, paymentStatusNotifier,
+            paymentStatusRegistry, paymentMetrics, paymentLogWriter, paymentQrCodeCache);
+    }
+}
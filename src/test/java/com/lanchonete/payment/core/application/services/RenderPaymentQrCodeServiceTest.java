@@ -0,0 +1,134 @@
+package com.lanchonete.payment.core.application.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import com.lanchonete.payment.core.application.qrcode.QrCodeEncoder;
+import com.lanchonete.payment.core.domain.exceptions.QrCodeNotFoundException;
+import com.lanchonete.payment.core.domain.model.PaymentData;
+import com.lanchonete.payment.core.domain.model.QrCodeImage;
+import com.lanchonete.payment.core.domain.model.enums.QrCodeImageFormat;
+import com.lanchonete.payment.core.domain.repositories.PaymentRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RenderPaymentQrCodeServiceTest {
+
+    private static final String PAYMENT_ID = "mp-payment-123";
+    private static final String QR_DATA = "00020126580014br.gov.bcb.pix";
+
+    private final PaymentQrCodeCache paymentQrCodeCache = mock(PaymentQrCodeCache.class);
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    private final QrCodeEncoder qrCodeEncoder = mock(QrCodeEncoder.class);
+    private SimpleMeterRegistry meterRegistry;
+    private RenderPaymentQrCodeService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new RenderPaymentQrCodeService(paymentQrCodeCache, paymentRepository, qrCodeEncoder, Duration.ofMinutes(30),
+            Duration.ofSeconds(60), DataSize.ofKilobytes(4), meterRegistry, Runnable::run);
+        when(paymentQrCodeCache.findQrData(any())).thenReturn(Optional.of(QR_DATA));
+        when(paymentQrCodeCache.findRemainingLifetime(any())).thenReturn(Optional.of(Duration.ofMinutes(30)));
+        when(qrCodeEncoder.encode(QR_DATA, QrCodeImageFormat.PNG)).thenAnswer(invocation -> new byte[] { 1, 2, 3 });
+        when(qrCodeEncoder.encode(QR_DATA, QrCodeImageFormat.SVG)).thenAnswer(invocation -> new byte[] { 4, 5 });
+    }
+
+    @Test
+    void shouldRenderOnceAndServeCachedImage() {
+        final QrCodeImage rendered = service.renderPaymentQrCode(PAYMENT_ID, QrCodeImageFormat.PNG);
+        final QrCodeImage cached = service.renderPaymentQrCode(PAYMENT_ID, QrCodeImageFormat.PNG);
+
+        assertSame(rendered, cached);
+        assertArrayEquals(new byte[] { 1, 2, 3 }, rendered.getContent());
+        assertEquals(Duration.ofMinutes(30), rendered.getMaxAge());
+        verify(qrCodeEncoder, times(1)).encode(QR_DATA, QrCodeImageFormat.PNG);
+        assertEquals(1.0, meterRegistry.get("payment.qr.image.cache.hits").counter().count());
+        assertEquals(1.0, meterRegistry.get("payment.qr.image.cache.misses").counter().count());
+    }
+
+    @Test
+    void shouldCacheEachFormatWithItsOwnEtag() {
+        final QrCodeImage png = service.renderPaymentQrCode(PAYMENT_ID, QrCodeImageFormat.PNG);
+        final QrCodeImage svg = service.renderPaymentQrCode(PAYMENT_ID, QrCodeImageFormat.SVG);
+
+        assertEquals(QrCodeImageFormat.SVG, svg.getFormat());
+        assertNotEquals(png.getEtag(), svg.getEtag());
+        assertEquals(png.getEtag(), service.renderPaymentQrCode(PAYMENT_ID, QrCodeImageFormat.PNG).getEtag());
+    }
+
+    @Test
+    void shouldThrowWhenQrCodeIsUnknown() {
+        when(paymentQrCodeCache.findRemainingLifetime("unknown-payment")).thenReturn(Optional.empty());
+
+        assertThrows(QrCodeNotFoundException.class,
+            () -> service.renderPaymentQrCode("unknown-payment", QrCodeImageFormat.PNG));
+        verify(paymentRepository).getOpenPaymentData("unknown-payment");
+        verifyNoInteractions(qrCodeEncoder);
+    }
+
+    @Test
+    void shouldRenderQrCodeOfAnotherReplicaFromMercadoPago() {
+        when(paymentQrCodeCache.findRemainingLifetime(PAYMENT_ID)).thenReturn(Optional.empty());
+        when(paymentRepository.getOpenPaymentData(PAYMENT_ID))
+            .thenReturn(PaymentData.builder().paymentId(PAYMENT_ID).qrCode(QR_DATA).build());
+
+        final QrCodeImage rendered = service.renderPaymentQrCode(PAYMENT_ID, QrCodeImageFormat.PNG);
+        final QrCodeImage cached = service.renderPaymentQrCode(PAYMENT_ID, QrCodeImageFormat.PNG);
+
+        assertArrayEquals(new byte[] { 1, 2, 3 }, rendered.getContent());
+        assertEquals(Duration.ofSeconds(60), rendered.getMaxAge());
+        assertEquals(rendered.getEtag(), cached.getEtag());
+        verify(paymentRepository, times(1)).getOpenPaymentData(PAYMENT_ID);
+        verify(paymentQrCodeCache, never()).findQrData(any());
+    }
+
+    @Test
+    void shouldRememberThatMercadoPagoPaymentIsNoLongerOpen() {
+        when(paymentQrCodeCache.findRemainingLifetime(PAYMENT_ID)).thenReturn(Optional.empty());
+
+        assertThrows(QrCodeNotFoundException.class, () -> service.renderPaymentQrCode(PAYMENT_ID, QrCodeImageFormat.PNG));
+        assertThrows(QrCodeNotFoundException.class, () -> service.renderPaymentQrCode(PAYMENT_ID, QrCodeImageFormat.SVG));
+
+        verify(paymentRepository, times(1)).getOpenPaymentData(PAYMENT_ID);
+        verifyNoInteractions(qrCodeEncoder);
+    }
+
+    @Test
+    void shouldNotServeCachedImageOnceQrCodeIsGone() {
+        service.renderPaymentQrCode(PAYMENT_ID, QrCodeImageFormat.PNG);
+        when(paymentQrCodeCache.findRemainingLifetime(PAYMENT_ID)).thenReturn(Optional.empty());
+
+        assertThrows(QrCodeNotFoundException.class, () -> service.renderPaymentQrCode(PAYMENT_ID, QrCodeImageFormat.PNG));
+    }
+
+    @Test
+    void shouldCapMaxAgeAtRemainingQrCodeLifetime() {
+        final QrCodeImage rendered = service.renderPaymentQrCode(PAYMENT_ID, QrCodeImageFormat.PNG);
+        when(paymentQrCodeCache.findRemainingLifetime(PAYMENT_ID)).thenReturn(Optional.of(Duration.ofSeconds(90)));
+
+        final QrCodeImage cached = service.renderPaymentQrCode(PAYMENT_ID, QrCodeImageFormat.PNG);
+
+        assertEquals(Duration.ofSeconds(90), cached.getMaxAge());
+        assertEquals(rendered.getEtag(), cached.getEtag());
+        assertSame(rendered.getContent(), cached.getContent());
+    }
+
+    @Test
+    void shouldNotKeepImagesLargerThanTheCache() {
+        when(qrCodeEncoder.encode(QR_DATA, QrCodeImageFormat.PNG)).thenAnswer(invocation -> new byte[5000]);
+
+        service.renderPaymentQrCode(PAYMENT_ID, QrCodeImageFormat.PNG);
+        service.renderPaymentQrCode(PAYMENT_ID, QrCodeImageFormat.PNG);
+
+        verify(qrCodeEncoder, times(2)).encode(QR_DATA, QrCodeImageFormat.PNG);
+    }
+}
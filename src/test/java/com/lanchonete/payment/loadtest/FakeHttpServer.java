@@ -0,0 +1,125 @@
+package com.lanchonete.payment.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+abstract class FakeHttpServer implements AutoCloseable {
+
+    protected static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Behavior behavior;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+
+    protected FakeHttpServer(final Behavior behavior) throws IOException {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        this.behavior = behavior;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        this.server.setExecutor(executor);
+    }
+
+    protected void route(final String path, final HttpHandler handler) {
+        server.createContext(path, exchange -> {
+            try (exchange) {
+                requests.incrementAndGet();
+                simulateLatency();
+                if (behavior.errorRate() > 0 && ThreadLocalRandom.current().nextDouble() < behavior.errorRate()) {
+                    injectedErrors.incrementAndGet();
+                    drain(exchange);
+                    exchange.sendResponseHeaders(500, -1);
+                    return;
+                }
+                handler.handle(exchange);
+            }
+        });
+    }
+
+    void start() {
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    long requestCount() {
+        return requests.get();
+    }
+
+    long injectedErrorCount() {
+        return injectedErrors.get();
+    }
+
+    Behavior behavior() {
+        return behavior;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    protected static byte[] drain(final HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            return body.readAllBytes();
+        }
+    }
+
+    protected static void respond(final HttpExchange exchange, final int status, final Object body) throws IOException {
+        final byte[] bytes = OBJECT_MAPPER.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+
+    protected static void notFound(final HttpExchange exchange) throws IOException {
+        exchange.sendResponseHeaders(404, -1);
+    }
+
+    private void simulateLatency() {
+        final long jitterMillis = behavior.jitter().toMillis();
+        final long delayMillis = behavior.latency().toMillis()
+            + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0);
+        if (delayMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    record Behavior(Duration latency, Duration jitter, double errorRate) {
+
+        static Behavior fromSystemProperties(final String name, final long defaultLatencyMillis, final long defaultJitterMillis) {
+            final String prefix = "loadtest." + name + ".";
+            return new Behavior(
+                Duration.ofMillis(Long.getLong(prefix + "latency-ms", defaultLatencyMillis)),
+                Duration.ofMillis(Long.getLong(prefix + "jitter-ms", defaultJitterMillis)),
+                Double.parseDouble(System.getProperty(prefix + "error-rate", "0")));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("latency %d ms, jitter %d ms, error rate %.3f", latency.toMillis(), jitter.toMillis(), errorRate);
+        }
+    }
+}
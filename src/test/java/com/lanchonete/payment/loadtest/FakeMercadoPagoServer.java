@@ -0,0 +1,68 @@
+package com.lanchonete.payment.loadtest;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpExchange;
+
+final class FakeMercadoPagoServer extends FakeHttpServer {
+
+    static final String AUTH_PATH = "/oauth/token";
+    static final String ORDERS_PATH = "/v1/orders";
+
+    private static final String PENDING = "created";
+
+    private final ConcurrentMap<String, String> statusByOrderId = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    FakeMercadoPagoServer(final Behavior behavior) throws IOException {
+        super(behavior);
+        route(AUTH_PATH, this::handleToken);
+        route(ORDERS_PATH, this::handleOrders);
+    }
+
+    void setStatus(final String mercadoPagoOrderId, final String status) {
+        statusByOrderId.put(mercadoPagoOrderId, status);
+    }
+
+    private void handleToken(final HttpExchange exchange) throws IOException {
+        drain(exchange);
+        respond(exchange, 200, Map.of("access_token", "fake-access-token", "expires_in", 21600));
+    }
+
+    private void handleOrders(final HttpExchange exchange) throws IOException {
+        final String path = exchange.getRequestURI().getPath();
+        if ("POST".equals(exchange.getRequestMethod()) && path.equals(ORDERS_PATH)) {
+            createOrder(exchange);
+        } else if ("GET".equals(exchange.getRequestMethod()) && path.startsWith(ORDERS_PATH + "/")) {
+            getOrder(exchange, path.substring(ORDERS_PATH.length() + 1));
+        } else {
+            drain(exchange);
+            notFound(exchange);
+        }
+    }
+
+    private void createOrder(final HttpExchange exchange) throws IOException {
+        final JsonNode request = OBJECT_MAPPER.readTree(drain(exchange));
+        final String id = "ORD" + sequence.incrementAndGet();
+        statusByOrderId.putIfAbsent(id, PENDING);
+
+        respond(exchange, 201, Map.of(
+            "id", id,
+            "status", PENDING,
+            "external_reference", request.path("external_reference").asText(),
+            "type_response", Map.of("qr_data", "00020101021243650016COM.MERCADOLIBRE0201306" + id + "6304ABCD")));
+    }
+
+    private void getOrder(final HttpExchange exchange, final String id) throws IOException {
+        drain(exchange);
+        respond(exchange, 200, Map.of(
+            "id", id,
+            "status", statusByOrderId.getOrDefault(id, PENDING),
+            "total_amount", 57.90));
+    }
+}
@@ -0,0 +1,98 @@
+package com.lanchonete.payment.loadtest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+import com.sun.net.httpserver.HttpExchange;
+
+final class FakeProductionService extends FakeHttpServer {
+
+    private static final String ORDERS_PATH = "/production/orders/";
+    private static final String BY_PAYMENT_PATH = ORDERS_PATH + "payment/";
+    private static final String PAYMENT_STATUS_SUFFIX = "/payment-status";
+    private static final String BULK_PAYMENT_STATUS_PATH = "/production/orders/payment-status";
+
+    private final ConcurrentMap<Long, Map<String, Object>> ordersById = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> orderIdsByPaymentId = new ConcurrentHashMap<>();
+
+    FakeProductionService(final Behavior behavior) throws IOException {
+        super(behavior);
+        route(ORDERS_PATH, this::handleOrders);
+    }
+
+    // an order still waiting for its first QR code
+    void addOrder(final long orderId) {
+        addOrder(orderId, null, PaymentStatusEnum.PENDING);
+    }
+
+    void addOrder(final long orderId, final String paymentId, final PaymentStatusEnum paymentStatus) {
+        final Map<String, Object> order = new LinkedHashMap<>();
+        order.put("id", orderId);
+        order.put("customerCpf", "12345678900");
+        order.put("status", "WAITING_PAYMENT");
+        order.put("paymentId", paymentId);
+        order.put("paymentStatus", paymentStatus.name());
+        order.put("totalPrice", 57.90);
+        ordersById.put(orderId, order);
+        if (paymentId != null) {
+            orderIdsByPaymentId.put(paymentId, orderId);
+        }
+    }
+
+    private void handleOrders(final HttpExchange exchange) throws IOException {
+        final String path = exchange.getRequestURI().getPath();
+        final String method = exchange.getRequestMethod();
+
+        if ("PUT".equals(method) && path.equals(BULK_PAYMENT_STATUS_PATH)) {
+            final List<Map<String, Object>> results = new ArrayList<>();
+            for (JsonNode update : OBJECT_MAPPER.readTree(drain(exchange))) {
+                final long orderId = update.path("orderId").asLong();
+                final Map<String, Object> updated = applyPaymentStatus(orderId, update.path("payment"));
+                final Map<String, Object> result = new LinkedHashMap<>();
+                result.put("orderId", orderId);
+                result.put("idempotencyKey", update.path("idempotencyKey").asText());
+                result.put("status", updated != null ? 200 : 404);
+                result.put("order", updated);
+                results.add(result);
+            }
+            respond(exchange, 200, results);
+        } else if ("GET".equals(method) && path.startsWith(BY_PAYMENT_PATH)) {
+            drain(exchange);
+            final Long orderId = orderIdsByPaymentId.get(path.substring(BY_PAYMENT_PATH.length()));
+            respondWithOrder(exchange, orderId != null ? ordersById.get(orderId) : null);
+        } else if ("PUT".equals(method) && path.endsWith(PAYMENT_STATUS_SUFFIX)) {
+            final JsonNode confirmation = OBJECT_MAPPER.readTree(drain(exchange));
+            final long orderId = Long.parseLong(path.substring(ORDERS_PATH.length(), path.length() - PAYMENT_STATUS_SUFFIX.length()));
+            respondWithOrder(exchange, applyPaymentStatus(orderId, confirmation));
+        } else if ("GET".equals(method)) {
+            drain(exchange);
+            respondWithOrder(exchange, ordersById.get(Long.parseLong(path.substring(ORDERS_PATH.length()))));
+        } else {
+            drain(exchange);
+            notFound(exchange);
+        }
+    }
+
+    private Map<String, Object> applyPaymentStatus(final long orderId, final JsonNode confirmation) {
+        return ordersById.computeIfPresent(orderId, (id, order) -> {
+            final Map<String, Object> copy = new LinkedHashMap<>(order);
+            copy.put("paymentStatus", PaymentStatusEnum.fromMercadoPagoStatus(confirmation.path("status").asText(null)).name());
+            return copy;
+        });
+    }
+
+    private static void respondWithOrder(final HttpExchange exchange, final Map<String, Object> order) throws IOException {
+        if (order == null) {
+            notFound(exchange);
+        } else {
+            respond(exchange, 200, order);
+        }
+    }
+}
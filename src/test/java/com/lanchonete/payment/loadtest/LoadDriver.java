@@ -0,0 +1,111 @@
+package com.lanchonete.payment.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+final class LoadDriver implements AutoCloseable {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final HttpClient httpClient;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final int concurrency;
+
+    LoadDriver(final int concurrency) {
+        this.concurrency = concurrency;
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(executor)
+            .build();
+    }
+
+    ScenarioResult run(final String scenario, final List<HttpRequest> requests) throws Exception {
+        final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicLong errors = new AtomicLong();
+
+        final long start = System.nanoTime();
+        final List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < Math.min(concurrency, requests.size()); i++) {
+            workers.add(executor.submit(() -> {
+                for (int index = next.getAndIncrement(); index < requests.size(); index = next.getAndIncrement()) {
+                    final long sent = System.nanoTime();
+                    try {
+                        final HttpResponse<Void> response = httpClient.send(requests.get(index), HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                    }
+                    histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sent), HIGHEST_TRACKABLE_MICROS));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+
+        return new ScenarioResult(scenario, histogram, errors.get(), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    record ScenarioResult(String scenario, Histogram histogram, long errors, Duration elapsed) {
+
+        long requests() {
+            return histogram.getTotalCount();
+        }
+
+        double throughput() {
+            return requests() / (elapsed.toNanos() / 1_000_000_000.0);
+        }
+
+        double percentileMillis(final double percentile) {
+            return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+        }
+
+        Path writeHistogram(final Path directory) throws IOException {
+            Files.createDirectories(directory);
+            final Path file = directory.resolve(scenario + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+            return file;
+        }
+
+        String summary() {
+            return String.format("%-16s %8d %7d %10.1f %9.2f %9.2f %9.2f %9.2f", scenario, requests(), errors,
+                throughput(), percentileMillis(50), percentileMillis(99), percentileMillis(99.9),
+                histogram.getMaxValue() / MICROS_PER_MILLI);
+        }
+
+        static String header() {
+            return String.format("%-16s %8s %7s %10s %9s %9s %9s %9s", "scenario", "requests", "errors",
+                "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        }
+    }
+}
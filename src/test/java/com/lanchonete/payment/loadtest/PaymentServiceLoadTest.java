@@ -0,0 +1,175 @@
+package com.lanchonete.payment.loadtest;
+
+import static com.lanchonete.payment.core.application.config.Constants.REQUEST_TRACE_ID;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.lanchonete.payment.PaymentServiceApplication;
+import com.lanchonete.payment.core.domain.model.enums.PaymentStatusEnum;
+import com.lanchonete.payment.loadtest.FakeHttpServer.Behavior;
+import com.lanchonete.payment.loadtest.LoadDriver.ScenarioResult;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Tag("loadtest")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(classes = PaymentServiceApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "mercadopago.access.client=load-test-client",
+        "mercadopago.access.secret=load-test-secret"
+    })
+class PaymentServiceLoadTest {
+
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 2000);
+    private static final int WARMUP_REQUESTS = Integer.getInteger("loadtest.warmup-requests", 200);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 32);
+    private static final int POLLED_ORDERS = Integer.getInteger("loadtest.polling.orders", 50);
+    private static final int WEBHOOK_DUPLICATES = Integer.getInteger("loadtest.webhook.duplicates", 3);
+    private static final Path RESULTS_DIRECTORY = Path.of(System.getProperty("loadtest.results", "target/loadtest"));
+
+    private static final FakeMercadoPagoServer MERCADO_PAGO;
+    private static final FakeProductionService PRODUCTION_SERVICE;
+
+    static {
+        try {
+            MERCADO_PAGO = new FakeMercadoPagoServer(Behavior.fromSystemProperties("mercadopago", 40, 20));
+            PRODUCTION_SERVICE = new FakeProductionService(Behavior.fromSystemProperties("production", 5, 5));
+        } catch (Exception e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        MERCADO_PAGO.start();
+        PRODUCTION_SERVICE.start();
+    }
+
+    @LocalServerPort
+    private int port;
+
+    private LoadDriver driver;
+
+    @DynamicPropertySource
+    static void fakeServers(final DynamicPropertyRegistry registry) {
+        registry.add("mercadopago.baseUrl", MERCADO_PAGO::baseUrl);
+        registry.add("production.service.url", PRODUCTION_SERVICE::baseUrl);
+    }
+
+    @BeforeEach
+    void setUp() {
+        driver = new LoadDriver(CONCURRENCY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+
+    @AfterAll
+    static void stopFakeServers() {
+        log.info("Fake Mercado Pago: {}, {} requests, {} injected errors",
+            MERCADO_PAGO.behavior(), MERCADO_PAGO.requestCount(), MERCADO_PAGO.injectedErrorCount());
+        log.info("Fake Production Service: {}, {} requests, {} injected errors",
+            PRODUCTION_SERVICE.behavior(), PRODUCTION_SERVICE.requestCount(), PRODUCTION_SERVICE.injectedErrorCount());
+        MERCADO_PAGO.close();
+        PRODUCTION_SERVICE.close();
+    }
+
+    @Test
+    @Order(1)
+    void qrCodeCreation() throws Exception {
+        for (int i = 0; i < WARMUP_REQUESTS + REQUESTS; i++) {
+            PRODUCTION_SERVICE.addOrder(1_000_000 + i);
+        }
+
+        run("qr-creation", i -> post("/paymentData", "{\"id\":" + (1_000_000 + i) + ",\"totalPrice\":57.90}"));
+    }
+
+    @Test
+    @Order(2)
+    void paymentStatusPolling() throws Exception {
+        for (int i = 0; i < POLLED_ORDERS; i++) {
+            PRODUCTION_SERVICE.addOrder(2_000_000 + i, "LT-POLL-" + i, PaymentStatusEnum.PENDING);
+        }
+
+        run("status-polling", i -> get("/" + (2_000_000 + i % POLLED_ORDERS) + "/payment-status"));
+    }
+
+    @Test
+    @Order(3)
+    void webhookBurst() throws Exception {
+        final int payments = Math.max(1, (WARMUP_REQUESTS + REQUESTS) / WEBHOOK_DUPLICATES + 1);
+        final List<Integer> notifications = new ArrayList<>();
+        for (int i = 0; i < payments; i++) {
+            final String paymentId = "LT-WEBHOOK-" + i;
+            PRODUCTION_SERVICE.addOrder(3_000_000 + i, paymentId, PaymentStatusEnum.PENDING);
+            MERCADO_PAGO.setStatus(paymentId, "processed");
+            for (int copy = 0; copy < WEBHOOK_DUPLICATES; copy++) {
+                notifications.add(i);
+            }
+        }
+        Collections.shuffle(notifications.subList(0, WARMUP_REQUESTS), new Random(42));
+        Collections.shuffle(notifications.subList(WARMUP_REQUESTS, notifications.size()), new Random(42));
+
+        run("webhook-burst", i -> post("/webhooks/payment-confirmation",
+            "{\"id\":" + i + ",\"type\":\"payment\",\"action\":\"payment.updated\",\"live_mode\":false,"
+                + "\"data\":{\"id\":\"LT-WEBHOOK-" + notifications.get(i) + "\"}}"));
+    }
+
+    private void run(final String scenario, final IntFunction<HttpRequest> request) throws Exception {
+        driver.run(scenario + "-warmup", requests(0, WARMUP_REQUESTS, request));
+        final ScenarioResult result = driver.run(scenario, requests(WARMUP_REQUESTS, WARMUP_REQUESTS + REQUESTS, request));
+        final Path histogram = result.writeHistogram(RESULTS_DIRECTORY);
+
+        log.info("Scenario {}:\n{}\n{}\nHDR histogram: {}", scenario, ScenarioResult.header(), result.summary(), histogram.toAbsolutePath());
+
+        assertEquals(REQUESTS, result.requests());
+        if (MERCADO_PAGO.behavior().errorRate() == 0 && PRODUCTION_SERVICE.behavior().errorRate() == 0) {
+            assertEquals(0, result.errors(), "unexpected error responses in " + scenario);
+        }
+    }
+
+    private List<HttpRequest> requests(final int from, final int to, final IntFunction<HttpRequest> request) {
+        final List<HttpRequest> requests = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            requests.add(request.apply(i));
+        }
+        return requests;
+    }
+
+    private HttpRequest get(final String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(final String path, final String body) {
+        return request(path)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    private HttpRequest.Builder request(final String path) {
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path))
+            .header(REQUEST_TRACE_ID, UUID.randomUUID().toString());
+    }
+}
@@ -0,0 +1,149 @@
+package com.lanchonete.payment.loadtest;
+
+import static com.lanchonete.payment.core.application.config.Constants.REQUEST_TRACE_ID;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.lanchonete.payment.PaymentServiceApplication;
+import com.lanchonete.payment.loadtest.FakeHttpServer.Behavior;
+import com.lanchonete.payment.loadtest.LoadDriver.ScenarioResult;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Tag("loadtest")
+class VirtualThreadsLoadTest {
+
+    private static final int[] CONCURRENCY_LEVELS = Arrays.stream(
+            System.getProperty("loadtest.virtual-threads.concurrency-levels", "50,100,200,400,800").split(","))
+        .map(String::trim)
+        .mapToInt(Integer::parseInt)
+        .sorted()
+        .toArray();
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 2000);
+    private static final int WARMUP_REQUESTS = Integer.getInteger("loadtest.warmup-requests", 200);
+    private static final Path RESULTS_DIRECTORY = Path.of(System.getProperty("loadtest.results", "target/loadtest"));
+
+    private static final Map<Boolean, List<ScenarioResult>> RESULTS = new TreeMap<>();
+    private static final AtomicInteger NEXT_ORDER_ID = new AtomicInteger(5_000_000);
+
+    @ParameterizedTest(name = "virtual threads {0}")
+    @ValueSource(booleans = {false, true})
+    void concurrencyCeiling(final boolean virtualThreads) throws Exception {
+        final int maxConcurrency = CONCURRENCY_LEVELS[CONCURRENCY_LEVELS.length - 1];
+        final List<ScenarioResult> results = new ArrayList<>();
+
+        try (FakeMercadoPagoServer mercadoPago = new FakeMercadoPagoServer(Behavior.fromSystemProperties("mercadopago", 40, 20));
+             FakeProductionService productionService = new FakeProductionService(Behavior.fromSystemProperties("production", 5, 5))) {
+            mercadoPago.start();
+            productionService.start();
+
+            // command-line arguments outrank application.yml; builder properties() would only be defaults
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(PaymentServiceApplication.class, HandlerThreadProbe.class)
+                    .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--mercadopago.access.client=load-test-client",
+                        "--mercadopago.access.secret=load-test-secret",
+                        "--mercadopago.baseUrl=" + mercadoPago.baseUrl(),
+                        "--production.service.url=" + productionService.baseUrl(),
+                        // the pools (and the bulkheads sized from them) must not be the ceiling; only the thread model differs
+                        "--http.client.mercadopago.max-connections=" + maxConcurrency,
+                        "--http.client.production.max-connections=" + maxConcurrency,
+                        "--payment.reconciliation.enabled=false")) {
+                final int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+                final HandlerThreadProbe probe = context.getBean(HandlerThreadProbe.class);
+
+                for (int concurrency : CONCURRENCY_LEVELS) {
+                    final String scenario = String.format("%s-c%d", virtualThreads ? "virtual" : "platform", concurrency);
+                    try (LoadDriver driver = new LoadDriver(concurrency)) {
+                        driver.run(scenario + "-warmup", qrCreations(port, productionService, WARMUP_REQUESTS));
+                        assertEquals(Set.of(virtualThreads), probe.virtualThreads(), "request threads of " + scenario);
+                        final ScenarioResult result = driver.run(scenario, qrCreations(port, productionService, REQUESTS));
+                        result.writeHistogram(RESULTS_DIRECTORY);
+                        results.add(result);
+
+                        assertEquals(REQUESTS, result.requests());
+                        if (mercadoPago.behavior().errorRate() == 0 && productionService.behavior().errorRate() == 0) {
+                            assertEquals(0, result.errors(), "unexpected error responses in " + scenario);
+                        }
+                    }
+                }
+            }
+        }
+
+        RESULTS.put(virtualThreads, results);
+        log.info("Virtual threads {}:\n{}\n{}", virtualThreads, ScenarioResult.header(),
+            String.join("\n", results.stream().map(ScenarioResult::summary).toList()));
+    }
+
+    @AfterAll
+    static void reportCeilings() {
+        final StringBuilder report = new StringBuilder(String.format("%-9s %12s %10s %9s", "threads", "concurrency", "req/s", "p99 ms"));
+        RESULTS.forEach((virtualThreads, results) -> {
+            final ScenarioResult ceiling = results.stream().max(Comparator.comparingDouble(ScenarioResult::throughput)).orElseThrow();
+            report.append(String.format("%n%-9s %12d %10.1f %9.2f", virtualThreads ? "virtual" : "platform",
+                CONCURRENCY_LEVELS[results.indexOf(ceiling)], ceiling.throughput(), ceiling.percentileMillis(99)));
+        });
+        log.info("Concurrency ceiling (peak throughput and its p99):\n{}", report);
+    }
+
+    private static List<HttpRequest> qrCreations(final int port, final FakeProductionService productionService, final int count) {
+        final List<HttpRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final int orderId = NEXT_ORDER_ID.getAndIncrement();
+            productionService.addOrder(orderId);
+            requests.add(HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/paymentData"))
+                .header(REQUEST_TRACE_ID, UUID.randomUUID().toString())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"id\":" + orderId + ",\"totalPrice\":57.90}"))
+                .build());
+        }
+        return requests;
+    }
+
+    // an application source, not a scanned component: the container runs it on the thread that handles the request
+    static final class HandlerThreadProbe implements Filter {
+
+        private final Set<Boolean> virtualThreads = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void doFilter(final ServletRequest request, final ServletResponse response, final FilterChain chain)
+                throws IOException, ServletException {
+            virtualThreads.add(Thread.currentThread().isVirtual());
+            chain.doFilter(request, response);
+        }
+
+        Set<Boolean> virtualThreads() {
+            return virtualThreads;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.lanchonete.payment.mocks;
+
+import java.time.Duration;
+
+import com.lanchonete.payment.core.application.config.DownstreamRetry;
+import com.lanchonete.payment.core.application.config.DownstreamRetryProperties;
+import com.lanchonete.payment.core.application.config.PaymentMetrics;
+import com.lanchonete.payment.core.application.config.RetryBudget;
+
+public class DownstreamRetryMock {
+
+    public static DownstreamRetry createDownstreamRetry(PaymentMetrics paymentMetrics) {
+        DownstreamRetryProperties properties = new DownstreamRetryProperties();
+        properties.setInitialBackoff(Duration.ofMillis(1));
+        properties.setMaxBackoff(Duration.ofMillis(5));
+        return new DownstreamRetry(properties, new RetryBudget(0.1, 5, 20), paymentMetrics);
+    }
+}